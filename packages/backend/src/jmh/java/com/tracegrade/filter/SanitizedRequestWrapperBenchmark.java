@@ -0,0 +1,133 @@
+package com.tracegrade.filter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.owasp.html.PolicyFactory;
+import org.owasp.html.Sanitizers;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+/**
+ * Per-request parameter cost of {@link SanitizedRequestWrapper} against the
+ * previous implementation, which re-sanitized the whole parameter map on every
+ * call. Each invocation replays what Spring MVC does while binding a request:
+ * three {@code getParameterMap()} calls plus a few single lookups.
+ *
+ * <ul>
+ *   <li>{@code listing}: a paged GET with short plain-text query parameters;</li>
+ *   <li>{@code search}: a GET whose free-text query contains an email and a quote;</li>
+ *   <li>{@code form}: a form POST with a comment carrying markup.</li>
+ * </ul>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SanitizedRequestWrapperBenchmark {
+
+    @Param({"listing", "search", "form"})
+    public String mix;
+
+    private MockHttpServletRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        request = new MockHttpServletRequest();
+        switch (mix) {
+            case "listing" -> {
+                request.setMethod("GET");
+                request.addParameter("page", "2");
+                request.addParameter("size", "25");
+                request.addParameter("sort", "lastName,asc");
+                request.addParameter("status", "ACTIVE");
+            }
+            case "search" -> {
+                request.setMethod("GET");
+                request.addParameter("q", "jane.smith@school.edu \"period 3\"");
+                request.addParameter("page", "0");
+                request.addParameter("size", "50");
+            }
+            case "form" -> {
+                request.setMethod("POST");
+                request.setContentType("application/x-www-form-urlencoded");
+                request.addParameter("studentName", "Jane Smith");
+                request.addParameter("className", "Algebra I - Period 3");
+                request.addParameter("score", "87.5");
+                request.addParameter("comment", "<b>Great</b> work on question 4 <script>x()</script>");
+                request.addParameter("tags", "homework", "late", "resubmitted");
+                request.addParameter("email", "jane.smith@school.edu");
+            }
+            default -> throw new IllegalArgumentException(mix);
+        }
+    }
+
+    @Benchmark
+    public void current(Blackhole bh) throws IOException {
+        bind(new SanitizedRequestWrapper(request), bh);
+    }
+
+    @Benchmark
+    public void previous(Blackhole bh) {
+        bind(new PreviousWrapper(request), bh);
+    }
+
+    private static void bind(HttpServletRequest wrapper, Blackhole bh) {
+        for (int i = 0; i < 3; i++) {
+            bh.consume(wrapper.getParameterMap());
+        }
+        for (String name : wrapper.getParameterMap().keySet()) {
+            bh.consume(wrapper.getParameter(name));
+        }
+    }
+
+    /** The parameter handling SanitizedRequestWrapper had before memoization. */
+    static final class PreviousWrapper extends HttpServletRequestWrapper {
+
+        private static final PolicyFactory POLICY = Sanitizers.FORMATTING.and(Sanitizers.BLOCKS);
+
+        PreviousWrapper(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public String getParameter(String name) {
+            String value = super.getParameter(name);
+            return value != null ? POLICY.sanitize(value) : null;
+        }
+
+        @Override
+        public Map<String, String[]> getParameterMap() {
+            return super.getParameterMap().entrySet().stream()
+                    .collect(Collectors.toMap(
+                            Map.Entry::getKey,
+                            e -> {
+                                String[] vals = e.getValue();
+                                String[] sanitized = new String[vals.length];
+                                for (int i = 0; i < vals.length; i++) {
+                                    sanitized[i] = POLICY.sanitize(vals[i]);
+                                }
+                                return sanitized;
+                            }));
+        }
+    }
+}
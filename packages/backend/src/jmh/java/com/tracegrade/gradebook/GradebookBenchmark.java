@@ -0,0 +1,147 @@
+package com.tracegrade.gradebook;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.tracegrade.domain.model.Assignment;
+import com.tracegrade.domain.model.GradeCategory;
+import com.tracegrade.domain.model.GradeStatus;
+import com.tracegrade.domain.repository.EnrolledStudent;
+import com.tracegrade.domain.repository.GradeCell;
+
+/**
+ * In-memory cost of a class gradebook once its four queries have returned:
+ * {@code compute} runs {@link GradebookCalculator} over a prepared matrix,
+ * {@code assemble} also indexes the rows, fills the matrix and builds the
+ * response. Five categories each drop their lowest score; about 5% of grades
+ * are missing or excused.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GradebookBenchmark {
+
+    private static final int CATEGORIES = 5;
+
+    @Param({"30", "200"})
+    public int students;
+
+    @Param({"150"})
+    public int assignments;
+
+    private UUID classId;
+    private List<GradeCategory> categoryList;
+    private List<Assignment> assignmentList;
+    private List<EnrolledStudent> studentList;
+    private List<GradeCell> cells;
+
+    private GradebookCalculator.Layout layout;
+    private double[] points;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        classId = UUID.randomUUID();
+
+        categoryList = new ArrayList<>();
+        for (int c = 0; c < CATEGORIES; c++) {
+            GradeCategory category = GradeCategory.builder()
+                    .classId(classId)
+                    .name("Category " + c)
+                    .weight(BigDecimal.valueOf(20))
+                    .dropLowest(1)
+                    .build();
+            category.setId(UUID.randomUUID());
+            categoryList.add(category);
+        }
+
+        assignmentList = new ArrayList<>();
+        for (int a = 0; a < assignments; a++) {
+            Assignment assignment = Assignment.builder()
+                    .classId(classId)
+                    .categoryId(categoryList.get(a % CATEGORIES).getId())
+                    .name("Assignment " + a)
+                    .dueDate(LocalDate.of(2026, 9, 1).plusDays(a))
+                    .maxPoints(BigDecimal.valueOf(10 + a % 4 * 10))
+                    .isPublished(true)
+                    .build();
+            assignment.setId(UUID.randomUUID());
+            assignmentList.add(assignment);
+        }
+
+        studentList = new ArrayList<>();
+        for (int s = 0; s < students; s++) {
+            studentList.add(new EnrolledStudent(UUID.randomUUID(), "First" + s, "Last" + s));
+        }
+
+        cells = new ArrayList<>();
+        for (EnrolledStudent student : studentList) {
+            for (Assignment assignment : assignmentList) {
+                double roll = random.nextDouble();
+                if (roll < 0.03) {
+                    cells.add(new GradeCell(assignment.getId(), student.studentId(), null, GradeStatus.EXCUSED));
+                } else if (roll < 0.05) {
+                    cells.add(new GradeCell(assignment.getId(), student.studentId(), null, GradeStatus.MISSING));
+                } else {
+                    BigDecimal earned = assignment.getMaxPoints()
+                            .multiply(BigDecimal.valueOf(random.nextInt(101)))
+                            .divide(BigDecimal.valueOf(100));
+                    cells.add(new GradeCell(assignment.getId(), student.studentId(), earned, GradeStatus.GRADED));
+                }
+            }
+        }
+
+        int perCategory = assignments / CATEGORIES;
+        int[] start = new int[CATEGORIES + 1];
+        double[] weight = new double[CATEGORIES];
+        int[] dropLowest = new int[CATEGORIES];
+        for (int c = 0; c < CATEGORIES; c++) {
+            start[c + 1] = c + 1 == CATEGORIES ? assignments : (c + 1) * perCategory;
+            weight[c] = 20;
+            dropLowest[c] = 1;
+        }
+        double[] maxPoints = new double[assignments];
+        boolean[] counted = new boolean[assignments];
+        for (int a = 0; a < assignments; a++) {
+            maxPoints[a] = 10 + a % 4 * 10;
+            counted[a] = true;
+        }
+        layout = new GradebookCalculator.Layout(start, weight, dropLowest, maxPoints, counted);
+        points = new double[students * assignments];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = random.nextDouble() < 0.05 ? Double.NaN : random.nextInt((int) maxPoints[i % assignments] + 1);
+        }
+    }
+
+    @Benchmark
+    public void compute(Blackhole bh) {
+        bh.consume(GradebookCalculator.compute(layout, points, students));
+    }
+
+    @Benchmark
+    public void assemble(Blackhole bh) {
+        bh.consume(GradebookService.assemble(classId, categoryList, assignmentList, studentList, cells));
+    }
+}
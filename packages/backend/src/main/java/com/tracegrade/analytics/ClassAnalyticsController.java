@@ -0,0 +1,73 @@
+package com.tracegrade.analytics;
+
+import java.util.UUID;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tracegrade.dto.response.ApiResponse;
+import com.tracegrade.dto.response.ClassAnalyticsResponse;
+import com.tracegrade.dto.response.QuestionAnalyticsResponse;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/schools/{schoolId}/classes/{classId}/analytics")
+@RequiredArgsConstructor
+@Validated
+@Tag(name = "Class Analytics", description = "Grading analytics of a class and its assignments.")
+@SecurityRequirement(name = "BearerAuth")
+public class ClassAnalyticsController {
+
+    private final ClassAnalyticsService classAnalyticsService;
+
+    @Operation(
+            summary = "Get grading analytics for a class",
+            description = "Returns score histograms, averages, medians, pending-review counts and grading volume of the last 7 days for the class and for each of its assignments."
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Class analytics returned"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Class not found", content = @Content)
+    })
+    @GetMapping
+    public ResponseEntity<ApiResponse<ClassAnalyticsResponse>> getClassAnalytics(
+            @Parameter(description = "UUID of the school", required = true)
+            @PathVariable UUID schoolId,
+            @Parameter(description = "UUID of the class", required = true)
+            @PathVariable UUID classId) {
+
+        ClassAnalyticsResponse analytics = classAnalyticsService.getClassAnalytics(schoolId, classId);
+        return ResponseEntity.ok(ApiResponse.success(analytics));
+    }
+
+    @Operation(
+            summary = "Get per-question analytics for an assignment",
+            description = "Returns, for each question of the assignment, the count of graded answers, the average points awarded and as a percentage of the points available, and the count of illegible answers."
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Question analytics returned"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Class or assignment not found", content = @Content)
+    })
+    @GetMapping("/assignments/{assignmentId}/questions")
+    public ResponseEntity<ApiResponse<QuestionAnalyticsResponse>> getQuestionAnalytics(
+            @Parameter(description = "UUID of the school", required = true)
+            @PathVariable UUID schoolId,
+            @Parameter(description = "UUID of the class", required = true)
+            @PathVariable UUID classId,
+            @Parameter(description = "UUID of the assignment", required = true)
+            @PathVariable UUID assignmentId) {
+
+        QuestionAnalyticsResponse analytics = classAnalyticsService.getQuestionAnalytics(schoolId, classId, assignmentId);
+        return ResponseEntity.ok(ApiResponse.success(analytics));
+    }
+}
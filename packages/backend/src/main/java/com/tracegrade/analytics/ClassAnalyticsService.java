@@ -0,0 +1,172 @@
+package com.tracegrade.analytics;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tracegrade.domain.repository.AssignmentRepository;
+import com.tracegrade.domain.repository.AssignmentRepository.AnalyticsRow;
+import com.tracegrade.domain.repository.GradingQuestionScoreRepository;
+import com.tracegrade.domain.repository.QuestionItemStats;
+import com.tracegrade.dto.response.AssignmentAnalyticsResponse;
+import com.tracegrade.dto.response.ClassAnalyticsResponse;
+import com.tracegrade.dto.response.QuestionAnalyticsResponse;
+import com.tracegrade.dto.response.ScoreAnalytics;
+import com.tracegrade.exception.ResourceNotFoundException;
+import com.tracegrade.tenancy.TenancyContext;
+
+/**
+ * Score distributions, averages, medians, pending reviews and recent grading
+ * volume of a class and its assignments, from a single grouped query.
+ *
+ * <p>A result's score is its final score, else its AI score, as on the school
+ * dashboard. Assignments without results are listed with zero counts.
+ */
+@Service
+public class ClassAnalyticsService {
+
+    static final int HISTOGRAM_BUCKETS = 10;
+    private static final Duration THROUGHPUT_WINDOW = Duration.ofDays(7);
+
+    private final AssignmentRepository assignmentRepository;
+    private final GradingQuestionScoreRepository questionScoreRepository;
+    private final TenancyContext tenancyContext;
+    private final Clock clock;
+
+    @Autowired
+    public ClassAnalyticsService(AssignmentRepository assignmentRepository,
+                                 GradingQuestionScoreRepository questionScoreRepository,
+                                 TenancyContext tenancyContext) {
+        this(assignmentRepository, questionScoreRepository, tenancyContext, Clock.systemUTC());
+    }
+
+    ClassAnalyticsService(AssignmentRepository assignmentRepository,
+                          GradingQuestionScoreRepository questionScoreRepository,
+                          TenancyContext tenancyContext, Clock clock) {
+        this.assignmentRepository = assignmentRepository;
+        this.questionScoreRepository = questionScoreRepository;
+        this.tenancyContext = tenancyContext;
+        this.clock = clock;
+    }
+
+    @Transactional(readOnly = true)
+    public ClassAnalyticsResponse getClassAnalytics(UUID schoolId, UUID classId) {
+        tenancyContext.requireClass(schoolId, classId);
+
+        Instant since = clock.instant().minus(THROUGHPUT_WINDOW);
+        Tally classTally = new Tally();
+        Map<UUID, Tally> assignmentTallies = new LinkedHashMap<>();
+        Map<UUID, String> assignmentNames = new LinkedHashMap<>();
+
+        for (AnalyticsRow row : assignmentRepository.findClassAnalytics(classId, since)) {
+            Tally tally = assignmentTallies.computeIfAbsent(row.getAssignmentId(), id -> new Tally());
+            assignmentNames.putIfAbsent(row.getAssignmentId(), row.getAssignmentName());
+            tally.add(row);
+            tally.addMedian(row.getAssignmentMedianSum(), row.getAssignmentMedianCount());
+            classTally.add(row);
+            classTally.addMedian(row.getClassMedianSum(), row.getClassMedianCount());
+        }
+
+        List<AssignmentAnalyticsResponse> assignments = new ArrayList<>(assignmentTallies.size());
+        assignmentTallies.forEach((assignmentId, tally) -> assignments.add(AssignmentAnalyticsResponse.builder()
+                .assignmentId(assignmentId)
+                .name(assignmentNames.get(assignmentId))
+                .scores(tally.toAnalytics())
+                .build()));
+
+        return ClassAnalyticsResponse.builder()
+                .classId(classId)
+                .scores(classTally.toAnalytics())
+                .assignments(assignments)
+                .build();
+    }
+
+    /**
+     * Item analysis of one assignment: how each question was answered across
+     * its graded submissions, from the stored per-question scores.
+     */
+    @Transactional(readOnly = true)
+    public QuestionAnalyticsResponse getQuestionAnalytics(UUID schoolId, UUID classId, UUID assignmentId) {
+        tenancyContext.requireClass(schoolId, classId);
+        assignmentRepository.findByIdAndClassId(assignmentId, classId)
+                .orElseThrow(() -> new ResourceNotFoundException("Assignment", assignmentId));
+
+        List<QuestionAnalyticsResponse.QuestionStats> questions = new ArrayList<>();
+        for (QuestionItemStats item : questionScoreRepository.findItemStatsByAssignmentId(assignmentId)) {
+            BigDecimal average = BigDecimal.valueOf(item.averagePoints()).setScale(2, RoundingMode.HALF_UP);
+            questions.add(QuestionAnalyticsResponse.QuestionStats.builder()
+                    .questionNumber(item.questionNumber())
+                    .responseCount(item.responses())
+                    .averagePoints(average)
+                    .pointsAvailable(item.pointsAvailable())
+                    .averagePercent(item.pointsAvailable().signum() == 0 ? null
+                            : BigDecimal.valueOf(item.averagePoints() * 100)
+                                    .divide(item.pointsAvailable(), 1, RoundingMode.HALF_UP))
+                    .illegibleCount(item.illegibleCount())
+                    .build());
+        }
+        return QuestionAnalyticsResponse.builder()
+                .assignmentId(assignmentId)
+                .questions(questions)
+                .build();
+    }
+
+    /** Running totals over the query rows of one assignment or of the class. */
+    private static final class Tally {
+
+        private long results;
+        private long scored;
+        private BigDecimal scoreSum = BigDecimal.ZERO;
+        private long pending;
+        private long gradedSince;
+        private final long[] histogram = new long[HISTOGRAM_BUCKETS];
+        private BigDecimal medianSum = BigDecimal.ZERO;
+        private long medianCount;
+
+        void add(AnalyticsRow row) {
+            results += row.getResults();
+            scored += row.getScored();
+            scoreSum = scoreSum.add(row.getScoreSum());
+            pending += row.getPending();
+            gradedSince += row.getGradedSince();
+            if (row.getBucket() != null) {
+                histogram[row.getBucket()] += row.getScored();
+            }
+        }
+
+        void addMedian(BigDecimal sum, Long count) {
+            if (sum != null && count != null) {
+                medianSum = medianSum.add(sum);
+                medianCount += count;
+            }
+        }
+
+        ScoreAnalytics toAnalytics() {
+            return ScoreAnalytics.builder()
+                    .resultCount(results)
+                    .scoredCount(scored)
+                    .averageScore(scored == 0 ? null : divide(scoreSum, scored))
+                    .medianScore(medianCount == 0 ? null : divide(medianSum, medianCount))
+                    .pendingReviews(pending)
+                    .gradedLast7Days(gradedSince)
+                    .histogram(Arrays.stream(histogram).boxed().toList())
+                    .build();
+        }
+
+        private static BigDecimal divide(BigDecimal sum, long count) {
+            return sum.divide(BigDecimal.valueOf(count), 1, RoundingMode.HALF_UP);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.tracegrade.assignment;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 
 import org.springframework.stereotype.Service;
@@ -8,12 +10,15 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.tracegrade.domain.model.Assignment;
 import com.tracegrade.domain.repository.AssignmentRepository;
-import com.tracegrade.domain.repository.ClassRepository;
 import com.tracegrade.domain.repository.GradeCategoryRepository;
 import com.tracegrade.dto.request.CreateAssignmentRequest;
 import com.tracegrade.dto.request.UpdateAssignmentRequest;
 import com.tracegrade.dto.response.AssignmentResponse;
+import com.tracegrade.dto.response.CursorPage;
 import com.tracegrade.exception.ResourceNotFoundException;
+import com.tracegrade.gradebook.GradeAggregateService;
+import com.tracegrade.pagination.PageCursor;
+import com.tracegrade.tenancy.TenancyContext;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -24,25 +29,24 @@ import lombok.extern.slf4j.Slf4j;
 public class AssignmentService {
 
     private final AssignmentRepository assignmentRepository;
-    private final ClassRepository classRepository;
+    private final TenancyContext tenancyContext;
     private final GradeCategoryRepository gradeCategoryRepository;
+    private final GradeAggregateService gradeAggregateService;
 
     @Transactional(readOnly = true)
-    public List<AssignmentResponse> listAssignments(UUID schoolId, UUID classId) {
+    public CursorPage<AssignmentResponse> listAssignments(UUID schoolId, UUID classId, String cursor, int limit) {
         // Verify class belongs to the school
-        classRepository.findByIdAndSchoolId(classId, schoolId)
-                .orElseThrow(() -> new ResourceNotFoundException("Class", classId));
+        tenancyContext.requireClass(schoolId, classId);
 
-        return assignmentRepository.findByClassId(classId).stream()
-                .map(this::toResponse)
-                .toList();
+        PageCursor after = PageCursor.decode(cursor, PageCursor.BEFORE_ALL);
+        return CursorPage.of(assignmentRepository.findPageByClassId(
+                classId, after.createdAt(), after.id(), PageCursor.fetch(limit)), limit, this::toResponse);
     }
 
     @Transactional(readOnly = true)
     public AssignmentResponse getAssignment(UUID schoolId, UUID classId, UUID assignmentId) {
         // Verify class belongs to the school
-        classRepository.findByIdAndSchoolId(classId, schoolId)
-                .orElseThrow(() -> new ResourceNotFoundException("Class", classId));
+        tenancyContext.requireClass(schoolId, classId);
 
         Assignment assignment = assignmentRepository.findByIdAndClassId(assignmentId, classId)
                 .orElseThrow(() -> new ResourceNotFoundException("Assignment", assignmentId));
@@ -53,8 +57,7 @@ public class AssignmentService {
     @Transactional
     public AssignmentResponse createAssignment(UUID schoolId, UUID classId, CreateAssignmentRequest request) {
         // Verify class belongs to the school
-        classRepository.findByIdAndSchoolId(classId, schoolId)
-                .orElseThrow(() -> new ResourceNotFoundException("Class", classId));
+        tenancyContext.requireClass(schoolId, classId);
 
         // Validate that categoryId belongs to this class
         gradeCategoryRepository.findByIdAndClassId(request.getCategoryId(), classId)
@@ -81,12 +84,14 @@ public class AssignmentService {
     public AssignmentResponse updateAssignment(UUID schoolId, UUID classId, UUID assignmentId,
             UpdateAssignmentRequest request) {
         // Verify class belongs to the school
-        classRepository.findByIdAndSchoolId(classId, schoolId)
-                .orElseThrow(() -> new ResourceNotFoundException("Class", classId));
+        tenancyContext.requireClass(schoolId, classId);
 
         // Find assignment scoped to this class
         Assignment assignment = assignmentRepository.findByIdAndClassId(assignmentId, classId)
                 .orElseThrow(() -> new ResourceNotFoundException("Assignment", assignmentId));
+        UUID previousCategoryId = assignment.getCategoryId();
+        BigDecimal previousMaxPoints = assignment.getMaxPoints();
+        Boolean previouslyPublished = assignment.getIsPublished();
 
         // If categoryId is changing, validate it belongs to this class
         if (request.getCategoryId() != null) {
@@ -116,14 +121,25 @@ public class AssignmentService {
         }
 
         log.info("Updating assignment {} for class {} (school {})", assignmentId, classId, schoolId);
-        return toResponse(assignmentRepository.save(assignment));
+        Assignment saved = assignmentRepository.save(assignment);
+
+        // Grade totals depend on which category an assignment is in, its points and whether it counts
+        boolean categoryChanged = !previousCategoryId.equals(saved.getCategoryId());
+        if (categoryChanged
+                || previousMaxPoints.compareTo(saved.getMaxPoints()) != 0
+                || !Objects.equals(previouslyPublished, saved.getIsPublished())) {
+            gradeAggregateService.rebuildCategory(saved.getCategoryId());
+            if (categoryChanged) {
+                gradeAggregateService.rebuildCategory(previousCategoryId);
+            }
+        }
+        return toResponse(saved);
     }
 
     @Transactional
     public void deleteAssignment(UUID schoolId, UUID classId, UUID assignmentId) {
         // Verify class belongs to the school
-        classRepository.findByIdAndSchoolId(classId, schoolId)
-                .orElseThrow(() -> new ResourceNotFoundException("Class", classId));
+        tenancyContext.requireClass(schoolId, classId);
 
         // Find assignment scoped to this class
         Assignment assignment = assignmentRepository.findByIdAndClassId(assignmentId, classId)
@@ -131,6 +147,8 @@ public class AssignmentService {
 
         log.info("Deleting assignment {} from class {} (school {})", assignmentId, classId, schoolId);
         assignmentRepository.delete(assignment);
+        assignmentRepository.flush();
+        gradeAggregateService.rebuildCategory(assignment.getCategoryId());
     }
 
     // ---- helpers ----
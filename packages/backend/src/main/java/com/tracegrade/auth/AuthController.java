@@ -16,6 +16,7 @@ import com.tracegrade.dto.response.AuthResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
@@ -53,11 +54,12 @@ public class AuthController {
     @Operation(summary = "Login", description = "Authenticates a user with email and password and returns a JWT token")
     @ApiResponses({
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Login successful"),
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Invalid credentials")
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Invalid credentials"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "429", description = "Too many login attempts")
     })
-    public ApiResponse<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
+    public ApiResponse<AuthResponse> login(@Valid @RequestBody LoginRequest request, HttpServletRequest httpRequest) {
         try {
-            String token = authService.login(request.getEmail(), request.getPassword());
+            String token = authService.login(request.getEmail(), request.getPassword(), httpRequest.getRemoteAddr());
             return ApiResponse.success(AuthResponse.builder().token(token).build());
         } catch (BadCredentialsException ex) {
             throw ex; // handled by GlobalExceptionHandler
@@ -1,7 +1,8 @@
 package com.tracegrade.auth;
 
+import java.util.Optional;
+
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,6 +17,11 @@ import lombok.extern.slf4j.Slf4j;
 
 /**
  * Service handling user registration and login.
+ *
+ * <p>Passwords are hashed on the bounded pool of {@link PasswordHasher}, and
+ * login attempts are counted by {@link LoginThrottle} before any hashing, so a
+ * flood of logins is turned away cheaply instead of saturating the CPU. Login
+ * holds no transaction while the password is checked.
  */
 @Slf4j
 @Service
@@ -23,7 +29,8 @@ import lombok.extern.slf4j.Slf4j;
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final LoginThrottle loginThrottle;
     private final JwtService jwtService;
 
     /**
@@ -42,7 +49,7 @@ public class AuthService {
 
         User user = User.builder()
                 .email(normalizedEmail)
-                .passwordHash(passwordEncoder.encode(request.getPassword()))
+                .passwordHash(passwordHasher.encode(request.getPassword()))
                 .firstName(request.getFirstName())
                 .lastName(request.getLastName())
                 .role(UserRole.TEACHER)
@@ -51,31 +58,48 @@ public class AuthService {
 
         user = userRepository.save(user);
         log.info("Registered new user: {}", normalizedEmail);
-        return jwtService.generateToken(user.getId(), user.getEmail());
+        return issueToken(user);
     }
 
     /**
      * Authenticates a user and returns a JWT token.
      *
+     * <p>An unknown email is checked against a dummy hash, and an inactive
+     * account is only reported once its password has been verified, so neither
+     * response time nor message reveals whether an account exists.
+     *
      * @param email    the user's email
      * @param password the raw password
+     * @param clientIp the client's address, or {@code null} if unknown
      * @return JWT token
      * @throws BadCredentialsException if credentials are invalid
+     * @throws LoginThrottledException if the account or address has made too many
+     *                                 attempts, or password hashing is saturated
      */
-    @Transactional(readOnly = true)
-    public String login(String email, String password) {
+    public String login(String email, String password, String clientIp) {
         String normalizedEmail = email.toLowerCase();
-        User user = userRepository.findByEmail(normalizedEmail)
-                .orElseThrow(() -> new BadCredentialsException("Invalid email or password"));
+        loginThrottle.acquire(normalizedEmail, clientIp);
 
-        if (!Boolean.TRUE.equals(user.getIsActive())) {
-            throw new BadCredentialsException("Account is inactive");
+        Optional<User> found = userRepository.findByEmail(normalizedEmail);
+        if (found.isEmpty()) {
+            passwordHasher.matchesDummy(password);
+            throw new BadCredentialsException("Invalid email or password");
         }
 
-        if (!passwordEncoder.matches(password, user.getPasswordHash())) {
+        User user = found.get();
+        if (!passwordHasher.matches(password, user.getPasswordHash())) {
             throw new BadCredentialsException("Invalid email or password");
         }
 
+        if (!Boolean.TRUE.equals(user.getIsActive())) {
+            throw new BadCredentialsException("Account is inactive");
+        }
+
+        loginThrottle.reset(normalizedEmail);
+        return issueToken(user);
+    }
+
+    private String issueToken(User user) {
         return jwtService.generateToken(user.getId(), user.getEmail());
     }
 }
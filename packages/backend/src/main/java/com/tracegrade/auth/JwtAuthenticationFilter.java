@@ -29,6 +29,10 @@ import lombok.extern.slf4j.Slf4j;
  * {@code test} profiles are NOT active. In dev/docker, {@link com.tracegrade.config.DevAuthenticationFilter}
  * handles authentication instead. The {@code test} profile exclusion prevents
  * interference with {@code @WebMvcTest} slice tests.</p>
+ *
+ * <p>Every authenticated user gets {@code ROLE_TEACHER}; users whose row in the
+ * users table has the {@code ADMIN} role also get {@code ROLE_ADMIN}, which the
+ * {@code /api/admin/**} endpoints require.</p>
  */
 @Slf4j
 @Component
@@ -39,6 +43,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final String BEARER_PREFIX = "Bearer ";
 
     private final JwtService jwtService;
+    private final UserRoleLookup userRoleLookup;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -59,11 +64,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String userId = claims.get("userId", String.class);
 
             if (userId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                UUID principal = UUID.fromString(userId);
                 UsernamePasswordAuthenticationToken auth =
                         new UsernamePasswordAuthenticationToken(
-                                UUID.fromString(userId),
+                                principal,
                                 null,
-                                List.of(new SimpleGrantedAuthority("ROLE_TEACHER"))
+                                authorities(principal)
                         );
                 SecurityContextHolder.getContext().setAuthentication(auth);
             }
@@ -74,6 +80,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private List<SimpleGrantedAuthority> authorities(UUID userId) {
+        if (userRoleLookup.isAdmin(userId)) {
+            return List.of(new SimpleGrantedAuthority("ROLE_TEACHER"), new SimpleGrantedAuthority("ROLE_ADMIN"));
+        }
+        return List.of(new SimpleGrantedAuthority("ROLE_TEACHER"));
+    }
+
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
         String path = request.getRequestURI();
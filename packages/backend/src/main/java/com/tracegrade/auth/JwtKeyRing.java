@@ -0,0 +1,285 @@
+package com.tracegrade.auth;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.crypto.SecretKey;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.RestClient;
+
+import com.tracegrade.config.JwtProperties;
+
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.PublicJwk;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The keys {@link JwtService} signs and verifies tokens with.
+ *
+ * <p>When {@code jwt.key-ring.active-kid} is set, tokens are signed with that
+ * asymmetric key (RS256 for RSA, EdDSA for Ed25519) and carry its ID in the
+ * {@code kid} header. Every key in the ring verifies tokens, so a rotation is:
+ * add the new key, switch {@code active-kid}, and drop the old key once the
+ * tokens it signed have expired. Without an active key, tokens are signed with
+ * the HMAC {@code jwt.secret} as before.
+ *
+ * <p>HMAC tokens are accepted only while they are signed here (no active key)
+ * or while {@code accept-hmac} keeps them valid after a switch, and never on
+ * verify-only nodes reading {@code jwks-uri}. Startup fails if HMAC is in use
+ * with the built-in default secret.
+ *
+ * <p>Verification keys are held in memory and reloaded in the background every
+ * {@code refresh-interval-ms}, either from the configured PEM files or, on
+ * verify-only nodes, from the JWKS document at {@code jwks-uri}. A token naming
+ * an unknown key triggers an early reload, at most once per
+ * {@code min-refresh-interval-ms}; requests arriving while that reload runs wait
+ * for it rather than starting their own, and no lock is held during the fetch.
+ * The public keys are published as a JWKS document for such nodes and sidecars.
+ */
+@Slf4j
+@Component
+public class JwtKeyRing {
+
+    private final JwtProperties.KeyRing properties;
+    private final ResourceLoader resourceLoader;
+    private final RestClient restClient;
+    private final SecretKey hmacKey;
+    private final boolean hmacAccepted;
+    private final AtomicReference<CompletableFuture<Void>> unknownKidRefresh = new AtomicReference<>();
+
+    private volatile Keyset keyset;
+    private volatile long unknownKidRefreshStartedAt;
+
+    @Autowired
+    public JwtKeyRing(JwtProperties jwtProperties, ResourceLoader resourceLoader) {
+        this(jwtProperties, resourceLoader, restClient(jwtProperties.getKeyRing()));
+    }
+
+    JwtKeyRing(JwtProperties jwtProperties) {
+        this(jwtProperties, new DefaultResourceLoader(), restClient(jwtProperties.getKeyRing()));
+    }
+
+    JwtKeyRing(JwtProperties jwtProperties, ResourceLoader resourceLoader, RestClient restClient) {
+        this.properties = jwtProperties.getKeyRing();
+        this.resourceLoader = resourceLoader;
+        this.restClient = restClient;
+        this.hmacAccepted = !StringUtils.hasText(properties.getJwksUri())
+                && (properties.isAcceptHmac() || !StringUtils.hasText(properties.getActiveKid()));
+        if (hmacAccepted && JwtProperties.DEFAULT_SECRET.equals(jwtProperties.getSecret())) {
+            throw new IllegalStateException("HMAC tokens are in use but jwt.secret is the built-in default; "
+                    + "set JWT_SECRET, or configure jwt.key-ring.active-kid with accept-hmac=false");
+        }
+        this.hmacKey = Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8));
+        this.keyset = load();
+        if (keyset.signingKey() == null && StringUtils.hasText(properties.getActiveKid())) {
+            throw new IllegalStateException("jwt.key-ring.active-kid '" + properties.getActiveKid()
+                    + "' has no private key");
+        }
+    }
+
+    private static RestClient restClient(JwtProperties.KeyRing properties) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(properties.getJwksTimeoutMs());
+        requestFactory.setReadTimeout(properties.getJwksTimeoutMs());
+        return RestClient.builder().requestFactory(requestFactory).build();
+    }
+
+    /** Key ID and key to sign new tokens with; the key ID is null for HMAC tokens. */
+    public record SigningKey(String kid, Key key) {
+    }
+
+    /** The key new tokens are signed with. */
+    public SigningKey signingKey() {
+        Keyset current = keyset;
+        if (current.signingKey() != null) {
+            return current.signingKey();
+        }
+        if (StringUtils.hasText(properties.getActiveKid())) {
+            throw new IllegalStateException("No private key for jwt.key-ring.active-kid " + properties.getActiveKid());
+        }
+        return new SigningKey(null, hmacKey);
+    }
+
+    /**
+     * The key to verify a token whose header names {@code kid}; tokens without a
+     * key ID are HMAC tokens.
+     *
+     * @throws UnsupportedJwtException if no such key is known
+     */
+    public Key verificationKey(String kid) {
+        if (kid == null) {
+            if (hmacAccepted) {
+                return hmacKey;
+            }
+            throw new UnsupportedJwtException("Tokens without a key ID are no longer accepted");
+        }
+        PublicKey key = keyset.verificationKeys().get(kid);
+        if (key == null) {
+            refreshForUnknownKid();
+            key = keyset.verificationKeys().get(kid);
+        }
+        if (key == null) {
+            throw new UnsupportedJwtException("Unknown signing key: " + kid);
+        }
+        return key;
+    }
+
+    /** The public keys as a JWKS document. */
+    public String jwks() {
+        return keyset.jwks();
+    }
+
+    /** Reloads the keys; on failure the previous keys stay in use. */
+    @Scheduled(initialDelayString = "${jwt.key-ring.refresh-interval-ms:300000}",
+            fixedDelayString = "${jwt.key-ring.refresh-interval-ms:300000}")
+    public void refresh() {
+        try {
+            keyset = load();
+        } catch (RuntimeException e) {
+            log.warn("Could not reload JWT keys, keeping {} known key(s): {}",
+                    keyset.verificationKeys().size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Reloads the keys for a token naming an unknown key. Only one such reload
+     * runs at a time: concurrent callers wait for it instead of fetching again,
+     * and a new one starts no sooner than {@code min-refresh-interval-ms} after
+     * the previous one started, or after the last reload of any kind.
+     */
+    private void refreshForUnknownKid() {
+        CompletableFuture<Void> inFlight = unknownKidRefresh.get();
+        if (inFlight == null) {
+            long now = System.currentTimeMillis();
+            long minInterval = properties.getMinRefreshIntervalMs();
+            if (now - keyset.loadedAt() < minInterval || now - unknownKidRefreshStartedAt < minInterval) {
+                return;
+            }
+            CompletableFuture<Void> mine = new CompletableFuture<>();
+            if (unknownKidRefresh.compareAndSet(null, mine)) {
+                unknownKidRefreshStartedAt = now;
+                try {
+                    refresh();
+                } finally {
+                    unknownKidRefresh.set(null);
+                    mine.complete(null);
+                }
+                return;
+            }
+            inFlight = unknownKidRefresh.get();
+            if (inFlight == null) {
+                return;
+            }
+        }
+        inFlight.join();
+    }
+
+    private Keyset load() {
+        Map<String, PublicKey> verificationKeys = new HashMap<>();
+        SigningKey signingKey = null;
+
+        if (StringUtils.hasText(properties.getJwksUri())) {
+            String json = restClient.get().uri(properties.getJwksUri()).retrieve().body(String.class);
+            JwkSet set = Jwks.setParser().ignoreUnsupported(true).build().parse(json);
+            for (Jwk<?> jwk : set) {
+                if (jwk.getId() != null && jwk.toKey() instanceof PublicKey publicKey) {
+                    verificationKeys.put(jwk.getId(), publicKey);
+                }
+            }
+        } else {
+            for (JwtProperties.Key key : properties.getKeys()) {
+                PublicKey publicKey = readPublicKey(key.getPublicKeyLocation());
+                verificationKeys.put(key.getKid(), publicKey);
+                if (key.getKid().equals(properties.getActiveKid()) && StringUtils.hasText(key.getPrivateKeyLocation())) {
+                    signingKey = new SigningKey(key.getKid(),
+                            readPrivateKey(key.getPrivateKeyLocation(), publicKey.getAlgorithm()));
+                }
+            }
+        }
+
+        log.debug("Loaded {} JWT verification key(s), signing with {}", verificationKeys.size(),
+                signingKey != null ? signingKey.kid() : "HMAC secret");
+        return new Keyset(signingKey, Map.copyOf(verificationKeys), toJwks(verificationKeys),
+                System.currentTimeMillis());
+    }
+
+    private static String toJwks(Map<String, PublicKey> keys) {
+        List<String> jwks = new ArrayList<>();
+        keys.forEach((kid, key) -> {
+            PublicJwk<?> jwk = Jwks.builder().key(key).id(kid).publicKeyUse("sig").build();
+            jwks.add(Jwks.json(jwk));
+        });
+        return "{\"keys\":[" + String.join(",", jwks) + "]}";
+    }
+
+    private PublicKey readPublicKey(String location) {
+        byte[] der = readPem(location);
+        return (PublicKey) withEachAlgorithm(location, algorithm ->
+                KeyFactory.getInstance(algorithm).generatePublic(new X509EncodedKeySpec(der)));
+    }
+
+    private PrivateKey readPrivateKey(String location, String algorithm) {
+        byte[] der = readPem(location);
+        try {
+            return KeyFactory.getInstance(algorithm).generatePrivate(new PKCS8EncodedKeySpec(der));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Invalid " + algorithm + " private key at " + location, e);
+        }
+    }
+
+    private byte[] readPem(String location) {
+        try (InputStream in = resourceLoader.getResource(location).getInputStream()) {
+            String pem = new String(in.readAllBytes(), StandardCharsets.US_ASCII);
+            String base64 = pem.replaceAll("-----[A-Z ]+-----", "").replaceAll("\\s", "");
+            return Base64.getDecoder().decode(base64);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalStateException("Cannot read PEM key from " + location, e);
+        }
+    }
+
+    private static Key withEachAlgorithm(String location, KeyReader reader) {
+        for (String algorithm : List.of("RSA", "Ed25519")) {
+            try {
+                return reader.read(algorithm);
+            } catch (GeneralSecurityException e) {
+                // try the next algorithm
+            }
+        }
+        throw new IllegalStateException("Unsupported public key at " + location + "; expected RSA or Ed25519");
+    }
+
+    @FunctionalInterface
+    private interface KeyReader {
+        Key read(String algorithm) throws GeneralSecurityException;
+    }
+
+    private record Keyset(SigningKey signingKey, Map<String, PublicKey> verificationKeys, String jwks,
+                          long loadedAt) {
+    }
+}
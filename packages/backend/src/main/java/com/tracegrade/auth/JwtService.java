@@ -1,31 +1,91 @@
 package com.tracegrade.auth;
 
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.Key;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.Base64;
 import java.util.Date;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
-import javax.crypto.SecretKey;
-
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+
 import com.tracegrade.config.JwtProperties;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
+import io.jsonwebtoken.LocatorAdapter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Service for generating and validating JWT tokens.
+ *
+ * <p>Keys come from {@link JwtKeyRing}: tokens name their signing key in the
+ * {@code kid} header and are verified with that key. The parser is built once.
+ *
+ * <p>Clients send the same token on every call until it expires, so the claims
+ * of recently verified tokens are cached under the SHA-256 digest of the token
+ * (never the token itself) and each entry expires at the token's {@code exp}.
+ * A cache hit skips parsing and signature verification but still looks up the
+ * token's key in the ring, so a token stops being accepted as soon as its key
+ * is dropped or replaced rather than when its cache entry expires. The cache
+ * holds at most
+ * {@code jwt.claims-cache-max-size} tokens; its statistics are published under
+ * the {@code cache.*} meters with {@code cache=jwt.claims}.
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class JwtService {
 
+    static final String CLAIMS_CACHE_NAME = "jwt.claims";
+
     private final JwtProperties jwtProperties;
+    private final JwtKeyRing keyRing;
+    private final JwtParser parser;
+    private final Cache<String, VerifiedToken> verifiedClaims;
+    private final Clock clock;
+
+    @Autowired
+    public JwtService(JwtProperties jwtProperties, JwtKeyRing keyRing, MeterRegistry meterRegistry) {
+        this(jwtProperties, keyRing, meterRegistry, Ticker.systemTicker(), Clock.systemUTC());
+    }
+
+    JwtService(JwtProperties jwtProperties, JwtKeyRing keyRing, MeterRegistry meterRegistry,
+               Ticker ticker, Clock clock) {
+        this.jwtProperties = jwtProperties;
+        this.keyRing = keyRing;
+        this.clock = clock;
+        this.parser = Jwts.parser()
+                .clock(() -> Date.from(clock.instant()))
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        return keyRing.verificationKey(header.getKeyId());
+                    }
+                })
+                .build();
+        this.verifiedClaims = Caffeine.newBuilder()
+                .maximumSize(jwtProperties.getClaimsCacheMaxSize())
+                .expireAfter(new UntilTokenExpiry(clock))
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedClaims, CLAIMS_CACHE_NAME);
+    }
 
     /**
      * Generates a signed JWT for the given user ID.
@@ -35,16 +95,18 @@ public class JwtService {
      * @return signed JWT string
      */
     public String generateToken(UUID userId, String email) {
-        Date now = new Date();
+        Date now = Date.from(clock.instant());
         Date expiry = new Date(now.getTime() + jwtProperties.getExpirationSeconds() * 1000L);
+        JwtKeyRing.SigningKey signingKey = keyRing.signingKey();
 
         return Jwts.builder()
+                .header().keyId(signingKey.kid()).and()
                 .subject(email)
                 .claim("userId", userId.toString())
                 .issuer(jwtProperties.getIssuer())
                 .issuedAt(now)
                 .expiration(expiry)
-                .signWith(getSigningKey())
+                .signWith(signingKey.key())
                 .compact();
     }
 
@@ -56,11 +118,30 @@ public class JwtService {
      * @throws JwtException if the token is invalid or expired
      */
     public Claims validateToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        String digest = digest(token);
+        VerifiedToken cached = verifiedClaims.getIfPresent(digest);
+        if (cached != null) {
+            Key current;
+            try {
+                current = keyRing.verificationKey(cached.kid());
+            } catch (JwtException e) {
+                verifiedClaims.invalidate(digest);
+                throw e;
+            }
+            if (current.equals(cached.key())) {
+                return cached.claims();
+            }
+            // The kid now names a different key; verify against it from scratch
+            verifiedClaims.invalidate(digest);
+        }
+
+        Jws<Claims> jws = parser.parseSignedClaims(token);
+        Claims claims = jws.getPayload();
+        if (claims.getExpiration() != null) {
+            String kid = jws.getHeader().getKeyId();
+            verifiedClaims.put(digest, new VerifiedToken(claims, kid, keyRing.verificationKey(kid)));
+        }
+        return claims;
     }
 
     /**
@@ -84,8 +165,51 @@ public class JwtService {
         return validateToken(token).getSubject();
     }
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    /** Number of verified tokens currently cached. */
+    long cachedTokenCount() {
+        verifiedClaims.cleanUp();
+        return verifiedClaims.estimatedSize();
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /** Claims of a verified token, with the key ID it named and the key that verified it. */
+    private record VerifiedToken(Claims claims, String kid, Key key) {
+    }
+
+    /**
+     * Expires cached claims when the token itself expires, measured on the same
+     * clock the parser checks {@code exp} against.
+     */
+    private static final class UntilTokenExpiry implements Expiry<String, VerifiedToken> {
+
+        private final Clock clock;
+
+        UntilTokenExpiry(Clock clock) {
+            this.clock = clock;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+            long millisLeft = token.claims().getExpiration().getTime() - clock.millis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, millisLeft));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
@@ -0,0 +1,36 @@
+package com.tracegrade.auth;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "auth.login")
+public class LoginProperties {
+
+    /** Threads that run password hashing, half the processors by default; bounds the CPU logins and registrations can take */
+    private int hashingThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    /** Hashing jobs that may wait for a thread before further logins are turned away */
+    private int hashingQueueCapacity = 64;
+
+    /** How long a request waits for its password check before giving up, in milliseconds */
+    private long hashingTimeoutMs = 5_000;
+
+    /** Login attempts per window for one account, from any address; a successful login resets it */
+    private int accountLimit = 10;
+
+    /** Per-account login window in seconds */
+    private int accountWindowSeconds = 900;
+
+    /** Login attempts per window from one client address, for any account */
+    private int ipLimit = 30;
+
+    /** Per-address login window in seconds */
+    private int ipWindowSeconds = 60;
+
+    /** Maximum number of accounts and of addresses whose login buckets are held per node */
+    private long maxTrackedKeys = 100_000;
+}
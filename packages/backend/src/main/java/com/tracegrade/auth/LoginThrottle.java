@@ -0,0 +1,117 @@
+package com.tracegrade.auth;
+
+import java.time.Duration;
+
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-account and per-address login attempt limits, checked before any
+ * password is hashed.
+ *
+ * <p>A client address may make {@code auth.login.ip-limit} attempts per
+ * {@code ip-window-seconds} across all accounts, which caps what one source
+ * of a credential-stuffing burst can cost. An account may receive
+ * {@code account-limit} attempts per {@code account-window-seconds} from any
+ * address, which caps guessing against it; a successful login resets it.
+ * Unknown emails are counted like real accounts so the limits do not reveal
+ * which accounts exist.
+ *
+ * <p>Buckets live per node in caches bounded by {@code max-tracked-keys} and
+ * are dropped once idle for their window, when they would be full again.
+ * Sizes are published under the {@code cache.*} meters with
+ * {@code cache=login.accounts} and {@code cache=login.addresses}.
+ */
+@Slf4j
+@Component
+public class LoginThrottle {
+
+    static final String ACCOUNT_CACHE_NAME = "login.accounts";
+    static final String ADDRESS_CACHE_NAME = "login.addresses";
+    static final String THROTTLED_METRIC = "auth.login.throttled";
+
+    private final LoginProperties properties;
+    private final Cache<String, Bucket> accounts;
+    private final Cache<String, Bucket> addresses;
+    private final Counter accountThrottled;
+    private final Counter addressThrottled;
+
+    public LoginThrottle(LoginProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.accounts = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxTrackedKeys())
+                .expireAfterAccess(Duration.ofSeconds(properties.getAccountWindowSeconds()))
+                .recordStats()
+                .build();
+        this.addresses = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxTrackedKeys())
+                .expireAfterAccess(Duration.ofSeconds(properties.getIpWindowSeconds()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, accounts, ACCOUNT_CACHE_NAME);
+        CaffeineCacheMetrics.monitor(meterRegistry, addresses, ADDRESS_CACHE_NAME);
+        this.accountThrottled = throttledCounter(meterRegistry, "account");
+        this.addressThrottled = throttledCounter(meterRegistry, "address");
+    }
+
+    private static Counter throttledCounter(MeterRegistry meterRegistry, String scope) {
+        return Counter.builder(THROTTLED_METRIC)
+                .description("Login attempts rejected before hashing because a limit was reached")
+                .tag("scope", scope)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records a login attempt, or rejects it if the address or the account has
+     * used up its attempts.
+     *
+     * @param account   the normalized email being signed in to
+     * @param clientIp  the client's address, or {@code null} if unknown
+     * @throws LoginThrottledException if either limit is reached
+     */
+    public void acquire(String account, String clientIp) {
+        if (clientIp != null) {
+            Bucket bucket = addresses.get(clientIp,
+                    k -> newBucket(properties.getIpLimit(), properties.getIpWindowSeconds()));
+            consume(bucket, addressThrottled, "address " + clientIp);
+        }
+        Bucket bucket = accounts.get(account,
+                k -> newBucket(properties.getAccountLimit(), properties.getAccountWindowSeconds()));
+        consume(bucket, accountThrottled, "account " + account);
+    }
+
+    /** Gives the account its full allowance back after a successful login. */
+    public void reset(String account) {
+        accounts.invalidate(account);
+    }
+
+    private static void consume(Bucket bucket, Counter throttled, String subject) {
+        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
+        if (!probe.isConsumed()) {
+            throttled.increment();
+            long retryAfterSeconds = Duration.ofNanos(probe.getNanosToWaitForRefill()).toSeconds() + 1;
+            log.warn("Login throttled for {}, retryAfter={}s", subject, retryAfterSeconds);
+            throw new LoginThrottledException(
+                    "Too many login attempts. Try again in " + retryAfterSeconds + " seconds.", retryAfterSeconds);
+        }
+    }
+
+    private static Bucket newBucket(int limit, int windowSeconds) {
+        return Bucket.builder()
+                .addLimit(Bandwidth.builder()
+                        .capacity(limit)
+                        .refillGreedy(limit, Duration.ofSeconds(windowSeconds))
+                        .build())
+                .build();
+    }
+}
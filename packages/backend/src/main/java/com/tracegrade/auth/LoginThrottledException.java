@@ -0,0 +1,19 @@
+package com.tracegrade.auth;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a login or registration is turned away before its password is
+ * hashed: the account or client address has made too many attempts, or the
+ * password hashing pool is saturated.
+ */
+@Getter
+public class LoginThrottledException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public LoginThrottledException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,111 @@
+package com.tracegrade.auth;
+
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs bcrypt on a small bounded pool instead of the request thread.
+ *
+ * <p>The pool has {@code auth.login.hashing-threads} threads and a queue of
+ * {@code auth.login.hashing-queue-capacity} jobs. When both are full, new
+ * logins and registrations fail fast with {@link LoginThrottledException}
+ * rather than queueing behind a credential-stuffing burst, so such a burst
+ * slows down sign-in only and leaves the remaining cores to other traffic.
+ *
+ * <p>{@link #matchesDummy} checks a password against a hash made at startup,
+ * so a login for an unknown email costs the same as one for a real account.
+ */
+@Slf4j
+@Component
+public class PasswordHasher implements DisposableBean {
+
+    static final String REJECTED_METRIC = "auth.password.hashing.rejected";
+    static final String QUEUED_METRIC = "auth.password.hashing.queued";
+
+    private final PasswordEncoder passwordEncoder;
+    private final long timeoutMs;
+    private final ThreadPoolTaskExecutor executor;
+    private final String dummyHash;
+    private final Counter rejected;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder, LoginProperties properties, MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeoutMs = properties.getHashingTimeoutMs();
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("password-hashing-");
+        executor.setCorePoolSize(properties.getHashingThreads());
+        executor.setMaxPoolSize(properties.getHashingThreads());
+        executor.setQueueCapacity(properties.getHashingQueueCapacity());
+        executor.initialize();
+        this.dummyHash = passwordEncoder.encode(UUID.randomUUID().toString());
+        this.rejected = Counter.builder(REJECTED_METRIC)
+                .description("Password hashing jobs turned away because the hashing pool was full")
+                .register(meterRegistry);
+        Gauge.builder(QUEUED_METRIC, executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .description("Password hashing jobs waiting for a thread")
+                .register(meterRegistry);
+    }
+
+    /** Checks a raw password against a stored hash. */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return run(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /** Spends the same time as {@link #matches} without a stored hash; always false. */
+    public boolean matchesDummy(String rawPassword) {
+        run(() -> passwordEncoder.matches(rawPassword, dummyHash));
+        return false;
+    }
+
+    /** Hashes a new password. */
+    public String encode(String rawPassword) {
+        return run(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    private <T> T run(Callable<T> job) {
+        Future<T> future;
+        try {
+            future = executor.submit(job);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("Password hashing pool is full; turning a sign-in away");
+            throw new LoginThrottledException("Too many sign-ins in progress. Try again shortly.", 1);
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new LoginThrottledException("Sign-in timed out. Try again shortly.", 1);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
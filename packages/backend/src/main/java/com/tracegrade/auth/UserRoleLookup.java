@@ -0,0 +1,55 @@
+package com.tracegrade.auth;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.tracegrade.config.JwtProperties;
+import com.tracegrade.domain.model.UserRole;
+import com.tracegrade.domain.repository.UserRepository;
+
+/**
+ * Finds an authenticated user's role from the users table rather than from
+ * anything the client presents.
+ *
+ * <p>Lookups are cached per user for {@code jwt.role-cache-ttl-seconds}, so a
+ * user whose role changes or who is deactivated is treated accordingly once the
+ * entry expires. At most {@code jwt.claims-cache-max-size} users are cached,
+ * the same bound as the tokens they authenticate with.
+ */
+@Service
+public class UserRoleLookup {
+
+    private final UserRepository userRepository;
+    private final Cache<UUID, Optional<UserRole>> roles;
+
+    @Autowired
+    public UserRoleLookup(UserRepository userRepository, JwtProperties properties) {
+        this(userRepository, properties, Ticker.systemTicker());
+    }
+
+    UserRoleLookup(UserRepository userRepository, JwtProperties properties, Ticker ticker) {
+        this.userRepository = userRepository;
+        this.roles = Caffeine.newBuilder()
+                .maximumSize(properties.getClaimsCacheMaxSize())
+                .expireAfterWrite(Duration.ofSeconds(properties.getRoleCacheTtlSeconds()))
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * @param userId the authenticated user's ID
+     * @return whether the user is active and has the {@link UserRole#ADMIN} role
+     */
+    public boolean isAdmin(UUID userId) {
+        return roles.get(userId, userRepository::findActiveRoleById)
+                .filter(role -> role == UserRole.ADMIN)
+                .isPresent();
+    }
+}
@@ -1,5 +1,8 @@
 package com.tracegrade.config;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
@@ -10,12 +13,77 @@ import lombok.Data;
 @ConfigurationProperties(prefix = "jwt")
 public class JwtProperties {
 
-    /** JWT signing secret (Base64-encoded or raw string). */
-    private String secret = "default-dev-secret-that-must-be-changed-in-production-min-32-chars";
+    /** Built-in value of {@link #secret}; HMAC tokens are refused at startup while it is in use. */
+    public static final String DEFAULT_SECRET = "default-dev-secret-that-must-be-changed-in-production-min-32-chars";
+
+    /** JWT signing secret (Base64-encoded or raw string); used for HMAC tokens when no key ring is active. */
+    private String secret = DEFAULT_SECRET;
 
     /** Token expiry in seconds. Default: 24 hours. */
     private long expirationSeconds = 86400L;
 
     /** Token issuer claim value. */
     private String issuer = "tracegrade";
+
+    /** Maximum number of recently verified tokens whose claims are kept until they expire. */
+    private long claimsCacheMaxSize = 10_000;
+
+    /**
+     * How long a user's role is taken from the users table before it is read
+     * again, so a demoted or deactivated administrator loses access within this
+     * many seconds.
+     */
+    private long roleCacheTtlSeconds = 60;
+
+    private final KeyRing keyRing = new KeyRing();
+
+    @Data
+    public static class KeyRing {
+
+        /** Key ID that signs new tokens; blank to keep signing HMAC tokens with {@code jwt.secret} */
+        private String activeKid;
+
+        /**
+         * Asymmetric keys (RSA or Ed25519) known to this node. To rotate, add the new
+         * key, make it active, and keep the old one listed (its public key is enough)
+         * until tokens it signed have expired.
+         */
+        private List<Key> keys = new ArrayList<>();
+
+        /**
+         * JWKS document to take verification keys from instead of {@code keys}; lets
+         * verify-only nodes check tokens without holding any signing secret
+         */
+        private String jwksUri;
+
+        /**
+         * Whether HMAC tokens signed with {@code jwt.secret} are still accepted after
+         * switching to {@code active-kid}, e.g. until the last HMAC tokens expire.
+         * Nodes without an active key sign and accept HMAC tokens regardless; nodes
+         * with {@code jwks-uri} never accept them.
+         */
+        private boolean acceptHmac = false;
+
+        /** How often keys are reloaded in the background, in milliseconds */
+        private long refreshIntervalMs = 300_000;
+
+        /** Minimum time between reloads triggered by a token with an unknown key ID, in milliseconds */
+        private long minRefreshIntervalMs = 30_000;
+
+        /** Connect and read timeout for fetching {@code jwks-uri}, in milliseconds */
+        private int jwksTimeoutMs = 5_000;
+    }
+
+    @Data
+    public static class Key {
+
+        /** Key ID placed in the {@code kid} header of tokens signed with this key */
+        private String kid;
+
+        /** PKCS#8 PEM private key, e.g. {@code file:/etc/tracegrade/jwt/2026-10.key}; omit for verify-only keys */
+        private String privateKeyLocation;
+
+        /** X.509 PEM public key, e.g. {@code file:/etc/tracegrade/jwt/2026-10.pub} */
+        private String publicKeyLocation;
+    }
 }
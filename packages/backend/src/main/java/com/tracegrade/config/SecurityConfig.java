@@ -100,6 +100,36 @@ public class SecurityConfig {
                 MvcRequestMatcher assignmentItemMatcher = new MvcRequestMatcher(
                                 introspector, "/api/schools/{schoolId}/classes/{classId}/assignments/{assignmentId}");
 
+                // Class analytics: GET
+                MvcRequestMatcher classAnalyticsMatcher = new MvcRequestMatcher(
+                                introspector, "/api/schools/{schoolId}/classes/{classId}/analytics");
+                classAnalyticsMatcher.setMethod(HttpMethod.GET);
+
+                // Per-question analytics of an assignment: GET
+                MvcRequestMatcher questionAnalyticsMatcher = new MvcRequestMatcher(
+                                introspector, "/api/schools/{schoolId}/classes/{classId}/analytics/assignments/{assignmentId}/questions");
+                questionAnalyticsMatcher.setMethod(HttpMethod.GET);
+
+                // Class gradebook: GET
+                MvcRequestMatcher gradebookMatcher = new MvcRequestMatcher(
+                                introspector, "/api/schools/{schoolId}/classes/{classId}/gradebook");
+                gradebookMatcher.setMethod(HttpMethod.GET);
+
+                // Student grade in a class: GET
+                MvcRequestMatcher studentGradeMatcher = new MvcRequestMatcher(
+                                introspector, "/api/schools/{schoolId}/classes/{classId}/gradebook/students/{studentId}");
+                studentGradeMatcher.setMethod(HttpMethod.GET);
+
+                // Grade posting for a class: POST
+                MvcRequestMatcher gradePostingMatcher = new MvcRequestMatcher(
+                                introspector, "/api/schools/{schoolId}/classes/{classId}/gradebook/post");
+                gradePostingMatcher.setMethod(HttpMethod.POST);
+
+                // School review queue: GET
+                MvcRequestMatcher schoolPendingReviewsMatcher = new MvcRequestMatcher(
+                                introspector, "/api/schools/{schoolId}/grading/reviews/pending");
+                schoolPendingReviewsMatcher.setMethod(HttpMethod.GET);
+
         // CORS must be configured first so preflight OPTIONS requests
         // get proper headers before any other filter can reject them.
         http.cors(cors -> cors.configurationSource(corsConfigurationSource()));
@@ -140,7 +170,7 @@ public class SecurityConfig {
                         .requestMatchers("/actuator/health", "/actuator/info").permitAll()
                         .requestMatchers("/swagger-ui/**", "/swagger-ui.html", "/v3/api-docs/**").permitAll()
                         .requestMatchers("/api/csrf/token").permitAll()
-                        .requestMatchers("/api/auth/register", "/api/auth/login").permitAll()
+                        .requestMatchers("/api/auth/register", "/api/auth/login", "/api/auth/jwks.json").permitAll()
                         // Protected endpoints with custom authorization
                         .requestMatchers("/api/exam-templates/**").authenticated()
                         .requestMatchers(dashboardStatsMatcher).access(this::authorizeDashboardSchoolAccess)
@@ -150,6 +180,14 @@ public class SecurityConfig {
                         .requestMatchers(gradeCategoryItemMatcher).access(this::authorizeDashboardSchoolAccess)
                         .requestMatchers(assignmentCollectionMatcher).access(this::authorizeDashboardSchoolAccess)
                         .requestMatchers(assignmentItemMatcher).access(this::authorizeDashboardSchoolAccess)
+                        .requestMatchers(classAnalyticsMatcher).access(this::authorizeDashboardSchoolAccess)
+                        .requestMatchers(questionAnalyticsMatcher).access(this::authorizeDashboardSchoolAccess)
+                        .requestMatchers(gradebookMatcher).access(this::authorizeDashboardSchoolAccess)
+                        .requestMatchers(studentGradeMatcher).access(this::authorizeDashboardSchoolAccess)
+                        .requestMatchers(gradePostingMatcher).access(this::authorizeDashboardSchoolAccess)
+                        .requestMatchers(schoolPendingReviewsMatcher).access(this::authorizeDashboardSchoolAccess)
+                        // Operational endpoints are limited to administrators
+                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
                         // All other actuator endpoints require authentication
                         .requestMatchers("/actuator/**").authenticated()
                         // Default: deny unauthenticated access (fail-closed)
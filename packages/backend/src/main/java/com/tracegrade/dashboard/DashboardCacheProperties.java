@@ -0,0 +1,56 @@
+package com.tracegrade.dashboard;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "dashboard.cache")
+public class DashboardCacheProperties {
+
+    /**
+     * Upper bound on how long a cached dashboard is served, in seconds. Changes
+     * evict entries straight away; this only limits staleness from missed
+     * invalidations and from "graded this week" rolling over at UTC midnight.
+     */
+    private int ttlSeconds = 300;
+
+    /** Maximum number of schools whose dashboards are held per node */
+    private long maxSize = 10_000;
+
+    private final Redis redis = new Redis();
+
+    private final Invalidation invalidation = new Invalidation();
+
+    @Data
+    public static class Redis {
+
+        /** Share cached dashboards across nodes through Redis */
+        private boolean enabled = false;
+
+        /** Prefix for cached dashboard keys in Redis */
+        private String keyPrefix = "dashboard:stats:";
+
+        /** After a Redis failure, how long to use the local cache only before trying Redis again, in milliseconds */
+        private long failureCooldownMs = 5_000;
+    }
+
+    @Data
+    public static class Invalidation {
+
+        /**
+         * Announce evictions over Redis pub/sub so every node drops its local copy.
+         * Needed whenever more than one node serves dashboards, with or without
+         * {@code redis.enabled}
+         */
+        private boolean enabled = true;
+
+        /** Pub/sub channel on which nodes announce invalidated schools */
+        private String channel = "dashboard:stats:invalidate";
+
+        /** How often to retry subscribing if Redis was unreachable when this node started, in milliseconds */
+        private long retryIntervalMs = 30_000;
+    }
+}
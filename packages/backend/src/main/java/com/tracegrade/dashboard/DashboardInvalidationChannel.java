@@ -0,0 +1,90 @@
+package com.tracegrade.dashboard;
+
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Broadcasts dashboard evictions to every node over Redis pub/sub on
+ * {@code dashboard.cache.invalidation.channel}, so a change committed on one
+ * node clears the cached dashboard on all of them. This only needs Redis to
+ * relay messages; it does not depend on {@link RedisDashboardStatsCache}.
+ *
+ * <p>Once subscribed, the listener container reconnects on its own after a
+ * Redis outage. If Redis is unreachable when the node starts, subscribing is
+ * retried every {@code retry-interval-ms}; until then this node relies on
+ * {@code dashboard.cache.ttl-seconds} for changes made elsewhere.
+ *
+ * <p>Active unless {@code dashboard.cache.invalidation.enabled=false}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "dashboard.cache.invalidation.enabled", havingValue = "true", matchIfMissing = true)
+public class DashboardInvalidationChannel implements DisposableBean {
+
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private volatile boolean subscribed;
+
+    public DashboardInvalidationChannel(StringRedisTemplate redisTemplate, RedisConnectionFactory connectionFactory,
+                                        DashboardCacheProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.channel = properties.getInvalidation().getChannel();
+        this.listenerContainer = new RedisMessageListenerContainer();
+        listenerContainer.setConnectionFactory(connectionFactory);
+    }
+
+    /**
+     * Tells every node, this one included, to drop the school's dashboard.
+     *
+     * @throws org.springframework.dao.DataAccessException if Redis cannot be reached
+     */
+    public void publish(UUID schoolId) {
+        redisTemplate.convertAndSend(channel, schoolId.toString());
+    }
+
+    /** Calls {@code onEvict} for every school any node evicts, this one included. */
+    public void subscribe(Consumer<UUID> onEvict) {
+        listenerContainer.addMessageListener((message, pattern) -> {
+            try {
+                onEvict.accept(UUID.fromString(new String(message.getBody())));
+            } catch (IllegalArgumentException e) {
+                log.warn("Ignoring malformed dashboard invalidation: {}", e.getMessage());
+            }
+        }, new ChannelTopic(channel));
+        listenerContainer.afterPropertiesSet();
+        subscribed = true;
+        ensureListening();
+    }
+
+    /** Starts listening if an earlier attempt found Redis unreachable. */
+    @Scheduled(initialDelayString = "${dashboard.cache.invalidation.retry-interval-ms:30000}",
+            fixedDelayString = "${dashboard.cache.invalidation.retry-interval-ms:30000}")
+    public void ensureListening() {
+        if (!subscribed || listenerContainer.isRunning()) {
+            return;
+        }
+        try {
+            listenerContainer.start();
+        } catch (RuntimeException e) {
+            log.warn("Cannot subscribe to dashboard invalidations yet, relying on the cache TTL: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        listenerContainer.destroy();
+    }
+}
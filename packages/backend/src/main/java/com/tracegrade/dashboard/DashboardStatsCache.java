@@ -0,0 +1,167 @@
+package com.tracegrade.dashboard;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Caches each school's dashboard so repeated refreshes do not query the
+ * database.
+ *
+ * <p>Entries are dropped when a {@link DashboardStatsChangedEvent} for the
+ * school commits, and expire after {@code dashboard.cache.ttl-seconds} at the
+ * latest. Concurrent misses for one school on a node share a single load.
+ * Statistics are published under the {@code cache.*} meters with
+ * {@code cache=dashboard.stats}.
+ *
+ * <p>Evictions are announced to every node through
+ * {@link DashboardInvalidationChannel} unless
+ * {@code dashboard.cache.invalidation.enabled=false}; a node that misses an
+ * announcement serves its copy until the TTL.
+ *
+ * <p>When {@code dashboard.cache.redis.enabled=true}, local misses are also
+ * served from {@link RedisDashboardStatsCache} where possible. If Redis fails,
+ * this node reads from its local cache and the database for
+ * {@code dashboard.cache.redis.failure-cooldown-ms} before trying Redis again;
+ * evictions are still sent during that time.
+ */
+@Slf4j
+@Component
+public class DashboardStatsCache {
+
+    static final String CACHE_NAME = "dashboard.stats";
+
+    private final DashboardStatsService dashboardStatsService;
+    private final DashboardCacheProperties properties;
+    private final Clock clock;
+    private final Cache<UUID, DashboardStatsSnapshot> snapshots;
+
+    /** Injected only when dashboard.cache.redis.enabled=true; null otherwise (per-node cache). */
+    @Autowired(required = false)
+    private RedisDashboardStatsCache redisCache;
+
+    /** Injected unless dashboard.cache.invalidation.enabled=false; null otherwise (evictions stay on this node). */
+    @Autowired(required = false)
+    private DashboardInvalidationChannel invalidationChannel;
+
+    /** Epoch millis before which Redis is not tried again after a failure. */
+    private volatile long redisRetryAt;
+
+    @Autowired
+    public DashboardStatsCache(DashboardStatsService dashboardStatsService, DashboardCacheProperties properties,
+                               MeterRegistry meterRegistry) {
+        this(dashboardStatsService, properties, meterRegistry, Ticker.systemTicker(), Clock.systemUTC());
+    }
+
+    DashboardStatsCache(DashboardStatsService dashboardStatsService, DashboardCacheProperties properties,
+                        MeterRegistry meterRegistry, Ticker ticker, Clock clock) {
+        this.dashboardStatsService = dashboardStatsService;
+        this.properties = properties;
+        this.clock = clock;
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(Duration.ofSeconds(properties.getTtlSeconds()))
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, snapshots, CACHE_NAME);
+    }
+
+    @PostConstruct
+    void subscribe() {
+        if (invalidationChannel != null) {
+            invalidationChannel.subscribe(snapshots::invalidate);
+        }
+    }
+
+    /**
+     * The school's dashboard, from cache when possible.
+     *
+     * @throws com.tracegrade.exception.ResourceNotFoundException if the school does not exist
+     */
+    public DashboardStatsSnapshot get(UUID schoolId) {
+        return snapshots.get(schoolId, this::load);
+    }
+
+    /** Drops the school's dashboard on this node, in Redis and, through the invalidation channel, on every node. */
+    public void evict(UUID schoolId) {
+        snapshots.invalidate(schoolId);
+        // Not skipped during the failure cooldown: a missed eviction leaves
+        // other nodes stale until the TTL, so it is always worth a try.
+        if (redisCache != null) {
+            try {
+                redisCache.evict(schoolId);
+            } catch (RuntimeException e) {
+                redisFailed(e);
+            }
+        }
+        if (invalidationChannel != null) {
+            try {
+                invalidationChannel.publish(schoolId);
+            } catch (RuntimeException e) {
+                log.warn("Could not announce dashboard eviction for schoolId={}, other nodes expire it by TTL: {}",
+                        schoolId, e.getMessage());
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatsChanged(DashboardStatsChangedEvent event) {
+        log.debug("Dashboard stats changed for schoolId={}", event.schoolId());
+        evict(event.schoolId());
+    }
+
+    private DashboardStatsSnapshot load(UUID schoolId) {
+        String generation = null;
+        if (useRedis()) {
+            try {
+                RedisDashboardStatsCache.Lookup shared = redisCache.get(schoolId);
+                if (shared.snapshot().isPresent()) {
+                    return shared.snapshot().get();
+                }
+                generation = shared.generation();
+            } catch (RuntimeException e) {
+                redisFailed(e);
+            }
+        }
+
+        DashboardStatsSnapshot snapshot = DashboardStatsSnapshot.of(
+                dashboardStatsService.getDashboardStats(schoolId), clock.instant());
+
+        // Without a generation read before the query there is no way to tell
+        // whether an eviction happened meanwhile, so nothing is shared.
+        if (generation != null && useRedis()) {
+            try {
+                if (!redisCache.put(schoolId, snapshot, generation)) {
+                    log.debug("Not sharing dashboard for schoolId={}: evicted while it was computed", schoolId);
+                }
+            } catch (RuntimeException e) {
+                redisFailed(e);
+            }
+        }
+        return snapshot;
+    }
+
+    private boolean useRedis() {
+        return redisCache != null && System.currentTimeMillis() >= redisRetryAt;
+    }
+
+    private void redisFailed(RuntimeException e) {
+        redisRetryAt = System.currentTimeMillis() + properties.getRedis().getFailureCooldownMs();
+        log.warn("Redis dashboard cache unavailable, using the local cache only for {}ms: {}",
+                properties.getRedis().getFailureCooldownMs(), e.getMessage());
+    }
+}
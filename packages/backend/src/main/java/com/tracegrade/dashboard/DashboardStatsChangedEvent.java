@@ -0,0 +1,12 @@
+package com.tracegrade.dashboard;
+
+import java.util.UUID;
+
+/**
+ * Published when something the school dashboard shows has changed: a result
+ * was graded or reviewed, or a student was added or (de)activated. Cached
+ * dashboard responses for the school are dropped once the publishing
+ * transaction commits.
+ */
+public record DashboardStatsChangedEvent(UUID schoolId) {
+}
@@ -2,6 +2,7 @@ package com.tracegrade.dashboard;
 
 import java.util.UUID;
 
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -28,21 +29,28 @@ import lombok.RequiredArgsConstructor;
 @SecurityRequirement(name = "BearerAuth")
 public class DashboardStatsController {
 
-    private final DashboardStatsService dashboardStatsService;
+    private final DashboardStatsCache dashboardStatsCache;
 
     @Operation(
             summary = "Get dashboard statistics for a school",
-            description = "Returns school-scoped summary metrics including active students, graded-this-week count, pending reviews, class average, and letter grade."
+            description = "Returns school-scoped summary metrics including active students, graded-this-week count, pending reviews, class average, and letter grade. "
+                    + "Responses carry ETag and Last-Modified; send If-None-Match to receive 304 while the stats are unchanged."
     )
     @ApiResponses({
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Dashboard statistics returned"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Dashboard statistics unchanged since the given ETag", content = @Content),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "School not found", content = @Content)
     })
     @GetMapping
     public ResponseEntity<ApiResponse<DashboardStatsResponse>> getDashboardStats(
             @Parameter(description = "UUID of the school", required = true)
             @PathVariable UUID schoolId) {
-        DashboardStatsResponse response = dashboardStatsService.getDashboardStats(schoolId);
-        return ResponseEntity.ok(ApiResponse.success(response));
+        DashboardStatsSnapshot snapshot = dashboardStatsCache.get(schoolId);
+        // Spring answers 304 itself when If-None-Match or If-Modified-Since matches these validators
+        return ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .lastModified(snapshot.lastModified())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(ApiResponse.success(snapshot.stats()));
     }
 }
@@ -2,68 +2,61 @@ package com.tracegrade.dashboard;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.time.Instant;
-import java.time.temporal.ChronoUnit;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.UUID;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.tracegrade.domain.repository.GradingResultRepository;
-import com.tracegrade.domain.repository.SchoolRepository;
-import com.tracegrade.domain.repository.StudentRepository;
+import com.tracegrade.domain.repository.SchoolGradingStatsRepository;
 import com.tracegrade.dto.response.DashboardStatsResponse;
 import com.tracegrade.exception.ResourceNotFoundException;
 
 import lombok.RequiredArgsConstructor;
 
+/**
+ * Serves the school dashboard from the statistics that
+ * {@link SchoolGradingStatsService} maintains, in a single indexed query whose
+ * cost does not grow with the school's grading history.
+ *
+ * <p>"Graded this week" counts results graded on the last seven UTC calendar
+ * days, today included.
+ */
 @Service
 @RequiredArgsConstructor
 public class DashboardStatsService {
 
     private static final int WEEK_WINDOW_DAYS = 7;
-    private static final int CLASS_COUNT_PLACEHOLDER = 0;
     private static final BigDecimal ZERO_AVERAGE = new BigDecimal("0.0");
 
-    private final SchoolRepository schoolRepository;
-    private final StudentRepository studentRepository;
-    private final GradingResultRepository gradingResultRepository;
+    private final SchoolGradingStatsRepository statsRepository;
 
     @Transactional(readOnly = true)
     public DashboardStatsResponse getDashboardStats(UUID schoolId) {
-        schoolRepository.findById(schoolId)
-                .orElseThrow(() -> new ResourceNotFoundException("School", schoolId));
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        LocalDate sinceDay = today.minusDays(WEEK_WINDOW_DAYS - 1);
 
-        Instant untilUtc = Instant.now();
-        Instant sinceUtc = untilUtc.minus(WEEK_WINDOW_DAYS, ChronoUnit.DAYS);
-        validateBoundedInterval(sinceUtc, untilUtc);
+        SchoolGradingStatsRepository.DashboardRow row = statsRepository.findDashboardRow(schoolId, sinceDay)
+                .orElseThrow(() -> new ResourceNotFoundException("School", schoolId));
 
-        long totalStudents = studentRepository.countBySchoolIdAndIsActiveTrue(schoolId);
-        long gradedThisWeek = gradingResultRepository.countSchoolGradedSince(schoolId, sinceUtc, untilUtc);
-        long pendingReviews = gradingResultRepository.countSchoolPendingReviews(schoolId);
-        BigDecimal classAverage = toDeterministicClassAverage(gradingResultRepository.averageSchoolScore(schoolId));
+        BigDecimal classAverage = toDeterministicClassAverage(row.getScoreSum(), row.getScoreCount());
 
         return DashboardStatsResponse.builder()
-                .totalStudents(totalStudents)
-                .classCount(CLASS_COUNT_PLACEHOLDER)
-                .gradedThisWeek(gradedThisWeek)
-                .pendingReviews(pendingReviews)
+                .totalStudents(row.getActiveStudents())
+                .classCount(Math.toIntExact(row.getActiveClasses()))
+                .gradedThisWeek(row.getGradedSince())
+                .pendingReviews(row.getPendingReviews())
                 .classAverage(classAverage)
                 .letterGrade(deriveLetterGrade(classAverage))
                 .build();
     }
 
-    private void validateBoundedInterval(Instant sinceUtc, Instant untilUtc) {
-        if (!sinceUtc.isBefore(untilUtc)) {
-            throw new IllegalArgumentException("sinceUtc must be before untilUtc");
-        }
-    }
-
-    private BigDecimal toDeterministicClassAverage(BigDecimal rawAverage) {
-        if (rawAverage == null) {
+    private BigDecimal toDeterministicClassAverage(BigDecimal scoreSum, Long scoreCount) {
+        if (scoreSum == null || scoreCount == null || scoreCount == 0) {
             return ZERO_AVERAGE;
         }
-        return rawAverage.setScale(1, RoundingMode.HALF_UP);
+        return scoreSum.divide(BigDecimal.valueOf(scoreCount), 1, RoundingMode.HALF_UP);
     }
 
     private String deriveLetterGrade(BigDecimal classAverage) {
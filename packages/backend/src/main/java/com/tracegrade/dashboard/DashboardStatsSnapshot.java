@@ -0,0 +1,28 @@
+package com.tracegrade.dashboard;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import org.springframework.util.DigestUtils;
+
+import com.tracegrade.dto.response.DashboardStatsResponse;
+
+/**
+ * A cached dashboard response with its HTTP validators.
+ *
+ * @param stats        the dashboard statistics
+ * @param etag         strong, quoted entity tag derived from the statistics, so
+ *                     every node computes the same tag for the same content
+ * @param lastModified when the statistics were computed, to the second
+ */
+public record DashboardStatsSnapshot(DashboardStatsResponse stats, String etag, Instant lastModified) {
+
+    static DashboardStatsSnapshot of(DashboardStatsResponse stats, Instant computedAt) {
+        String content = stats.getTotalStudents() + "|" + stats.getClassCount() + "|" + stats.getGradedThisWeek()
+                + "|" + stats.getPendingReviews() + "|" + stats.getClassAverage().toPlainString()
+                + "|" + stats.getLetterGrade();
+        String etag = "\"" + DigestUtils.md5DigestAsHex(content.getBytes(StandardCharsets.UTF_8)) + "\"";
+        return new DashboardStatsSnapshot(stats, etag, computedAt.truncatedTo(ChronoUnit.SECONDS));
+    }
+}
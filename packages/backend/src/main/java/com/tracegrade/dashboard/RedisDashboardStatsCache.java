@@ -0,0 +1,125 @@
+package com.tracegrade.dashboard;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cluster-wide layer of {@link DashboardStatsCache}.
+ *
+ * <p>Dashboards are stored as JSON under {@code dashboard.cache.redis.key-prefix}
+ * with the local cache's TTL, so a node that misses locally can usually skip
+ * the database. Each school also has a generation counter that every eviction
+ * increments. A node reads the generation together with the dashboard and may
+ * only store a dashboard it computed if the generation is still the one it
+ * read, so a slow load cannot overwrite a newer eviction with stale data.
+ *
+ * <p>Telling other nodes to drop their local copies is left to
+ * {@link DashboardInvalidationChannel}.
+ *
+ * <p>Redis errors propagate to the caller; {@link DashboardStatsCache} falls
+ * back to the database when that happens.
+ *
+ * <p>Only active when {@code dashboard.cache.redis.enabled=true}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "dashboard.cache.redis.enabled", havingValue = "true")
+public class RedisDashboardStatsCache {
+
+    private static final RedisScript<Long> PUT_IF_GENERATION_SCRIPT = loadScript("dashboard/put-if-generation.lua");
+    private static final RedisScript<Long> EVICT_SCRIPT = loadScript("dashboard/evict.lua");
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final DashboardCacheProperties.Redis properties;
+    private final Duration ttl;
+
+    public RedisDashboardStatsCache(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+                                    DashboardCacheProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties.getRedis();
+        this.ttl = Duration.ofSeconds(properties.getTtlSeconds());
+    }
+
+    /**
+     * The school's cached dashboard, if another node or this one stored it, and
+     * the generation to pass to {@link #put} if it has to be computed.
+     */
+    public Lookup get(UUID schoolId) {
+        List<String> values = redisTemplate.opsForValue().multiGet(List.of(key(schoolId), generationKey(schoolId)));
+        String json = values == null ? null : values.get(0);
+        String generation = values == null || values.get(1) == null ? "" : values.get(1);
+        if (json == null) {
+            return new Lookup(Optional.empty(), generation);
+        }
+        try {
+            return new Lookup(Optional.of(objectMapper.readValue(json, DashboardStatsSnapshot.class)), generation);
+        } catch (JsonProcessingException e) {
+            log.warn("Discarding unreadable cached dashboard for schoolId={}: {}", schoolId, e.getMessage());
+            return new Lookup(Optional.empty(), generation);
+        }
+    }
+
+    /**
+     * Stores the dashboard unless the school was evicted after {@code generation}
+     * was read.
+     *
+     * @return whether the dashboard was stored
+     */
+    public boolean put(UUID schoolId, DashboardStatsSnapshot snapshot, String generation) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(snapshot);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize dashboard for schoolId=" + schoolId, e);
+        }
+        Long stored = redisTemplate.execute(PUT_IF_GENERATION_SCRIPT,
+                List.of(key(schoolId), generationKey(schoolId)),
+                json, generation, String.valueOf(ttl.toMillis()));
+        return stored != null && stored == 1L;
+    }
+
+    /** Deletes the school's dashboard and bumps its generation so in-flight loads are not stored. */
+    public void evict(UUID schoolId) {
+        // The generation outlives the dashboard so a load that started before
+        // the eviction still finds it changed when it tries to store.
+        redisTemplate.execute(EVICT_SCRIPT,
+                List.of(key(schoolId), generationKey(schoolId)),
+                String.valueOf(ttl.multipliedBy(2).toMillis()));
+    }
+
+    private String key(UUID schoolId) {
+        return properties.getKeyPrefix() + schoolId;
+    }
+
+    private String generationKey(UUID schoolId) {
+        return properties.getKeyPrefix() + "gen:" + schoolId;
+    }
+
+    private static RedisScript<Long> loadScript(String path) {
+        DefaultRedisScript<Long> script = new DefaultRedisScript<>();
+        script.setScriptSource(new ResourceScriptSource(new ClassPathResource(path)));
+        script.setResultType(Long.class);
+        return script;
+    }
+
+    /** A cached dashboard, if any, and the school's generation when it was read. */
+    public record Lookup(Optional<DashboardStatsSnapshot> snapshot, String generation) {
+    }
+}
@@ -0,0 +1,120 @@
+package com.tracegrade.dashboard;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tracegrade.domain.model.GradingResult;
+import com.tracegrade.domain.repository.SchoolGradingStatsRepository;
+import com.tracegrade.domain.repository.StudentRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the per-school dashboard statistics current as grading results are
+ * created, reviewed and deleted. Updates join the caller's transaction, so a result and
+ * its effect on the statistics commit or roll back together.
+ *
+ * <p>A result's score is its final score, else its AI score, as in the
+ * dashboard's class average. Results of students that no longer exist are not
+ * counted.
+ *
+ * <p>Every update publishes a {@link DashboardStatsChangedEvent} so cached
+ * dashboards of the school are dropped once the transaction commits.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SchoolGradingStatsService {
+
+    private final SchoolGradingStatsRepository statsRepository;
+    private final StudentRepository studentRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /** Counts a newly created grading result. */
+    @Transactional
+    public void recordGraded(UUID studentId, GradingResult result) {
+        Optional<UUID> schoolId = schoolOf(studentId);
+        if (schoolId.isEmpty()) {
+            return;
+        }
+        BigDecimal score = effectiveScore(result);
+        apply(schoolId.get(), 1, isPending(result) ? 1 : 0,
+                score != null ? score : BigDecimal.ZERO, score != null ? 1 : 0);
+
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        statsRepository.insertDayIfAbsent(schoolId.get(), today);
+        statsRepository.incrementDay(schoolId.get(), today, 1);
+    }
+
+    /**
+     * Applies a teacher review to the statistics.
+     *
+     * @param previousScore the result's score before the review, or {@code null}
+     * @param wasPending    whether the result was awaiting review before this one
+     * @param result        the result after the review
+     */
+    @Transactional
+    public void recordReviewed(UUID studentId, BigDecimal previousScore, boolean wasPending, GradingResult result) {
+        Optional<UUID> schoolId = schoolOf(studentId);
+        if (schoolId.isEmpty()) {
+            return;
+        }
+        BigDecimal score = effectiveScore(result);
+        BigDecimal scoreDelta = (score != null ? score : BigDecimal.ZERO)
+                .subtract(previousScore != null ? previousScore : BigDecimal.ZERO);
+        long scoredDelta = (score != null ? 1 : 0) - (previousScore != null ? 1 : 0);
+        long pendingDelta = (isPending(result) ? 1 : 0) - (wasPending ? 1 : 0);
+        apply(schoolId.get(), 0, pendingDelta, scoreDelta, scoredDelta);
+    }
+
+    /**
+     * Takes a deleted grading result back out of the statistics, including the
+     * day it was graded on.
+     */
+    @Transactional
+    public void recordRemoved(UUID studentId, GradingResult result) {
+        Optional<UUID> schoolId = schoolOf(studentId);
+        if (schoolId.isEmpty()) {
+            return;
+        }
+        BigDecimal score = effectiveScore(result);
+        apply(schoolId.get(), -1, isPending(result) ? -1 : 0,
+                score != null ? score.negate() : BigDecimal.ZERO, score != null ? -1 : 0);
+
+        if (result.getCreatedAt() != null) {
+            statsRepository.incrementDay(schoolId.get(), LocalDate.ofInstant(result.getCreatedAt(), ZoneOffset.UTC), -1);
+        }
+    }
+
+    /** A result's score as counted in the class average: final, else AI, else none. */
+    public static BigDecimal effectiveScore(GradingResult result) {
+        return result.getFinalScore() != null ? result.getFinalScore() : result.getAiScore();
+    }
+
+    /** Whether a result counts as a pending review. */
+    public static boolean isPending(GradingResult result) {
+        return Boolean.TRUE.equals(result.getNeedsReview()) && result.getReviewedAt() == null;
+    }
+
+    private void apply(UUID schoolId, long graded, long pending, BigDecimal scoreSum, long scored) {
+        statsRepository.insertIfAbsent(schoolId);
+        statsRepository.increment(schoolId, graded, pending, scoreSum, scored);
+        eventPublisher.publishEvent(new DashboardStatsChangedEvent(schoolId));
+    }
+
+    private Optional<UUID> schoolOf(UUID studentId) {
+        Optional<UUID> schoolId = studentId != null ? studentRepository.findSchoolIdById(studentId) : Optional.empty();
+        if (schoolId.isEmpty()) {
+            log.debug("No school for studentId={}; grading result not counted in school stats", studentId);
+        }
+        return schoolId;
+    }
+}
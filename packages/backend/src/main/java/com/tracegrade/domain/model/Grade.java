@@ -0,0 +1,49 @@
+package com.tracegrade.domain.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(name = "grades",
+        uniqueConstraints = @UniqueConstraint(name = "uq_grades_student_assignment",
+                columnNames = {"student_id", "assignment_id"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Grade extends BaseEntity {
+
+    @Column(name = "assignment_id", nullable = false, updatable = false)
+    private UUID assignmentId;
+
+    @Column(name = "student_id", nullable = false, updatable = false)
+    private UUID studentId;
+
+    @Column(name = "points_earned", precision = 10, scale = 2)
+    private BigDecimal pointsEarned;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @Builder.Default
+    private GradeStatus status = GradeStatus.PENDING;
+
+    @Column(name = "notes", columnDefinition = "TEXT")
+    private String notes;
+
+    @Column(name = "graded_at")
+    private Instant gradedAt;
+}
@@ -0,0 +1,9 @@
+package com.tracegrade.domain.model;
+
+public enum GradeStatus {
+    PENDING,
+    GRADED,
+    EXCUSED,
+    MISSING,
+    INCOMPLETE
+}
@@ -0,0 +1,50 @@
+package com.tracegrade.domain.model;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** The score of one question of a grading result. */
+@Entity
+@Table(name = "grading_question_scores",
+        uniqueConstraints = @UniqueConstraint(name = "uq_grading_question_scores_result_question",
+                columnNames = {"grading_result_id", "question_number"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GradingQuestionScore extends BaseEntity {
+
+    @Column(name = "grading_result_id", nullable = false, updatable = false)
+    private UUID gradingResultId;
+
+    @Column(name = "question_number", nullable = false, updatable = false)
+    private Integer questionNumber;
+
+    @Column(name = "points_awarded", nullable = false, precision = 10, scale = 2)
+    private BigDecimal pointsAwarded;
+
+    @Column(name = "points_available", nullable = false, precision = 10, scale = 2)
+    private BigDecimal pointsAvailable;
+
+    /** The AI's confidence in this question's score, as a percentage. */
+    @Column(name = "confidence_score", precision = 5, scale = 2)
+    private BigDecimal confidenceScore;
+
+    @Column(name = "illegible", nullable = false)
+    @Builder.Default
+    private Boolean illegible = false;
+
+    @Column(name = "feedback", columnDefinition = "TEXT")
+    private String feedback;
+}
@@ -0,0 +1,52 @@
+package com.tracegrade.domain.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** Number of results graded for one school on one UTC day. */
+@Entity
+@Table(name = "school_grading_days")
+@IdClass(SchoolGradingDay.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SchoolGradingDay {
+
+    @Id
+    @Column(name = "school_id", nullable = false, updatable = false)
+    private UUID schoolId;
+
+    @Id
+    @Column(name = "graded_on", nullable = false, updatable = false)
+    private LocalDate gradedOn;
+
+    @Column(name = "graded_count", nullable = false)
+    private long gradedCount;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+
+        private UUID schoolId;
+
+        private LocalDate gradedOn;
+    }
+}
@@ -0,0 +1,51 @@
+package com.tracegrade.domain.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Running grading totals of one school, kept up to date as results are created
+ * and reviewed. Written only through the increments in
+ * {@link com.tracegrade.domain.repository.SchoolGradingStatsRepository}.
+ */
+@Entity
+@Table(name = "school_grading_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SchoolGradingStats {
+
+    @Id
+    @Column(name = "school_id", nullable = false, updatable = false)
+    private UUID schoolId;
+
+    @Column(name = "graded_count", nullable = false)
+    private long gradedCount;
+
+    /** Results that need review and have not been reviewed yet. */
+    @Column(name = "pending_reviews", nullable = false)
+    private long pendingReviews;
+
+    /** Sum of the effective score (final, else AI) over results that have one. */
+    @Column(name = "score_sum", nullable = false, precision = 18, scale = 2)
+    private BigDecimal scoreSum;
+
+    @Column(name = "score_count", nullable = false)
+    private long scoreCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
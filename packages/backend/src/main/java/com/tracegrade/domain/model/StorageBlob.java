@@ -0,0 +1,57 @@
+package com.tracegrade.domain.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A content-addressed stored object. Identical uploads share one row and one
+ * stored object; {@code refCount} tracks how many owners still point at it.
+ */
+@Entity
+@Table(name = "storage_blobs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StorageBlob extends BaseEntity {
+
+    /** Lower-case hex SHA-256 of the stored bytes. */
+    @NotBlank
+    @Size(min = 64, max = 64)
+    @Column(name = "content_hash", nullable = false, unique = true, length = 64)
+    private String contentHash;
+
+    @NotBlank
+    @Size(max = 500)
+    @Column(name = "storage_key", nullable = false, length = 500)
+    private String storageKey;
+
+    @Size(max = 100)
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    @NotNull
+    @Column(name = "size_bytes", nullable = false)
+    private Long sizeBytes;
+
+    @NotNull
+    @Column(name = "ref_count", nullable = false)
+    @Builder.Default
+    private Integer refCount = 1;
+
+    /** Set when refCount drops to zero; cleared when the blob is referenced again. */
+    @Column(name = "unreferenced_at")
+    private Instant unreferencedAt;
+}
@@ -0,0 +1,13 @@
+package com.tracegrade.domain.model;
+
+/**
+ * Storage tier holding a submission's images.
+ */
+public enum StorageTier {
+    /** Default storage; objects are read frequently. */
+    HOT,
+    /** Cheaper storage for reviewed submissions that are rarely read again. */
+    COLD,
+    /** Accepted into the local write-behind spool; not yet uploaded to storage. */
+    STAGED
+}
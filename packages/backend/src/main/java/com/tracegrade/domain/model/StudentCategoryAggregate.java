@@ -0,0 +1,62 @@
+package com.tracegrade.domain.model;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Running totals of one student's counted grades in one grade category, kept
+ * up to date as grades change so a student's average is read without scanning
+ * their grades. Maintained by {@link com.tracegrade.gradebook.GradeAggregateService}.
+ */
+@Entity
+@Table(name = "student_category_aggregates",
+        uniqueConstraints = @UniqueConstraint(name = "uq_student_category_aggregates",
+                columnNames = {"student_id", "category_id"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StudentCategoryAggregate extends BaseEntity {
+
+    @Column(name = "class_id", nullable = false, updatable = false)
+    private UUID classId;
+
+    @Column(name = "category_id", nullable = false, updatable = false)
+    private UUID categoryId;
+
+    @Column(name = "student_id", nullable = false, updatable = false)
+    private UUID studentId;
+
+    /** Points earned over all counted grades, dropped ones included. */
+    @Column(name = "earned_sum", nullable = false, precision = 12, scale = 2)
+    @Builder.Default
+    private BigDecimal earnedSum = BigDecimal.ZERO;
+
+    /** Points possible over all counted grades, dropped ones included. */
+    @Column(name = "possible_sum", nullable = false, precision = 12, scale = 2)
+    @Builder.Default
+    private BigDecimal possibleSum = BigDecimal.ZERO;
+
+    @Column(name = "graded_count", nullable = false)
+    private int gradedCount;
+
+    /**
+     * The category's {@code drop_lowest} lowest counted grades by percentage,
+     * lowest first, as {@code assignmentId=earned/possible} entries separated by
+     * {@code ;}. Holds every counted grade when there are fewer.
+     */
+    @Column(name = "lowest_scores", nullable = false, columnDefinition = "TEXT")
+    @Builder.Default
+    private String lowestScores = "";
+}
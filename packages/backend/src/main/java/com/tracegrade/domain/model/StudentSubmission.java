@@ -60,6 +60,21 @@ public class StudentSubmission extends BaseEntity {
     @Column(name = "submitted_at", nullable = false)
     private Instant submittedAt;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "storage_tier", nullable = false, length = 10)
+    @Builder.Default
+    private StorageTier storageTier = StorageTier.HOT;
+
+    /** Node id of the write-behind spool holding the images while the submission is STAGED. */
+    @Size(max = 100)
+    @Column(name = "staged_by", length = 100)
+    private String stagedBy;
+
+    /** SHA-256 of the stored image when uploaded through content-addressed storage. */
+    @Size(max = 64)
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     @OneToOne(mappedBy = "submission", cascade = CascadeType.ALL, orphanRemoval = true)
     private GradingResult gradingResult;
 }
@@ -1,10 +1,15 @@
 package com.tracegrade.domain.repository;
 
+import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.tracegrade.domain.model.Assignment;
@@ -14,11 +19,106 @@ public interface AssignmentRepository extends JpaRepository<Assignment, UUID> {
 
     List<Assignment> findByClassId(UUID classId);
 
+    /** A page of the class's assignments, oldest first, after the given (createdAt, id) position. */
+    @Query("""
+            SELECT a FROM Assignment a
+            WHERE a.classId = :classId
+                AND a.createdAt >= :afterCreatedAt
+                AND (a.createdAt > :afterCreatedAt OR a.id > :afterId)
+            ORDER BY a.createdAt, a.id
+            """)
+    List<Assignment> findPageByClassId(@Param("classId") UUID classId,
+                                       @Param("afterCreatedAt") Instant afterCreatedAt,
+                                       @Param("afterId") UUID afterId,
+                                       Pageable pageable);
+
     List<Assignment> findByClassIdAndIsPublished(UUID classId, boolean isPublished);
 
+    List<Assignment> findByCategoryId(UUID categoryId);
+
     Optional<Assignment> findByIdAndClassId(UUID id, UUID classId);
 
     boolean existsByClassIdAndNameIgnoreCase(UUID classId, String name);
 
     boolean existsByClassIdAndNameIgnoreCaseAndIdNot(UUID classId, String name, UUID id);
+
+    /**
+     * One row per assignment and score bucket of a class. A result's score is
+     * its final score, else its AI score; bucket {@code b} holds scores in
+     * {@code [10b, 10b + 10)}, with 100 in bucket 9, and results without a
+     * score are in the null bucket.
+     *
+     * <p>The median columns carry the one or two middle scores of the
+     * assignment and of the whole class: summed over all rows, their sum
+     * divided by their count is the median.
+     */
+    interface AnalyticsRow {
+
+        UUID getAssignmentId();
+
+        String getAssignmentName();
+
+        Integer getBucket();
+
+        Long getResults();
+
+        Long getScored();
+
+        BigDecimal getScoreSum();
+
+        Long getPending();
+
+        Long getGradedSince();
+
+        BigDecimal getAssignmentMedianSum();
+
+        Long getAssignmentMedianCount();
+
+        BigDecimal getClassMedianSum();
+
+        Long getClassMedianCount();
+    }
+
+    @Query(value = """
+            SELECT assignment_id AS "assignmentId",
+                   assignment_name AS "assignmentName",
+                   bucket AS "bucket",
+                   COUNT(result_id) AS "results",
+                   COUNT(score) AS "scored",
+                   COALESCE(SUM(score), 0) AS "scoreSum",
+                   COALESCE(SUM(pending), 0) AS "pending",
+                   COALESCE(SUM(recent), 0) AS "gradedSince",
+                   SUM(CASE WHEN assignment_rank IN ((assignment_scored + 1) / 2, (assignment_scored + 2) / 2)
+                            THEN score END) AS "assignmentMedianSum",
+                   COUNT(CASE WHEN assignment_rank IN ((assignment_scored + 1) / 2, (assignment_scored + 2) / 2)
+                              THEN score END) AS "assignmentMedianCount",
+                   SUM(CASE WHEN class_rank IN ((class_scored + 1) / 2, (class_scored + 2) / 2)
+                            THEN score END) AS "classMedianSum",
+                   COUNT(CASE WHEN class_rank IN ((class_scored + 1) / 2, (class_scored + 2) / 2)
+                              THEN score END) AS "classMedianCount"
+            FROM (
+                SELECT r.*,
+                       CASE WHEN r.score IS NULL THEN NULL
+                            ELSE LEAST(GREATEST(CAST(FLOOR(r.score / 10) AS INTEGER), 0), 9) END AS bucket,
+                       ROW_NUMBER() OVER (PARTITION BY r.assignment_id ORDER BY r.score NULLS LAST) AS assignment_rank,
+                       COUNT(r.score) OVER (PARTITION BY r.assignment_id) AS assignment_scored,
+                       ROW_NUMBER() OVER (ORDER BY r.score NULLS LAST) AS class_rank,
+                       COUNT(r.score) OVER () AS class_scored
+                FROM (
+                    SELECT a.id AS assignment_id,
+                           a.name AS assignment_name,
+                           gr.id AS result_id,
+                           COALESCE(gr.final_score, gr.ai_score) AS score,
+                           CASE WHEN gr.needs_review = TRUE AND gr.reviewed_at IS NULL THEN 1 ELSE 0 END AS pending,
+                           CASE WHEN gr.created_at >= :since THEN 1 ELSE 0 END AS recent
+                    FROM assignments a
+                    LEFT JOIN student_submissions ss ON ss.assignment_id = a.id
+                    LEFT JOIN grading_results gr ON gr.submission_id = ss.id
+                    WHERE a.class_id = :classId
+                ) r
+            ) ranked
+            GROUP BY assignment_id, assignment_name, bucket
+            ORDER BY assignment_name, assignment_id, bucket NULLS LAST
+            """, nativeQuery = true)
+    List<AnalyticsRow> findClassAnalytics(@Param("classId") UUID classId, @Param("since") Instant since);
 }
@@ -1,10 +1,14 @@
 package com.tracegrade.domain.repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.tracegrade.domain.model.ClassEnrollment;
@@ -14,6 +18,19 @@ public interface ClassEnrollmentRepository extends JpaRepository<ClassEnrollment
 
     List<ClassEnrollment> findByClassIdAndDroppedAtIsNull(UUID classId);
 
+    /** A page of the class's active enrollments, oldest first, after the given (createdAt, id) position. */
+    @Query("""
+            SELECT e FROM ClassEnrollment e
+            WHERE e.classId = :classId AND e.droppedAt IS NULL
+                AND e.createdAt >= :afterCreatedAt
+                AND (e.createdAt > :afterCreatedAt OR e.id > :afterId)
+            ORDER BY e.createdAt, e.id
+            """)
+    List<ClassEnrollment> findActivePageByClassId(@Param("classId") UUID classId,
+                                                  @Param("afterCreatedAt") Instant afterCreatedAt,
+                                                  @Param("afterId") UUID afterId,
+                                                  Pageable pageable);
+
     List<ClassEnrollment> findByClassId(UUID classId);
 
     List<ClassEnrollment> findByStudentId(UUID studentId);
@@ -23,4 +40,12 @@ public interface ClassEnrollmentRepository extends JpaRepository<ClassEnrollment
     Optional<ClassEnrollment> findByClassIdAndStudentIdAndDroppedAtIsNull(UUID classId, UUID studentId);
 
     Optional<ClassEnrollment> findByIdAndClassId(UUID enrollmentId, UUID classId);
+
+    @Query("""
+            SELECT new com.tracegrade.domain.repository.EnrolledStudent(s.id, s.firstName, s.lastName)
+            FROM ClassEnrollment e, Student s
+            WHERE s.id = e.studentId AND e.classId = :classId AND e.droppedAt IS NULL
+            ORDER BY s.lastName, s.firstName, s.id
+            """)
+    List<EnrolledStudent> findEnrolledStudents(@Param("classId") UUID classId);
 }
@@ -0,0 +1,7 @@
+package com.tracegrade.domain.repository;
+
+import java.util.UUID;
+
+/** Which school and teacher a class belongs to; neither can change once the class exists. */
+public record ClassOwnership(UUID classId, UUID schoolId, UUID teacherId) {
+}
@@ -5,6 +5,8 @@ import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.tracegrade.domain.model.Class;
@@ -18,6 +20,12 @@ public interface ClassRepository extends JpaRepository<Class, UUID> {
 
     Optional<Class> findByIdAndSchoolId(UUID classId, UUID schoolId);
 
+    @Query("""
+            SELECT new com.tracegrade.domain.repository.ClassOwnership(c.id, c.school.id, c.teacherId)
+            FROM Class c WHERE c.id = :classId
+            """)
+    Optional<ClassOwnership> findOwnershipById(@Param("classId") UUID classId);
+
     boolean existsBySchoolIdAndTeacherIdAndNameIgnoreCaseAndSchoolYearAndPeriodAndIsActiveTrue(
             UUID schoolId,
             UUID teacherId,
@@ -0,0 +1,7 @@
+package com.tracegrade.domain.repository;
+
+import java.util.UUID;
+
+/** A student currently enrolled in a class, as listed in the class gradebook. */
+public record EnrolledStudent(UUID studentId, String firstName, String lastName) {
+}
@@ -1,10 +1,14 @@
 package com.tracegrade.domain.repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.tracegrade.domain.model.ExamTemplate;
 
@@ -12,21 +16,31 @@ public interface ExamTemplateRepository extends JpaRepository<ExamTemplate, UUID
 
     boolean existsByTeacherIdAndNameIgnoreCase(UUID teacherId, String name);
 
-    List<ExamTemplate> findByTeacherIdOrderByCreatedAtDesc(UUID teacherId);
-
-    List<ExamTemplate> findByTeacherIdAndSubjectIgnoreCaseOrderByCreatedAtDesc(UUID teacherId, String subject);
+    /**
+     * A page of the teacher's templates, newest first, before the given
+     * (createdAt, id) position. Subject and grade level are matched ignoring
+     * case; a null filter matches every template.
+     */
+    @Query("""
+            SELECT t FROM ExamTemplate t
+            WHERE t.teacherId = :teacherId
+                AND (:subject IS NULL OR LOWER(t.subject) = LOWER(:subject))
+                AND (:gradeLevel IS NULL OR LOWER(t.gradeLevel) = LOWER(:gradeLevel))
+                AND t.createdAt <= :beforeCreatedAt
+                AND (t.createdAt < :beforeCreatedAt OR t.id < :beforeId)
+            ORDER BY t.createdAt DESC, t.id DESC
+            """)
+    List<ExamTemplate> findPageByTeacherId(@Param("teacherId") UUID teacherId,
+                                           @Param("subject") String subject,
+                                           @Param("gradeLevel") String gradeLevel,
+                                           @Param("beforeCreatedAt") Instant beforeCreatedAt,
+                                           @Param("beforeId") UUID beforeId,
+                                           Pageable pageable);
 
     List<ExamTemplate> findByTeacherIdAndSubject(UUID teacherId, String subject);
 
-    List<ExamTemplate> findByTeacherIdAndGradeLevelIgnoreCaseOrderByCreatedAtDesc(UUID teacherId, String gradeLevel);
-
     List<ExamTemplate> findByGradeLevel(String gradeLevel);
 
-    List<ExamTemplate> findByTeacherIdAndSubjectIgnoreCaseAndGradeLevelIgnoreCaseOrderByCreatedAtDesc(
-            UUID teacherId,
-            String subject,
-            String gradeLevel);
-
     List<ExamTemplate> findBySubjectAndGradeLevel(String subject, String gradeLevel);
 
     Optional<ExamTemplate> findByIdAndTeacherId(UUID id, UUID teacherId);
@@ -0,0 +1,10 @@
+package com.tracegrade.domain.repository;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import com.tracegrade.domain.model.GradeStatus;
+
+/** The scoring columns of one grade, read without loading the entity. */
+public record GradeCell(UUID assignmentId, UUID studentId, BigDecimal pointsEarned, GradeStatus status) {
+}
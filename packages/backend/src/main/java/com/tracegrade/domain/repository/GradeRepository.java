@@ -0,0 +1,53 @@
+package com.tracegrade.domain.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.tracegrade.domain.model.Grade;
+
+@Repository
+public interface GradeRepository extends JpaRepository<Grade, UUID> {
+
+    /** Every grade recorded for an assignment of the class, in one query. */
+    @Query("""
+            SELECT new com.tracegrade.domain.repository.GradeCell(
+                g.assignmentId, g.studentId, g.pointsEarned, g.status)
+            FROM Grade g, Assignment a
+            WHERE a.id = g.assignmentId AND a.classId = :classId
+            """)
+    List<GradeCell> findCellsByClassId(@Param("classId") UUID classId);
+
+    /** Every grade recorded for an assignment of the category. */
+    @Query("""
+            SELECT new com.tracegrade.domain.repository.GradeCell(
+                g.assignmentId, g.studentId, g.pointsEarned, g.status)
+            FROM Grade g, Assignment a
+            WHERE a.id = g.assignmentId AND a.categoryId = :categoryId
+            """)
+    List<GradeCell> findCellsByCategoryId(@Param("categoryId") UUID categoryId);
+
+    /** One student's grades for the assignments of the category. */
+    @Query("""
+            SELECT new com.tracegrade.domain.repository.GradeCell(
+                g.assignmentId, g.studentId, g.pointsEarned, g.status)
+            FROM Grade g, Assignment a
+            WHERE a.id = g.assignmentId AND a.categoryId = :categoryId AND g.studentId = :studentId
+            """)
+    List<GradeCell> findCellsByCategoryIdAndStudentId(@Param("categoryId") UUID categoryId,
+                                                      @Param("studentId") UUID studentId);
+
+    /** Every grade recorded for the given assignments. */
+    @Query("""
+            SELECT new com.tracegrade.domain.repository.GradeCell(
+                g.assignmentId, g.studentId, g.pointsEarned, g.status)
+            FROM Grade g
+            WHERE g.assignmentId IN :assignmentIds
+            """)
+    List<GradeCell> findCellsByAssignmentIdIn(@Param("assignmentIds") Collection<UUID> assignmentIds);
+}
@@ -0,0 +1,98 @@
+package com.tracegrade.domain.repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.tracegrade.domain.model.Grade;
+import com.tracegrade.domain.model.GradeStatus;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Writes graded scores into {@code grades} with plain JDBC batches, so posting
+ * a class's results costs one statement per batch rather than a select and an
+ * insert or update per grade. Only pending and graded rows are overwritten;
+ * a grade the teacher has set to excused, missing or incomplete is left as is.
+ */
+@Repository
+@RequiredArgsConstructor
+public class GradeUpsertRepository {
+
+    static final String UPSERT_SQL = """
+            INSERT INTO grades (id, assignment_id, student_id, points_earned, status, graded_at, created_at, updated_at)
+            VALUES (?, ?, ?, ?, 'GRADED', ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+            ON CONFLICT (student_id, assignment_id) DO UPDATE
+            SET points_earned = EXCLUDED.points_earned,
+                status = EXCLUDED.status,
+                graded_at = EXCLUDED.graded_at,
+                updated_at = EXCLUDED.updated_at
+            WHERE grades.status IN ('PENDING', 'GRADED')
+            """;
+
+    static final String INSERT_PENDING_SQL = """
+            INSERT INTO grades (id, assignment_id, student_id, status, created_at, updated_at)
+            VALUES (?, ?, ?, 'PENDING', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+            ON CONFLICT (student_id, assignment_id) DO NOTHING
+            """;
+
+    static final String LOCK_SQL = """
+            SELECT points_earned, status FROM grades
+            WHERE student_id = ? AND assignment_id = ?
+            FOR UPDATE
+            """;
+
+    static final String DELETE_GRADED_SQL = """
+            DELETE FROM grades
+            WHERE student_id = ? AND assignment_id = ? AND status = 'GRADED'
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Locks the student's grade on the assignment until the caller's
+     * transaction ends, first inserting a pending grade with {@code id} if
+     * there is none, and returns it. Inserting first means two postings for a
+     * new grade queue on the same row rather than both seeing no grade.
+     */
+    public GradeCell lockCell(UUID id, UUID assignmentId, UUID studentId) {
+        jdbcTemplate.update(INSERT_PENDING_SQL, id, assignmentId, studentId);
+        return findCellForUpdate(assignmentId, studentId).orElseThrow();
+    }
+
+    /**
+     * Locks the student's grade on the assignment until the caller's
+     * transaction ends and returns it, or returns empty if there is none.
+     */
+    public Optional<GradeCell> findCellForUpdate(UUID assignmentId, UUID studentId) {
+        return jdbcTemplate.query(LOCK_SQL, (rs, rowNum) -> new GradeCell(assignmentId, studentId,
+                rs.getBigDecimal("points_earned"), GradeStatus.valueOf(rs.getString("status"))),
+                studentId, assignmentId).stream().findFirst();
+    }
+
+    /** Deletes the student's grade on the assignment if it is {@code GRADED}. */
+    public void deleteGraded(UUID assignmentId, UUID studentId) {
+        jdbcTemplate.update(DELETE_GRADED_SQL, studentId, assignmentId);
+    }
+
+    /**
+     * Inserts or updates each grade as {@code GRADED} with its points and
+     * graded time; the grades' IDs are used for new rows only.
+     */
+    public void upsertGraded(List<Grade> grades, int batchSize) {
+        if (grades.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, grades, batchSize, (ps, grade) -> {
+            ps.setObject(1, grade.getId());
+            ps.setObject(2, grade.getAssignmentId());
+            ps.setObject(3, grade.getStudentId());
+            ps.setBigDecimal(4, grade.getPointsEarned());
+            ps.setTimestamp(5, grade.getGradedAt() != null ? Timestamp.from(grade.getGradedAt()) : null);
+        });
+    }
+}
@@ -0,0 +1,32 @@
+package com.tracegrade.domain.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.tracegrade.domain.model.GradingQuestionScore;
+
+public interface GradingQuestionScoreRepository extends JpaRepository<GradingQuestionScore, UUID> {
+
+    List<GradingQuestionScore> findByGradingResultIdOrderByQuestionNumber(UUID gradingResultId);
+
+    /** The question scores of several results in one query, each result's in question order. */
+    List<GradingQuestionScore> findByGradingResultIdInOrderByQuestionNumber(Collection<UUID> gradingResultIds);
+
+    /** Per-question answer statistics of the assignment's graded submissions, in question order. */
+    @Query("""
+            SELECT new com.tracegrade.domain.repository.QuestionItemStats(
+                q.questionNumber, COUNT(q.id), AVG(q.pointsAwarded), MAX(q.pointsAvailable),
+                SUM(CASE WHEN q.illegible = true THEN 1L ELSE 0L END))
+            FROM GradingQuestionScore q, GradingResult r JOIN r.submission s
+            WHERE r.id = q.gradingResultId
+                AND s.assignmentId = :assignmentId
+            GROUP BY q.questionNumber
+            ORDER BY q.questionNumber
+            """)
+    List<QuestionItemStats> findItemStatsByAssignmentId(@Param("assignmentId") UUID assignmentId);
+}
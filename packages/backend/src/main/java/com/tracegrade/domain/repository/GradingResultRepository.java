@@ -2,10 +2,13 @@ package com.tracegrade.domain.repository;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,14 +17,106 @@ import com.tracegrade.domain.model.GradingResult;
 
 public interface GradingResultRepository extends JpaRepository<GradingResult, UUID> {
 
+    /** The submission's result, with the submission loaded in the same query. */
+    @EntityGraph(attributePaths = "submission")
     Optional<GradingResult> findBySubmissionId(UUID submissionId);
 
+    boolean existsBySubmissionId(UUID submissionId);
+
+    /** The result with the given grade ID, with its submission loaded in the same query. */
+    @EntityGraph(attributePaths = "submission")
     Optional<GradingResult> findByGradeId(UUID gradeId);
 
     List<GradingResult> findByNeedsReviewTrueAndReviewedAtIsNull();
 
+    /**
+     * A page of results awaiting review, oldest first, after the given
+     * (createdAt, id) position. Submissions are fetched in the same query.
+     */
+    @Query("""
+            SELECT r FROM GradingResult r JOIN FETCH r.submission
+            WHERE r.needsReview = true AND r.reviewedAt IS NULL
+                AND r.createdAt >= :afterCreatedAt
+                AND (r.createdAt > :afterCreatedAt OR r.id > :afterId)
+            ORDER BY r.createdAt, r.id
+            """)
+    List<GradingResult> findPendingReviewPage(@Param("afterCreatedAt") Instant afterCreatedAt,
+                                              @Param("afterId") UUID afterId,
+                                              Pageable pageable);
+
     List<GradingResult> findByNeedsReviewTrueOrderByCreatedAtAsc();
 
+    /**
+     * A page of the school's results awaiting review, oldest first, after the
+     * given (createdAt, id) position, with their submissions fetched in the
+     * same query. A non-null teacher narrows the page to submissions for
+     * assignments in that teacher's classes.
+     */
+    @Query("""
+            SELECT r FROM GradingResult r JOIN FETCH r.submission s, Student st
+            WHERE st.id = s.studentId
+                AND st.school.id = :schoolId
+                AND r.needsReview = true AND r.reviewedAt IS NULL
+                AND (:teacherId IS NULL OR EXISTS (
+                    SELECT a.id FROM Assignment a, Class c
+                    WHERE a.id = s.assignmentId AND c.id = a.classId AND c.teacherId = :teacherId))
+                AND r.createdAt >= :afterCreatedAt
+                AND (r.createdAt > :afterCreatedAt OR r.id > :afterId)
+            ORDER BY r.createdAt, r.id
+            """)
+    List<GradingResult> findSchoolPendingReviewPage(@Param("schoolId") UUID schoolId,
+                                                    @Param("teacherId") UUID teacherId,
+                                                    @Param("afterCreatedAt") Instant afterCreatedAt,
+                                                    @Param("afterId") UUID afterId,
+                                                    Pageable pageable);
+
+    /**
+     * Results of the given submissions that can be posted as grades: scored,
+     * and either not flagged for review or already reviewed.
+     */
+    @Query("""
+            SELECT new com.tracegrade.domain.repository.PostableResult(
+                s.id, s.studentId, a.id, a.maxPoints,
+                COALESCE(r.finalScore, r.aiScore), COALESCE(r.reviewedAt, r.createdAt))
+            FROM GradingResult r JOIN r.submission s, Assignment a
+            WHERE a.id = s.assignmentId
+                AND s.id IN :submissionIds
+                AND COALESCE(r.finalScore, r.aiScore) IS NOT NULL
+                AND (r.needsReview = false OR r.reviewedAt IS NOT NULL)
+            """)
+    List<PostableResult> findPostableBySubmissionIds(@Param("submissionIds") Collection<UUID> submissionIds);
+
+    /**
+     * Every result of the student on the assignment that can be posted as a
+     * grade; see {@link #findPostableBySubmissionIds}.
+     */
+    @Query("""
+            SELECT new com.tracegrade.domain.repository.PostableResult(
+                s.id, s.studentId, a.id, a.maxPoints,
+                COALESCE(r.finalScore, r.aiScore), COALESCE(r.reviewedAt, r.createdAt))
+            FROM GradingResult r JOIN r.submission s, Assignment a
+            WHERE a.id = s.assignmentId
+                AND s.studentId = :studentId
+                AND s.assignmentId = :assignmentId
+                AND COALESCE(r.finalScore, r.aiScore) IS NOT NULL
+                AND (r.needsReview = false OR r.reviewedAt IS NOT NULL)
+            """)
+    List<PostableResult> findPostableByStudentIdAndAssignmentId(@Param("studentId") UUID studentId,
+                                                                @Param("assignmentId") UUID assignmentId);
+
+    /** Every result in the class that can be posted as a grade; see {@link #findPostableBySubmissionIds}. */
+    @Query("""
+            SELECT new com.tracegrade.domain.repository.PostableResult(
+                s.id, s.studentId, a.id, a.maxPoints,
+                COALESCE(r.finalScore, r.aiScore), COALESCE(r.reviewedAt, r.createdAt))
+            FROM GradingResult r JOIN r.submission s, Assignment a
+            WHERE a.id = s.assignmentId
+                AND a.classId = :classId
+                AND COALESCE(r.finalScore, r.aiScore) IS NOT NULL
+                AND (r.needsReview = false OR r.reviewedAt IS NOT NULL)
+            """)
+    List<PostableResult> findPostableByClassId(@Param("classId") UUID classId);
+
         @Query(value = """
                         SELECT COUNT(gr.id)
                         FROM grading_results gr
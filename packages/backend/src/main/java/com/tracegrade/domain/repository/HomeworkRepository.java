@@ -1,9 +1,13 @@
 package com.tracegrade.domain.repository;
 
 import com.tracegrade.domain.model.Homework;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -11,7 +15,18 @@ import java.util.UUID;
 @Repository
 public interface HomeworkRepository extends JpaRepository<Homework, UUID> {
 
-    List<Homework> findBySchoolIdOrderByCreatedAtDesc(UUID schoolId);
+    /** A page of the school's homework, newest first, before the given (createdAt, id) position. */
+    @Query("""
+            SELECT h FROM Homework h
+            WHERE h.school.id = :schoolId
+                AND h.createdAt <= :beforeCreatedAt
+                AND (h.createdAt < :beforeCreatedAt OR h.id < :beforeId)
+            ORDER BY h.createdAt DESC, h.id DESC
+            """)
+    List<Homework> findPageBySchoolId(@Param("schoolId") UUID schoolId,
+                                      @Param("beforeCreatedAt") Instant beforeCreatedAt,
+                                      @Param("beforeId") UUID beforeId,
+                                      Pageable pageable);
 
     Optional<Homework> findByIdAndSchoolId(UUID id, UUID schoolId);
 
@@ -0,0 +1,16 @@
+package com.tracegrade.domain.repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A grading result that can be posted to the gradebook, with what is needed to
+ * turn its percentage score into points on the assignment.
+ *
+ * @param score    the effective score: final, else AI, as a percentage
+ * @param gradedAt when the score was settled: the review, else the grading
+ */
+public record PostableResult(UUID submissionId, UUID studentId, UUID assignmentId, BigDecimal maxPoints,
+                             BigDecimal score, Instant gradedAt) {
+}
@@ -0,0 +1,15 @@
+package com.tracegrade.domain.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * How one question of an assignment was answered across its graded submissions.
+ *
+ * @param responses       graded answers to the question
+ * @param averagePoints   average points awarded
+ * @param pointsAvailable points the question is worth
+ * @param illegibleCount  answers the AI could not read
+ */
+public record QuestionItemStats(int questionNumber, long responses, double averagePoints,
+                                BigDecimal pointsAvailable, long illegibleCount) {
+}
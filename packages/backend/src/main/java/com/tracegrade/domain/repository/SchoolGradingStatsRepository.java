@@ -0,0 +1,95 @@
+package com.tracegrade.domain.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.tracegrade.domain.model.SchoolGradingStats;
+
+/**
+ * Incremental per-school grading statistics. Each change is an insert of an
+ * empty row if none exists followed by a relative update, so concurrent
+ * graders never overwrite each other's counts.
+ */
+public interface SchoolGradingStatsRepository extends JpaRepository<SchoolGradingStats, UUID> {
+
+    /** Everything the dashboard shows for one school, or empty if the school does not exist. */
+    interface DashboardRow {
+
+        Long getActiveStudents();
+
+        Long getActiveClasses();
+
+        Long getGradedSince();
+
+        Long getPendingReviews();
+
+        BigDecimal getScoreSum();
+
+        Long getScoreCount();
+    }
+
+    @Query(value = """
+            SELECT
+                (SELECT COUNT(*) FROM students s
+                 WHERE s.school_id = sc.id AND s.is_active = TRUE) AS "activeStudents",
+                (SELECT COUNT(*) FROM classes c
+                 WHERE c.school_id = sc.id AND c.is_active = TRUE) AS "activeClasses",
+                (SELECT CAST(COALESCE(SUM(d.graded_count), 0) AS BIGINT) FROM school_grading_days d
+                 WHERE d.school_id = sc.id AND d.graded_on >= :sinceDay) AS "gradedSince",
+                COALESCE(st.pending_reviews, 0) AS "pendingReviews",
+                COALESCE(st.score_sum, 0) AS "scoreSum",
+                COALESCE(st.score_count, 0) AS "scoreCount"
+            FROM schools sc
+            LEFT JOIN school_grading_stats st ON st.school_id = sc.id
+            WHERE sc.id = :schoolId
+            """, nativeQuery = true)
+    Optional<DashboardRow> findDashboardRow(@Param("schoolId") UUID schoolId,
+                                            @Param("sinceDay") LocalDate sinceDay);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO school_grading_stats (school_id, graded_count, pending_reviews, score_sum, score_count, updated_at)
+            VALUES (:schoolId, 0, 0, 0, 0, CURRENT_TIMESTAMP)
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    void insertIfAbsent(@Param("schoolId") UUID schoolId);
+
+    @Modifying
+    @Query(value = """
+            UPDATE school_grading_stats
+            SET graded_count = graded_count + :graded,
+                pending_reviews = pending_reviews + :pending,
+                score_sum = score_sum + :scoreSum,
+                score_count = score_count + :scored,
+                updated_at = CURRENT_TIMESTAMP
+            WHERE school_id = :schoolId
+            """, nativeQuery = true)
+    void increment(@Param("schoolId") UUID schoolId,
+                   @Param("graded") long graded,
+                   @Param("pending") long pending,
+                   @Param("scoreSum") BigDecimal scoreSum,
+                   @Param("scored") long scored);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO school_grading_days (school_id, graded_on, graded_count)
+            VALUES (:schoolId, :day, 0)
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    void insertDayIfAbsent(@Param("schoolId") UUID schoolId, @Param("day") LocalDate day);
+
+    @Modifying
+    @Query(value = """
+            UPDATE school_grading_days
+            SET graded_count = graded_count + :graded
+            WHERE school_id = :schoolId AND graded_on = :day
+            """, nativeQuery = true)
+    void incrementDay(@Param("schoolId") UUID schoolId, @Param("day") LocalDate day, @Param("graded") long graded);
+}
@@ -0,0 +1,87 @@
+package com.tracegrade.domain.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.tracegrade.domain.model.StorageBlob;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface StorageBlobRepository extends JpaRepository<StorageBlob, UUID> {
+
+    Optional<StorageBlob> findByContentHash(String contentHash);
+
+    Optional<StorageBlob> findByStorageKey(String storageKey);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM StorageBlob b WHERE b.id = :id")
+    Optional<StorageBlob> findByIdForUpdate(@Param("id") UUID id);
+
+    /**
+     * Atomically adds a reference to an existing blob.
+     *
+     * @return the number of rows updated (0 when no blob with this hash exists)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE StorageBlob b
+            SET b.refCount = b.refCount + 1, b.unreferencedAt = NULL, b.updatedAt = :now
+            WHERE b.contentHash = :contentHash
+            """)
+    int incrementRefCount(@Param("contentHash") String contentHash, @Param("now") Instant now);
+
+    /**
+     * Registers a new blob with one reference unless a blob with the same hash
+     * already exists. A concurrent insert of the same hash waits for the other
+     * transaction and then does nothing, so the caller can fall back to
+     * {@link #incrementRefCount} instead of failing on the unique constraint.
+     *
+     * @return the number of rows inserted (0 when the hash is already registered)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            INSERT INTO storage_blobs
+                (id, content_hash, storage_key, content_type, size_bytes, ref_count, created_at, updated_at)
+            VALUES (:id, :contentHash, :storageKey, :contentType, :sizeBytes, 1, :now, :now)
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("id") UUID id,
+                       @Param("contentHash") String contentHash,
+                       @Param("storageKey") String storageKey,
+                       @Param("contentType") String contentType,
+                       @Param("sizeBytes") long sizeBytes,
+                       @Param("now") Instant now);
+
+    /**
+     * Atomically drops a reference, stamping {@code unreferencedAt} when the count reaches zero.
+     *
+     * @return the number of rows updated (0 when the key is unknown or already unreferenced)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE StorageBlob b
+            SET b.refCount = b.refCount - 1,
+                b.unreferencedAt = CASE WHEN b.refCount = 1 THEN :now ELSE b.unreferencedAt END,
+                b.updatedAt = :now
+            WHERE b.storageKey = :storageKey AND b.refCount > 0
+            """)
+    int decrementRefCount(@Param("storageKey") String storageKey, @Param("now") Instant now);
+
+    @Query("""
+            SELECT b.id FROM StorageBlob b
+            WHERE b.refCount = 0 AND b.unreferencedAt < :cutoff
+            ORDER BY b.unreferencedAt ASC
+            """)
+    List<UUID> findUnreferencedIdsBefore(@Param("cutoff") Instant cutoff, Pageable pageable);
+}
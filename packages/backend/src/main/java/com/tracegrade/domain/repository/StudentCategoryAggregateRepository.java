@@ -0,0 +1,49 @@
+package com.tracegrade.domain.repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.tracegrade.domain.model.StudentCategoryAggregate;
+
+import jakarta.persistence.LockModeType;
+
+/**
+ * Per-student, per-category grade totals. A grade change inserts an empty row
+ * if none exists and then updates the row under a write lock, so concurrent
+ * changes for one student and category apply one after the other.
+ */
+@Repository
+public interface StudentCategoryAggregateRepository extends JpaRepository<StudentCategoryAggregate, UUID> {
+
+    List<StudentCategoryAggregate> findByClassIdAndStudentId(UUID classId, UUID studentId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM StudentCategoryAggregate a WHERE a.studentId = :studentId AND a.categoryId = :categoryId")
+    Optional<StudentCategoryAggregate> findForUpdate(@Param("studentId") UUID studentId,
+                                                     @Param("categoryId") UUID categoryId);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO student_category_aggregates
+                (id, class_id, category_id, student_id, earned_sum, possible_sum, graded_count, lowest_scores,
+                 created_at, updated_at)
+            VALUES (:id, :classId, :categoryId, :studentId, 0, 0, 0, '', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    void insertIfAbsent(@Param("id") UUID id,
+                        @Param("classId") UUID classId,
+                        @Param("categoryId") UUID categoryId,
+                        @Param("studentId") UUID studentId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM StudentCategoryAggregate a WHERE a.categoryId = :categoryId")
+    void deleteByCategoryId(@Param("categoryId") UUID categoryId);
+}
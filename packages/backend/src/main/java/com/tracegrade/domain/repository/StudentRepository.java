@@ -1,9 +1,13 @@
 package com.tracegrade.domain.repository;
 
 import com.tracegrade.domain.model.Student;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -17,9 +21,38 @@ public interface StudentRepository extends JpaRepository<Student, UUID> {
 
     List<Student> findBySchoolId(UUID schoolId);
 
+    /** A page of the school's students, oldest first, after the given (createdAt, id) position. */
+    @Query("""
+            SELECT s FROM Student s
+            WHERE s.school.id = :schoolId
+                AND s.createdAt >= :afterCreatedAt
+                AND (s.createdAt > :afterCreatedAt OR s.id > :afterId)
+            ORDER BY s.createdAt, s.id
+            """)
+    List<Student> findPageBySchoolId(@Param("schoolId") UUID schoolId,
+                                     @Param("afterCreatedAt") Instant afterCreatedAt,
+                                     @Param("afterId") UUID afterId,
+                                     Pageable pageable);
+
+    /** A page of the school's active students; see {@link #findPageBySchoolId}. */
+    @Query("""
+            SELECT s FROM Student s
+            WHERE s.school.id = :schoolId AND s.isActive = true
+                AND s.createdAt >= :afterCreatedAt
+                AND (s.createdAt > :afterCreatedAt OR s.id > :afterId)
+            ORDER BY s.createdAt, s.id
+            """)
+    List<Student> findActivePageBySchoolId(@Param("schoolId") UUID schoolId,
+                                           @Param("afterCreatedAt") Instant afterCreatedAt,
+                                           @Param("afterId") UUID afterId,
+                                           Pageable pageable);
+
     Optional<Student> findByIdAndSchoolId(UUID id, UUID schoolId);
 
     boolean existsByEmailAndSchoolId(String email, UUID schoolId);
 
     boolean existsByStudentNumberAndSchoolId(String studentNumber, UUID schoolId);
+
+    @Query("SELECT s.school.id FROM Student s WHERE s.id = :studentId")
+    Optional<UUID> findSchoolIdById(@Param("studentId") UUID studentId);
 }
@@ -1,20 +1,94 @@
 package com.tracegrade.domain.repository;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.tracegrade.domain.model.StudentSubmission;
 import com.tracegrade.domain.model.SubmissionStatus;
 
+import jakarta.persistence.LockModeType;
+
 public interface StudentSubmissionRepository extends JpaRepository<StudentSubmission, UUID> {
 
+    /**
+     * The submission with its grading result, if any, loaded in the same query.
+     *
+     * <p>{@code gradingResult} is the inverse side of a one-to-one, which
+     * Hibernate loads as soon as the submission is read: without the join,
+     * every submission a read returns costs one more select. The list reads
+     * below join it in for the same reason.
+     */
+    @EntityGraph(attributePaths = "gradingResult")
+    Optional<StudentSubmission> findWithGradingResultById(UUID id);
+
+    /** The submission, locked against concurrent updates until the transaction ends. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM StudentSubmission s WHERE s.id = :id")
+    Optional<StudentSubmission> findByIdForUpdate(@Param("id") UUID id);
+
+    @EntityGraph(attributePaths = "gradingResult")
     List<StudentSubmission> findByAssignmentIdAndStudentId(UUID assignmentId, UUID studentId);
 
+    @EntityGraph(attributePaths = "gradingResult")
     List<StudentSubmission> findByStudentIdOrderByCreatedAtDesc(UUID studentId);
 
+    @EntityGraph(attributePaths = "gradingResult")
     List<StudentSubmission> findByStatus(SubmissionStatus status);
 
+    @EntityGraph(attributePaths = "gradingResult")
     List<StudentSubmission> findByAssignmentId(UUID assignmentId);
+
+    /**
+     * Returns ids of hot-tier submissions whose grading result was reviewed before
+     * {@code reviewedBefore}, in id order starting after {@code afterId} (keyset paging).
+     */
+    @Query("""
+            SELECT s.id FROM GradingResult gr JOIN gr.submission s
+            WHERE gr.reviewedAt IS NOT NULL
+                AND gr.reviewedAt < :reviewedBefore
+                AND s.storageTier = com.tracegrade.domain.model.StorageTier.HOT
+                AND s.id > :afterId
+            ORDER BY s.id ASC
+            """)
+    List<UUID> findArchivableIds(@Param("reviewedBefore") Instant reviewedBefore,
+                                 @Param("afterId") UUID afterId,
+                                 Pageable pageable);
+
+    /**
+     * Returns submissions still waiting in the write-behind spool of node
+     * {@code nodeId}, plus staged submissions with no recorded owner, oldest first.
+     */
+    @Query("""
+            SELECT s FROM StudentSubmission s LEFT JOIN FETCH s.gradingResult
+            WHERE s.storageTier = com.tracegrade.domain.model.StorageTier.STAGED
+                AND (s.stagedBy = :nodeId OR s.stagedBy IS NULL)
+            ORDER BY s.submittedAt ASC
+            """)
+    List<StudentSubmission> findStaged(@Param("nodeId") String nodeId, Pageable pageable);
+
+    /**
+     * Promotes a staged submission to the hot tier once its images are in storage.
+     *
+     * @return 1 if the row was staged and is now hot, 0 otherwise
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE StudentSubmission s
+            SET s.storageTier = com.tracegrade.domain.model.StorageTier.HOT, s.stagedBy = NULL
+            WHERE s.id = :id
+                AND s.storageTier = com.tracegrade.domain.model.StorageTier.STAGED
+            """)
+    int markStored(@Param("id") UUID id);
 }
@@ -3,6 +3,8 @@ package com.tracegrade.domain.repository;
 import com.tracegrade.domain.model.User;
 import com.tracegrade.domain.model.UserRole;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -16,4 +18,10 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByEmailIgnoreCase(String email);
 
     Optional<User> findByIdAndRoleAndIsActiveTrue(UUID id, UserRole role);
+
+    @Query("SELECT u.school.id FROM User u WHERE u.id = :id AND u.isActive = true")
+    Optional<UUID> findActiveSchoolIdById(@Param("id") UUID id);
+
+    @Query("SELECT u.role FROM User u WHERE u.id = :id AND u.isActive = true")
+    Optional<UserRole> findActiveRoleById(@Param("id") UUID id);
 }
\ No newline at end of file
@@ -1,11 +1,14 @@
 package com.tracegrade.dto.request;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -23,15 +26,42 @@ public class GradingReviewRequest {
     @NotNull(message = "Final score is required")
     @DecimalMin(value = "0", message = "Final score must be >= 0")
     @DecimalMax(value = "100", message = "Final score must be <= 100")
-    @Schema(description = "Teacher-confirmed final score as a percentage (0–100)", example = "85.5", requiredMode = Schema.RequiredMode.REQUIRED)
+    @Schema(description = "Teacher-confirmed final score as a percentage (0–100). Must match the per-question total "
+            + "unless teacherOverride is true and no question scores are changed", example = "85.5", requiredMode = Schema.RequiredMode.REQUIRED)
     private BigDecimal finalScore;
 
     @NotNull(message = "teacherOverride flag is required")
     @Schema(description = "true if the teacher is overriding the AI score; false if confirming it", example = "true", requiredMode = Schema.RequiredMode.REQUIRED)
     private Boolean teacherOverride;
 
-    /** Optional updated per-question scores JSON; when null the existing scores are kept */
-    @Schema(description = "Updated per-question scores as a JSON array; omit to keep the existing AI scores",
-            example = "[{\"question\":1,\"score\":4},{\"question\":2,\"score\":3}]")
+    /** Optional full replacement of the per-question scores; when null the existing scores are kept */
+    @Schema(description = "Replacement per-question scores as a JSON array listing every question of the result; "
+            + "omit to keep the existing scores. Cannot be combined with questionPoints",
+            example = "[{\"questionNumber\":1,\"pointsAwarded\":4},{\"questionNumber\":2,\"pointsAwarded\":3}]")
     private String questionScores;
+
+    /** Optional changes to single questions' points; questions not listed keep their scores */
+    @Valid
+    @Schema(description = "Points to set on single questions; questions not listed keep their scores. "
+            + "Cannot be combined with questionScores")
+    private List<QuestionPoints> questionPoints;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @Schema(description = "New points for one question of the result")
+    public static class QuestionPoints {
+
+        @NotNull(message = "Question number is required")
+        @Positive(message = "Question number must be positive")
+        @Schema(description = "Number of the question", example = "3", requiredMode = Schema.RequiredMode.REQUIRED)
+        private Integer questionNumber;
+
+        @NotNull(message = "Points awarded is required")
+        @DecimalMin(value = "0", message = "Points awarded must be >= 0")
+        @Schema(description = "Points awarded on the question", example = "4", requiredMode = Schema.RequiredMode.REQUIRED)
+        private BigDecimal pointsAwarded;
+    }
 }
@@ -0,0 +1,26 @@
+package com.tracegrade.dto.response;
+
+import java.util.UUID;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Grading analytics of one assignment")
+public class AssignmentAnalyticsResponse {
+
+    @Schema(description = "UUID of the assignment")
+    private UUID assignmentId;
+
+    @Schema(description = "Name of the assignment")
+    private String name;
+
+    @Schema(description = "Analytics of the assignment's grading results")
+    private ScoreAnalytics scores;
+}
@@ -0,0 +1,27 @@
+package com.tracegrade.dto.response;
+
+import java.util.List;
+import java.util.UUID;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Grading analytics of a class and each of its assignments")
+public class ClassAnalyticsResponse {
+
+    @Schema(description = "UUID of the class")
+    private UUID classId;
+
+    @Schema(description = "Analytics of all grading results in the class")
+    private ScoreAnalytics scores;
+
+    @Schema(description = "Analytics per assignment, ordered by assignment name")
+    private List<AssignmentAnalyticsResponse> assignments;
+}
@@ -0,0 +1,41 @@
+package com.tracegrade.dto.response;
+
+import java.util.List;
+import java.util.function.Function;
+
+import com.tracegrade.domain.model.BaseEntity;
+import com.tracegrade.pagination.PageCursor;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@AllArgsConstructor
+@Schema(description = "One page of a list; pass nextCursor back as the cursor parameter to fetch the next page")
+public class CursorPage<T> {
+
+    @Schema(description = "Items on this page, in list order")
+    private final List<T> items;
+
+    @Schema(description = "Opaque cursor of the next page; null on the last page")
+    private final String nextCursor;
+
+    /**
+     * Builds a page from rows fetched with {@link PageCursor#fetch}: up to
+     * {@code limit} items, and a cursor after the last one if more rows were
+     * found.
+     */
+    public static <E extends BaseEntity, T> CursorPage<T> of(List<E> rows, int limit,
+                                                             Function<? super E, T> mapper) {
+        boolean hasMore = rows.size() > limit;
+        List<E> page = hasMore ? rows.subList(0, limit) : rows;
+        E last = hasMore ? page.get(limit - 1) : null;
+        return CursorPage.<T>builder()
+                .items(page.stream().map(mapper).toList())
+                .nextCursor(last != null ? new PageCursor(last.getCreatedAt(), last.getId()).encode() : null)
+                .build();
+    }
+}
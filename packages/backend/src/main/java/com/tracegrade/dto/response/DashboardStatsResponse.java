@@ -5,16 +5,18 @@ import java.math.BigDecimal;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
 
 @Getter
 @Builder
+@Jacksonized
 @Schema(description = "Summary dashboard statistics for a school")
 public class DashboardStatsResponse {
 
     @Schema(description = "Count of active students in the school", example = "128")
     private long totalStudents;
 
-    @Schema(description = "Count of active classes; temporary placeholder until class domain is available", example = "0")
+    @Schema(description = "Count of active classes in the school", example = "12")
     private int classCount;
 
     @Schema(description = "Count of grading results created in the last 7 days", example = "47")
@@ -0,0 +1,19 @@
+package com.tracegrade.dto.response;
+
+import java.util.UUID;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@Schema(description = "Outcome of posting a class's grading results to its gradebook")
+public class GradePostingResponse {
+
+    @Schema(description = "UUID of the class")
+    private UUID classId;
+
+    @Schema(description = "Grades written; results already posted with the same points, or excused, are skipped", example = "28")
+    private int postedCount;
+}
@@ -0,0 +1,90 @@
+package com.tracegrade.dto.response;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@Schema(description = "Gradebook of a class: every enrolled student's grades and weighted averages")
+public class GradebookResponse {
+
+    @Schema(description = "UUID of the class")
+    private UUID classId;
+
+    @Schema(description = "Grade categories, in the order of each student's categoryAverages")
+    private List<CategoryColumn> categories;
+
+    @Schema(description = "Assignments grouped by category, in the order of each student's points")
+    private List<AssignmentColumn> assignments;
+
+    @Schema(description = "One row per currently enrolled student, ordered by last name")
+    private List<StudentRow> students;
+
+    @Getter
+    @Builder
+    @Schema(description = "A grade category of the class")
+    public static class CategoryColumn {
+
+        @Schema(description = "UUID of the category")
+        private UUID categoryId;
+
+        @Schema(description = "Name of the category", example = "Homework")
+        private String name;
+
+        @Schema(description = "Weight of the category in the course average", example = "25.00")
+        private BigDecimal weight;
+
+        @Schema(description = "How many of the lowest scores in the category are dropped", example = "1")
+        private int dropLowest;
+    }
+
+    @Getter
+    @Builder
+    @Schema(description = "An assignment of the class")
+    public static class AssignmentColumn {
+
+        @Schema(description = "UUID of the assignment")
+        private UUID assignmentId;
+
+        @Schema(description = "UUID of the assignment's category")
+        private UUID categoryId;
+
+        @Schema(description = "Name of the assignment", example = "Quiz 3")
+        private String name;
+
+        @Schema(description = "Points possible", example = "20.00")
+        private BigDecimal maxPoints;
+
+        @Schema(description = "Unpublished assignments are listed but do not count towards averages")
+        private boolean published;
+    }
+
+    @Getter
+    @Builder
+    @Schema(description = "An enrolled student's grades and averages")
+    public static class StudentRow {
+
+        @Schema(description = "UUID of the student")
+        private UUID studentId;
+
+        @Schema(description = "Student's first name")
+        private String firstName;
+
+        @Schema(description = "Student's last name")
+        private String lastName;
+
+        @Schema(description = "Points earned per assignment; null where no counted grade exists (none recorded or excused), 0 for missing work")
+        private List<Double> points;
+
+        @Schema(description = "Average per category as a percentage rounded to two decimals; null where the student has no counted grade")
+        private List<Double> categoryAverages;
+
+        @Schema(description = "Weighted course average as a percentage rounded to two decimals; null when nothing counts yet", example = "87.25")
+        private Double courseAverage;
+    }
+}
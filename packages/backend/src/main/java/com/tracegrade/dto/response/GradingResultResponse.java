@@ -56,6 +56,12 @@ public class GradingResultResponse {
     @Schema(description = "URL of the first submission image; null if unavailable")
     private String submissionImageUrl;
 
+    @Schema(description = "URL of a small JPEG thumbnail of the first submission image; null until generated")
+    private String thumbnailUrl;
+
+    @Schema(description = "URL of a web-sized JPEG preview of the first submission image; null until generated")
+    private String previewUrl;
+
     @Schema(description = "Time taken to process and grade the submission, in milliseconds", example = "1240")
     private Integer processingTimeMs;
 
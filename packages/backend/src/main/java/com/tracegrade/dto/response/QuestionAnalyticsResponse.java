@@ -0,0 +1,52 @@
+package com.tracegrade.dto.response;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Per-question item analysis of an assignment's graded submissions")
+public class QuestionAnalyticsResponse {
+
+    @Schema(description = "UUID of the assignment")
+    private UUID assignmentId;
+
+    @Schema(description = "Statistics per question, in question order")
+    private List<QuestionStats> questions;
+
+    @Getter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "How one question was answered")
+    public static class QuestionStats {
+
+        @Schema(description = "Number of the question", example = "3")
+        private int questionNumber;
+
+        @Schema(description = "Count of graded answers", example = "27")
+        private long responseCount;
+
+        @Schema(description = "Average points awarded rounded to two decimal places", example = "3.25")
+        private BigDecimal averagePoints;
+
+        @Schema(description = "Points the question is worth", example = "5.00")
+        private BigDecimal pointsAvailable;
+
+        @Schema(description = "Average points as a percentage of the points available, rounded to one decimal "
+                + "place; low values mark hard questions", example = "65.0")
+        private BigDecimal averagePercent;
+
+        @Schema(description = "Count of answers the AI could not read", example = "1")
+        private long illegibleCount;
+    }
+}
@@ -0,0 +1,38 @@
+package com.tracegrade.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@Schema(description = "A school's AI and upload rate-limit budgets on the serving node")
+public class SchoolQuotaResponse {
+
+    @Schema(description = "UUID of the school", example = "00000000-0000-4000-a000-000000000001")
+    private String schoolId;
+
+    @Schema(description = "Weight of the school when contended AI capacity is shared", example = "1")
+    private int weight;
+
+    @Schema(description = "AI requests the school may make per window", example = "500")
+    private int aiLimit;
+
+    @Schema(description = "AI requests left in the school's budget", example = "312")
+    private long aiRemaining;
+
+    @Schema(description = "AI requests the school made in the current fair-share window", example = "188")
+    private long aiUsedThisWindow;
+
+    @Schema(description = "AI requests per window the school is entitled to while capacity is contended", example = "400")
+    private long aiFairShare;
+
+    @Schema(description = "Upload requests the school may make per window", example = "200")
+    private int uploadLimit;
+
+    @Schema(description = "Upload requests left in the school's budget", example = "173")
+    private long uploadRemaining;
+
+    @Schema(description = "true while the AI capacity shared by all schools is below its contention threshold", example = "false")
+    private boolean aiContended;
+}
@@ -0,0 +1,40 @@
+package com.tracegrade.dto.response;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Score distribution and grading progress of a set of grading results")
+public class ScoreAnalytics {
+
+    @Schema(description = "Count of grading results", example = "28")
+    private long resultCount;
+
+    @Schema(description = "Count of grading results with a score", example = "27")
+    private long scoredCount;
+
+    @Schema(description = "Average score rounded to one decimal place; null when nothing is scored", example = "81.4")
+    private BigDecimal averageScore;
+
+    @Schema(description = "Median score rounded to one decimal place; null when nothing is scored", example = "83.0")
+    private BigDecimal medianScore;
+
+    @Schema(description = "Count of grading results awaiting manual review", example = "3")
+    private long pendingReviews;
+
+    @Schema(description = "Count of grading results created in the last 7 days", example = "12")
+    private long gradedLast7Days;
+
+    @Schema(description = "Scores per ten-point bucket: index 0 counts [0, 10), index 9 counts [90, 100]",
+            example = "[0, 0, 0, 0, 0, 1, 3, 6, 10, 7]")
+    private List<Long> histogram;
+}
@@ -0,0 +1,48 @@
+package com.tracegrade.dto.response;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@Schema(description = "A student's current grade in a class")
+public class StudentGradeResponse {
+
+    @Schema(description = "UUID of the class")
+    private UUID classId;
+
+    @Schema(description = "UUID of the student")
+    private UUID studentId;
+
+    @Schema(description = "Average per grade category")
+    private List<CategoryGrade> categories;
+
+    @Schema(description = "Weighted course average as a percentage rounded to two decimals; null when nothing counts yet", example = "87.25")
+    private Double courseAverage;
+
+    @Getter
+    @Builder
+    @Schema(description = "A student's standing in one grade category")
+    public static class CategoryGrade {
+
+        @Schema(description = "UUID of the category")
+        private UUID categoryId;
+
+        @Schema(description = "Name of the category", example = "Homework")
+        private String name;
+
+        @Schema(description = "Weight of the category in the course average", example = "25.00")
+        private BigDecimal weight;
+
+        @Schema(description = "Grades counted in the category, dropped ones included", example = "6")
+        private int gradedCount;
+
+        @Schema(description = "Average after dropping the lowest scores, as a percentage rounded to two decimals; null without counted grades", example = "91.5")
+        private Double average;
+    }
+}
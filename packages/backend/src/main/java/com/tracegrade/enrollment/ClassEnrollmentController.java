@@ -12,11 +12,14 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.tracegrade.dto.request.EnrollStudentRequest;
 import com.tracegrade.dto.response.ApiResponse;
+import com.tracegrade.dto.response.CursorPage;
 import com.tracegrade.dto.response.EnrollmentResponse;
+import com.tracegrade.pagination.PageCursor;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -25,6 +28,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 
 @RestController
@@ -61,20 +66,24 @@ public class ClassEnrollmentController {
 
     @Operation(
             summary = "List active enrollments for a class",
-            description = "Returns all active (not dropped) enrollments for the specified class."
+            description = "Returns a page of the active (not dropped) enrollments for the specified class, oldest first. Pass `nextCursor` as `cursor` for the next page."
     )
     @ApiResponses({
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Enrollment list returned"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Class not found", content = @Content)
     })
     @GetMapping
-    public ResponseEntity<ApiResponse<List<EnrollmentResponse>>> listEnrollments(
+    public ResponseEntity<ApiResponse<CursorPage<EnrollmentResponse>>> listEnrollments(
             @Parameter(description = "UUID of the school", required = true)
             @PathVariable UUID schoolId,
             @Parameter(description = "UUID of the class", required = true)
-            @PathVariable UUID classId) {
+            @PathVariable UUID classId,
+            @Parameter(description = "nextCursor of the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of items on the page (1-200)")
+            @RequestParam(defaultValue = PageCursor.DEFAULT_LIMIT) @Min(1) @Max(PageCursor.MAX_LIMIT) int limit) {
 
-        List<EnrollmentResponse> enrollments = enrollmentService.listEnrollments(schoolId, classId);
+        CursorPage<EnrollmentResponse> enrollments = enrollmentService.listEnrollments(schoolId, classId, cursor, limit);
         return ResponseEntity.ok(ApiResponse.success(enrollments));
     }
 
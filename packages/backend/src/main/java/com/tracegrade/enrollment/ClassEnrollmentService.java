@@ -10,11 +10,13 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.tracegrade.domain.model.ClassEnrollment;
 import com.tracegrade.domain.repository.ClassEnrollmentRepository;
-import com.tracegrade.domain.repository.ClassRepository;
 import com.tracegrade.domain.repository.StudentRepository;
+import com.tracegrade.dto.response.CursorPage;
 import com.tracegrade.dto.response.EnrollmentResponse;
 import com.tracegrade.exception.DuplicateResourceException;
 import com.tracegrade.exception.ResourceNotFoundException;
+import com.tracegrade.pagination.PageCursor;
+import com.tracegrade.tenancy.TenancyContext;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,14 +27,13 @@ import lombok.extern.slf4j.Slf4j;
 public class ClassEnrollmentService {
 
     private final ClassEnrollmentRepository enrollmentRepository;
-    private final ClassRepository classRepository;
+    private final TenancyContext tenancyContext;
     private final StudentRepository studentRepository;
 
     @Transactional
     public EnrollmentResponse enrollStudent(UUID schoolId, UUID classId, UUID studentId) {
         // Verify class exists and belongs to the school
-        classRepository.findByIdAndSchoolId(classId, schoolId)
-                .orElseThrow(() -> new ResourceNotFoundException("Class", classId));
+        tenancyContext.requireClass(schoolId, classId);
 
         // Verify student exists and belongs to the same school
         studentRepository.findByIdAndSchoolId(studentId, schoolId)
@@ -54,21 +55,19 @@ public class ClassEnrollmentService {
     }
 
     @Transactional(readOnly = true)
-    public List<EnrollmentResponse> listEnrollments(UUID schoolId, UUID classId) {
+    public CursorPage<EnrollmentResponse> listEnrollments(UUID schoolId, UUID classId, String cursor, int limit) {
         // Verify class belongs to the school
-        classRepository.findByIdAndSchoolId(classId, schoolId)
-                .orElseThrow(() -> new ResourceNotFoundException("Class", classId));
+        tenancyContext.requireClass(schoolId, classId);
 
-        return enrollmentRepository.findByClassIdAndDroppedAtIsNull(classId).stream()
-                .map(this::toResponse)
-                .toList();
+        PageCursor after = PageCursor.decode(cursor, PageCursor.BEFORE_ALL);
+        return CursorPage.of(enrollmentRepository.findActivePageByClassId(
+                classId, after.createdAt(), after.id(), PageCursor.fetch(limit)), limit, this::toResponse);
     }
 
     @Transactional
     public void dropStudent(UUID schoolId, UUID classId, UUID enrollmentId) {
         // Verify class belongs to the school
-        classRepository.findByIdAndSchoolId(classId, schoolId)
-                .orElseThrow(() -> new ResourceNotFoundException("Class", classId));
+        tenancyContext.requireClass(schoolId, classId);
 
         // Find enrollment scoped to this class
         ClassEnrollment enrollment = enrollmentRepository.findByIdAndClassId(enrollmentId, classId)
@@ -3,7 +3,9 @@ package com.tracegrade.examtemplate;
 import com.tracegrade.dto.request.CreateExamTemplateRequest;
 import com.tracegrade.dto.request.UpdateExamTemplateRequest;
 import com.tracegrade.dto.response.ApiResponse;
+import com.tracegrade.dto.response.CursorPage;
 import com.tracegrade.dto.response.ExamTemplateResponse;
+import com.tracegrade.pagination.PageCursor;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,6 +13,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -63,20 +67,25 @@ public class ExamTemplateController {
 
     @Operation(
             summary = "List exam templates",
-            description = "Returns authenticated teacher exam templates. Optional query parameters can filter by subject and grade level."
+            description = "Returns a page of the authenticated teacher's exam templates, newest first. Optional query parameters can filter by subject and grade level; pass `nextCursor` as `cursor` for the next page."
     )
     @ApiResponses({
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Exam templates returned")
     })
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<ApiResponse<List<ExamTemplateResponse>>> getExamTemplates(
+    public ResponseEntity<ApiResponse<CursorPage<ExamTemplateResponse>>> getExamTemplates(
                         Authentication authentication,
             @Parameter(description = "Optional subject filter")
             @RequestParam(required = false) String subject,
             @Parameter(description = "Optional grade level filter")
-            @RequestParam(required = false) String gradeLevel) {
+            @RequestParam(required = false) String gradeLevel,
+            @Parameter(description = "nextCursor of the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of items on the page (1-200)")
+            @RequestParam(defaultValue = PageCursor.DEFAULT_LIMIT) @Min(1) @Max(PageCursor.MAX_LIMIT) int limit) {
                 UUID teacherId = resolveTeacherId(authentication);
-                List<ExamTemplateResponse> response = examTemplateService.getExamTemplates(teacherId, subject, gradeLevel);
+                CursorPage<ExamTemplateResponse> response =
+                        examTemplateService.getExamTemplates(teacherId, subject, gradeLevel, cursor, limit);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
@@ -4,9 +4,11 @@ import com.tracegrade.domain.model.ExamTemplate;
 import com.tracegrade.domain.repository.ExamTemplateRepository;
 import com.tracegrade.dto.request.CreateExamTemplateRequest;
 import com.tracegrade.dto.request.UpdateExamTemplateRequest;
+import com.tracegrade.dto.response.CursorPage;
 import com.tracegrade.dto.response.ExamTemplateResponse;
 import com.tracegrade.exception.DuplicateResourceException;
 import com.tracegrade.exception.ResourceNotFoundException;
+import com.tracegrade.pagination.PageCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -47,29 +49,13 @@ public class ExamTemplateService {
     }
 
     @Transactional(readOnly = true)
-    public List<ExamTemplateResponse> getExamTemplates(UUID teacherId, String subject, String gradeLevel) {
-
-        String normalizedSubject = normalize(subject);
-        String normalizedGradeLevel = normalize(gradeLevel);
-        List<ExamTemplate> templates;
-
-        if (normalizedSubject != null && normalizedGradeLevel != null) {
-            templates = examTemplateRepository
-                    .findByTeacherIdAndSubjectIgnoreCaseAndGradeLevelIgnoreCaseOrderByCreatedAtDesc(
-                            teacherId, normalizedSubject, normalizedGradeLevel);
-        } else if (normalizedSubject != null) {
-            templates = examTemplateRepository
-                    .findByTeacherIdAndSubjectIgnoreCaseOrderByCreatedAtDesc(teacherId, normalizedSubject);
-        } else if (normalizedGradeLevel != null) {
-            templates = examTemplateRepository
-                    .findByTeacherIdAndGradeLevelIgnoreCaseOrderByCreatedAtDesc(teacherId, normalizedGradeLevel);
-        } else {
-            templates = examTemplateRepository.findByTeacherIdOrderByCreatedAtDesc(teacherId);
-        }
-
-        return templates.stream()
-                .map(this::toResponse)
-                .toList();
+    public CursorPage<ExamTemplateResponse> getExamTemplates(UUID teacherId, String subject, String gradeLevel,
+                                                             String cursor, int limit) {
+        PageCursor before = PageCursor.decode(cursor, PageCursor.AFTER_ALL);
+        List<ExamTemplate> templates = examTemplateRepository.findPageByTeacherId(
+                teacherId, normalize(subject), normalize(gradeLevel),
+                before.createdAt(), before.id(), PageCursor.fetch(limit));
+        return CursorPage.of(templates, limit, this::toResponse);
     }
 
     @Transactional(readOnly = true)
@@ -3,6 +3,7 @@ package com.tracegrade.exception;
 import java.util.List;
 
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -19,6 +20,7 @@ import org.springframework.web.method.annotation.MethodArgumentTypeMismatchExcep
 import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import org.springframework.web.multipart.support.MissingServletRequestPartException;
 
+import com.tracegrade.auth.LoginThrottledException;
 import com.tracegrade.dto.response.ApiError;
 import com.tracegrade.dto.response.ApiResponse;
 import com.tracegrade.dto.response.FieldError;
@@ -26,6 +28,7 @@ import com.tracegrade.grading.GradingFailedException;
 import com.tracegrade.openai.exception.OpenAiException;
 import com.tracegrade.openai.exception.OpenAiRateLimitException;
 import com.tracegrade.rubric.DuplicateQuestionNumberException;
+import com.tracegrade.submission.SubmissionAlreadyGradedException;
 
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
@@ -248,6 +251,13 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResponse.error(error));
     }
 
+    @ExceptionHandler(SubmissionAlreadyGradedException.class)
+    public ResponseEntity<ApiResponse<Void>> handleSubmissionAlreadyGraded(
+            SubmissionAlreadyGradedException ex) {
+        ApiError error = ApiError.of("SUBMISSION_GRADED", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResponse.error(error));
+    }
+
     @ExceptionHandler(OpenAiRateLimitException.class)
     public ResponseEntity<ApiResponse<Void>> handleOpenAiRateLimit(
             OpenAiRateLimitException ex) {
@@ -286,6 +296,16 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(ApiResponse.error(error));
     }
 
+    @ExceptionHandler(LoginThrottledException.class)
+    public ResponseEntity<ApiResponse<Void>> handleLoginThrottled(
+            LoginThrottledException ex) {
+        ApiError error = ApiError.of("TOO_MANY_REQUESTS", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ApiResponse.error(error));
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ApiResponse<Void>> handleIllegalArgument(IllegalArgumentException ex) {
         ApiError error = ApiError.of("VALIDATION_ERROR", ex.getMessage());
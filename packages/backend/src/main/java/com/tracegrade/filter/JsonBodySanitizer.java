@@ -0,0 +1,117 @@
+package com.tracegrade.filter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Strips the most dangerous XSS patterns from the string values of a JSON body.
+ * The primary XSS defenses are CSP headers and output encoding.
+ *
+ * <p>A body is first scanned for bytes that any of the patterns needs
+ * ({@code <}, {@code =}, {@code javascript:}, or a {@code \}{@code u} escape that
+ * could hide one of them); most bodies contain none and are returned as-is
+ * without being parsed. Otherwise the body is streamed through a Jackson
+ * parser/generator pair in one pass, rewriting only field names and string
+ * values and copying every other token unchanged. Bodies that are not valid
+ * JSON fall back to pattern replacement over the raw text.
+ */
+@Slf4j
+final class JsonBodySanitizer {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final Pattern SCRIPT_TAG = Pattern.compile("<[^>]*script[^>]*>");
+    private static final Pattern JAVASCRIPT_URL = Pattern.compile("(?i)javascript:");
+    private static final Pattern EVENT_HANDLER = Pattern.compile("(?i)on\\w+\\s*=");
+
+    private static final byte[] JAVASCRIPT = "javascript:".getBytes(StandardCharsets.US_ASCII);
+
+    private JsonBodySanitizer() {
+    }
+
+    /**
+     * Returns the sanitized body, or {@code body} itself when nothing in it
+     * could match.
+     */
+    static byte[] sanitize(byte[] body) {
+        if (!mayNeedSanitizing(body)) {
+            return body;
+        }
+        try {
+            return rewriteStrings(body);
+        } catch (IOException e) {
+            log.debug("Request body is not valid JSON, sanitizing as text: {}", e.getMessage());
+            return sanitizeString(new String(body, StandardCharsets.UTF_8)).getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    /** Applies the XSS patterns to one string. */
+    static String sanitizeString(String value) {
+        if (value.indexOf('<') < 0 && value.indexOf('=') < 0 && value.indexOf(':') < 0) {
+            return value;
+        }
+        String result = SCRIPT_TAG.matcher(value).replaceAll("");
+        result = JAVASCRIPT_URL.matcher(result).replaceAll("");
+        return EVENT_HANDLER.matcher(result).replaceAll("");
+    }
+
+    /** Fast byte scan for anything the patterns could match, including JSON unicode escapes. */
+    static boolean mayNeedSanitizing(byte[] body) {
+        for (int i = 0; i < body.length; i++) {
+            byte b = body[i];
+            if (b == '<' || b == '=') {
+                return true;
+            }
+            if (b == '\\' && i + 1 < body.length && body[i + 1] == 'u') {
+                return true;
+            }
+            if ((b == 'j' || b == 'J') && regionMatchesIgnoreCase(body, i, JAVASCRIPT)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean regionMatchesIgnoreCase(byte[] body, int offset, byte[] lowerCase) {
+        if (offset + lowerCase.length > body.length) {
+            return false;
+        }
+        for (int i = 0; i < lowerCase.length; i++) {
+            byte b = body[offset + i];
+            if (b >= 'A' && b <= 'Z') {
+                b += 'a' - 'A';
+            }
+            if (b != lowerCase[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] rewriteStrings(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length);
+        try (JsonParser parser = JSON_FACTORY.createParser(body);
+             JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                switch (token) {
+                    case FIELD_NAME -> generator.writeFieldName(sanitizeString(parser.currentName()));
+                    case VALUE_STRING -> generator.writeString(sanitizeString(parser.getText()));
+                    // Keep numbers exactly as sent rather than re-rendering them from a double
+                    case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> generator.writeNumber(parser.getText());
+                    default -> generator.copyCurrentEvent(parser);
+                }
+            }
+        }
+        return out.toByteArray();
+    }
+}
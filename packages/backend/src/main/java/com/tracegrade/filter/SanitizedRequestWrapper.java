@@ -5,8 +5,10 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import org.owasp.html.PolicyFactory;
 import org.owasp.html.Sanitizers;
@@ -16,6 +18,14 @@ import jakarta.servlet.ServletInputStream;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletRequestWrapper;
 
+/**
+ * Request wrapper that serves HTML-sanitized parameters and an XSS-stripped
+ * JSON body (see {@link JsonBodySanitizer}).
+ *
+ * <p>Spring reads the parameter map several times while binding a request, so
+ * each parameter is sanitized once, on first access, and the result reused.
+ * Values that contain nothing the HTML policy would change skip the policy.
+ */
 public class SanitizedRequestWrapper extends HttpServletRequestWrapper {
 
     private static final PolicyFactory POLICY = Sanitizers.FORMATTING
@@ -23,12 +33,16 @@ public class SanitizedRequestWrapper extends HttpServletRequestWrapper {
 
     private final byte[] sanitizedBody;
 
+    /** Sanitized values per parameter name, filled on first access. */
+    private final Map<String, String[]> sanitizedParameters = new HashMap<>();
+
+    private Map<String, String[]> sanitizedParameterMap;
+
     public SanitizedRequestWrapper(HttpServletRequest request) throws IOException {
         super(request);
         String contentType = request.getContentType();
         if (contentType != null && contentType.contains("application/json")) {
-            String body = request.getReader().lines().collect(Collectors.joining());
-            this.sanitizedBody = sanitizeJsonStrings(body).getBytes(StandardCharsets.UTF_8);
+            this.sanitizedBody = JsonBodySanitizer.sanitize(request.getInputStream().readAllBytes());
         } else {
             this.sanitizedBody = null;
         }
@@ -36,36 +50,43 @@ public class SanitizedRequestWrapper extends HttpServletRequestWrapper {
 
     @Override
     public String getParameter(String name) {
-        String value = super.getParameter(name);
-        return value != null ? sanitize(value) : null;
+        String[] values = sanitizedValues(name);
+        return values != null && values.length > 0 ? values[0] : null;
     }
 
     @Override
     public String[] getParameterValues(String name) {
-        String[] values = super.getParameterValues(name);
-        if (values == null) {
-            return null;
-        }
-        String[] sanitized = new String[values.length];
-        for (int i = 0; i < values.length; i++) {
-            sanitized[i] = sanitize(values[i]);
-        }
-        return sanitized;
+        String[] values = sanitizedValues(name);
+        return values != null ? values.clone() : null;
     }
 
     @Override
     public Map<String, String[]> getParameterMap() {
-        return super.getParameterMap().entrySet().stream()
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        e -> {
-                            String[] vals = e.getValue();
-                            String[] sanitized = new String[vals.length];
-                            for (int i = 0; i < vals.length; i++) {
-                                sanitized[i] = sanitize(vals[i]);
-                            }
-                            return sanitized;
-                        }));
+        if (sanitizedParameterMap == null) {
+            Map<String, String[]> map = new LinkedHashMap<>();
+            for (String name : super.getParameterMap().keySet()) {
+                map.put(name, sanitizedValues(name));
+            }
+            sanitizedParameterMap = Collections.unmodifiableMap(map);
+        }
+        return sanitizedParameterMap;
+    }
+
+    /** Sanitizes the values of one parameter on first use and remembers the result. */
+    private String[] sanitizedValues(String name) {
+        String[] sanitized = sanitizedParameters.get(name);
+        if (sanitized == null) {
+            String[] values = super.getParameterValues(name);
+            if (values == null) {
+                return null;
+            }
+            sanitized = new String[values.length];
+            for (int i = 0; i < values.length; i++) {
+                sanitized[i] = sanitize(values[i]);
+            }
+            sanitizedParameters.put(name, sanitized);
+        }
+        return sanitized;
     }
 
     @Override
@@ -80,6 +101,11 @@ public class SanitizedRequestWrapper extends HttpServletRequestWrapper {
                 return bais.read();
             }
 
+            @Override
+            public int read(byte[] b, int off, int len) {
+                return bais.read(b, off, len);
+            }
+
             @Override
             public boolean isFinished() {
                 return bais.available() == 0;
@@ -97,6 +123,16 @@ public class SanitizedRequestWrapper extends HttpServletRequestWrapper {
         };
     }
 
+    @Override
+    public int getContentLength() {
+        return sanitizedBody != null ? sanitizedBody.length : super.getContentLength();
+    }
+
+    @Override
+    public long getContentLengthLong() {
+        return sanitizedBody != null ? sanitizedBody.length : super.getContentLengthLong();
+    }
+
     @Override
     public BufferedReader getReader() throws IOException {
         if (sanitizedBody == null) {
@@ -110,16 +146,28 @@ public class SanitizedRequestWrapper extends HttpServletRequestWrapper {
         if (input == null) {
             return null;
         }
-        return POLICY.sanitize(input);
+        return isPlainText(input) ? input : POLICY.sanitize(input);
     }
 
     /**
-     * Lightweight JSON string sanitization that strips the most dangerous XSS patterns.
-     * The primary XSS defenses are CSP headers and output encoding.
+     * True when the policy would return {@code value} unchanged: it holds only
+     * printable ASCII, tab, CR and LF, and none of the characters the policy
+     * encodes ({@code " & ' + < = > @ `}).
      */
-    private static String sanitizeJsonStrings(String json) {
-        return json.replaceAll("<[^>]*script[^>]*>", "")
-                   .replaceAll("(?i)javascript:", "")
-                   .replaceAll("(?i)on\\w+\\s*=", "");
+    static boolean isPlainText(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x7F || (c < 0x20 && c != '\t' && c != '\n' && c != '\r')) {
+                return false;
+            }
+            switch (c) {
+                case '"', '&', '\'', '+', '<', '=', '>', '@', '`' -> {
+                    return false;
+                }
+                default -> {
+                }
+            }
+        }
+        return true;
     }
 }
@@ -0,0 +1,244 @@
+package com.tracegrade.gradebook;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tracegrade.domain.model.Assignment;
+import com.tracegrade.domain.model.GradeCategory;
+import com.tracegrade.domain.model.GradeStatus;
+import com.tracegrade.domain.model.StudentCategoryAggregate;
+import com.tracegrade.domain.repository.AssignmentRepository;
+import com.tracegrade.domain.repository.GradeCategoryRepository;
+import com.tracegrade.domain.repository.GradeCell;
+import com.tracegrade.domain.repository.GradeRepository;
+import com.tracegrade.domain.repository.StudentCategoryAggregateRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps each student's per-category grade totals current as grades change, so
+ * a student's average is computed from one row per category.
+ *
+ * <p>A row holds the sums over the student's counted grades in the category
+ * and its {@code drop_lowest} lowest grades by percentage. A grade change
+ * adjusts the sums and the lowest list in place. Only when a grade leaves a
+ * full lowest list is the next-lowest unknown, and then that one student's
+ * category is refolded from their grades.
+ *
+ * <p>Changing a category's {@code drop_lowest}, or an assignment's points,
+ * category or publication, rebuilds the affected categories in bulk. Weights
+ * are applied when averages are read, so changing them needs no rebuild.
+ * Updates join the caller's transaction and must follow the grade write.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GradeAggregateService {
+
+    /** Lowest percentage first; ties broken by assignment, as in the V16 backfill. */
+    static final Comparator<Scored> LOWEST_FIRST = Comparator
+            .comparing((Scored s) -> s.earned().divide(s.possible(), 10, RoundingMode.HALF_EVEN))
+            .thenComparing(s -> s.assignmentId().toString());
+
+    private final StudentCategoryAggregateRepository aggregateRepository;
+    private final GradeCategoryRepository gradeCategoryRepository;
+    private final AssignmentRepository assignmentRepository;
+    private final GradeRepository gradeRepository;
+
+    /** A counted grade: points earned out of points possible. */
+    record Scored(UUID assignmentId, BigDecimal earned, BigDecimal possible) {
+    }
+
+    /**
+     * Applies a change of one student's grade on an assignment.
+     *
+     * @param previous the grade before the change, or {@code null} if it is new
+     * @param current  the grade after the change, or {@code null} if it was removed
+     */
+    @Transactional
+    public void recordGradeChange(Assignment assignment, GradeCell previous, GradeCell current) {
+        boolean published = Boolean.TRUE.equals(assignment.getIsPublished());
+        BigDecimal before = previous != null && published ? countedPoints(previous) : null;
+        BigDecimal after = current != null && published ? countedPoints(current) : null;
+        if (before == null ? after == null : after != null && before.compareTo(after) == 0) {
+            return;
+        }
+        GradeCategory category = gradeCategoryRepository.findById(assignment.getCategoryId()).orElse(null);
+        if (category == null) {
+            return;
+        }
+
+        UUID studentId = current != null ? current.studentId() : previous.studentId();
+        aggregateRepository.insertIfAbsent(UUID.randomUUID(), assignment.getClassId(), category.getId(), studentId);
+        StudentCategoryAggregate aggregate = aggregateRepository.findForUpdate(studentId, category.getId())
+                .orElseThrow();
+
+        int keep = category.getDropLowest();
+        BigDecimal possible = assignment.getMaxPoints();
+        List<Scored> lowest = decode(aggregate.getLowestScores());
+        boolean refold = false;
+
+        if (before != null) {
+            aggregate.setEarnedSum(aggregate.getEarnedSum().subtract(before));
+            aggregate.setPossibleSum(aggregate.getPossibleSum().subtract(possible));
+            aggregate.setGradedCount(aggregate.getGradedCount() - 1);
+            boolean full = lowest.size() >= keep;
+            refold = lowest.removeIf(s -> s.assignmentId().equals(assignment.getId())) && full;
+        }
+        if (after != null) {
+            aggregate.setEarnedSum(aggregate.getEarnedSum().add(after));
+            aggregate.setPossibleSum(aggregate.getPossibleSum().add(possible));
+            aggregate.setGradedCount(aggregate.getGradedCount() + 1);
+            lowest.add(new Scored(assignment.getId(), after, possible));
+        }
+
+        if (refold) {
+            List<Assignment> assignments = assignmentRepository.findByCategoryId(category.getId());
+            List<GradeCell> cells = gradeRepository.findCellsByCategoryIdAndStudentId(category.getId(), studentId);
+            fold(aggregate, countedScores(countedAssignments(assignments), cells), keep);
+        } else {
+            lowest.sort(LOWEST_FIRST);
+            aggregate.setLowestScores(encode(lowest.subList(0, Math.min(keep, lowest.size()))));
+        }
+        aggregateRepository.save(aggregate);
+    }
+
+    /** Recomputes every student's totals in the category from their grades. */
+    @Transactional
+    public void rebuildCategory(GradeCategory category) {
+        aggregateRepository.deleteByCategoryId(category.getId());
+
+        Map<UUID, Assignment> assignments = countedAssignments(assignmentRepository.findByCategoryId(category.getId()));
+        Map<UUID, List<GradeCell>> byStudent = new LinkedHashMap<>();
+        for (GradeCell cell : gradeRepository.findCellsByCategoryId(category.getId())) {
+            byStudent.computeIfAbsent(cell.studentId(), k -> new ArrayList<>()).add(cell);
+        }
+
+        List<StudentCategoryAggregate> aggregates = new ArrayList<>(byStudent.size());
+        byStudent.forEach((studentId, cells) -> {
+            List<Scored> scores = countedScores(assignments, cells);
+            if (scores.isEmpty()) {
+                return;
+            }
+            StudentCategoryAggregate aggregate = StudentCategoryAggregate.builder()
+                    .classId(category.getClassId())
+                    .categoryId(category.getId())
+                    .studentId(studentId)
+                    .build();
+            fold(aggregate, scores, category.getDropLowest());
+            aggregates.add(aggregate);
+        });
+        aggregateRepository.saveAll(aggregates);
+        log.info("Rebuilt grade totals of category {} for {} student(s)", category.getId(), aggregates.size());
+    }
+
+    /** Rebuilds the category by ID, if it still exists. */
+    @Transactional
+    public void rebuildCategory(UUID categoryId) {
+        gradeCategoryRepository.findById(categoryId).ifPresent(this::rebuildCategory);
+    }
+
+    /**
+     * A student's average in a category as a percentage after dropping up to
+     * {@code dropLowest} of their lowest grades, keeping at least one;
+     * {@link Double#NaN} when nothing counts.
+     */
+    static double categoryAverage(StudentCategoryAggregate aggregate, int dropLowest) {
+        BigDecimal earned = aggregate.getEarnedSum();
+        BigDecimal possible = aggregate.getPossibleSum();
+        List<Scored> lowest = decode(aggregate.getLowestScores());
+        int drop = Math.min(Math.min(dropLowest, aggregate.getGradedCount() - 1), lowest.size());
+        for (int i = 0; i < drop; i++) {
+            earned = earned.subtract(lowest.get(i).earned());
+            possible = possible.subtract(lowest.get(i).possible());
+        }
+        return possible.signum() > 0 ? earned.doubleValue() / possible.doubleValue() * 100 : Double.NaN;
+    }
+
+    /**
+     * The points a grade counts with: zero for missing work, none for excused
+     * or not yet graded work.
+     */
+    static BigDecimal countedPoints(GradeCell cell) {
+        if (cell.status() == GradeStatus.EXCUSED) {
+            return null;
+        }
+        if (cell.status() == GradeStatus.MISSING) {
+            return BigDecimal.ZERO;
+        }
+        return cell.pointsEarned();
+    }
+
+    private static Map<UUID, Assignment> countedAssignments(List<Assignment> assignments) {
+        Map<UUID, Assignment> counted = new LinkedHashMap<>();
+        for (Assignment assignment : assignments) {
+            if (Boolean.TRUE.equals(assignment.getIsPublished())) {
+                counted.put(assignment.getId(), assignment);
+            }
+        }
+        return counted;
+    }
+
+    private static List<Scored> countedScores(Map<UUID, Assignment> assignments, List<GradeCell> cells) {
+        List<Scored> scores = new ArrayList<>();
+        for (GradeCell cell : cells) {
+            Assignment assignment = assignments.get(cell.assignmentId());
+            BigDecimal points = assignment != null ? countedPoints(cell) : null;
+            if (points != null) {
+                scores.add(new Scored(assignment.getId(), points, assignment.getMaxPoints()));
+            }
+        }
+        return scores;
+    }
+
+    private static void fold(StudentCategoryAggregate aggregate, List<Scored> scores, int keep) {
+        BigDecimal earned = BigDecimal.ZERO;
+        BigDecimal possible = BigDecimal.ZERO;
+        for (Scored score : scores) {
+            earned = earned.add(score.earned());
+            possible = possible.add(score.possible());
+        }
+        aggregate.setEarnedSum(earned);
+        aggregate.setPossibleSum(possible);
+        aggregate.setGradedCount(scores.size());
+        aggregate.setLowestScores(encode(scores.stream().sorted(LOWEST_FIRST).limit(keep).toList()));
+    }
+
+    static List<Scored> decode(String lowestScores) {
+        List<Scored> scores = new ArrayList<>();
+        if (lowestScores == null || lowestScores.isEmpty()) {
+            return scores;
+        }
+        for (String entry : lowestScores.split(";")) {
+            int eq = entry.indexOf('=');
+            int slash = entry.indexOf('/', eq);
+            scores.add(new Scored(UUID.fromString(entry.substring(0, eq)),
+                    new BigDecimal(entry.substring(eq + 1, slash)),
+                    new BigDecimal(entry.substring(slash + 1))));
+        }
+        return scores;
+    }
+
+    static String encode(List<Scored> scores) {
+        StringBuilder sb = new StringBuilder();
+        for (Scored score : scores) {
+            if (!sb.isEmpty()) {
+                sb.append(';');
+            }
+            sb.append(score.assignmentId()).append('=')
+                    .append(score.earned().toPlainString()).append('/')
+                    .append(score.possible().toPlainString());
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,75 @@
+package com.tracegrade.gradebook;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Posts a submission's grade in the background once the transaction that
+ * graded or reviewed it has committed, so grading transactions do not also
+ * write the gradebook.
+ *
+ * <p>Postings run on a small bounded pool. When its queue is full a posting is
+ * dropped with a warning; posting the class again catches up, since posting
+ * skips grades that are already current.
+ *
+ * <p>Only active when {@code gradebook.posting.enabled=true} (the default).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "gradebook.posting.enabled", havingValue = "true", matchIfMissing = true)
+public class GradePostingDispatcher implements DisposableBean {
+
+    private final GradePostingService postingService;
+    private final Executor executor;
+    private final ThreadPoolTaskExecutor ownedExecutor;
+
+    @Autowired
+    public GradePostingDispatcher(GradePostingService postingService, GradePostingProperties properties) {
+        this.postingService = postingService;
+        this.ownedExecutor = new ThreadPoolTaskExecutor();
+        ownedExecutor.setThreadNamePrefix("grade-posting-");
+        ownedExecutor.setCorePoolSize(properties.getWorkerThreads());
+        ownedExecutor.setMaxPoolSize(properties.getWorkerThreads());
+        ownedExecutor.setQueueCapacity(properties.getQueueCapacity());
+        ownedExecutor.initialize();
+        this.executor = ownedExecutor;
+    }
+
+    GradePostingDispatcher(GradePostingService postingService, Executor executor) {
+        this.postingService = postingService;
+        this.ownedExecutor = null;
+        this.executor = executor;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onResultSettled(GradingResultSettledEvent event) {
+        try {
+            executor.execute(() -> {
+                try {
+                    postingService.postSubmissions(List.of(event.submissionId()));
+                } catch (RuntimeException e) {
+                    log.warn("Grade posting failed for submissionId={}: {}", event.submissionId(), e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("Grade posting queue full; submissionId={} will be posted with its class", event.submissionId());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.tracegrade.gradebook;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "gradebook.posting")
+public class GradePostingProperties {
+
+    /** Post grading results to the gradebook in the background after each grading and review */
+    private boolean enabled = true;
+
+    /** Grades written per JDBC batch */
+    private int batchSize = 500;
+
+    /** Threads that post grades in the background */
+    private int workerThreads = 1;
+
+    /** Postings that may wait for a thread; further ones are dropped until a class is posted again */
+    private int queueCapacity = 1_000;
+}
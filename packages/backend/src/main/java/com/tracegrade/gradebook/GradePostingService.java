@@ -0,0 +1,218 @@
+package com.tracegrade.gradebook;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tracegrade.domain.model.Assignment;
+import com.tracegrade.domain.model.Grade;
+import com.tracegrade.domain.model.GradeStatus;
+import com.tracegrade.domain.repository.AssignmentRepository;
+import com.tracegrade.domain.repository.GradeCell;
+import com.tracegrade.domain.repository.GradeRepository;
+import com.tracegrade.domain.repository.GradeUpsertRepository;
+import com.tracegrade.domain.repository.GradingResultRepository;
+import com.tracegrade.domain.repository.PostableResult;
+import com.tracegrade.dto.response.GradePostingResponse;
+import com.tracegrade.tenancy.TenancyContext;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Posts grading results to the gradebook as grades, scaling each result's
+ * percentage score to its assignment's points.
+ *
+ * <p>A result is posted once it is scored and either was not flagged for
+ * review or has been reviewed. Where a student has several results for one
+ * assignment, the most recently settled one wins. Grades the teacher has
+ * excused or marked missing or incomplete, and grades that already carry the
+ * same points, are left alone.
+ *
+ * <p>Posting one result locks its grade row, so the previous grade used to
+ * update the student's category totals in place is the one actually
+ * replaced. A larger posting reads the results and the existing grades in one
+ * query each, writes in JDBC batches and rebuilds the affected categories in
+ * bulk instead.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GradePostingService {
+
+    private final GradingResultRepository gradingResultRepository;
+    private final GradeRepository gradeRepository;
+    private final GradeUpsertRepository gradeUpsertRepository;
+    private final AssignmentRepository assignmentRepository;
+    private final GradeAggregateService gradeAggregateService;
+    private final GradePostingProperties properties;
+    private final TenancyContext tenancyContext;
+
+    private record Key(UUID studentId, UUID assignmentId) {
+    }
+
+    /** Posts the results of the given submissions; returns the number of grades written. */
+    @Transactional
+    public int postSubmissions(Collection<UUID> submissionIds) {
+        if (submissionIds.isEmpty()) {
+            return 0;
+        }
+        return post(gradingResultRepository.findPostableBySubmissionIds(submissionIds));
+    }
+
+    /** Posts every postable result in the class. */
+    @Transactional
+    public GradePostingResponse postClass(UUID schoolId, UUID classId) {
+        tenancyContext.requireClass(schoolId, classId);
+
+        int posted = post(gradingResultRepository.findPostableByClassId(classId));
+        log.info("Posted {} grade(s) for class {} (school {})", posted, classId, schoolId);
+        return GradePostingResponse.builder()
+                .classId(classId)
+                .postedCount(posted)
+                .build();
+    }
+
+    /**
+     * Brings the student's grade on the assignment back in line with the
+     * results left after one was deleted: the most recently settled remaining
+     * result is posted, or the grade is removed when no postable result is
+     * left. Only a graded grade is touched, under a row lock, and the
+     * student's category totals follow the change.
+     */
+    @Transactional
+    public void repostAfterRemoval(UUID studentId, UUID assignmentId) {
+        GradeCell previous = gradeUpsertRepository.findCellForUpdate(assignmentId, studentId).orElse(null);
+        if (previous == null || previous.status() != GradeStatus.GRADED) {
+            return;
+        }
+
+        PostableResult latest = gradingResultRepository.findPostableByStudentIdAndAssignmentId(studentId, assignmentId)
+                .stream()
+                .max(Comparator.comparing(PostableResult::gradedAt))
+                .orElse(null);
+        GradeCell current = null;
+        if (latest != null) {
+            BigDecimal points = toPoints(latest.score(), latest.maxPoints());
+            if (!replaces(previous, points)) {
+                return;
+            }
+            gradeUpsertRepository.upsertGraded(List.of(graded(latest, points)), properties.getBatchSize());
+            current = new GradeCell(assignmentId, studentId, points, GradeStatus.GRADED);
+        } else {
+            gradeUpsertRepository.deleteGraded(assignmentId, studentId);
+            log.info("Removed grade of student {} on assignment {}; no grading result left", studentId, assignmentId);
+        }
+
+        GradeCell changed = current;
+        assignmentRepository.findById(assignmentId).ifPresent(assignment ->
+                gradeAggregateService.recordGradeChange(assignment, previous, changed));
+    }
+
+    /** Points earned on an assignment for a percentage score. */
+    static BigDecimal toPoints(BigDecimal score, BigDecimal maxPoints) {
+        return score.multiply(maxPoints).divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+    }
+
+    private int post(List<PostableResult> results) {
+        if (results.isEmpty()) {
+            return 0;
+        }
+
+        Map<Key, PostableResult> latest = new LinkedHashMap<>();
+        for (PostableResult result : results) {
+            latest.merge(new Key(result.studentId(), result.assignmentId()), result,
+                    (a, b) -> b.gradedAt().isAfter(a.gradedAt()) ? b : a);
+        }
+
+        if (latest.size() == 1) {
+            return postOne(latest.values().iterator().next());
+        }
+
+        Set<UUID> assignmentIds = new LinkedHashSet<>();
+        latest.keySet().forEach(key -> assignmentIds.add(key.assignmentId()));
+        Map<Key, GradeCell> existing = new HashMap<>();
+        for (GradeCell cell : gradeRepository.findCellsByAssignmentIdIn(assignmentIds)) {
+            existing.put(new Key(cell.studentId(), cell.assignmentId()), cell);
+        }
+
+        List<Grade> grades = new ArrayList<>();
+        for (Map.Entry<Key, PostableResult> entry : latest.entrySet()) {
+            PostableResult result = entry.getValue();
+            BigDecimal points = toPoints(result.score(), result.maxPoints());
+            if (replaces(existing.get(entry.getKey()), points)) {
+                grades.add(graded(result, points));
+            }
+        }
+        if (grades.isEmpty()) {
+            return 0;
+        }
+
+        gradeUpsertRepository.upsertGraded(grades, properties.getBatchSize());
+        rebuildCategories(grades);
+        return grades.size();
+    }
+
+    private int postOne(PostableResult result) {
+        BigDecimal points = toPoints(result.score(), result.maxPoints());
+        Grade grade = graded(result, points);
+        GradeCell previous = gradeUpsertRepository.lockCell(grade.getId(), grade.getAssignmentId(),
+                grade.getStudentId());
+        if (!replaces(previous, points)) {
+            return 0;
+        }
+
+        gradeUpsertRepository.upsertGraded(List.of(grade), properties.getBatchSize());
+        assignmentRepository.findById(grade.getAssignmentId()).ifPresent(assignment ->
+                gradeAggregateService.recordGradeChange(assignment, previous,
+                        new GradeCell(grade.getAssignmentId(), grade.getStudentId(), grade.getPointsEarned(),
+                                grade.getStatus())));
+        return 1;
+    }
+
+    /**
+     * Whether a posting may replace the grade: only pending and graded grades
+     * are posted over, and only when the points change.
+     */
+    private static boolean replaces(GradeCell previous, BigDecimal points) {
+        if (previous == null || previous.status() == GradeStatus.PENDING) {
+            return true;
+        }
+        return previous.status() == GradeStatus.GRADED
+                && (previous.pointsEarned() == null || previous.pointsEarned().compareTo(points) != 0);
+    }
+
+    private static Grade graded(PostableResult result, BigDecimal points) {
+        Grade grade = Grade.builder()
+                .assignmentId(result.assignmentId())
+                .studentId(result.studentId())
+                .pointsEarned(points)
+                .status(GradeStatus.GRADED)
+                .gradedAt(result.gradedAt())
+                .build();
+        grade.setId(UUID.randomUUID());
+        return grade;
+    }
+
+    private void rebuildCategories(List<Grade> grades) {
+        Set<UUID> assignmentIds = new LinkedHashSet<>();
+        grades.forEach(grade -> assignmentIds.add(grade.getAssignmentId()));
+        Set<UUID> categoryIds = new LinkedHashSet<>();
+        for (Assignment assignment : assignmentRepository.findAllById(assignmentIds)) {
+            categoryIds.add(assignment.getCategoryId());
+        }
+        categoryIds.forEach(gradeAggregateService::rebuildCategory);
+    }
+}
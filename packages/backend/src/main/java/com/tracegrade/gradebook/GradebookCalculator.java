@@ -0,0 +1,125 @@
+package com.tracegrade.gradebook;
+
+/**
+ * Weighted category averages over a dense student-by-assignment score matrix.
+ *
+ * <p>Scores are held in one {@code double[]} in row-major order, with
+ * {@link Double#NaN} for a grade that does not count (none recorded, or
+ * excused). Assignments are ordered by category, so each category is a
+ * contiguous column range and a student's row is read front to back once.
+ *
+ * <p>Within a category, a student's average is earned points over possible
+ * points of the counted assignments, after dropping the {@code dropLowest}
+ * lowest by percentage; at least one assignment is always kept. The course
+ * average weights each category's average by its weight, renormalized over
+ * the categories in which the student has a counted grade. Averages are
+ * percentages; {@code NaN} means there is nothing to average.
+ */
+public final class GradebookCalculator {
+
+    private GradebookCalculator() {
+    }
+
+    /**
+     * The column layout of a class gradebook.
+     *
+     * @param categoryStart      first column of each category, plus the column count at the end
+     * @param categoryWeight     weight of each category
+     * @param categoryDropLowest how many of its lowest scores each category drops
+     * @param maxPoints          points possible per column, all positive
+     * @param counted            whether a column counts towards averages, e.g. it is published
+     */
+    public record Layout(int[] categoryStart, double[] categoryWeight, int[] categoryDropLowest,
+                         double[] maxPoints, boolean[] counted) {
+
+        public int categoryCount() {
+            return categoryWeight.length;
+        }
+
+        public int assignmentCount() {
+            return maxPoints.length;
+        }
+    }
+
+    /**
+     * @param categoryAverages per student and category, row-major
+     * @param courseAverages   per student
+     */
+    public record Result(double[] categoryAverages, double[] courseAverages) {
+    }
+
+    public static Result compute(Layout layout, double[] points, int studentCount) {
+        int categories = layout.categoryCount();
+        int columns = layout.assignmentCount();
+        int[] start = layout.categoryStart();
+        double[] weight = layout.categoryWeight();
+        int[] dropLowest = layout.categoryDropLowest();
+        double[] maxPoints = layout.maxPoints();
+        boolean[] counted = layout.counted();
+
+        double[] categoryAverages = new double[studentCount * categories];
+        double[] courseAverages = new double[studentCount];
+
+        int widest = 0;
+        for (int c = 0; c < categories; c++) {
+            widest = Math.max(widest, start[c + 1] - start[c]);
+        }
+        double[] ratios = new double[widest];
+        int[] picked = new int[widest];
+
+        for (int s = 0; s < studentCount; s++) {
+            int row = s * columns;
+            for (int c = 0; c < categories; c++) {
+                double earned = 0;
+                double possible = 0;
+                int n = 0;
+                for (int a = start[c]; a < start[c + 1]; a++) {
+                    double p = points[row + a];
+                    if (counted[a] && !Double.isNaN(p)) {
+                        earned += p;
+                        possible += maxPoints[a];
+                        ratios[n] = p / maxPoints[a];
+                        picked[n] = a;
+                        n++;
+                    }
+                }
+
+                int drop = Math.min(dropLowest[c], n - 1);
+                for (int d = 0; d < drop; d++) {
+                    int lowest = 0;
+                    for (int i = 1; i < n; i++) {
+                        if (ratios[i] < ratios[lowest]) {
+                            lowest = i;
+                        }
+                    }
+                    earned -= points[row + picked[lowest]];
+                    possible -= maxPoints[picked[lowest]];
+                    ratios[lowest] = Double.POSITIVE_INFINITY;
+                }
+
+                double average = possible > 0 ? earned / possible * 100 : Double.NaN;
+                categoryAverages[s * categories + c] = average;
+            }
+
+            courseAverages[s] = courseAverage(weight, categoryAverages, s * categories);
+        }
+        return new Result(categoryAverages, courseAverages);
+    }
+
+    /**
+     * The weighted average of one student's category averages, starting at
+     * {@code from}, renormalized over the categories that have an average.
+     */
+    public static double courseAverage(double[] categoryWeight, double[] categoryAverages, int from) {
+        double weightedSum = 0;
+        double weightTotal = 0;
+        for (int c = 0; c < categoryWeight.length; c++) {
+            double average = categoryAverages[from + c];
+            if (!Double.isNaN(average) && categoryWeight[c] > 0) {
+                weightedSum += categoryWeight[c] * average;
+                weightTotal += categoryWeight[c];
+            }
+        }
+        return weightTotal > 0 ? weightedSum / weightTotal : Double.NaN;
+    }
+}
@@ -0,0 +1,95 @@
+package com.tracegrade.gradebook;
+
+import java.util.UUID;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tracegrade.dto.response.ApiResponse;
+import com.tracegrade.dto.response.GradePostingResponse;
+import com.tracegrade.dto.response.GradebookResponse;
+import com.tracegrade.dto.response.StudentGradeResponse;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/schools/{schoolId}/classes/{classId}/gradebook")
+@RequiredArgsConstructor
+@Validated
+@Tag(name = "Gradebook", description = "Weighted course grades of a class.")
+@SecurityRequirement(name = "BearerAuth")
+public class GradebookController {
+
+    private final GradebookService gradebookService;
+    private final GradePostingService gradePostingService;
+
+    @Operation(
+            summary = "Get the gradebook for a class",
+            description = "Returns every enrolled student's points per assignment, average per grade category after dropping each category's lowest scores, and weighted course average."
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Gradebook returned"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Class not found", content = @Content)
+    })
+    @GetMapping
+    public ResponseEntity<ApiResponse<GradebookResponse>> getGradebook(
+            @Parameter(description = "UUID of the school", required = true)
+            @PathVariable UUID schoolId,
+            @Parameter(description = "UUID of the class", required = true)
+            @PathVariable UUID classId) {
+
+        GradebookResponse gradebook = gradebookService.getGradebook(schoolId, classId);
+        return ResponseEntity.ok(ApiResponse.success(gradebook));
+    }
+
+    @Operation(
+            summary = "Get a student's current grade in a class",
+            description = "Returns the student's average per grade category and weighted course average, read from running per-category totals."
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Grade returned"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Class not found or student not enrolled", content = @Content)
+    })
+    @GetMapping("/students/{studentId}")
+    public ResponseEntity<ApiResponse<StudentGradeResponse>> getStudentGrade(
+            @Parameter(description = "UUID of the school", required = true)
+            @PathVariable UUID schoolId,
+            @Parameter(description = "UUID of the class", required = true)
+            @PathVariable UUID classId,
+            @Parameter(description = "UUID of the student", required = true)
+            @PathVariable UUID studentId) {
+
+        StudentGradeResponse grade = gradebookService.getStudentGrade(schoolId, classId, studentId);
+        return ResponseEntity.ok(ApiResponse.success(grade));
+    }
+
+    @Operation(
+            summary = "Post a class's grading results to its gradebook",
+            description = "Writes every scored, settled grading result in the class as a grade scaled to the assignment's points. Results are also posted in the background after grading and review; this catches up on any that were missed."
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Results posted"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Class not found", content = @Content)
+    })
+    @PostMapping("/post")
+    public ResponseEntity<ApiResponse<GradePostingResponse>> postGrades(
+            @Parameter(description = "UUID of the school", required = true)
+            @PathVariable UUID schoolId,
+            @Parameter(description = "UUID of the class", required = true)
+            @PathVariable UUID classId) {
+
+        GradePostingResponse response = gradePostingService.postClass(schoolId, classId);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+}
@@ -0,0 +1,225 @@
+package com.tracegrade.gradebook;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tracegrade.domain.model.Assignment;
+import com.tracegrade.domain.model.GradeCategory;
+import com.tracegrade.domain.model.StudentCategoryAggregate;
+import com.tracegrade.domain.repository.AssignmentRepository;
+import com.tracegrade.domain.repository.ClassEnrollmentRepository;
+import com.tracegrade.domain.repository.EnrolledStudent;
+import com.tracegrade.domain.repository.GradeCategoryRepository;
+import com.tracegrade.domain.repository.GradeCell;
+import com.tracegrade.domain.repository.GradeRepository;
+import com.tracegrade.domain.repository.StudentCategoryAggregateRepository;
+import com.tracegrade.dto.response.GradebookResponse;
+import com.tracegrade.dto.response.StudentGradeResponse;
+import com.tracegrade.exception.ResourceNotFoundException;
+import com.tracegrade.tenancy.TenancyContext;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Builds a class gradebook from four set-based queries (categories,
+ * assignments, enrolled students, grades) and computes every student's
+ * category and course averages with {@link GradebookCalculator}.
+ *
+ * <p>Missing work counts as zero points; excused and ungraded work does not
+ * count. Grades of students no longer enrolled are ignored.
+ *
+ * <p>A single student's grade is read from the per-category totals that
+ * {@link GradeAggregateService} maintains, in two queries whose size depends
+ * on the number of categories only.
+ */
+@Service
+@RequiredArgsConstructor
+public class GradebookService {
+
+    private final TenancyContext tenancyContext;
+    private final GradeCategoryRepository gradeCategoryRepository;
+    private final AssignmentRepository assignmentRepository;
+    private final ClassEnrollmentRepository classEnrollmentRepository;
+    private final GradeRepository gradeRepository;
+    private final StudentCategoryAggregateRepository aggregateRepository;
+
+    @Transactional(readOnly = true)
+    public GradebookResponse getGradebook(UUID schoolId, UUID classId) {
+        tenancyContext.requireClass(schoolId, classId);
+
+        return assemble(classId,
+                gradeCategoryRepository.findByClassId(classId),
+                assignmentRepository.findByClassId(classId),
+                classEnrollmentRepository.findEnrolledStudents(classId),
+                gradeRepository.findCellsByClassId(classId));
+    }
+
+    @Transactional(readOnly = true)
+    public StudentGradeResponse getStudentGrade(UUID schoolId, UUID classId, UUID studentId) {
+        tenancyContext.requireClass(schoolId, classId);
+        if (!classEnrollmentRepository.existsByClassIdAndStudentIdAndDroppedAtIsNull(classId, studentId)) {
+            throw new ResourceNotFoundException("Enrollment", studentId);
+        }
+
+        List<GradeCategory> categories = gradeCategoryRepository.findByClassId(classId).stream()
+                .sorted(Comparator.comparing(GradeCategory::getName))
+                .toList();
+        Map<UUID, StudentCategoryAggregate> aggregates = new HashMap<>();
+        for (StudentCategoryAggregate aggregate : aggregateRepository.findByClassIdAndStudentId(classId, studentId)) {
+            aggregates.put(aggregate.getCategoryId(), aggregate);
+        }
+
+        double[] weights = new double[categories.size()];
+        double[] averages = new double[categories.size()];
+        List<StudentGradeResponse.CategoryGrade> grades = new ArrayList<>(categories.size());
+        for (int c = 0; c < categories.size(); c++) {
+            GradeCategory category = categories.get(c);
+            StudentCategoryAggregate aggregate = aggregates.get(category.getId());
+            weights[c] = category.getWeight().doubleValue();
+            averages[c] = aggregate != null
+                    ? GradeAggregateService.categoryAverage(aggregate, category.getDropLowest())
+                    : Double.NaN;
+            grades.add(StudentGradeResponse.CategoryGrade.builder()
+                    .categoryId(category.getId())
+                    .name(category.getName())
+                    .weight(category.getWeight())
+                    .gradedCount(aggregate != null ? aggregate.getGradedCount() : 0)
+                    .average(toValue(averages[c], true))
+                    .build());
+        }
+
+        return StudentGradeResponse.builder()
+                .classId(classId)
+                .studentId(studentId)
+                .categories(grades)
+                .courseAverage(toValue(GradebookCalculator.courseAverage(weights, averages, 0), true))
+                .build();
+    }
+
+    static GradebookResponse assemble(UUID classId, List<GradeCategory> categoryList, List<Assignment> assignmentList,
+                                      List<EnrolledStudent> students, List<GradeCell> cells) {
+        List<GradeCategory> categories = categoryList.stream()
+                .sorted(Comparator.comparing(GradeCategory::getName))
+                .toList();
+        Map<UUID, Integer> categoryIndex = new HashMap<>();
+        for (int c = 0; c < categories.size(); c++) {
+            categoryIndex.put(categories.get(c).getId(), c);
+        }
+
+        List<Assignment> assignments = assignmentList.stream()
+                .filter(a -> categoryIndex.containsKey(a.getCategoryId()))
+                .sorted(Comparator.<Assignment>comparingInt(a -> categoryIndex.get(a.getCategoryId()))
+                        .thenComparing(Assignment::getDueDate, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(Assignment::getName))
+                .toList();
+
+        int categoryCount = categories.size();
+        int columns = assignments.size();
+        int studentCount = students.size();
+
+        int[] categoryStart = new int[categoryCount + 1];
+        double[] categoryWeight = new double[categoryCount];
+        int[] categoryDropLowest = new int[categoryCount];
+        for (int c = 0; c < categoryCount; c++) {
+            categoryWeight[c] = categories.get(c).getWeight().doubleValue();
+            categoryDropLowest[c] = categories.get(c).getDropLowest();
+        }
+
+        double[] maxPoints = new double[columns];
+        boolean[] counted = new boolean[columns];
+        Map<UUID, Integer> assignmentIndex = new HashMap<>(columns * 2);
+        for (int a = 0; a < columns; a++) {
+            Assignment assignment = assignments.get(a);
+            maxPoints[a] = assignment.getMaxPoints().doubleValue();
+            counted[a] = Boolean.TRUE.equals(assignment.getIsPublished());
+            assignmentIndex.put(assignment.getId(), a);
+            categoryStart[categoryIndex.get(assignment.getCategoryId()) + 1]++;
+        }
+        for (int c = 0; c < categoryCount; c++) {
+            categoryStart[c + 1] += categoryStart[c];
+        }
+
+        Map<UUID, Integer> studentIndex = new HashMap<>(studentCount * 2);
+        for (int s = 0; s < studentCount; s++) {
+            studentIndex.put(students.get(s).studentId(), s);
+        }
+
+        double[] points = new double[studentCount * columns];
+        Arrays.fill(points, Double.NaN);
+        for (GradeCell cell : cells) {
+            Integer s = studentIndex.get(cell.studentId());
+            Integer a = assignmentIndex.get(cell.assignmentId());
+            if (s != null && a != null) {
+                points[s * columns + a] = pointsOf(cell);
+            }
+        }
+
+        GradebookCalculator.Result result = GradebookCalculator.compute(
+                new GradebookCalculator.Layout(categoryStart, categoryWeight, categoryDropLowest, maxPoints, counted),
+                points, studentCount);
+
+        List<GradebookResponse.StudentRow> rows = new ArrayList<>(studentCount);
+        for (int s = 0; s < studentCount; s++) {
+            EnrolledStudent student = students.get(s);
+            rows.add(GradebookResponse.StudentRow.builder()
+                    .studentId(student.studentId())
+                    .firstName(student.firstName())
+                    .lastName(student.lastName())
+                    .points(toList(points, s * columns, columns, false))
+                    .categoryAverages(toList(result.categoryAverages(), s * categoryCount, categoryCount, true))
+                    .courseAverage(toValue(result.courseAverages()[s], true))
+                    .build());
+        }
+
+        return GradebookResponse.builder()
+                .classId(classId)
+                .categories(categories.stream()
+                        .map(c -> GradebookResponse.CategoryColumn.builder()
+                                .categoryId(c.getId())
+                                .name(c.getName())
+                                .weight(c.getWeight())
+                                .dropLowest(c.getDropLowest())
+                                .build())
+                        .toList())
+                .assignments(assignments.stream()
+                        .map(a -> GradebookResponse.AssignmentColumn.builder()
+                                .assignmentId(a.getId())
+                                .categoryId(a.getCategoryId())
+                                .name(a.getName())
+                                .maxPoints(a.getMaxPoints())
+                                .published(Boolean.TRUE.equals(a.getIsPublished()))
+                                .build())
+                        .toList())
+                .students(rows)
+                .build();
+    }
+
+    private static double pointsOf(GradeCell cell) {
+        BigDecimal points = GradeAggregateService.countedPoints(cell);
+        return points != null ? points.doubleValue() : Double.NaN;
+    }
+
+    private static List<Double> toList(double[] values, int from, int length, boolean round) {
+        Double[] boxed = new Double[length];
+        for (int i = 0; i < length; i++) {
+            boxed[i] = toValue(values[from + i], round);
+        }
+        return Arrays.asList(boxed);
+    }
+
+    private static Double toValue(double value, boolean round) {
+        if (Double.isNaN(value)) {
+            return null;
+        }
+        return round ? Math.round(value * 100) / 100.0 : value;
+    }
+}
@@ -0,0 +1,11 @@
+package com.tracegrade.gradebook;
+
+import java.util.UUID;
+
+/**
+ * Published when a submission's grading result has been saved by grading or
+ * by a teacher review. Once the publishing transaction commits, its score is
+ * posted to the gradebook in the background if it is ready to be.
+ */
+public record GradingResultSettledEvent(UUID submissionId) {
+}
@@ -8,13 +8,14 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.tracegrade.domain.model.GradeCategory;
-import com.tracegrade.domain.repository.ClassRepository;
 import com.tracegrade.domain.repository.GradeCategoryRepository;
 import com.tracegrade.dto.request.CreateGradeCategoryRequest;
 import com.tracegrade.dto.request.UpdateGradeCategoryRequest;
 import com.tracegrade.dto.response.GradeCategoryResponse;
 import com.tracegrade.exception.DuplicateResourceException;
 import com.tracegrade.exception.ResourceNotFoundException;
+import com.tracegrade.gradebook.GradeAggregateService;
+import com.tracegrade.tenancy.TenancyContext;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,13 +26,13 @@ import lombok.extern.slf4j.Slf4j;
 public class GradeCategoryService {
 
     private final GradeCategoryRepository gradeCategoryRepository;
-    private final ClassRepository classRepository;
+    private final TenancyContext tenancyContext;
+    private final GradeAggregateService gradeAggregateService;
 
     @Transactional(readOnly = true)
     public List<GradeCategoryResponse> listCategories(UUID schoolId, UUID classId) {
         // Verify class belongs to the school
-        classRepository.findByIdAndSchoolId(classId, schoolId)
-                .orElseThrow(() -> new ResourceNotFoundException("Class", classId));
+        tenancyContext.requireClass(schoolId, classId);
 
         return gradeCategoryRepository.findByClassId(classId).stream()
                 .map(this::toResponse)
@@ -41,8 +42,7 @@ public class GradeCategoryService {
     @Transactional
     public GradeCategoryResponse createCategory(UUID schoolId, UUID classId, CreateGradeCategoryRequest request) {
         // Verify class belongs to the school
-        classRepository.findByIdAndSchoolId(classId, schoolId)
-                .orElseThrow(() -> new ResourceNotFoundException("Class", classId));
+        tenancyContext.requireClass(schoolId, classId);
 
         // Check for duplicate name within the class
         if (gradeCategoryRepository.existsByClassIdAndNameIgnoreCase(classId, request.getName())) {
@@ -71,8 +71,7 @@ public class GradeCategoryService {
     public GradeCategoryResponse updateCategory(UUID schoolId, UUID classId, UUID categoryId,
             UpdateGradeCategoryRequest request) {
         // Verify class belongs to the school
-        classRepository.findByIdAndSchoolId(classId, schoolId)
-                .orElseThrow(() -> new ResourceNotFoundException("Class", classId));
+        tenancyContext.requireClass(schoolId, classId);
 
         // Find category scoped to this class
         GradeCategory category = gradeCategoryRepository.findByIdAndClassId(categoryId, classId)
@@ -95,6 +94,10 @@ public class GradeCategoryService {
             }
         }
 
+        // Weights apply when averages are read; only drop_lowest changes the per-student totals
+        boolean dropLowestChanged = request.getDropLowest() != null
+                && !request.getDropLowest().equals(category.getDropLowest());
+
         // Apply updates
         if (request.getName() != null) {
             category.setName(request.getName());
@@ -110,14 +113,17 @@ public class GradeCategoryService {
         }
 
         log.info("Updating grade category {} for class {} (school {})", categoryId, classId, schoolId);
-        return toResponse(gradeCategoryRepository.save(category));
+        GradeCategory saved = gradeCategoryRepository.save(category);
+        if (dropLowestChanged) {
+            gradeAggregateService.rebuildCategory(saved);
+        }
+        return toResponse(saved);
     }
 
     @Transactional
     public void deleteCategory(UUID schoolId, UUID classId, UUID categoryId) {
         // Verify class belongs to the school
-        classRepository.findByIdAndSchoolId(classId, schoolId)
-                .orElseThrow(() -> new ResourceNotFoundException("Class", classId));
+        tenancyContext.requireClass(schoolId, classId);
 
         // Find category scoped to this class
         GradeCategory category = gradeCategoryRepository.findByIdAndClassId(categoryId, classId)
@@ -11,24 +11,33 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.tracegrade.dto.request.GradingReviewRequest;
 import com.tracegrade.dto.response.ApiResponse;
+import com.tracegrade.dto.response.CursorPage;
 import com.tracegrade.dto.response.GradingEnqueuedResponse;
 import com.tracegrade.dto.response.GradingResultResponse;
+import com.tracegrade.pagination.PageCursor;
+import com.tracegrade.ratelimit.RateLimit;
+import com.tracegrade.ratelimit.RateLimitPlan;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 
 import lombok.RequiredArgsConstructor;
 
 @RestController
 @RequiredArgsConstructor
+@Validated
 @Tag(name = "Grading", description = "AI grading lifecycle: enqueue jobs, retrieve results, and manage teacher reviews")
 @SecurityRequirement(name = "BearerAuth")
 public class GradingController {
@@ -73,15 +82,46 @@ public class GradingController {
 
     @Operation(
             summary = "List grading results pending teacher review",
-            description = "Returns all grading results where the AI confidence fell below the configured threshold "
-                    + "and a teacher review is required."
+            description = "Returns a page of the grading results where the AI confidence fell below the configured "
+                    + "threshold and a teacher review is required, oldest first. Pass `nextCursor` as `cursor` for "
+                    + "the next page."
     )
     @ApiResponses({
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "List of pending reviews returned")
     })
     @GetMapping("/api/grading/reviews/pending")
-    public ResponseEntity<ApiResponse<List<GradingResultResponse>>> getPendingReviews() {
-        List<GradingResultResponse> response = gradingService.getPendingReviews();
+    public ResponseEntity<ApiResponse<CursorPage<GradingResultResponse>>> getPendingReviews(
+            @Parameter(description = "nextCursor of the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of items on the page (1-200)")
+            @RequestParam(defaultValue = PageCursor.DEFAULT_LIMIT) @Min(1) @Max(PageCursor.MAX_LIMIT) int limit) {
+        CursorPage<GradingResultResponse> response = gradingService.getPendingReviews(cursor, limit);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @Operation(
+            summary = "List a school's grading results pending teacher review",
+            description = "Returns a page of the school's grading results that require a teacher review, oldest "
+                    + "first. Pass `teacherId` to list only submissions for that teacher's classes, and "
+                    + "`nextCursor` as `cursor` for the next page."
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Page of pending reviews returned"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Not authorized for this school", content = @Content)
+    })
+    @RateLimit(RateLimitPlan.AI)
+    @GetMapping("/api/schools/{schoolId}/grading/reviews/pending")
+    public ResponseEntity<ApiResponse<CursorPage<GradingResultResponse>>> getSchoolPendingReviews(
+            @Parameter(description = "UUID of the school", required = true)
+            @PathVariable UUID schoolId,
+            @Parameter(description = "UUID of a teacher; omit to list the whole school")
+            @RequestParam(required = false) UUID teacherId,
+            @Parameter(description = "nextCursor of the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of items on the page (1-200)")
+            @RequestParam(defaultValue = PageCursor.DEFAULT_LIMIT) @Min(1) @Max(PageCursor.MAX_LIMIT) int limit) {
+        CursorPage<GradingResultResponse> response =
+                gradingService.getSchoolPendingReviews(schoolId, teacherId, cursor, limit);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
@@ -1,9 +1,9 @@
 package com.tracegrade.grading;
 
-import java.util.List;
 import java.util.UUID;
 
 import com.tracegrade.dto.request.GradingReviewRequest;
+import com.tracegrade.dto.response.CursorPage;
 import com.tracegrade.dto.response.GradingEnqueuedResponse;
 import com.tracegrade.dto.response.GradingResultResponse;
 
@@ -42,18 +42,38 @@ public interface GradingService {
     GradingResultResponse getResult(UUID submissionId);
 
     /**
-     * Returns all grading results flagged for manual review that have not yet been reviewed.
+     * Returns a page of grading results flagged for manual review that have not yet been
+     * reviewed, oldest first.
+     *
+     * @param cursor {@code nextCursor} of the previous page, or {@code null} for the first page
+     * @param limit  maximum number of results on the page
+     */
+    CursorPage<GradingResultResponse> getPendingReviews(String cursor, int limit);
+
+    /**
+     * Returns a page of the school's grading results awaiting review, oldest first,
+     * optionally narrowed to the classes of one teacher.
+     *
+     * @param schoolId  the school whose students' results are listed
+     * @param teacherId the teacher whose classes to list, or {@code null} for the whole school
+     * @param cursor    {@code nextCursor} of the previous page, or {@code null} for the first page
+     * @param limit     maximum number of results on the page
      */
-    List<GradingResultResponse> getPendingReviews();
+    CursorPage<GradingResultResponse> getSchoolPendingReviews(UUID schoolId, UUID teacherId,
+                                                             String cursor, int limit);
 
     /**
      * Records a teacher's review decision for a grading result. Updates finalScore,
-     * teacherOverride, reviewedAt, and optionally questionScores. Sets needsReview to false.
+     * teacherOverride, reviewedAt, and optionally the per-question scores, either all
+     * at once (questionScores) or per question (questionPoints). Sets needsReview to false.
+     * finalScore must match the per-question total unless the teacher overrides it
+     * without changing any question.
      *
      * @param gradeId the semantic grade UUID (not the JPA entity id)
      * @param request the teacher's review decision
      * @return the updated GradingResultResponse
      * @throws com.tracegrade.exception.ResourceNotFoundException if no result with the given gradeId exists
+     * @throws IllegalArgumentException if the question scores or finalScore do not fit the result
      */
     GradingResultResponse reviewGrade(UUID gradeId, GradingReviewRequest request);
 }
@@ -4,35 +4,51 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tracegrade.dashboard.SchoolGradingStatsService;
 import com.tracegrade.domain.model.AnswerRubric;
+import com.tracegrade.domain.model.GradingQuestionScore;
 import com.tracegrade.domain.model.GradingResult;
+import com.tracegrade.domain.model.StorageTier;
 import com.tracegrade.domain.model.StudentSubmission;
 import com.tracegrade.domain.model.SubmissionStatus;
 import com.tracegrade.domain.model.User;
 import com.tracegrade.domain.model.UserRole;
 import com.tracegrade.domain.repository.AnswerRubricRepository;
+import com.tracegrade.domain.repository.GradingQuestionScoreRepository;
 import com.tracegrade.domain.repository.GradingResultRepository;
 import com.tracegrade.domain.repository.StudentSubmissionRepository;
 import com.tracegrade.domain.repository.UserRepository;
 import com.tracegrade.dto.request.GradingReviewRequest;
+import com.tracegrade.dto.response.CursorPage;
 import com.tracegrade.dto.response.GradingEnqueuedResponse;
 import com.tracegrade.dto.response.GradingResultResponse;
 import com.tracegrade.exception.ResourceNotFoundException;
+import com.tracegrade.gradebook.GradingResultSettledEvent;
 import com.tracegrade.openai.OpenAiService;
 import com.tracegrade.openai.dto.GradingRequest;
 import com.tracegrade.openai.dto.GradingResponse;
 import com.tracegrade.openai.exception.OpenAiException;
+import com.tracegrade.pagination.PageCursor;
 import com.tracegrade.monitoring.GradingMetricsService;
 import com.tracegrade.sqs.GradingJobPublisher;
+import com.tracegrade.storage.ImageDerivativeService;
+import com.tracegrade.storage.WriteBehindUploader;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -45,8 +61,12 @@ public class GradingServiceImpl implements GradingService {
 
     private static final double SAFE_DEFAULT_CONFIDENCE_THRESHOLD = 0.80;
 
+    /** How far a reviewed finalScore may be from the per-question total, in percentage points. */
+    private static final BigDecimal FINAL_SCORE_TOLERANCE = new BigDecimal("0.01");
+
     private final StudentSubmissionRepository submissionRepository;
     private final GradingResultRepository gradingResultRepository;
+    private final GradingQuestionScoreRepository questionScoreRepository;
     private final AnswerRubricRepository rubricRepository;
     private final UserRepository userRepository;
     private final OpenAiService openAiService;
@@ -61,6 +81,22 @@ public class GradingServiceImpl implements GradingService {
     @Autowired(required = false)
     private GradingMetricsService gradingMetricsService;
 
+    /** Injected by Spring; null in unit tests that construct this class manually. */
+    @Autowired(required = false)
+    private SchoolGradingStatsService schoolGradingStatsService;
+
+    /** Injected by Spring; null in unit tests that construct this class manually (no grade posting). */
+    @Autowired(required = false)
+    private ApplicationEventPublisher eventPublisher;
+
+    /** Injected only when storage.derivatives.enabled=true; null otherwise (no thumbnail/preview URLs). */
+    @Autowired(required = false)
+    private ImageDerivativeService imageDerivativeService;
+
+    /** Injected only when storage.write-behind.enabled=true; null otherwise (images are never staged). */
+    @Autowired(required = false)
+    private WriteBehindUploader writeBehindUploader;
+
     // -------------------------------------------------------------------------
     // Public API
     // -------------------------------------------------------------------------
@@ -124,11 +160,19 @@ public class GradingServiceImpl implements GradingService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<GradingResultResponse> getPendingReviews() {
-        return gradingResultRepository.findByNeedsReviewTrueAndReviewedAtIsNull()
-                .stream()
-                .map(this::toResponse)
-                .toList();
+    public CursorPage<GradingResultResponse> getPendingReviews(String cursor, int limit) {
+        PageCursor after = PageCursor.decode(cursor, PageCursor.BEFORE_ALL);
+        return toListPage(gradingResultRepository.findPendingReviewPage(
+                after.createdAt(), after.id(), PageCursor.fetch(limit)), limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<GradingResultResponse> getSchoolPendingReviews(UUID schoolId, UUID teacherId,
+                                                                    String cursor, int limit) {
+        PageCursor after = PageCursor.decode(cursor, PageCursor.BEFORE_ALL);
+        return toListPage(gradingResultRepository.findSchoolPendingReviewPage(
+                schoolId, teacherId, after.createdAt(), after.id(), PageCursor.fetch(limit)), limit);
     }
 
     @Override
@@ -136,6 +180,26 @@ public class GradingServiceImpl implements GradingService {
     public GradingResultResponse reviewGrade(UUID gradeId, GradingReviewRequest request) {
         GradingResult result = gradingResultRepository.findByGradeId(gradeId)
                 .orElseThrow(() -> new ResourceNotFoundException("GradingResult", gradeId));
+        BigDecimal previousScore = SchoolGradingStatsService.effectiveScore(result);
+        boolean wasPending = SchoolGradingStatsService.isPending(result);
+
+        boolean replacesScores = request.getQuestionScores() != null;
+        boolean updatesPoints = request.getQuestionPoints() != null && !request.getQuestionPoints().isEmpty();
+        if (replacesScores && updatesPoints) {
+            throw new IllegalArgumentException("Send either questionScores or questionPoints, not both");
+        }
+        List<GradingQuestionScore> scores = questionScoreRepository.findByGradingResultIdOrderByQuestionNumber(result.getId());
+        if (replacesScores) {
+            scores = replaceQuestionScores(result, scores, request.getQuestionScores());
+        }
+        if (updatesPoints) {
+            applyQuestionPoints(scores, request.getQuestionPoints());
+        }
+        // Only an explicit override that leaves every question alone may differ
+        // from the questions' total; anything else must agree with the rows.
+        if (!scores.isEmpty() && (replacesScores || updatesPoints || !Boolean.TRUE.equals(request.getTeacherOverride()))) {
+            requireMatchingTotal(request.getFinalScore(), scores);
+        }
 
         result.setFinalScore(request.getFinalScore());
         result.setTeacherOverride(request.getTeacherOverride());
@@ -143,14 +207,15 @@ public class GradingServiceImpl implements GradingService {
         result.setReviewedBy(null); // no authentication layer yet
         result.setNeedsReview(false);
 
-        if (request.getQuestionScores() != null) {
-            result.setQuestionScores(request.getQuestionScores());
-        }
-
         gradingResultRepository.save(result);
+        if (schoolGradingStatsService != null) {
+            schoolGradingStatsService.recordReviewed(
+                    result.getSubmission().getStudentId(), previousScore, wasPending, result);
+        }
+        publishSettled(result.getSubmission().getId());
         log.info("Review saved gradeId={} teacherOverride={} finalScore={}",
                 gradeId, request.getTeacherOverride(), request.getFinalScore());
-        return toResponse(result);
+        return toResponse(result, scores, false);
     }
 
     // -------------------------------------------------------------------------
@@ -173,6 +238,11 @@ public class GradingServiceImpl implements GradingService {
             throw new ResourceNotFoundException("AnswerRubrics for ExamTemplate", templateId);
         }
 
+        // The model fetches the image by URL, so a still-spooled upload must reach storage first
+        if (writeBehindUploader != null) {
+            writeBehindUploader.flush(submission);
+        }
+
         String imageUrl = extractFirstImageUrl(submission.getSubmissionImageUrls(), submissionId);
 
         submission.setStatus(SubmissionStatus.PROCESSING);
@@ -234,6 +304,9 @@ public class GradingServiceImpl implements GradingService {
                 .build();
 
         gradingResultRepository.save(failedResult);
+        if (schoolGradingStatsService != null) {
+            schoolGradingStatsService.recordGraded(submission.getStudentId(), failedResult);
+        }
         log.warn("Persisted FAILED GradingResult for submissionId={}", submission.getId());
         if (gradingMetricsService != null) {
             gradingMetricsService.recordGradingFailure();
@@ -280,11 +353,7 @@ public class GradingServiceImpl implements GradingService {
             feedbackBuilder.append("Q").append(r.getQuestionNumber()).append(": ").append(r.getFeedback());
         }
 
-        BigDecimal aiScore = totalAvailable.compareTo(BigDecimal.ZERO) == 0
-                ? BigDecimal.ZERO
-                : totalAwarded.divide(totalAvailable, 4, RoundingMode.HALF_UP)
-                        .multiply(BigDecimal.valueOf(100))
-                        .setScale(2, RoundingMode.HALF_UP);
+        BigDecimal aiScore = scorePercent(totalAwarded, totalAvailable);
 
         BigDecimal avgConfidence = BigDecimal.valueOf((totalConfidence / rubrics.size()) * 100)
                 .setScale(2, RoundingMode.HALF_UP);
@@ -311,9 +380,17 @@ public class GradingServiceImpl implements GradingService {
                 .build();
 
         gradingResultRepository.save(result);
+        List<GradingQuestionScore> scores = entries.stream()
+                .map(entry -> entry.toQuestionScore(result.getId()))
+                .toList();
+        questionScoreRepository.saveAll(scores);
+        if (schoolGradingStatsService != null) {
+            schoolGradingStatsService.recordGraded(submission.getStudentId(), result);
+        }
 
         submission.setStatus(SubmissionStatus.COMPLETED);
         submissionRepository.save(submission);
+        publishSettled(submission.getId());
 
         log.info("Grading completed submissionId={} aiScore={} needsReview={} processingMs={}",
                 submission.getId(), aiScore, needsReview, processingMs);
@@ -322,7 +399,7 @@ public class GradingServiceImpl implements GradingService {
             gradingMetricsService.recordGradingSuccess(processingMs, avgConfidence.doubleValue(), needsReview);
         }
 
-        return toResponse(result);
+        return toResponse(result, scores, false);
     }
 
     // -------------------------------------------------------------------------
@@ -390,20 +467,59 @@ public class GradingServiceImpl implements GradingService {
     }
 
     private GradingResultResponse toResponse(GradingResult result) {
+        return toResponse(result, questionScoreRepository.findByGradingResultIdOrderByQuestionNumber(result.getId()),
+                false);
+    }
+
+    /**
+     * Maps a page of results, reading their question scores in one query and
+     * never touching storage to find derivatives.
+     */
+    private CursorPage<GradingResultResponse> toListPage(List<GradingResult> results, int limit) {
+        Map<UUID, List<GradingQuestionScore>> scores = results.isEmpty()
+                ? Map.of()
+                : questionScoreRepository.findByGradingResultIdInOrderByQuestionNumber(
+                                results.stream().map(GradingResult::getId).toList())
+                        .stream()
+                        .collect(Collectors.groupingBy(GradingQuestionScore::getGradingResultId));
+        return CursorPage.of(results, limit,
+                result -> toResponse(result, scores.getOrDefault(result.getId(), List.of()), true));
+    }
+
+    /**
+     * @param scores the result's question-score rows, which the response's
+     *               {@code questionScores} is built from; results without rows
+     *               (failed, or never split into rows) return the stored document
+     */
+    private GradingResultResponse toResponse(GradingResult result, List<GradingQuestionScore> scores,
+                                             boolean cachedDerivativesOnly) {
+        StudentSubmission submission = result.getSubmission();
+        String imageUrl = safeFirstImageUrl(submission.getSubmissionImageUrls());
+        // Only hot images have derivatives: staged ones get theirs once uploaded,
+        // archived ones lose them with their hot source and fall back to the original.
+        ImageDerivativeService.DerivativeUrls derivatives = null;
+        if (imageDerivativeService != null && imageUrl != null && submission.getStorageTier() == StorageTier.HOT) {
+            derivatives = cachedDerivativesOnly
+                    ? imageDerivativeService.resolveCached(imageUrl)
+                    : imageDerivativeService.resolve(imageUrl);
+        }
+
         return GradingResultResponse.builder()
                 .gradeId(result.getGradeId())
-                .submissionId(result.getSubmission().getId())
-                .status(result.getSubmission().getStatus().name())
+                .submissionId(submission.getId())
+                .status(submission.getStatus().name())
                 .aiScore(result.getAiScore())
                 .finalScore(result.getFinalScore())
                 .confidenceScore(result.getConfidenceScore())
                 .needsReview(result.getNeedsReview())
-                .questionScores(result.getQuestionScores())
+                .questionScores(questionScoresJson(result, scores))
                 .aiFeedback(result.getAiFeedback())
                 .teacherOverride(result.getTeacherOverride())
                 .reviewedBy(result.getReviewedBy())
                 .reviewedAt(result.getReviewedAt())
-                .submissionImageUrl(safeFirstImageUrl(result.getSubmission().getSubmissionImageUrls()))
+                .submissionImageUrl(imageUrl)
+                .thumbnailUrl(derivatives != null ? derivatives.thumbnailUrl() : null)
+                .previewUrl(derivatives != null ? derivatives.previewUrl() : null)
                 .processingTimeMs(result.getProcessingTimeMs())
                 .createdAt(result.getCreatedAt())
                 .updatedAt(result.getUpdatedAt())
@@ -423,6 +539,159 @@ public class GradingServiceImpl implements GradingService {
         return null;
     }
 
+    private String questionScoresJson(GradingResult result, List<GradingQuestionScore> scores) {
+        if (scores.isEmpty()) {
+            return result.getQuestionScores();
+        }
+        try {
+            return objectMapper.writeValueAsString(scores.stream().map(QuestionScoreEntry::of).toList());
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize questionScores for gradingResultId={}", result.getId(), e);
+            return result.getQuestionScores();
+        }
+    }
+
+    /**
+     * Sets the reviewed points on the listed questions only; the changed rows
+     * are flushed as one batch of updates with the result.
+     *
+     * @throws IllegalArgumentException if the result has no such question
+     */
+    private void applyQuestionPoints(List<GradingQuestionScore> scores,
+                                     List<GradingReviewRequest.QuestionPoints> updates) {
+        Map<Integer, GradingQuestionScore> byNumber = new HashMap<>();
+        for (GradingQuestionScore score : scores) {
+            byNumber.put(score.getQuestionNumber(), score);
+        }
+        for (GradingReviewRequest.QuestionPoints update : updates) {
+            GradingQuestionScore score = byNumber.get(update.getQuestionNumber());
+            if (score == null) {
+                throw new IllegalArgumentException("Grading result has no question " + update.getQuestionNumber());
+            }
+            requireAtMostAvailable(update.getQuestionNumber(), update.getPointsAwarded(), score.getPointsAvailable());
+            score.setPointsAwarded(update.getPointsAwarded());
+        }
+    }
+
+    /**
+     * Applies a full {@code questionScores} document to the result's rows. It
+     * must list exactly the result's questions; their points and feedback are
+     * replaced, while what each question is worth and the AI's confidence stay
+     * as graded. A result without rows gets them from the document, which
+     * must then give {@code pointsAvailable} for every question.
+     *
+     * @return the result's rows after the replacement
+     * @throws IllegalArgumentException if the document does not fit the result
+     */
+    private List<GradingQuestionScore> replaceQuestionScores(GradingResult result, List<GradingQuestionScore> scores,
+                                                             String document) {
+        List<QuestionScoreEntry> entries = parseQuestionScores(document);
+
+        if (scores.isEmpty()) {
+            List<GradingQuestionScore> created = new ArrayList<>();
+            for (QuestionScoreEntry entry : entries) {
+                if (entry.pointsAvailable() == null) {
+                    throw new IllegalArgumentException("Question " + entry.questionNumber() + " has no pointsAvailable");
+                }
+                requireAtMostAvailable(entry.questionNumber(), entry.pointsAwarded(), entry.pointsAvailable());
+                created.add(entry.toQuestionScore(result.getId()));
+            }
+            questionScoreRepository.saveAll(created);
+            return created;
+        }
+
+        Map<Integer, QuestionScoreEntry> byNumber = new HashMap<>();
+        entries.forEach(entry -> byNumber.put(entry.questionNumber(), entry));
+        Set<Integer> expected = scores.stream().map(GradingQuestionScore::getQuestionNumber).collect(Collectors.toSet());
+        if (!byNumber.keySet().equals(expected)) {
+            throw new IllegalArgumentException("questionScores must list exactly the result's questions " + expected);
+        }
+        for (GradingQuestionScore score : scores) {
+            QuestionScoreEntry entry = byNumber.get(score.getQuestionNumber());
+            requireAtMostAvailable(entry.questionNumber(), entry.pointsAwarded(), score.getPointsAvailable());
+            score.setPointsAwarded(entry.pointsAwarded());
+            if (entry.feedback() != null) {
+                score.setFeedback(entry.feedback());
+            }
+        }
+        return scores;
+    }
+
+    private List<QuestionScoreEntry> parseQuestionScores(String document) {
+        JsonNode array;
+        try {
+            array = objectMapper.readTree(document);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("questionScores is not valid JSON");
+        }
+        if (array == null || !array.isArray()) {
+            throw new IllegalArgumentException("questionScores must be a JSON array of question entries");
+        }
+
+        List<QuestionScoreEntry> entries = new ArrayList<>();
+        Set<Integer> seen = new HashSet<>();
+        for (JsonNode node : array) {
+            JsonNode number = node.get("questionNumber");
+            JsonNode awarded = node.get("pointsAwarded");
+            if (number == null || !number.canConvertToInt() || number.asInt() <= 0
+                    || awarded == null || !awarded.isNumber() || awarded.decimalValue().signum() < 0) {
+                throw new IllegalArgumentException(
+                        "Each questionScores entry needs a positive questionNumber and non-negative pointsAwarded");
+            }
+            if (!seen.add(number.asInt())) {
+                throw new IllegalArgumentException("questionScores lists question " + number.asInt() + " twice");
+            }
+            JsonNode available = node.get("pointsAvailable");
+            JsonNode confidence = node.get("confidenceScore");
+            JsonNode feedback = node.get("feedback");
+            entries.add(new QuestionScoreEntry(
+                    number.asInt(),
+                    awarded.decimalValue(),
+                    available != null && available.isNumber() ? available.decimalValue() : null,
+                    confidence != null && confidence.isNumber() ? confidence.decimalValue() : null,
+                    node.path("illegible").asBoolean(false),
+                    feedback != null && feedback.isTextual() ? feedback.asText() : null));
+        }
+        return entries;
+    }
+
+    private static void requireAtMostAvailable(int questionNumber, BigDecimal awarded, BigDecimal available) {
+        if (awarded.compareTo(available) > 0) {
+            throw new IllegalArgumentException("Question " + questionNumber
+                    + " is worth at most " + available + " points");
+        }
+    }
+
+    /** @throws IllegalArgumentException if {@code finalScore} is not the questions' total as a percentage */
+    private static void requireMatchingTotal(BigDecimal finalScore, List<GradingQuestionScore> scores) {
+        BigDecimal awarded = BigDecimal.ZERO;
+        BigDecimal available = BigDecimal.ZERO;
+        for (GradingQuestionScore score : scores) {
+            awarded = awarded.add(score.getPointsAwarded());
+            available = available.add(score.getPointsAvailable());
+        }
+        BigDecimal total = scorePercent(awarded, available);
+        if (finalScore.subtract(total).abs().compareTo(FINAL_SCORE_TOLERANCE) > 0) {
+            throw new IllegalArgumentException("Final score " + finalScore
+                    + " does not match the per-question total of " + total);
+        }
+    }
+
+    /** Points awarded as a percentage of points available, to two decimals. */
+    private static BigDecimal scorePercent(BigDecimal awarded, BigDecimal available) {
+        return available.compareTo(BigDecimal.ZERO) == 0
+                ? BigDecimal.ZERO
+                : awarded.divide(available, 4, RoundingMode.HALF_UP)
+                        .multiply(BigDecimal.valueOf(100))
+                        .setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private void publishSettled(UUID submissionId) {
+        if (eventPublisher != null) {
+            eventPublisher.publishEvent(new GradingResultSettledEvent(submissionId));
+        }
+    }
+
     // -------------------------------------------------------------------------
     // Inner types
     // -------------------------------------------------------------------------
@@ -434,5 +703,28 @@ public class GradingServiceImpl implements GradingService {
             BigDecimal confidenceScore,
             boolean illegible,
             String feedback
-    ) {}
+    ) {
+
+        static QuestionScoreEntry of(GradingQuestionScore score) {
+            return new QuestionScoreEntry(
+                    score.getQuestionNumber(),
+                    score.getPointsAwarded(),
+                    score.getPointsAvailable(),
+                    score.getConfidenceScore(),
+                    Boolean.TRUE.equals(score.getIllegible()),
+                    score.getFeedback());
+        }
+
+        GradingQuestionScore toQuestionScore(UUID gradingResultId) {
+            return GradingQuestionScore.builder()
+                    .gradingResultId(gradingResultId)
+                    .questionNumber(questionNumber)
+                    .pointsAwarded(pointsAwarded)
+                    .pointsAvailable(pointsAvailable)
+                    .confidenceScore(confidenceScore)
+                    .illegible(illegible)
+                    .feedback(feedback)
+                    .build();
+        }
+    }
 }
@@ -2,7 +2,9 @@ package com.tracegrade.homework;
 
 import com.tracegrade.dto.request.CreateHomeworkRequest;
 import com.tracegrade.dto.response.ApiResponse;
+import com.tracegrade.dto.response.CursorPage;
 import com.tracegrade.dto.response.HomeworkResponse;
+import com.tracegrade.pagination.PageCursor;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -10,6 +12,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -20,6 +24,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -37,18 +42,22 @@ public class HomeworkController {
 
     @Operation(
             summary = "List homework for a school",
-            description = "Returns all homework assignments belonging to the specified school, ordered by most recent first."
+            description = "Returns a page of the homework assignments belonging to the specified school, most recent first. Pass `nextCursor` as `cursor` for the next page."
     )
     @ApiResponses({
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Homework list returned"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "School not found", content = @Content)
     })
     @GetMapping
-    public ResponseEntity<ApiResponse<List<HomeworkResponse>>> getHomework(
+    public ResponseEntity<ApiResponse<CursorPage<HomeworkResponse>>> getHomework(
             @Parameter(description = "UUID of the school", required = true)
-            @PathVariable UUID schoolId) {
+            @PathVariable UUID schoolId,
+            @Parameter(description = "nextCursor of the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of items on the page (1-200)")
+            @RequestParam(defaultValue = PageCursor.DEFAULT_LIMIT) @Min(1) @Max(PageCursor.MAX_LIMIT) int limit) {
 
-        List<HomeworkResponse> homework = homeworkService.getHomeworkBySchool(schoolId);
+        CursorPage<HomeworkResponse> homework = homeworkService.getHomeworkBySchool(schoolId, cursor, limit);
         return ResponseEntity.ok(ApiResponse.success(homework));
     }
 
@@ -5,17 +5,17 @@ import com.tracegrade.domain.model.School;
 import com.tracegrade.domain.repository.HomeworkRepository;
 import com.tracegrade.domain.repository.SchoolRepository;
 import com.tracegrade.dto.request.CreateHomeworkRequest;
+import com.tracegrade.dto.response.CursorPage;
 import com.tracegrade.dto.response.HomeworkResponse;
 import com.tracegrade.exception.DuplicateResourceException;
 import com.tracegrade.exception.ResourceNotFoundException;
+import com.tracegrade.pagination.PageCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -27,11 +27,11 @@ public class HomeworkService {
     private final SchoolRepository schoolRepository;
 
     @Transactional(readOnly = true)
-    public List<HomeworkResponse> getHomeworkBySchool(UUID schoolId) {
+    public CursorPage<HomeworkResponse> getHomeworkBySchool(UUID schoolId, String cursor, int limit) {
         requireSchoolExists(schoolId);
-        return homeworkRepository.findBySchoolIdOrderByCreatedAtDesc(schoolId).stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        PageCursor before = PageCursor.decode(cursor, PageCursor.AFTER_ALL);
+        return CursorPage.of(homeworkRepository.findPageBySchoolId(
+                schoolId, before.createdAt(), before.id(), PageCursor.fetch(limit)), limit, this::toResponse);
     }
 
     @Transactional(readOnly = true)
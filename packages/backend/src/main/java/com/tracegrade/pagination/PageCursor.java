@@ -0,0 +1,76 @@
+package com.tracegrade.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * A position in a list ordered by {@code (created_at, id)}: the creation time
+ * and ID of the last row already returned.
+ *
+ * <p>List queries select the rows strictly after (or, newest first, strictly
+ * before) the cursor, so each page is answered from an index on
+ * {@code (..., created_at, id)} however far into the list it is, and rows
+ * created while a client pages through never shift or repeat a page. The ID
+ * breaks ties between rows created in the same microsecond.
+ *
+ * <p>Clients see cursors only as opaque tokens.
+ *
+ * @param createdAt creation time of the last row returned
+ * @param id        ID of the last row returned
+ */
+public record PageCursor(Instant createdAt, UUID id) {
+
+    /** Page size when the client does not ask for one. */
+    public static final String DEFAULT_LIMIT = "50";
+
+    /** Largest page size a client may ask for. */
+    public static final int MAX_LIMIT = 200;
+
+    /** Sorts before every row: the start of an oldest-first list. */
+    public static final PageCursor BEFORE_ALL = new PageCursor(Instant.EPOCH, new UUID(0, 0));
+
+    /** Sorts after every row: the start of a newest-first list. */
+    public static final PageCursor AFTER_ALL = new PageCursor(Instant.parse("9999-12-31T00:00:00Z"), new UUID(-1, -1));
+
+    private static final String SEPARATOR = "|";
+
+    /** The opaque token handed to clients. */
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads a token from {@link #encode}, or returns {@code start} when there
+     * is none.
+     *
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static PageCursor decode(String token, PageCursor start) {
+        if (token == null || token.isBlank()) {
+            return start;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid page cursor");
+            }
+            return new PageCursor(Instant.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid page cursor");
+        }
+    }
+
+    /** Rows to fetch for a page: one more than the limit, to tell whether another page follows. */
+    public static Pageable fetch(int limit) {
+        return PageRequest.ofSize(limit + 1);
+    }
+}
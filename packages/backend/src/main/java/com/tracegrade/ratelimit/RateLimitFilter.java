@@ -1,15 +1,23 @@
 package com.tracegrade.ratelimit;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.method.HandlerMethod;
-import org.springframework.web.servlet.HandlerExecutionChain;
 import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -24,6 +32,15 @@ import lombok.extern.slf4j.Slf4j;
  * Resolves the client key from the authenticated user or remote IP address,
  * determines the applicable rate limit plan (via annotation or URL pattern),
  * and adds standard rate limit headers to every response.
+ *
+ * <p>{@link RateLimit} annotations are read once: the first request builds an
+ * immutable table of the path patterns and HTTP methods of every annotated
+ * handler, most specific pattern first. Requests are matched against that
+ * table instead of repeating Spring MVC's full handler lookup in the filter.
+ *
+ * <p>When school budgets are enabled, the school of an authenticated AI or UPLOAD
+ * request is looked up server-side by {@link SchoolMembershipLookup}, never taken
+ * from the token, and the request is also charged to that school's budget.
  */
 @Slf4j
 @Component
@@ -38,6 +55,13 @@ public class RateLimitFilter extends OncePerRequestFilter {
     private final RequestMappingHandlerMapping handlerMapping;
     private final ObjectMapper objectMapper;
 
+    /** Injected only when rate-limit.school.enabled=true; null otherwise (no school budgets). */
+    @Autowired(required = false)
+    private SchoolMembershipLookup schoolMembershipLookup;
+
+    /** Annotated handler routes, built on first use; see {@link #annotatedRoutes()}. */
+    private volatile List<AnnotatedRoute> annotatedRoutes;
+
     public RateLimitFilter(
             RateLimitService rateLimitService,
             RateLimitProperties rateLimitProperties,
@@ -62,7 +86,7 @@ public class RateLimitFilter extends OncePerRequestFilter {
 
         String clientKey = resolveClientKey(request);
         RateLimitPlan plan = resolveRateLimitPlan(request);
-        RateLimitResult result = rateLimitService.tryConsume(clientKey, plan);
+        RateLimitResult result = rateLimitService.tryConsume(clientKey, plan, resolveSchoolId(request, plan));
 
         response.setHeader(HEADER_LIMIT, String.valueOf(result.getLimit()));
         response.setHeader(HEADER_REMAINING, String.valueOf(result.getRemaining()));
@@ -104,28 +128,81 @@ public class RateLimitFilter extends OncePerRequestFilter {
         return "ip:" + request.getRemoteAddr();
     }
 
-    private RateLimitPlan resolveRateLimitPlan(HttpServletRequest request) {
-        // First try to resolve from @RateLimit annotation on the handler method
-        try {
-            HandlerExecutionChain chain = handlerMapping.getHandler(request);
-            if (chain != null && chain.getHandler() instanceof HandlerMethod handlerMethod) {
-                RateLimit methodAnnotation = handlerMethod.getMethodAnnotation(RateLimit.class);
-                if (methodAnnotation != null) {
-                    return methodAnnotation.value();
-                }
-                RateLimit classAnnotation = handlerMethod.getBeanType().getAnnotation(RateLimit.class);
-                if (classAnnotation != null) {
-                    return classAnnotation.value();
+    private String resolveSchoolId(HttpServletRequest request, RateLimitPlan plan) {
+        // School budgets only cover AI and UPLOAD, so API requests skip the lookup
+        if (schoolMembershipLookup == null || plan == RateLimitPlan.API) {
+            return null;
+        }
+        var principal = request.getUserPrincipal();
+        return principal != null ? schoolMembershipLookup.schoolOf(principal.getName()) : null;
+    }
+
+    RateLimitPlan resolveRateLimitPlan(HttpServletRequest request) {
+        // First try the plans declared with @RateLimit on handler methods or classes
+        List<AnnotatedRoute> routes = annotatedRoutes();
+        if (!routes.isEmpty()) {
+            PathContainer path = PathContainer.parsePath(
+                    request.getRequestURI().substring(request.getContextPath().length()));
+            RequestMethod method = RequestMethod.resolve(request.getMethod());
+            for (AnnotatedRoute route : routes) {
+                if (route.matches(path, method)) {
+                    return route.plan();
                 }
             }
-        } catch (Exception e) {
-            log.debug("Could not resolve handler for rate limit annotation lookup", e);
         }
 
         // Fall back to URL-based resolution
         return rateLimitService.resolvePlan(request.getRequestURI());
     }
 
+    private List<AnnotatedRoute> annotatedRoutes() {
+        List<AnnotatedRoute> routes = annotatedRoutes;
+        if (routes == null) {
+            routes = buildAnnotatedRoutes();
+            annotatedRoutes = routes;
+        }
+        return routes;
+    }
+
+    private List<AnnotatedRoute> buildAnnotatedRoutes() {
+        List<AnnotatedRoute> routes = new ArrayList<>();
+        PathPatternParser parser = handlerMapping.getPatternParser() != null
+                ? handlerMapping.getPatternParser()
+                : PathPatternParser.defaultInstance;
+
+        handlerMapping.getHandlerMethods().forEach((info, handlerMethod) -> {
+            RateLimitPlan plan = annotatedPlan(handlerMethod);
+            if (plan == null) {
+                return;
+            }
+            Set<RequestMethod> methods = info.getMethodsCondition().getMethods();
+            for (String pattern : info.getPatternValues()) {
+                routes.add(new AnnotatedRoute(parser.parse(pattern), methods, plan));
+            }
+        });
+
+        routes.sort(Comparator.comparing(AnnotatedRoute::pattern, PathPattern.SPECIFICITY_COMPARATOR));
+        log.info("Rate limit: {} annotated route(s) resolved from @RateLimit", routes.size());
+        return List.copyOf(routes);
+    }
+
+    private static RateLimitPlan annotatedPlan(HandlerMethod handlerMethod) {
+        RateLimit methodAnnotation = handlerMethod.getMethodAnnotation(RateLimit.class);
+        if (methodAnnotation != null) {
+            return methodAnnotation.value();
+        }
+        RateLimit classAnnotation = handlerMethod.getBeanType().getAnnotation(RateLimit.class);
+        return classAnnotation != null ? classAnnotation.value() : null;
+    }
+
+    /** A handler path pattern with its allowed methods (empty = any) and declared plan. */
+    private record AnnotatedRoute(PathPattern pattern, Set<RequestMethod> methods, RateLimitPlan plan) {
+
+        boolean matches(PathContainer path, RequestMethod method) {
+            return (methods.isEmpty() || methods.contains(method)) && pattern.matches(path);
+        }
+    }
+
     /**
      * JSON response body returned when a rate limit is exceeded.
      */
@@ -1,5 +1,10 @@
 package com.tracegrade.ratelimit;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
@@ -29,4 +34,95 @@ public class RateLimitProperties {
 
     /** OpenAI AI rate limit window in seconds */
     private int aiWindowSeconds = 3600;
+
+    /** Path patterns limited by the UPLOAD plan when the handler declares no {@link RateLimit} */
+    private List<String> uploadPaths = new ArrayList<>(List.of("/api/submissions/**", "/api/upload/**"));
+
+    /** Path patterns limited by the AI plan when the handler declares no {@link RateLimit} (checked after upload paths) */
+    private List<String> aiPaths = new ArrayList<>(List.of("/api/grading/**", "/api/ai/**"));
+
+    /** Maximum number of client buckets held per node; least valuable buckets are evicted beyond it */
+    private long maxBuckets = 100_000;
+
+    private final Redis redis = new Redis();
+
+    private final School school = new School();
+
+    @Data
+    public static class Redis {
+
+        /** Share buckets across nodes through Redis instead of keeping them per node */
+        private boolean enabled = false;
+
+        /** Prefix for bucket keys in Redis */
+        private String keyPrefix = "ratelimit:";
+
+        /**
+         * Tokens an API-plan check leases from Redis at once and then serves locally.
+         * Larger leases mean fewer round-trips but let a client briefly exceed its
+         * share by up to this many tokens per node. AI and UPLOAD plans always
+         * consume exactly one token per check.
+         */
+        private int apiLeaseSize = 10;
+
+        /** How long leased tokens may be served locally before they are discarded, in milliseconds */
+        private long leaseTtlMs = 1_000;
+
+        /** After a Redis failure, how long to use local buckets before trying Redis again, in milliseconds */
+        private long failureCooldownMs = 5_000;
+
+        /** Maximum number of client buckets held in the local near-cache */
+        private long nearCacheMaxSize = 100_000;
+    }
+
+    @Data
+    public static class School {
+
+        /** Enforce per-school AI and UPLOAD budgets above the per-user buckets */
+        private boolean enabled = false;
+
+        /** AI requests per window a school may make across all of its users */
+        private int aiLimit = 500;
+
+        /** School AI budget window in seconds */
+        private int aiWindowSeconds = 3600;
+
+        /** UPLOAD requests per window a school may make across all of its users */
+        private int uploadLimit = 200;
+
+        /** School UPLOAD budget window in seconds */
+        private int uploadWindowSeconds = 3600;
+
+        /** Default fair-share weight of a school */
+        private int weight = 1;
+
+        /** AI requests per AI window this node admits across all schools */
+        private int aiCapacity = 2000;
+
+        /**
+         * Fraction of {@code ai-capacity} left below which AI capacity counts as
+         * contended. While contended, a school that has already used more than its
+         * weighted share of the capacity in the current window is throttled.
+         */
+        private double contentionThreshold = 0.25;
+
+        /** Maximum number of schools whose budgets are held per node */
+        private long maxSchools = 10_000;
+
+        /** How long a user's school, looked up from the users table, is reused before it is read again, in seconds */
+        private int membershipTtlSeconds = 300;
+
+        /** Per-school overrides keyed by school ID; unset fields use the defaults above */
+        private Map<String, Quota> overrides = new HashMap<>();
+    }
+
+    @Data
+    public static class Quota {
+
+        private Integer aiLimit;
+
+        private Integer uploadLimit;
+
+        private Integer weight;
+    }
 }
@@ -1,28 +1,94 @@
 package com.tracegrade.ratelimit;
 
 import java.time.Duration;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.server.PathContainer;
 import org.springframework.stereotype.Service;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
 
 import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
 import io.github.bucket4j.ConsumptionProbe;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Service that manages rate limiting using Bucket4j token buckets.
- * Buckets are keyed per client+plan and stored in a concurrent map.
+ * Buckets are keyed per client+plan and stored in a bounded cache.
+ *
+ * <p>A bucket left idle for its plan's refill window is full again and
+ * indistinguishable from a new one, so it is evicted then. The cache is also
+ * capped at {@code rate-limit.max-buckets}, so a flood of distinct client keys
+ * (address scans, spoofed {@code X-Forwarded-For}) cannot grow the heap without
+ * bound; under that pressure the least valuable buckets are evicted early, which
+ * at worst hands an evicted client a fresh bucket. Size and eviction counts are
+ * published under the {@code cache.*} meters with {@code cache=rateLimit.buckets}.
+ *
+ * <p>When {@code rate-limit.redis.enabled=true}, buckets are shared across nodes
+ * through {@link RedisRateLimiter}. If Redis fails, checks fall back to the local
+ * buckets for {@code rate-limit.redis.failure-cooldown-ms} before Redis is tried
+ * again, so an outage degrades to per-node limits rather than failing requests.
+ *
+ * <p>When {@code rate-limit.school.enabled=true}, AI and UPLOAD requests made on
+ * behalf of a school must first fit the school's budget in
+ * {@link SchoolQuotaService}; the per-user bucket is then checked inside it.
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class RateLimitService {
 
+    static final String BUCKET_CACHE_NAME = "rateLimit.buckets";
+
     private final RateLimitProperties properties;
-    private final Map<String, Bucket> bucketCache = new ConcurrentHashMap<>();
+    private final Cache<String, PlanBucket> bucketCache;
+    private final List<PlanPattern> planPatterns;
+
+    /** Injected only when rate-limit.redis.enabled=true; null otherwise (per-node buckets). */
+    @Autowired(required = false)
+    private RedisRateLimiter redisRateLimiter;
+
+    /** Injected only when rate-limit.school.enabled=true; null otherwise (per-user buckets only). */
+    @Autowired(required = false)
+    private SchoolQuotaService schoolQuotaService;
+
+    /** Epoch millis before which Redis is not tried again after a failure. */
+    private volatile long redisRetryAt;
+
+    @Autowired
+    public RateLimitService(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Ticker.systemTicker());
+    }
+
+    RateLimitService(RateLimitProperties properties, MeterRegistry meterRegistry, Ticker ticker) {
+        this.properties = properties;
+        this.bucketCache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxBuckets())
+                .expireAfter(new IdleUntilFull())
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, bucketCache, BUCKET_CACHE_NAME);
+        this.planPatterns = compilePlanPatterns(properties);
+    }
+
+    private static List<PlanPattern> compilePlanPatterns(RateLimitProperties properties) {
+        PathPatternParser parser = PathPatternParser.defaultInstance;
+        List<PlanPattern> patterns = new ArrayList<>();
+        properties.getUploadPaths().forEach(p -> patterns.add(new PlanPattern(parser.parse(p), RateLimitPlan.UPLOAD)));
+        properties.getAiPaths().forEach(p -> patterns.add(new PlanPattern(parser.parse(p), RateLimitPlan.AI)));
+        return List.copyOf(patterns);
+    }
 
     /**
      * Attempts to consume a token for the given client key and rate limit plan.
@@ -37,7 +103,18 @@ public class RateLimitService {
         }
 
         String bucketKey = clientKey + ":" + plan.name();
-        Bucket bucket = bucketCache.computeIfAbsent(bucketKey, k -> createBucket(plan));
+
+        if (redisRateLimiter != null && System.currentTimeMillis() >= redisRetryAt) {
+            try {
+                return redisRateLimiter.tryConsume(bucketKey, plan, getLimit(plan), getWindowSeconds(plan));
+            } catch (RuntimeException e) {
+                redisRetryAt = System.currentTimeMillis() + properties.getRedis().getFailureCooldownMs();
+                log.warn("Redis rate limiting unavailable, using local buckets for {}ms: {}",
+                        properties.getRedis().getFailureCooldownMs(), e.getMessage());
+            }
+        }
+
+        Bucket bucket = bucketCache.get(bucketKey, k -> createBucket(plan)).bucket();
 
         ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
 
@@ -55,20 +132,59 @@ public class RateLimitService {
     }
 
     /**
-     * Resolves the appropriate rate limit plan for a given request path.
+     * Attempts to consume a token for a client acting on behalf of a school.
+     * AI and UPLOAD requests are charged to the school's budget first and then to
+     * the client's own bucket; the school is refunded if the client's bucket
+     * rejects the request. Without a school, or for the API plan, this is the same
+     * as {@link #tryConsume(String, RateLimitPlan)}.
+     *
+     * @param clientKey unique identifier for the client (IP or user ID)
+     * @param plan      the rate limit plan to apply
+     * @param schoolId  the client's school, or {@code null} if unknown
+     * @return the school's verdict if it rejected the request, otherwise the client's
+     *         verdict with remaining capped at what the school has left
+     */
+    public RateLimitResult tryConsume(String clientKey, RateLimitPlan plan, String schoolId) {
+        if (!properties.isEnabled() || schoolQuotaService == null || schoolId == null
+                || plan == RateLimitPlan.API) {
+            return tryConsume(clientKey, plan);
+        }
+
+        RateLimitResult school = schoolQuotaService.tryAcquire(schoolId, plan);
+        if (!school.isAllowed()) {
+            return school;
+        }
+        RateLimitResult client = tryConsume(clientKey, plan);
+        if (!client.isAllowed()) {
+            schoolQuotaService.release(schoolId, plan);
+            return client;
+        }
+        return RateLimitResult.allowed(client.getLimit(), Math.min(client.getRemaining(), school.getRemaining()));
+    }
+
+    /**
+     * Resolves the appropriate rate limit plan for a given request path by
+     * matching it against the precompiled {@code rate-limit.upload-paths} and
+     * {@code rate-limit.ai-paths} patterns, in that order.
      * Falls back to {@link RateLimitPlan#API} if no specific match.
      */
     public RateLimitPlan resolvePlan(String requestPath) {
-        if (requestPath.contains("/upload") || requestPath.contains("/submissions")) {
-            return RateLimitPlan.UPLOAD;
-        }
-        if (requestPath.contains("/ai") || requestPath.contains("/grading")) {
-            return RateLimitPlan.AI;
+        PathContainer path = PathContainer.parsePath(requestPath);
+        for (PlanPattern planPattern : planPatterns) {
+            if (planPattern.pattern().matches(path)) {
+                return planPattern.plan();
+            }
         }
         return RateLimitPlan.API;
     }
 
-    private Bucket createBucket(RateLimitPlan plan) {
+    /** Number of client buckets currently held. */
+    long bucketCount() {
+        bucketCache.cleanUp();
+        return bucketCache.estimatedSize();
+    }
+
+    private PlanBucket createBucket(RateLimitPlan plan) {
         int limit = getLimit(plan);
         int windowSeconds = getWindowSeconds(plan);
 
@@ -77,9 +193,10 @@ public class RateLimitService {
                 .refillGreedy(limit, Duration.ofSeconds(windowSeconds))
                 .build();
 
-        return Bucket.builder()
+        Bucket bucket = Bucket.builder()
                 .addLimit(bandwidth)
                 .build();
+        return new PlanBucket(bucket, TimeUnit.SECONDS.toNanos(windowSeconds));
     }
 
     private int getLimit(RateLimitPlan plan) {
@@ -97,4 +214,30 @@ public class RateLimitService {
             case AI -> properties.getAiWindowSeconds();
         };
     }
+
+    private record PlanPattern(PathPattern pattern, RateLimitPlan plan) {
+    }
+
+    /** A client's bucket together with the idle time after which it is full again. */
+    private record PlanBucket(Bucket bucket, long refillNanos) {
+    }
+
+    /** Expires a bucket once it has been idle for a full refill window. */
+    private static final class IdleUntilFull implements Expiry<String, PlanBucket> {
+
+        @Override
+        public long expireAfterCreate(String key, PlanBucket value, long currentTime) {
+            return value.refillNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, PlanBucket value, long currentTime, long currentDuration) {
+            return value.refillNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, PlanBucket value, long currentTime, long currentDuration) {
+            return value.refillNanos();
+        }
+    }
 }
@@ -0,0 +1,172 @@
+package com.tracegrade.ratelimit;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cluster-wide token buckets stored in Redis.
+ *
+ * <p>Each check runs {@code ratelimit/token-bucket.lua}, which refills and
+ * consumes atomically on the Redis server, so every node draws from the same
+ * bucket. To keep most checks off the network, a local near-cache remembers
+ * two kinds of verdict per bucket:
+ * <ul>
+ *   <li>a short-lived lease of API-plan tokens taken from Redis in one call
+ *       ({@code rate-limit.redis.api-lease-size}), served locally until used up
+ *       or {@code rate-limit.redis.lease-ttl-ms} has passed;</li>
+ *   <li>a "blocked until" verdict, so an exhausted client is rejected locally
+ *       until Redis said a token would be available again.</li>
+ * </ul>
+ *
+ * <p>Redis errors propagate to the caller; {@link RateLimitService} falls back
+ * to local buckets when that happens.
+ *
+ * <p>Only active when {@code rate-limit.redis.enabled=true}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "rate-limit.redis.enabled", havingValue = "true")
+public class RedisRateLimiter {
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> TOKEN_BUCKET_SCRIPT = loadScript();
+
+    private final StringRedisTemplate redisTemplate;
+    private final RateLimitProperties.Redis properties;
+    private final Cache<String, Verdict> nearCache;
+
+    public RedisRateLimiter(StringRedisTemplate redisTemplate, RateLimitProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.properties = properties.getRedis();
+        this.nearCache = Caffeine.newBuilder()
+                .maximumSize(this.properties.getNearCacheMaxSize())
+                .expireAfter(new VerdictExpiry())
+                .build();
+    }
+
+    /**
+     * Consumes one token from the shared bucket for {@code bucketKey}.
+     *
+     * @throws org.springframework.dao.DataAccessException if Redis cannot be reached
+     */
+    public RateLimitResult tryConsume(String bucketKey, RateLimitPlan plan, int limit, int windowSeconds) {
+        long now = System.nanoTime();
+        Verdict cached = nearCache.getIfPresent(bucketKey);
+        if (cached != null && cached.expiresAtNanos - now > 0) {
+            if (cached.blocked) {
+                return RateLimitResult.blocked(limit, secondsUntil(cached.expiresAtNanos, now));
+            }
+            long left = cached.leased.decrementAndGet();
+            if (left >= 0) {
+                return RateLimitResult.allowed(limit, cached.remainingInRedis + left);
+            }
+        }
+
+        int requested = plan == RateLimitPlan.API ? Math.max(1, properties.getApiLeaseSize()) : 1;
+        List<?> reply = redisTemplate.execute(TOKEN_BUCKET_SCRIPT,
+                List.of(properties.getKeyPrefix() + bucketKey),
+                String.valueOf(limit),
+                String.valueOf(TimeUnit.SECONDS.toMillis(windowSeconds)),
+                String.valueOf(requested));
+        if (reply == null || reply.size() < 3) {
+            throw new IllegalStateException("Unexpected token bucket reply from Redis: " + reply);
+        }
+
+        long granted = ((Number) reply.get(0)).longValue();
+        long remaining = ((Number) reply.get(1)).longValue();
+        long waitMillis = ((Number) reply.get(2)).longValue();
+
+        if (granted > 0) {
+            if (granted > 1) {
+                long ttl = TimeUnit.MILLISECONDS.toNanos(properties.getLeaseTtlMs());
+                nearCache.put(bucketKey, Verdict.lease(granted - 1, remaining, now + ttl));
+            } else {
+                nearCache.invalidate(bucketKey);
+            }
+            log.debug("Redis rate limit allowed key={} plan={} granted={} remaining={}",
+                    bucketKey, plan, granted, remaining);
+            return RateLimitResult.allowed(limit, remaining + granted - 1);
+        }
+
+        long blockedUntil = now + TimeUnit.MILLISECONDS.toNanos(waitMillis);
+        nearCache.put(bucketKey, Verdict.blockedUntil(blockedUntil));
+        log.warn("Rate limit exceeded for key={}, plan={}, retryAfter={}ms (cluster-wide)", bucketKey, plan, waitMillis);
+        return RateLimitResult.blocked(limit, secondsUntil(blockedUntil, now));
+    }
+
+    /** Number of buckets currently held in the near-cache. */
+    long nearCacheSize() {
+        nearCache.cleanUp();
+        return nearCache.estimatedSize();
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static RedisScript<List> loadScript() {
+        DefaultRedisScript<List> script = new DefaultRedisScript<>();
+        script.setScriptSource(new ResourceScriptSource(new ClassPathResource("ratelimit/token-bucket.lua")));
+        script.setResultType(List.class);
+        return script;
+    }
+
+    private static long secondsUntil(long deadlineNanos, long now) {
+        return TimeUnit.NANOSECONDS.toSeconds(Math.max(0, deadlineNanos - now)) + 1;
+    }
+
+    /** A locally cached outcome of the last Redis call for one bucket. */
+    private static final class Verdict {
+
+        final boolean blocked;
+        final AtomicLong leased;
+        final long remainingInRedis;
+        final long expiresAtNanos;
+
+        private Verdict(boolean blocked, long leased, long remainingInRedis, long expiresAtNanos) {
+            this.blocked = blocked;
+            this.leased = new AtomicLong(leased);
+            this.remainingInRedis = remainingInRedis;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        static Verdict lease(long tokens, long remainingInRedis, long expiresAtNanos) {
+            return new Verdict(false, tokens, remainingInRedis, expiresAtNanos);
+        }
+
+        static Verdict blockedUntil(long expiresAtNanos) {
+            return new Verdict(true, 0, 0, expiresAtNanos);
+        }
+    }
+
+    /** Expires each verdict at its own deadline. */
+    private static final class VerdictExpiry implements Expiry<String, Verdict> {
+
+        @Override
+        public long expireAfterCreate(String key, Verdict value, long currentTime) {
+            return Math.max(0, value.expiresAtNanos - currentTime);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Verdict value, long currentTime, long currentDuration) {
+            return Math.max(0, value.expiresAtNanos - currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Verdict value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
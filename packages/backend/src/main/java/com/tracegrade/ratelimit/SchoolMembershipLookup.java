@@ -0,0 +1,63 @@
+package com.tracegrade.ratelimit;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.tracegrade.domain.repository.UserRepository;
+
+/**
+ * Finds the school whose budget a user's requests are charged to, from the
+ * users table rather than from anything the client presents.
+ *
+ * <p>Lookups are cached per user for {@code rate-limit.school.membership-ttl-seconds},
+ * so a user moved to another school or deactivated is charged accordingly once
+ * the entry expires. Principals that are not user IDs have no school.
+ *
+ * <p>Only active when {@code rate-limit.school.enabled=true}.
+ */
+@Service
+@ConditionalOnProperty(name = "rate-limit.school.enabled", havingValue = "true")
+public class SchoolMembershipLookup {
+
+    private final UserRepository userRepository;
+    private final Cache<UUID, Optional<UUID>> schools;
+
+    @Autowired
+    public SchoolMembershipLookup(UserRepository userRepository, RateLimitProperties properties) {
+        this(userRepository, properties, Ticker.systemTicker());
+    }
+
+    SchoolMembershipLookup(UserRepository userRepository, RateLimitProperties properties, Ticker ticker) {
+        this.userRepository = userRepository;
+        this.schools = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxBuckets())
+                .expireAfterWrite(Duration.ofSeconds(properties.getSchool().getMembershipTtlSeconds()))
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * @param userName the authenticated principal's name, i.e. the user ID
+     * @return the ID of the active user's school, or {@code null} if the user
+     *         is unknown, inactive or not assigned to a school
+     */
+    public String schoolOf(String userName) {
+        UUID userId;
+        try {
+            userId = UUID.fromString(userName);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return schools.get(userId, userRepository::findActiveSchoolIdById)
+                .map(UUID::toString)
+                .orElse(null);
+    }
+}
@@ -0,0 +1,60 @@
+package com.tracegrade.ratelimit;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tracegrade.dto.response.ApiResponse;
+import com.tracegrade.dto.response.SchoolQuotaResponse;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/admin/rate-limit/schools")
+@RequiredArgsConstructor
+@Validated
+@ConditionalOnProperty(name = "rate-limit.school.enabled", havingValue = "true")
+@Tag(name = "Rate Limit Admin", description = "Per-school rate-limit budgets. Requires the ADMIN role.")
+@SecurityRequirement(name = "BearerAuth")
+public class SchoolQuotaController {
+
+    private final SchoolQuotaService schoolQuotaService;
+
+    @Operation(
+            summary = "List school quotas",
+            description = "Returns the AI and upload budgets of every school that has an override or has made requests recently, as seen by the serving node."
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "School quotas returned")
+    })
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<SchoolQuotaResponse>>> getQuotas() {
+        return ResponseEntity.ok(ApiResponse.success(schoolQuotaService.quotas()));
+    }
+
+    @Operation(
+            summary = "Get a school's quota",
+            description = "Returns the AI and upload budgets of one school, as seen by the serving node."
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "School quota returned")
+    })
+    @GetMapping("/{schoolId}")
+    public ResponseEntity<ApiResponse<SchoolQuotaResponse>> getQuota(
+            @Parameter(description = "UUID of the school", required = true)
+            @PathVariable UUID schoolId) {
+        return ResponseEntity.ok(ApiResponse.success(schoolQuotaService.quota(schoolId.toString())));
+    }
+}
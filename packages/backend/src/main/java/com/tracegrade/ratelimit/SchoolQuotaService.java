@@ -0,0 +1,310 @@
+package com.tracegrade.ratelimit;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.tracegrade.dto.response.SchoolQuotaResponse;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.TimeMeter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-school budgets for the AI and UPLOAD plans, checked before the per-user
+ * buckets in {@link RateLimitService} so that one school cannot spend what
+ * belongs to others.
+ *
+ * <p>Each school gets its own AI and UPLOAD buckets ({@code rate-limit.school.*},
+ * overridable per school under {@code rate-limit.school.overrides}). On top of
+ * that, all AI requests on this node draw from one shared bucket of
+ * {@code ai-capacity} tokens. While that shared bucket is below
+ * {@code contention-threshold}, capacity is split between the schools that have
+ * used AI in the current window in proportion to their weights: a school that has
+ * already used its weighted share is throttled until capacity recovers, while
+ * lighter users keep getting through.
+ *
+ * <p>Budgets are held per node. With {@code rate-limit.redis.enabled=true} the
+ * per-user buckets are cluster-wide but these school budgets are not, so they
+ * should be sized per node.
+ *
+ * <p>Only active when {@code rate-limit.school.enabled=true}.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "rate-limit.school.enabled", havingValue = "true")
+public class SchoolQuotaService {
+
+    static final String SCHOOL_CACHE_NAME = "rateLimit.schools";
+    static final String FAIR_SHARE_REJECTIONS = "rateLimit.school.fairShareRejections";
+    static final String SHARED_AI_AVAILABLE = "rateLimit.school.sharedAiAvailable";
+
+    /** How long a computed total of active school weights is reused. */
+    private static final long ACTIVE_WEIGHT_TTL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final RateLimitProperties.School properties;
+    private final Ticker ticker;
+    private final TimeMeter timeMeter;
+    private final Cache<String, SchoolBudget> budgets;
+    private final Bucket sharedAi;
+    private final long aiWindowNanos;
+    private final Counter fairShareRejections;
+
+    private volatile ActiveWeight activeWeight;
+
+    @Autowired
+    public SchoolQuotaService(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Ticker.systemTicker());
+    }
+
+    SchoolQuotaService(RateLimitProperties properties, MeterRegistry meterRegistry, Ticker ticker) {
+        this.properties = properties.getSchool();
+        this.ticker = ticker;
+        this.timeMeter = new TickerTimeMeter(ticker);
+        this.aiWindowNanos = TimeUnit.SECONDS.toNanos(this.properties.getAiWindowSeconds());
+        long idleNanos = TimeUnit.SECONDS.toNanos(
+                Math.max(this.properties.getAiWindowSeconds(), this.properties.getUploadWindowSeconds()));
+        this.budgets = Caffeine.newBuilder()
+                .maximumSize(this.properties.getMaxSchools())
+                .expireAfterAccess(Duration.ofNanos(idleNanos))
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        this.sharedAi = bucket(this.properties.getAiCapacity(), this.properties.getAiWindowSeconds());
+        CaffeineCacheMetrics.monitor(meterRegistry, budgets, SCHOOL_CACHE_NAME);
+        this.fairShareRejections = Counter.builder(FAIR_SHARE_REJECTIONS)
+                .description("AI requests throttled because the school exceeded its weighted share of contended capacity")
+                .register(meterRegistry);
+        Gauge.builder(SHARED_AI_AVAILABLE, sharedAi, Bucket::getAvailableTokens)
+                .description("AI tokens left in the capacity shared by all schools on this node")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes one token from the school's budget for {@code plan}.
+     *
+     * @param schoolId the school the request is made for
+     * @param plan     {@link RateLimitPlan#AI} or {@link RateLimitPlan#UPLOAD}
+     * @return the school-level verdict; limit and remaining refer to the school budget
+     */
+    public RateLimitResult tryAcquire(String schoolId, RateLimitPlan plan) {
+        SchoolBudget budget = budgets.get(schoolId, this::newBudget);
+        if (plan == RateLimitPlan.UPLOAD) {
+            return consume(budget.upload, budget.uploadLimit, schoolId, plan);
+        }
+
+        long now = ticker.read();
+        long window = Math.floorDiv(now, aiWindowNanos);
+        if (isContended()) {
+            double share = fairShare(budget.weight, now, window);
+            if (budget.aiUsed(window) >= share) {
+                fairShareRejections.increment();
+                long retryAfter = secondsUntilUncontended(now, window);
+                log.warn("School {} over its fair AI share ({} of {}), retryAfter={}s",
+                        schoolId, budget.aiUsed(window), (long) share, retryAfter);
+                return RateLimitResult.blocked(budget.aiLimit, retryAfter);
+            }
+        }
+
+        RateLimitResult result = consume(budget.ai, budget.aiLimit, schoolId, plan);
+        if (!result.isAllowed()) {
+            return result;
+        }
+        ConsumptionProbe shared = sharedAi.tryConsumeAndReturnRemaining(1);
+        if (!shared.isConsumed()) {
+            budget.ai.addTokens(1);
+            log.warn("Shared AI capacity exhausted, rejecting request for school {}", schoolId);
+            return RateLimitResult.blocked(budget.aiLimit, seconds(shared.getNanosToWaitForRefill()));
+        }
+        budget.addAiUsed(window, 1);
+        return result;
+    }
+
+    /**
+     * Returns a token taken by {@link #tryAcquire} when the request was then
+     * rejected by its per-user bucket, so the school is not charged for it.
+     */
+    public void release(String schoolId, RateLimitPlan plan) {
+        SchoolBudget budget = budgets.getIfPresent(schoolId);
+        if (budget == null) {
+            return;
+        }
+        if (plan == RateLimitPlan.UPLOAD) {
+            budget.upload.addTokens(1);
+        } else {
+            budget.ai.addTokens(1);
+            sharedAi.addTokens(1);
+            budget.addAiUsed(Math.floorDiv(ticker.read(), aiWindowNanos), -1);
+        }
+    }
+
+    /** Current budgets of every school that is configured or has recently made requests. */
+    public List<SchoolQuotaResponse> quotas() {
+        Map<String, SchoolQuotaResponse> quotas = new TreeMap<>();
+        properties.getOverrides().keySet().forEach(id -> quotas.put(id, quota(id)));
+        budgets.asMap().keySet().forEach(id -> quotas.put(id, quota(id)));
+        return List.copyOf(quotas.values());
+    }
+
+    /** Current budget of one school; a school without recent requests reports full budgets. */
+    public SchoolQuotaResponse quota(String schoolId) {
+        SchoolBudget budget = budgets.getIfPresent(schoolId);
+        if (budget == null) {
+            budget = newBudget(schoolId);
+        }
+        long now = ticker.read();
+        long window = Math.floorDiv(now, aiWindowNanos);
+        return SchoolQuotaResponse.builder()
+                .schoolId(schoolId)
+                .weight(budget.weight)
+                .aiLimit(budget.aiLimit)
+                .aiRemaining(budget.ai.getAvailableTokens())
+                .aiUsedThisWindow(budget.aiUsed(window))
+                .aiFairShare((long) fairShare(budget.weight, now, window))
+                .uploadLimit(budget.uploadLimit)
+                .uploadRemaining(budget.upload.getAvailableTokens())
+                .aiContended(isContended())
+                .build();
+    }
+
+    private RateLimitResult consume(Bucket bucket, int limit, String schoolId, RateLimitPlan plan) {
+        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
+        if (probe.isConsumed()) {
+            return RateLimitResult.allowed(limit, probe.getRemainingTokens());
+        }
+        long retryAfter = seconds(probe.getNanosToWaitForRefill());
+        log.warn("School budget exceeded for school={}, plan={}, retryAfter={}s", schoolId, plan, retryAfter);
+        return RateLimitResult.blocked(limit, retryAfter);
+    }
+
+    private boolean isContended() {
+        return sharedAi.getAvailableTokens() < contendedBelow();
+    }
+
+    private long contendedBelow() {
+        return (long) Math.ceil(properties.getAiCapacity() * properties.getContentionThreshold());
+    }
+
+    /** The AI tokens a school of {@code weight} is entitled to while capacity is contended. */
+    private double fairShare(int weight, long now, long window) {
+        long total = Math.max(weight, activeWeight(now, window));
+        return (double) properties.getAiCapacity() * weight / total;
+    }
+
+    /** Sum of the weights of schools that have used AI this window, recomputed at most once a second. */
+    private long activeWeight(long now, long window) {
+        ActiveWeight current = activeWeight;
+        if (current != null && current.window == window && now - current.computedAt < ACTIVE_WEIGHT_TTL_NANOS) {
+            return current.total;
+        }
+        long total = 0;
+        for (SchoolBudget budget : budgets.asMap().values()) {
+            if (budget.aiUsed(window) > 0) {
+                total += budget.weight;
+            }
+        }
+        activeWeight = new ActiveWeight(now, window, total);
+        return total;
+    }
+
+    /** Time until the shared bucket refills past the contention threshold or the window rolls over. */
+    private long secondsUntilUncontended(long now, long window) {
+        long missing = Math.max(1, contendedBelow() - sharedAi.getAvailableTokens());
+        long refillNanos = missing * aiWindowNanos / Math.max(1, properties.getAiCapacity());
+        long windowEndNanos = (window + 1) * aiWindowNanos - now;
+        return seconds(Math.min(refillNanos, windowEndNanos));
+    }
+
+    private SchoolBudget newBudget(String schoolId) {
+        RateLimitProperties.Quota override = properties.getOverrides().get(schoolId);
+        int aiLimit = override != null && override.getAiLimit() != null
+                ? override.getAiLimit() : properties.getAiLimit();
+        int uploadLimit = override != null && override.getUploadLimit() != null
+                ? override.getUploadLimit() : properties.getUploadLimit();
+        int weight = override != null && override.getWeight() != null
+                ? override.getWeight() : properties.getWeight();
+        return new SchoolBudget(
+                bucket(aiLimit, properties.getAiWindowSeconds()), aiLimit,
+                bucket(uploadLimit, properties.getUploadWindowSeconds()), uploadLimit,
+                Math.max(1, weight));
+    }
+
+    private Bucket bucket(int limit, int windowSeconds) {
+        return Bucket.builder()
+                .addLimit(Bandwidth.builder()
+                        .capacity(limit)
+                        .refillGreedy(limit, Duration.ofSeconds(windowSeconds))
+                        .build())
+                .withCustomTimePrecision(timeMeter)
+                .build();
+    }
+
+    private static long seconds(long nanos) {
+        return TimeUnit.NANOSECONDS.toSeconds(nanos) + 1;
+    }
+
+    private record ActiveWeight(long computedAt, long window, long total) {
+    }
+
+    /** One school's buckets plus its AI usage in the current fair-share window. */
+    private static final class SchoolBudget {
+
+        final Bucket ai;
+        final int aiLimit;
+        final Bucket upload;
+        final int uploadLimit;
+        final int weight;
+
+        private long window;
+        private long aiUsed;
+
+        SchoolBudget(Bucket ai, int aiLimit, Bucket upload, int uploadLimit, int weight) {
+            this.ai = ai;
+            this.aiLimit = aiLimit;
+            this.upload = upload;
+            this.uploadLimit = uploadLimit;
+            this.weight = weight;
+        }
+
+        synchronized long aiUsed(long currentWindow) {
+            return currentWindow == window ? aiUsed : 0;
+        }
+
+        synchronized void addAiUsed(long currentWindow, long delta) {
+            if (currentWindow != window) {
+                window = currentWindow;
+                aiUsed = 0;
+            }
+            aiUsed = Math.max(0, aiUsed + delta);
+        }
+    }
+
+    /** Lets Bucket4j refill against the same clock as the cache, so tests can move time. */
+    private record TickerTimeMeter(Ticker ticker) implements TimeMeter {
+
+        @Override
+        public long currentTimeNanos() {
+            return ticker.read();
+        }
+
+        @Override
+        public boolean isWallClockBased() {
+            return false;
+        }
+    }
+}
@@ -11,6 +11,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.tracegrade.dto.response.ApiResponse;
+import com.tracegrade.ratelimit.RateLimit;
+import com.tracegrade.ratelimit.RateLimitPlan;
 import com.tracegrade.settings.dto.request.UpdateTeacherThresholdRequest;
 import com.tracegrade.settings.dto.response.TeacherThresholdResponse;
 
@@ -24,6 +26,7 @@ import lombok.RequiredArgsConstructor;
 
 @RestController
 @RequestMapping("/api/teachers/me/grading-threshold")
+@RateLimit(RateLimitPlan.AI)
 @RequiredArgsConstructor
 @Validated
 @Tag(name = "Teacher Settings", description = "Current authenticated teacher grading settings")
@@ -0,0 +1,132 @@
+package com.tracegrade.storage;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tracegrade.domain.model.StorageBlob;
+import com.tracegrade.domain.repository.StorageBlobRepository;
+import com.tracegrade.exception.StorageException;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Deduplicating storage layer on top of {@link StorageService}.
+ *
+ * <p>Content is stored under a key derived from its SHA-256 hash and tracked in
+ * {@code storage_blobs} with a reference count. Storing bytes that already exist
+ * only bumps the count; the object is uploaded once. Blobs whose count drops to
+ * zero are removed by {@link StorageBlobGarbageCollector} after a grace period.
+ *
+ * <p>Reference changes join the caller's transaction, so a rolled-back upload
+ * does not leak a reference. Two concurrent first uploads of the same content
+ * both upload the object under the same key; the blob row is inserted only if
+ * absent, so the second insert waits for the first and then takes the
+ * increment path instead of failing on the unique hash constraint.
+ *
+ * <p>Only active when {@code storage.dedup.enabled=true}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "storage.dedup.enabled", havingValue = "true")
+public class ContentAddressedStorageService {
+
+    private final StorageService storageService;
+    private final StorageBlobRepository blobRepository;
+
+    /** Injected only when storage.derivatives.enabled=true; null otherwise (there are no derivatives to clean up). */
+    @Autowired(required = false)
+    private ImageDerivativeService imageDerivativeService;
+
+    /**
+     * Result of storing content.
+     *
+     * @param storageKey   the content-addressed key
+     * @param contentHash  lower-case hex SHA-256 of the content
+     * @param deduplicated true if the content was already stored and only referenced again
+     */
+    public record StoredBlob(String storageKey, String contentHash, boolean deduplicated) {
+    }
+
+    /**
+     * Stores content, reusing an existing blob with the same hash when present.
+     */
+    @Transactional
+    public StoredBlob store(byte[] content, String contentType) {
+        String contentHash = sha256Hex(content);
+        Instant now = Instant.now();
+
+        if (blobRepository.incrementRefCount(contentHash, now) > 0) {
+            StorageBlob existing = blobRepository.findByContentHash(contentHash)
+                    .orElseThrow(() -> new StorageException("UPLOAD", "Blob vanished after reference: " + contentHash));
+            log.info("Deduplicated upload hash={} key={} refCount={}",
+                    contentHash, existing.getStorageKey(), existing.getRefCount());
+            return new StoredBlob(existing.getStorageKey(), contentHash, true);
+        }
+
+        String key = storageService.uploadBlob(contentHash, content, contentType);
+        if (blobRepository.insertIfAbsent(UUID.randomUUID(), contentHash, key, contentType, content.length, now) > 0) {
+            return new StoredBlob(key, contentHash, false);
+        }
+        if (blobRepository.incrementRefCount(contentHash, now) == 0) {
+            throw new StorageException("UPLOAD", "Blob vanished after concurrent insert: " + contentHash);
+        }
+        log.info("Deduplicated concurrent upload hash={} key={}", contentHash, key);
+        return new StoredBlob(key, contentHash, true);
+    }
+
+    /**
+     * Drops one reference to the blob stored under {@code storageKey}. The blob
+     * becomes eligible for garbage collection once no references remain.
+     */
+    @Transactional
+    public void release(String storageKey) {
+        if (blobRepository.decrementRefCount(storageKey, Instant.now()) == 0) {
+            log.warn("Release ignored for unknown or unreferenced blob key={}", storageKey);
+        }
+    }
+
+    /**
+     * Deletes a blob, its stored object and its derivatives if it is still
+     * unreferenced and was released before {@code cutoff}. The row is locked for
+     * the duration, so a concurrent {@link #store} either re-references it first
+     * or waits and then uploads a fresh copy.
+     *
+     * @return true if the blob was deleted
+     */
+    @Transactional
+    public boolean collectIfUnreferenced(UUID blobId, Instant cutoff) {
+        StorageBlob blob = blobRepository.findByIdForUpdate(blobId).orElse(null);
+        if (blob == null
+                || blob.getRefCount() > 0
+                || blob.getUnreferencedAt() == null
+                || !blob.getUnreferencedAt().isBefore(cutoff)) {
+            return false;
+        }
+
+        storageService.delete(blob.getStorageKey());
+        if (imageDerivativeService != null) {
+            imageDerivativeService.deleteDerivatives(blob.getStorageKey());
+        }
+        blobRepository.delete(blob);
+        log.info("Garbage-collected blob hash={} key={}", blob.getContentHash(), blob.getStorageKey());
+        return true;
+    }
+
+    static String sha256Hex(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package com.tracegrade.storage;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tracegrade.exception.StorageException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Generates fixed-size JPEG derivatives (thumbnails and web previews) of
+ * submission images so list and review screens do not pull full-resolution
+ * originals.
+ *
+ * <p>Generation runs on a small bounded worker pool: it is scheduled right after
+ * upload and again lazily the first time a missing derivative is requested.
+ * Until a derivative exists, {@link #resolve} returns null URLs and callers fall
+ * back to the original. Sources that cannot be decoded as images (e.g. PDFs),
+ * and sources whose header declares more than
+ * {@code storage.derivatives.max-source-pixels}, are remembered and not
+ * retried. Uploads are untrusted, so the size is read from the header before
+ * any pixel is decoded, and sources are decoded subsampled to roughly the
+ * preview size rather than at full resolution.
+ *
+ * <p>List reads use {@link #resolveCached}, which never touches storage on the
+ * request thread: a source this node has not seen yet is checked (and, if
+ * needed, generated) in the background, so a page of N items costs no storage
+ * round-trips. Derivatives are keyed by their source, so whoever deletes a
+ * source also calls {@link #deleteDerivatives}.
+ *
+ * <p>Only active when {@code storage.derivatives.enabled=true} (the default).
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "storage.derivatives.enabled", havingValue = "true", matchIfMissing = true)
+public class ImageDerivativeService implements DisposableBean {
+
+    static final String DERIVATIVE_CONTENT_TYPE = "image/jpeg";
+
+    /** Thumbnail and preview URLs for one source image; either may be null. */
+    public record DerivativeUrls(String thumbnailUrl, String previewUrl) {
+
+        static final DerivativeUrls NONE = new DerivativeUrls(null, null);
+    }
+
+    private enum State {
+        READY,
+        UNSUPPORTED
+    }
+
+    private final StorageService storageService;
+    private final StorageProperties.Derivatives properties;
+    private final Executor executor;
+    private final ThreadPoolTaskExecutor ownedExecutor;
+
+    /** Known outcome per source key, so resolved derivatives cost no storage round-trip. */
+    private final Cache<String, State> states = Caffeine.newBuilder()
+            .maximumSize(50_000)
+            .build();
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    public ImageDerivativeService(StorageService storageService, StorageProperties properties) {
+        this.storageService = storageService;
+        this.properties = properties.getDerivatives();
+        this.ownedExecutor = new ThreadPoolTaskExecutor();
+        ownedExecutor.setThreadNamePrefix("derivatives-");
+        ownedExecutor.setCorePoolSize(this.properties.getWorkerThreads());
+        ownedExecutor.setMaxPoolSize(this.properties.getWorkerThreads());
+        ownedExecutor.setQueueCapacity(this.properties.getQueueCapacity());
+        ownedExecutor.initialize();
+        this.executor = ownedExecutor;
+    }
+
+    ImageDerivativeService(StorageService storageService, StorageProperties properties, Executor executor) {
+        this.storageService = storageService;
+        this.properties = properties.getDerivatives();
+        this.ownedExecutor = null;
+        this.executor = executor;
+    }
+
+    /**
+     * Schedules derivative generation for a freshly uploaded source image.
+     * Never blocks; if the worker queue is full the request is dropped and the
+     * derivatives are produced lazily on first read instead.
+     */
+    public void generateAsync(String sourceKey) {
+        submit(sourceKey, false);
+    }
+
+    private void submit(String sourceKey, boolean probeFirst) {
+        if (sourceKey == null || states.getIfPresent(sourceKey) != null || !inFlight.add(sourceKey)) {
+            return;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    if (probeFirst && storageService.exists(
+                            storageService.derivativeKey(StorageType.SUBMISSION_PREVIEW, sourceKey))) {
+                        states.put(sourceKey, State.READY);
+                    } else {
+                        generate(sourceKey);
+                    }
+                } catch (Exception e) {
+                    log.warn("Derivative generation failed for key={}: {}", sourceKey, e.getMessage());
+                } finally {
+                    inFlight.remove(sourceKey);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(sourceKey);
+            log.debug("Derivative queue full; deferring key={} to first read", sourceKey);
+        }
+    }
+
+    /**
+     * Returns derivative URLs for the image at {@code sourceUrl} if this node
+     * already knows they exist, without any storage call. Otherwise returns
+     * {@link DerivativeUrls#NONE} and checks for, or generates, them in the
+     * background so a later read finds them.
+     */
+    public DerivativeUrls resolveCached(String sourceUrl) {
+        String sourceKey = sourceUrl != null ? storageService.resolveKey(sourceUrl) : null;
+        if (sourceKey == null) {
+            return DerivativeUrls.NONE;
+        }
+
+        State state = states.getIfPresent(sourceKey);
+        if (state == State.READY) {
+            return urls(sourceKey);
+        }
+        if (state == null) {
+            submit(sourceKey, true);
+        }
+        return DerivativeUrls.NONE;
+    }
+
+    /**
+     * Returns derivative URLs for the image at {@code sourceUrl}, scheduling
+     * generation if they do not exist yet. On first sight of a source this
+     * checks storage once, so it is meant for single-item reads; lists use
+     * {@link #resolveCached}.
+     */
+    public DerivativeUrls resolve(String sourceUrl) {
+        String sourceKey = sourceUrl != null ? storageService.resolveKey(sourceUrl) : null;
+        if (sourceKey == null) {
+            return DerivativeUrls.NONE;
+        }
+
+        State state = states.getIfPresent(sourceKey);
+        if (state == null && !inFlight.contains(sourceKey)
+                && storageService.exists(storageService.derivativeKey(StorageType.SUBMISSION_PREVIEW, sourceKey))) {
+            states.put(sourceKey, State.READY);
+            state = State.READY;
+        }
+
+        if (state == State.READY) {
+            return urls(sourceKey);
+        }
+        if (state == null) {
+            generateAsync(sourceKey);
+        }
+        return DerivativeUrls.NONE;
+    }
+
+    /**
+     * Deletes both derivatives of a source that is going away. Failures are
+     * logged; a leftover derivative only costs storage.
+     */
+    public void deleteDerivatives(String sourceKey) {
+        states.invalidate(sourceKey);
+        for (StorageType type : new StorageType[] {StorageType.SUBMISSION_PREVIEW, StorageType.SUBMISSION_THUMBNAIL}) {
+            String key = storageService.derivativeKey(type, sourceKey);
+            try {
+                storageService.delete(key);
+            } catch (StorageException e) {
+                log.warn("Failed to delete derivative key={}: {}", key, e.getMessage());
+            }
+        }
+    }
+
+    private DerivativeUrls urls(String sourceKey) {
+        return new DerivativeUrls(
+                storageService.getPublicUrl(storageService.derivativeKey(StorageType.SUBMISSION_THUMBNAIL, sourceKey)),
+                storageService.getPublicUrl(storageService.derivativeKey(StorageType.SUBMISSION_PREVIEW, sourceKey)));
+    }
+
+    /**
+     * Generates and stores both derivatives for a source image synchronously.
+     * The preview is written last, so its presence implies both exist.
+     */
+    void generate(String sourceKey) throws IOException {
+        BufferedImage source = decode(sourceKey, storageService.download(sourceKey));
+        if (source == null) {
+            states.put(sourceKey, State.UNSUPPORTED);
+            return;
+        }
+
+        storageService.uploadDerivative(StorageType.SUBMISSION_THUMBNAIL, sourceKey,
+                encodeJpeg(scale(source, properties.getThumbnailMaxDimension())), DERIVATIVE_CONTENT_TYPE);
+        storageService.uploadDerivative(StorageType.SUBMISSION_PREVIEW, sourceKey,
+                encodeJpeg(scale(source, properties.getPreviewMaxDimension())), DERIVATIVE_CONTENT_TYPE);
+        states.put(sourceKey, State.READY);
+    }
+
+    /**
+     * Decodes a source image, subsampled so its longest edge is no smaller than
+     * the preview's. Returns null if the content is not a decodable image or
+     * its header declares more pixels than allowed.
+     */
+    private BufferedImage decode(String sourceKey, byte[] content) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(content))) {
+            Iterator<ImageReader> readers = in != null ? ImageIO.getImageReaders(in) : null;
+            if (readers == null || !readers.hasNext()) {
+                log.debug("Key={} is not a decodable image; skipping derivatives", sourceKey);
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                long width = reader.getWidth(0);
+                long height = reader.getHeight(0);
+                if (width * height > properties.getMaxSourcePixels()) {
+                    log.warn("Key={} declares {}x{} pixels, over the limit of {}; skipping derivatives",
+                            sourceKey, width, height, properties.getMaxSourcePixels());
+                    return null;
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = subsampling(width, height, properties.getPreviewMaxDimension());
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /** Largest whole subsampling step that keeps the longest edge at or above {@code targetDimension}. */
+    static int subsampling(long width, long height, int targetDimension) {
+        return (int) Math.max(1, Math.max(width, height) / Math.max(1, targetDimension));
+    }
+
+    /** Scales the image so its longest edge is at most {@code maxDimension}; never upscales. */
+    static BufferedImage scale(BufferedImage source, int maxDimension) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double ratio = Math.min(1.0, (double) maxDimension / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(height * ratio));
+
+        BufferedImage target = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, targetWidth, targetHeight, Color.WHITE, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpeg");
+        if (!writers.hasNext()) {
+            throw new IOException("No JPEG writer available");
+        }
+        ImageWriter writer = writers.next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(properties.getJpegQuality());
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public void destroy() {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package com.tracegrade.storage;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
@@ -44,11 +48,67 @@ public class LocalStorageService implements StorageService {
         }
     }
 
+    @Override
+    public void uploadTo(String key, byte[] content, String contentType) {
+        Path filePath = rootDir.resolve(key);
+
+        try {
+            Files.createDirectories(filePath.getParent());
+            Files.write(filePath, content);
+            log.info("Stored file locally at {} (size={})", filePath, content.length);
+        } catch (IOException e) {
+            throw new StorageException("UPLOAD", "Failed to store file locally: " + key, e);
+        }
+    }
+
+    @Override
+    public String uploadBlob(String contentHash, byte[] content, String contentType) {
+        String key = StorageType.blobKey(contentHash);
+        Path filePath = rootDir.resolve(key);
+
+        try {
+            Files.createDirectories(filePath.getParent());
+            Files.write(filePath, content);
+            log.info("Stored blob locally at {} (size={})", filePath, content.length);
+            return key;
+        } catch (IOException e) {
+            throw new StorageException("UPLOAD", "Failed to store blob locally: " + contentHash, e);
+        }
+    }
+
+    @Override
+    public String derivativeKey(StorageType type, String sourceKey) {
+        return type.getKeyPrefix() + sourceKey;
+    }
+
+    @Override
+    public String uploadDerivative(StorageType type, String sourceKey, byte[] content, String contentType) {
+        String key = derivativeKey(type, sourceKey);
+        Path filePath = rootDir.resolve(key);
+
+        try {
+            Files.createDirectories(filePath.getParent());
+            Files.write(filePath, content);
+            log.info("Stored derivative locally at {} (size={})", filePath, content.length);
+            return key;
+        } catch (IOException e) {
+            throw new StorageException("UPLOAD", "Failed to store derivative of: " + sourceKey, e);
+        }
+    }
+
     @Override
     public byte[] download(String key) {
+        if (isArchiveKey(key)) {
+            return readArchived(key);
+        }
+
         Path filePath = rootDir.resolve(key);
 
         if (!Files.exists(filePath)) {
+            String archiveKey = archiveKey(key);
+            if (Files.exists(rootDir.resolve(archiveKey))) {
+                return readArchived(archiveKey);
+            }
             throw new StorageException("DOWNLOAD", "File not found: " + key);
         }
 
@@ -59,6 +119,42 @@ public class LocalStorageService implements StorageService {
         }
     }
 
+    private byte[] readArchived(String archiveKey) {
+        Path archivePath = rootDir.resolve(archiveKey);
+
+        if (!Files.exists(archivePath)) {
+            throw new StorageException("DOWNLOAD", "File not found: " + archiveKey);
+        }
+
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(archivePath))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new StorageException("DOWNLOAD", "Failed to read archived file: " + archiveKey, e);
+        }
+    }
+
+    @Override
+    public String archive(String key) {
+        if (isArchiveKey(key)) {
+            return key;
+        }
+
+        Path sourcePath = rootDir.resolve(key);
+        String archiveKey = archiveKey(key);
+        Path archivePath = rootDir.resolve(archiveKey);
+
+        try {
+            Files.createDirectories(archivePath.getParent());
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(archivePath))) {
+                Files.copy(sourcePath, out);
+            }
+            log.info("Archived local file {} to {}", sourcePath, archivePath);
+            return archiveKey;
+        } catch (IOException e) {
+            throw new StorageException("ARCHIVE", "Failed to archive file: " + key, e);
+        }
+    }
+
     @Override
     public void delete(String key) {
         Path filePath = rootDir.resolve(key);
@@ -92,7 +188,25 @@ public class LocalStorageService implements StorageService {
         return rootDir.resolve(key).toUri().toString();
     }
 
-    private String generateKey(StorageType type, String fileName) {
+    @Override
+    public String resolveKey(String publicUrl) {
+        String base = rootDir.toUri().toString();
+        if (publicUrl == null || !publicUrl.startsWith(base) || publicUrl.length() == base.length()) {
+            return null;
+        }
+        return publicUrl.substring(base.length());
+    }
+
+    private static String archiveKey(String key) {
+        return StorageType.ARCHIVE_KEY_PREFIX + key + ".gz";
+    }
+
+    private static boolean isArchiveKey(String key) {
+        return key.startsWith(StorageType.ARCHIVE_KEY_PREFIX);
+    }
+
+    @Override
+    public String generateKey(StorageType type, String fileName) {
         String sanitized = fileName.replaceAll("[^a-zA-Z0-9._-]", "_");
         return type.getKeyPrefix() + UUID.randomUUID() + "_" + sanitized;
     }
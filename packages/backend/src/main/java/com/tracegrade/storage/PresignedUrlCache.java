@@ -0,0 +1,95 @@
+package com.tracegrade.storage;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Caches presigned URLs per (key, operation) so that repeated requests for the
+ * same object reuse an existing signature instead of recomputing the SigV4 HMAC
+ * chain on every call.
+ *
+ * <p>A cached URL is only handed out while at least {@code minRemainingFraction}
+ * of its validity is left. Once half of that reuse window has elapsed, the next
+ * read schedules a background re-sign and keeps serving the current URL until
+ * the fresh one is ready.
+ *
+ * <p>Size, hit and miss counts are published under the {@code cache.*} meters
+ * with {@code cache=storage.presignedUrls}.
+ */
+class PresignedUrlCache {
+
+    static final String CACHE_NAME = "storage.presignedUrls";
+
+    /** Presign operation a cached URL was generated for. */
+    enum Operation {
+        GET
+    }
+
+    record CacheKey(String key, Operation operation) {
+    }
+
+    private final LoadingCache<CacheKey, String> cache;
+
+    PresignedUrlCache(Duration urlValidity,
+                      double minRemainingFraction,
+                      long maxSize,
+                      Function<CacheKey, String> signer,
+                      MeterRegistry meterRegistry) {
+        this(urlValidity, minRemainingFraction, maxSize, signer, meterRegistry, Ticker.systemTicker(), null);
+    }
+
+    PresignedUrlCache(Duration urlValidity,
+                      double minRemainingFraction,
+                      long maxSize,
+                      Function<CacheKey, String> signer,
+                      MeterRegistry meterRegistry,
+                      Ticker ticker,
+                      Executor refreshExecutor) {
+        if (minRemainingFraction < 0 || minRemainingFraction >= 1) {
+            throw new IllegalArgumentException("minRemainingFraction must be in [0, 1): " + minRemainingFraction);
+        }
+
+        Duration reuseWindow = Duration.ofNanos((long) (urlValidity.toNanos() * (1 - minRemainingFraction)));
+        Duration refreshAfter = reuseWindow.dividedBy(2);
+
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(reuseWindow)
+                .refreshAfterWrite(refreshAfter)
+                .ticker(ticker)
+                .recordStats();
+        if (refreshExecutor != null) {
+            builder.executor(refreshExecutor);
+        }
+
+        this.cache = builder.build(signer::apply);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns a presigned URL for the given key and operation, signing it on a
+     * miss. Signing failures propagate unchanged to the caller.
+     */
+    String get(String key, Operation operation) {
+        return cache.get(new CacheKey(key, operation));
+    }
+
+    /** Drops every cached URL for the given key (e.g. after the object is deleted). */
+    void invalidate(String key) {
+        for (Operation operation : Operation.values()) {
+            cache.invalidate(new CacheKey(key, operation));
+        }
+    }
+
+    long size() {
+        return cache.estimatedSize();
+    }
+}
@@ -8,10 +8,11 @@ import org.springframework.stereotype.Service;
 
 import com.tracegrade.exception.StorageException;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
@@ -19,23 +20,75 @@ import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.S3Exception;
 import software.amazon.awssdk.services.s3.model.ServerSideEncryption;
+import software.amazon.awssdk.services.s3.model.StorageClass;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 @ConditionalOnProperty(name = "storage.provider", havingValue = "s3", matchIfMissing = true)
 public class S3StorageService implements StorageService {
 
     private final S3Client s3Client;
     private final S3Presigner s3Presigner;
     private final StorageProperties properties;
+    private final PresignedUrlCache presignedUrlCache;
+
+    public S3StorageService(S3Client s3Client,
+                            S3Presigner s3Presigner,
+                            StorageProperties properties,
+                            MeterRegistry meterRegistry) {
+        this.s3Client = s3Client;
+        this.s3Presigner = s3Presigner;
+        this.properties = properties;
+
+        StorageProperties.PresignedUrlCacheProperties cacheProps = properties.getS3().getPresignedUrlCache();
+        this.presignedUrlCache = cacheProps.isEnabled()
+                ? new PresignedUrlCache(
+                        Duration.ofMinutes(properties.getS3().getPresignedUrlExpirationMinutes()),
+                        cacheProps.getMinRemainingFraction(),
+                        cacheProps.getMaxSize(),
+                        cacheKey -> presignDownloadUrl(cacheKey.key()),
+                        meterRegistry)
+                : null;
+    }
 
     @Override
     public String upload(StorageType type, String fileName, byte[] content, String contentType) {
         String key = generateKey(type, fileName);
+        put(key, content, contentType, "file");
+        return key;
+    }
+
+    @Override
+    public void uploadTo(String key, byte[] content, String contentType) {
+        put(key, content, contentType, "file");
+    }
+
+    @Override
+    public String uploadBlob(String contentHash, byte[] content, String contentType) {
+        String key = generateBlobKey(contentHash);
+        put(key, content, contentType, "blob");
+        return key;
+    }
+
+    @Override
+    public String derivativeKey(StorageType type, String sourceKey) {
+        String prefix = properties.getS3().getPathPrefix();
+        String unprefixed = sourceKey.startsWith(prefix) ? sourceKey.substring(prefix.length()) : sourceKey;
+        return prefix + type.getKeyPrefix() + unprefixed;
+    }
+
+    @Override
+    public String uploadDerivative(StorageType type, String sourceKey, byte[] content, String contentType) {
+        String key = derivativeKey(type, sourceKey);
+        put(key, content, contentType, "derivative");
+        return key;
+    }
+
+    /** Writes an encrypted object; {@code kind} names it in logs and errors. */
+    private void put(String key, byte[] content, String contentType, String kind) {
         String bucket = properties.getS3().getBucketName();
 
         try {
@@ -47,11 +100,10 @@ public class S3StorageService implements StorageService {
                     .build();
 
             s3Client.putObject(request, RequestBody.fromBytes(content));
-            log.info("Uploaded file to s3://{}/{} (type={}, size={})", bucket, key, contentType, content.length);
-            return key;
+            log.info("Uploaded {} to s3://{}/{} (type={}, size={})", kind, bucket, key, contentType, content.length);
         } catch (S3Exception e) {
-            log.error("Failed to upload file to s3://{}/{}", bucket, key, e);
-            throw new StorageException("UPLOAD", "Failed to upload file: " + fileName, e);
+            log.error("Failed to upload {} to s3://{}/{}", kind, bucket, key, e);
+            throw new StorageException("UPLOAD", "Failed to upload " + kind + ": " + key, e);
         }
     }
 
@@ -60,15 +112,21 @@ public class S3StorageService implements StorageService {
         String bucket = properties.getS3().getBucketName();
 
         try {
-            GetObjectRequest request = GetObjectRequest.builder()
-                    .bucket(bucket)
-                    .key(key)
-                    .build();
-
-            byte[] content = s3Client.getObjectAsBytes(request).asByteArray();
-            log.debug("Downloaded file from s3://{}/{} (size={})", bucket, key, content.length);
-            return content;
+            return fetch(bucket, key);
         } catch (NoSuchKeyException e) {
+            if (!isArchiveKey(key)) {
+                String archiveKey = generateArchiveKey(key);
+                try {
+                    byte[] content = fetch(bucket, archiveKey);
+                    log.debug("Served s3://{}/{} from cold tier key={}", bucket, key, archiveKey);
+                    return content;
+                } catch (NoSuchKeyException archiveMiss) {
+                    // fall through to the not-found error for the requested key
+                } catch (S3Exception archiveError) {
+                    log.error("Failed to download file from s3://{}/{}", bucket, archiveKey, archiveError);
+                    throw new StorageException("DOWNLOAD", "Failed to download file: " + key, archiveError);
+                }
+            }
             log.warn("File not found: s3://{}/{}", bucket, key);
             throw new StorageException("DOWNLOAD", "File not found: " + key, e);
         } catch (S3Exception e) {
@@ -77,6 +135,46 @@ public class S3StorageService implements StorageService {
         }
     }
 
+    private byte[] fetch(String bucket, String key) {
+        GetObjectRequest request = GetObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .build();
+
+        byte[] content = s3Client.getObjectAsBytes(request).asByteArray();
+        log.debug("Downloaded file from s3://{}/{} (size={})", bucket, key, content.length);
+        return content;
+    }
+
+    @Override
+    public String archive(String key) {
+        if (isArchiveKey(key)) {
+            return key;
+        }
+
+        String bucket = properties.getS3().getBucketName();
+        String archiveKey = generateArchiveKey(key);
+        String storageClass = properties.getLifecycle().getColdStorageClass();
+
+        try {
+            CopyObjectRequest copyRequest = CopyObjectRequest.builder()
+                    .sourceBucket(bucket)
+                    .sourceKey(key)
+                    .destinationBucket(bucket)
+                    .destinationKey(archiveKey)
+                    .storageClass(StorageClass.fromValue(storageClass))
+                    .serverSideEncryption(ServerSideEncryption.AES256)
+                    .build();
+            s3Client.copyObject(copyRequest);
+
+            log.info("Archived s3://{}/{} to {} (storageClass={})", bucket, key, archiveKey, storageClass);
+            return archiveKey;
+        } catch (S3Exception e) {
+            log.error("Failed to archive s3://{}/{}", bucket, key, e);
+            throw new StorageException("ARCHIVE", "Failed to archive file: " + key, e);
+        }
+    }
+
     @Override
     public void delete(String key) {
         String bucket = properties.getS3().getBucketName();
@@ -88,6 +186,9 @@ public class S3StorageService implements StorageService {
                     .build();
 
             s3Client.deleteObject(request);
+            if (presignedUrlCache != null) {
+                presignedUrlCache.invalidate(key);
+            }
             log.info("Deleted file from s3://{}/{}", bucket, key);
         } catch (S3Exception e) {
             log.error("Failed to delete file from s3://{}/{}", bucket, key, e);
@@ -125,6 +226,13 @@ public class S3StorageService implements StorageService {
 
     @Override
     public String generatePresignedDownloadUrl(String key) {
+        if (presignedUrlCache != null) {
+            return presignedUrlCache.get(key, PresignedUrlCache.Operation.GET);
+        }
+        return presignDownloadUrl(key);
+    }
+
+    private String presignDownloadUrl(String key) {
         String bucket = properties.getS3().getBucketName();
         Duration expiration = Duration.ofMinutes(properties.getS3().getPresignedUrlExpirationMinutes());
 
@@ -177,9 +285,33 @@ public class S3StorageService implements StorageService {
         return "https://" + s3Props.getBucketName() + ".s3." + s3Props.getRegion() + ".amazonaws.com/" + key;
     }
 
-    String generateKey(StorageType type, String fileName) {
+    @Override
+    public String resolveKey(String publicUrl) {
+        String base = getPublicUrl("");
+        if (publicUrl == null || !publicUrl.startsWith(base) || publicUrl.length() == base.length()) {
+            return null;
+        }
+        return publicUrl.substring(base.length());
+    }
+
+    @Override
+    public String generateKey(StorageType type, String fileName) {
         String prefix = properties.getS3().getPathPrefix();
         String sanitized = fileName.replaceAll("[^a-zA-Z0-9._-]", "_");
         return prefix + type.getKeyPrefix() + UUID.randomUUID() + "_" + sanitized;
     }
+
+    String generateArchiveKey(String key) {
+        String prefix = properties.getS3().getPathPrefix();
+        String unprefixed = key.startsWith(prefix) ? key.substring(prefix.length()) : key;
+        return prefix + StorageType.ARCHIVE_KEY_PREFIX + unprefixed;
+    }
+
+    boolean isArchiveKey(String key) {
+        return key.startsWith(properties.getS3().getPathPrefix() + StorageType.ARCHIVE_KEY_PREFIX);
+    }
+
+    String generateBlobKey(String contentHash) {
+        return properties.getS3().getPathPrefix() + StorageType.blobKey(contentHash);
+    }
 }
@@ -0,0 +1,58 @@
+package com.tracegrade.storage;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.tracegrade.domain.repository.StorageBlobRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Periodically deletes content-addressed blobs that have had no references for
+ * longer than {@code storage.dedup.gc-grace-period-minutes}.
+ *
+ * <p>Each blob is collected in its own transaction so a failed object delete
+ * leaves the row in place for the next run. Only active when
+ * {@code storage.dedup.enabled=true}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "storage.dedup.enabled", havingValue = "true")
+public class StorageBlobGarbageCollector {
+
+    private final StorageBlobRepository blobRepository;
+    private final ContentAddressedStorageService contentAddressedStorageService;
+    private final StorageProperties properties;
+
+    @Scheduled(fixedDelayString = "${storage.dedup.gc-interval-ms:600000}")
+    public void collect() {
+        StorageProperties.Dedup dedup = properties.getDedup();
+        Instant cutoff = Instant.now().minus(Duration.ofMinutes(dedup.getGcGracePeriodMinutes()));
+        List<UUID> candidates = blobRepository.findUnreferencedIdsBefore(
+                cutoff, PageRequest.of(0, dedup.getGcBatchSize()));
+
+        int collected = 0;
+        for (UUID blobId : candidates) {
+            try {
+                if (contentAddressedStorageService.collectIfUnreferenced(blobId, cutoff)) {
+                    collected++;
+                }
+            } catch (Exception e) {
+                log.error("Failed to garbage-collect blob id={} — will retry on next run", blobId, e);
+            }
+        }
+
+        if (!candidates.isEmpty()) {
+            log.info("Blob garbage collection removed {} of {} candidate(s)", collected, candidates.size());
+        }
+    }
+}
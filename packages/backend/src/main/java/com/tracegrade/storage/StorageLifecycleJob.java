@@ -0,0 +1,110 @@
+package com.tracegrade.storage;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.tracegrade.domain.repository.StudentSubmissionRepository;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Background job that moves reviewed submissions older than
+ * {@code storage.lifecycle.min-age-days} to the cold storage tier.
+ *
+ * <p>Candidates are selected in keyset-paged batches of
+ * {@code storage.lifecycle.batch-size}, so every query is bounded however many
+ * submissions are eligible. Archiving is throttled by a token bucket to
+ * {@code storage.lifecycle.max-objects-per-second} so the job never competes
+ * with foreground traffic for storage throughput. A submission can hold
+ * several images, so each one is paid for with the number of objects it
+ * actually copied, before the next submission starts. Each submission is archived
+ * on its own (see {@link StorageLifecycleService}); a failure is logged and
+ * the run moves on.
+ *
+ * <p>Only active when {@code storage.lifecycle.enabled=true}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "storage.lifecycle.enabled", havingValue = "true")
+public class StorageLifecycleJob {
+
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+
+    private final StudentSubmissionRepository submissionRepository;
+    private final StorageLifecycleService lifecycleService;
+    private final StorageProperties properties;
+    private final Bucket throttle;
+
+    public StorageLifecycleJob(StudentSubmissionRepository submissionRepository,
+                               StorageLifecycleService lifecycleService,
+                               StorageProperties properties) {
+        this.submissionRepository = submissionRepository;
+        this.lifecycleService = lifecycleService;
+        this.properties = properties;
+
+        int perSecond = properties.getLifecycle().getMaxObjectsPerSecond();
+        this.throttle = Bucket.builder()
+                .addLimit(Bandwidth.builder()
+                        .capacity(perSecond)
+                        .refillGreedy(perSecond, Duration.ofSeconds(1))
+                        .build())
+                .build();
+    }
+
+    @Scheduled(fixedDelayString = "${storage.lifecycle.interval-ms:3600000}")
+    public void run() {
+        StorageProperties.Lifecycle lifecycle = properties.getLifecycle();
+        Instant reviewedBefore = Instant.now().minus(Duration.ofDays(lifecycle.getMinAgeDays()));
+
+        UUID afterId = MIN_UUID;
+        int submissions = 0;
+        int objects = 0;
+        int failures = 0;
+
+        for (int batch = 0; batch < lifecycle.getMaxBatchesPerRun(); batch++) {
+            List<UUID> ids = submissionRepository.findArchivableIds(
+                    reviewedBefore, afterId, PageRequest.of(0, lifecycle.getBatchSize()));
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            for (UUID id : ids) {
+                try {
+                    int archived = lifecycleService.archiveSubmission(id);
+                    objects += archived;
+                    submissions++;
+                    pace(archived);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    log.warn("Storage lifecycle run interrupted after {} submission(s)", submissions);
+                    return;
+                } catch (Exception e) {
+                    failures++;
+                    log.error("Failed to archive submissionId={} — will retry on next run", id, e);
+                }
+            }
+            afterId = ids.get(ids.size() - 1);
+        }
+
+        if (submissions > 0 || failures > 0) {
+            log.info("Storage lifecycle run archived {} object(s) across {} submission(s), {} failure(s)",
+                    objects, submissions, failures);
+        }
+    }
+
+    /** Blocks until the bucket has paid for {@code objects} copies, one token each. */
+    private void pace(int objects) throws InterruptedException {
+        for (int i = 0; i < objects; i++) {
+            throttle.asBlocking().consume(1);
+        }
+    }
+}
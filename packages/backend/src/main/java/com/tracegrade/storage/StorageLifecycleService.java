@@ -0,0 +1,143 @@
+package com.tracegrade.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tracegrade.domain.model.StorageTier;
+import com.tracegrade.domain.model.StudentSubmission;
+import com.tracegrade.domain.repository.StudentSubmissionRepository;
+import com.tracegrade.exception.StorageException;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves a single submission's images to the cold storage tier and rewrites its
+ * stored URLs to the archived keys.
+ *
+ * <p>Archiving runs in three steps so no failure leaves a row pointing at
+ * objects that are gone:
+ * <ol>
+ *   <li>every image is copied to the cold tier, outside any transaction;</li>
+ *   <li>the row is locked, checked to still hold the copied URLs, and switched
+ *       to the cold URLs in one transaction;</li>
+ *   <li>only after that commits are the hot objects and their derivatives
+ *       deleted, each on its own. A failed or repeated delete is logged and
+ *       leaves at most an orphaned hot object behind.</li>
+ * </ol>
+ * A failure in the first two steps leaves the row hot and intact; the cold
+ * copies made so far are overwritten by the next attempt.
+ *
+ * <p>Content-addressed blobs may be shared with other submissions, so their hot
+ * object is never deleted here: the cold copy is made, the row moves to it, and
+ * the submission's reference on the blob is released in the same transaction,
+ * leaving the blob to {@link StorageBlobGarbageCollector}. When deduplication is
+ * disabled, blob-keyed submissions are skipped and stay hot.
+ *
+ * <p>Only active when {@code storage.lifecycle.enabled=true}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "storage.lifecycle.enabled", havingValue = "true")
+public class StorageLifecycleService {
+
+    private final StorageService storageService;
+    private final StudentSubmissionRepository submissionRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    /** Injected only when storage.dedup.enabled=true; null otherwise (blob-keyed submissions are skipped). */
+    @Autowired(required = false)
+    private ContentAddressedStorageService contentAddressedStorageService;
+
+    /** Injected only when storage.derivatives.enabled=true; null otherwise (there are no derivatives to clean up). */
+    @Autowired(required = false)
+    private ImageDerivativeService imageDerivativeService;
+
+    /**
+     * Archives the images of one submission.
+     *
+     * @return the number of objects copied to the cold tier
+     */
+    public int archiveSubmission(UUID submissionId) {
+        StudentSubmission submission = submissionRepository.findById(submissionId).orElse(null);
+        if (submission == null || submission.getStorageTier() != StorageTier.HOT) {
+            return 0;
+        }
+
+        boolean blobKeyed = submission.getContentHash() != null;
+        if (blobKeyed && contentAddressedStorageService == null) {
+            log.debug("Skipping blob-keyed submissionId={}: deduplication is disabled", submissionId);
+            return 0;
+        }
+
+        String hotUrls = submission.getSubmissionImageUrls();
+        List<String> rewritten = new ArrayList<>();
+        List<String> hotKeys = new ArrayList<>();
+        for (String url : SubmissionImageUrls.read(submission)) {
+            String key = storageService.resolveKey(url);
+            if (key == null) {
+                rewritten.add(url);
+                continue;
+            }
+            rewritten.add(storageService.getPublicUrl(storageService.archive(key)));
+            hotKeys.add(key);
+        }
+        if (hotKeys.isEmpty()) {
+            return 0;
+        }
+
+        String coldUrls;
+        try {
+            coldUrls = objectMapper.writeValueAsString(rewritten);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize submission image URLs", e);
+        }
+
+        Boolean committed = transactionTemplate.execute(status -> {
+            StudentSubmission current = submissionRepository.findByIdForUpdate(submissionId).orElse(null);
+            if (current == null
+                    || current.getStorageTier() != StorageTier.HOT
+                    || !hotUrls.equals(current.getSubmissionImageUrls())) {
+                return false;
+            }
+            current.setSubmissionImageUrls(coldUrls);
+            current.setStorageTier(StorageTier.COLD);
+            submissionRepository.save(current);
+            if (blobKeyed) {
+                hotKeys.forEach(contentAddressedStorageService::release);
+            }
+            return true;
+        });
+        if (!Boolean.TRUE.equals(committed)) {
+            log.info("Submission id={} changed while archiving; leaving it hot", submissionId);
+            return 0;
+        }
+
+        if (!blobKeyed) {
+            hotKeys.forEach(this::deleteHot);
+        }
+        log.debug("Archived {} object(s) for submissionId={}", hotKeys.size(), submissionId);
+        return hotKeys.size();
+    }
+
+    private void deleteHot(String key) {
+        try {
+            storageService.delete(key);
+        } catch (StorageException e) {
+            log.warn("Archived key={} but failed to delete the hot copy: {}", key, e.getMessage());
+        }
+        if (imageDerivativeService != null) {
+            imageDerivativeService.deleteDerivatives(key);
+        }
+    }
+}
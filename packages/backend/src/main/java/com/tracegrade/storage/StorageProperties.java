@@ -15,6 +15,14 @@ public class StorageProperties {
 
     private final S3 s3 = new S3();
 
+    private final Dedup dedup = new Dedup();
+
+    private final Lifecycle lifecycle = new Lifecycle();
+
+    private final Derivatives derivatives = new Derivatives();
+
+    private final WriteBehind writeBehind = new WriteBehind();
+
     @Data
     public static class S3 {
 
@@ -32,5 +40,108 @@ public class StorageProperties {
 
         /** Optional path prefix for all S3 keys */
         private String pathPrefix = "";
+
+        private final PresignedUrlCacheProperties presignedUrlCache = new PresignedUrlCacheProperties();
+    }
+
+    @Data
+    public static class PresignedUrlCacheProperties {
+
+        /** Whether presigned download URLs are cached and reused */
+        private boolean enabled = true;
+
+        /** Maximum number of cached URLs */
+        private long maxSize = 10_000;
+
+        /** Minimum fraction of a URL's validity that must remain for it to be handed out again */
+        private double minRemainingFraction = 0.3;
+    }
+
+    @Data
+    public static class Dedup {
+
+        /** Store uploads content-addressed and share identical blobs */
+        private boolean enabled = false;
+
+        /** How long an unreferenced blob is kept before garbage collection, in minutes */
+        private int gcGracePeriodMinutes = 60;
+
+        /** Maximum number of blobs collected per garbage-collection run */
+        private int gcBatchSize = 100;
+    }
+
+    @Data
+    public static class Lifecycle {
+
+        /** Move reviewed submissions to the cold tier in the background */
+        private boolean enabled = false;
+
+        /** Minimum days since review before a submission is archived */
+        private int minAgeDays = 30;
+
+        /** Submissions selected per batch */
+        private int batchSize = 100;
+
+        /** Upper bound on batches per run, so one run cannot monopolise the job thread */
+        private int maxBatchesPerRun = 50;
+
+        /** Maximum objects archived per second across the run */
+        private int maxObjectsPerSecond = 20;
+
+        /** S3 storage class for archived objects (must support immediate reads, e.g. GLACIER_IR or STANDARD_IA) */
+        private String coldStorageClass = "GLACIER_IR";
+    }
+
+    @Data
+    public static class Derivatives {
+
+        /** Generate thumbnails and previews for uploaded submission images */
+        private boolean enabled = true;
+
+        /** Longest edge of a thumbnail, in pixels */
+        private int thumbnailMaxDimension = 240;
+
+        /** Longest edge of a web preview, in pixels */
+        private int previewMaxDimension = 1280;
+
+        /** Largest source image, in pixels (width × height), that derivatives are generated for */
+        private long maxSourcePixels = 100_000_000L;
+
+        /** JPEG quality for derivatives (0.0–1.0) */
+        private float jpegQuality = 0.8f;
+
+        /** Worker threads generating derivatives */
+        private int workerThreads = 2;
+
+        /** Pending generation jobs before new requests are dropped (and retried lazily later) */
+        private int queueCapacity = 200;
+    }
+
+    @Data
+    public static class WriteBehind {
+
+        /** Accept uploads into a local spool and upload them to storage in the background */
+        private boolean enabled = false;
+
+        /** Spool directory; must be on durable local disk so staged uploads survive restarts */
+        private String spoolDir = "/var/spool/tracegrade";
+
+        /**
+         * Id recorded on submissions staged in this node's spool; must be unique per
+         * spool and stable across restarts. Defaults to the host name
+         */
+        private String nodeId = "";
+
+        /** Upper bound on spooled bytes; uploads beyond it are written through synchronously */
+        private long maxSpoolBytes = 2L * 1024 * 1024 * 1024;
+
+        /** Spool entries uploaded per drain run */
+        private int batchSize = 50;
+
+        /** Delay before the first retry of a failed upload, in milliseconds */
+        private long initialBackoffMs = 1_000;
+
+        /** Upper bound on the retry delay, in milliseconds */
+        private long maxBackoffMs = 300_000;
     }
 }
@@ -1,5 +1,10 @@
 package com.tracegrade.storage;
 
+import java.util.List;
+import java.util.Objects;
+
+import com.tracegrade.domain.model.StudentSubmission;
+
 /**
  * Abstraction for file storage operations.
  * Implementations include S3 (production) and local filesystem (dev/test).
@@ -17,6 +22,38 @@ public interface StorageService {
      */
     String upload(StorageType type, String fileName, byte[] content, String contentType);
 
+    /**
+     * Generates a fresh, unique storage key for a file without writing anything,
+     * so the key (and its public URL) can be recorded before the bytes are stored.
+     *
+     * @param type     the category of file being stored
+     * @param fileName the original file name
+     * @return a key suitable for {@link #uploadTo}
+     */
+    String generateKey(StorageType type, String fileName);
+
+    /**
+     * Uploads a file under an exact key previously obtained from
+     * {@link #generateKey}. Re-uploading the same key overwrites the object.
+     *
+     * @param key         the storage key
+     * @param content     the file bytes
+     * @param contentType the MIME content type
+     */
+    void uploadTo(String key, byte[] content, String contentType);
+
+    /**
+     * Uploads content under a key derived from its SHA-256 hash, so identical
+     * content always maps to the same key. Re-uploading existing content
+     * overwrites the object with identical bytes.
+     *
+     * @param contentHash lower-case hex SHA-256 of {@code content}
+     * @param content     the file bytes
+     * @param contentType the MIME content type
+     * @return the storage key identifying the blob
+     */
+    String uploadBlob(String contentHash, byte[] content, String contentType);
+
     /**
      * Downloads a file by its storage key.
      *
@@ -26,7 +63,42 @@ public interface StorageService {
     byte[] download(String key);
 
     /**
-     * Deletes a file by its storage key.
+     * Returns the key under which a derivative (e.g. a thumbnail) of the given
+     * source object is stored. The key is deterministic, so callers can check
+     * for an existing derivative with {@link #exists}.
+     *
+     * @param type      the derivative category
+     * @param sourceKey the storage key of the original object
+     * @return the derivative storage key
+     */
+    String derivativeKey(StorageType type, String sourceKey);
+
+    /**
+     * Uploads a derivative of the given source object under {@link #derivativeKey}.
+     *
+     * @param type        the derivative category
+     * @param sourceKey   the storage key of the original object
+     * @param content     the derivative bytes
+     * @param contentType the MIME content type
+     * @return the derivative storage key
+     */
+    String uploadDerivative(StorageType type, String sourceKey, byte[] content, String contentType);
+
+    /**
+     * Copies a file to the cold storage tier and returns its new key. The hot
+     * copy is left in place; callers {@link #delete} it once nothing refers to
+     * it. Archiving the same key again overwrites the cold copy. The old key
+     * stays readable through {@link #download}, which falls back to the cold tier
+     * when an object is no longer in hot storage.
+     *
+     * @param key the hot-tier storage key
+     * @return the cold-tier storage key
+     */
+    String archive(String key);
+
+    /**
+     * Deletes a file by its storage key. Deleting a key that does not exist is
+     * not an error.
      *
      * @param key the storage key
      */
@@ -65,4 +137,27 @@ public interface StorageService {
      * @return the public URL
      */
     String getPublicUrl(String key);
+
+    /**
+     * Extracts the storage key from a URL returned by {@link #getPublicUrl}.
+     *
+     * @param publicUrl the public URL
+     * @return the storage key, or null if the URL does not belong to this storage
+     */
+    String resolveKey(String publicUrl);
+
+    /**
+     * Returns the storage keys of a submission's images, skipping URLs that
+     * {@link #resolveKey} does not recognise and returning nothing if the
+     * stored URL list cannot be read.
+     *
+     * @param submission the submission
+     * @return the storage keys in stored order
+     */
+    default List<String> submissionImageKeys(StudentSubmission submission) {
+        return SubmissionImageUrls.read(submission).stream()
+                .map(this::resolveKey)
+                .filter(Objects::nonNull)
+                .toList();
+    }
 }
@@ -9,7 +9,23 @@ public enum StorageType {
 
     EXAM_PDF("exams/"),
     SUBMISSION_IMAGE("submissions/"),
-    RUBRIC_IMAGE("rubrics/");
+    RUBRIC_IMAGE("rubrics/"),
+    SUBMISSION_THUMBNAIL("thumbnails/"),
+    SUBMISSION_PREVIEW("previews/");
 
     private final String keyPrefix;
+
+    /** Key prefix for objects moved to the cold storage tier. */
+    public static final String ARCHIVE_KEY_PREFIX = "archive/";
+
+    /** Key prefix for content-addressed blobs, shared by every storage type. */
+    public static final String BLOB_KEY_PREFIX = "blobs/sha256/";
+
+    /**
+     * Returns the content-addressed key for a SHA-256 hash, fanned out by the
+     * first two hex characters to keep directory listings small.
+     */
+    public static String blobKey(String contentHash) {
+        return BLOB_KEY_PREFIX + contentHash.substring(0, 2) + "/" + contentHash;
+    }
 }
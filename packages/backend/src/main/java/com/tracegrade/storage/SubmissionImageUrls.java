@@ -0,0 +1,38 @@
+package com.tracegrade.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tracegrade.domain.model.StudentSubmission;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reads the JSON array of image URLs stored on a submission. See
+ * {@link StorageService#submissionImageKeys} for the storage keys behind them.
+ */
+@Slf4j
+final class SubmissionImageUrls {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private SubmissionImageUrls() {
+    }
+
+    /** The submission's image URLs in stored order; empty if the column is not a JSON array. */
+    static List<String> read(StudentSubmission submission) {
+        List<String> urls = new ArrayList<>();
+        try {
+            JsonNode node = MAPPER.readTree(submission.getSubmissionImageUrls());
+            if (node != null && node.isArray()) {
+                node.forEach(url -> urls.add(url.asText()));
+            }
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            log.warn("Unparseable submissionImageUrls for submissionId={}", submission.getId());
+        }
+        return urls;
+    }
+}
@@ -0,0 +1,323 @@
+package com.tracegrade.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.tracegrade.exception.StorageException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Durable local spool backing write-behind uploads.
+ *
+ * <p>Each staged upload is two files named after the SHA-256 of its storage key:
+ * {@code <id>.data} holding the bytes and {@code <id>.meta} holding the key,
+ * content type and retry state. Both are written to a temporary file, fsynced
+ * and atomically renamed, data first, so an entry exists exactly when its
+ * {@code .meta} file does. On startup, leftover temporary files and data files
+ * without metadata (a crash mid-stage, before the submission row was saved) are
+ * removed; complete entries are picked up again by {@link WriteBehindUploader}.
+ * An entry whose metadata cannot be parsed is moved to the
+ * {@code quarantine} subdirectory instead of being retried or deleted.
+ *
+ * <p>The spool is local to one node, so submissions staged here record its
+ * {@link #nodeId()} and only this node uploads or promotes them.
+ *
+ * <p>Only active when {@code storage.write-behind.enabled=true}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "storage.write-behind.enabled", havingValue = "true")
+public class WriteBehindSpool {
+
+    static final String DATA_SUFFIX = ".data";
+    static final String META_SUFFIX = ".meta";
+    static final String TMP_SUFFIX = ".tmp";
+    static final String QUARANTINE_DIR = "quarantine";
+
+    /** A complete spool entry awaiting upload. */
+    public record Entry(String id, String key, String contentType, Instant stagedAt,
+                        int attempts, Instant nextAttemptAt) {
+    }
+
+    private final Path dir;
+    private final long maxBytes;
+    private final String nodeId;
+    private final AtomicLong spooledBytes = new AtomicLong();
+
+    public WriteBehindSpool(StorageProperties properties) {
+        this.dir = Path.of(properties.getWriteBehind().getSpoolDir());
+        this.maxBytes = properties.getWriteBehind().getMaxSpoolBytes();
+        String configured = properties.getWriteBehind().getNodeId();
+        this.nodeId = configured != null && !configured.isBlank() ? configured : hostName();
+        recover();
+    }
+
+    /** Id of this node, recorded on the submissions whose bytes this spool holds. */
+    public String nodeId() {
+        return nodeId;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            throw new IllegalStateException(
+                    "Cannot determine host name; set storage.write-behind.node-id", e);
+        }
+    }
+
+    /**
+     * Durably stages content for upload under {@code key}.
+     *
+     * @return false if the spool is full and the caller should upload synchronously
+     */
+    public boolean stage(String key, byte[] content, String contentType) {
+        if (spooledBytes.addAndGet(content.length) > maxBytes) {
+            spooledBytes.addAndGet(-content.length);
+            log.warn("Write-behind spool full ({} bytes); writing key={} through", maxBytes, key);
+            return false;
+        }
+
+        String id = idFor(key);
+        try {
+            writeDurably(dir.resolve(id + DATA_SUFFIX), content);
+            writeMeta(new Entry(id, key, contentType, Instant.now(), 0, Instant.EPOCH));
+            log.debug("Staged key={} in spool (size={})", key, content.length);
+            return true;
+        } catch (IOException e) {
+            spooledBytes.addAndGet(-content.length);
+            deleteQuietly(dir.resolve(id + DATA_SUFFIX));
+            throw new StorageException("UPLOAD", "Failed to stage file in spool: " + key, e);
+        }
+    }
+
+    /** Returns true while {@code key} is still waiting in the spool. */
+    public boolean contains(String key) {
+        return Files.exists(dir.resolve(idFor(key) + META_SUFFIX));
+    }
+
+    /** Looks up the pending entry for {@code key}, if any. */
+    public Optional<Entry> find(String key) {
+        return readMeta(dir.resolve(idFor(key) + META_SUFFIX));
+    }
+
+    /** Returns up to {@code limit} entries due for an upload attempt at {@code now}, oldest first. */
+    public List<Entry> due(Instant now, int limit) {
+        List<Entry> entries = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*" + META_SUFFIX)) {
+            for (Path meta : stream) {
+                readMeta(meta).filter(e -> !e.nextAttemptAt().isAfter(now)).ifPresent(entries::add);
+            }
+        } catch (IOException e) {
+            throw new StorageException("SPOOL", "Failed to list spool directory " + dir, e);
+        }
+        entries.sort(Comparator.comparing(Entry::stagedAt));
+        return entries.size() > limit ? entries.subList(0, limit) : entries;
+    }
+
+    /**
+     * Reads the staged bytes of an entry.
+     *
+     * @return empty if the entry was removed concurrently (already uploaded)
+     */
+    public Optional<byte[]> read(Entry entry) {
+        try {
+            return Optional.of(Files.readAllBytes(dir.resolve(entry.id() + DATA_SUFFIX)));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new StorageException("SPOOL", "Failed to read spooled file: " + entry.key(), e);
+        }
+    }
+
+    /** Records a failed upload attempt and schedules the next one. */
+    public void reschedule(Entry entry, Instant nextAttemptAt) {
+        if (!Files.exists(dir.resolve(entry.id() + META_SUFFIX))) {
+            return;
+        }
+        try {
+            writeMeta(new Entry(entry.id(), entry.key(), entry.contentType(), entry.stagedAt(),
+                    entry.attempts() + 1, nextAttemptAt));
+        } catch (IOException e) {
+            log.warn("Failed to persist retry state for key={}: {}", entry.key(), e.getMessage());
+        }
+    }
+
+    /**
+     * Removes an entry once it is safely in storage, or when the staged upload was
+     * abandoned. Metadata goes first so the entry stops being visible immediately.
+     */
+    public void remove(String key) {
+        String id = idFor(key);
+        deleteQuietly(dir.resolve(id + META_SUFFIX));
+        Path data = dir.resolve(id + DATA_SUFFIX);
+        try {
+            long size = Files.size(data);
+            if (Files.deleteIfExists(data)) {
+                spooledBytes.addAndGet(-size);
+            }
+        } catch (NoSuchFileException e) {
+            // removed concurrently
+        } catch (IOException e) {
+            log.warn("Failed to delete spooled file {}: {}", data, e.getMessage());
+        }
+    }
+
+    /** Total bytes currently held in the spool. */
+    public long spooledBytes() {
+        return spooledBytes.get();
+    }
+
+    static String idFor(String key) {
+        return ContentAddressedStorageService.sha256Hex(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void recover() {
+        long total = 0;
+        int pending = 0;
+        try {
+            Files.createDirectories(dir);
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+                for (Path file : stream) {
+                    String name = file.getFileName().toString();
+                    if (name.endsWith(TMP_SUFFIX)) {
+                        deleteQuietly(file);
+                    } else if (name.endsWith(DATA_SUFFIX)) {
+                        String id = name.substring(0, name.length() - DATA_SUFFIX.length());
+                        if (Files.exists(dir.resolve(id + META_SUFFIX))) {
+                            total += Files.size(file);
+                            pending++;
+                        } else {
+                            deleteQuietly(file);
+                        }
+                    } else if (name.endsWith(META_SUFFIX)) {
+                        String id = name.substring(0, name.length() - META_SUFFIX.length());
+                        if (!Files.exists(dir.resolve(id + DATA_SUFFIX))) {
+                            deleteQuietly(file);
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new StorageException("INIT", "Failed to initialise write-behind spool at " + dir, e);
+        }
+        spooledBytes.set(total);
+        log.info("Write-behind spool at {} recovered {} pending upload(s), {} bytes", dir, pending, total);
+    }
+
+    private Optional<Entry> readMeta(Path meta) {
+        Properties props = new Properties();
+        try (InputStream in = Files.newInputStream(meta)) {
+            props.load(in);
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            log.warn("Unreadable spool metadata {}: {}", meta, e.getMessage());
+            return Optional.empty();
+        }
+        String name = meta.getFileName().toString();
+        String id = name.substring(0, name.length() - META_SUFFIX.length());
+        try {
+            String key = props.getProperty("key");
+            String contentType = props.getProperty("contentType");
+            if (key == null || contentType == null) {
+                throw new IllegalArgumentException("missing key or contentType");
+            }
+            return Optional.of(new Entry(id, key, contentType,
+                    Instant.ofEpochMilli(Long.parseLong(props.getProperty("stagedAt"))),
+                    Integer.parseInt(props.getProperty("attempts", "0")),
+                    Instant.ofEpochMilli(Long.parseLong(props.getProperty("nextAttemptAt", "0")))));
+        } catch (IllegalArgumentException e) {
+            log.warn("Malformed spool metadata {}: {}; quarantining entry", meta, e.getMessage());
+            quarantine(id);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Moves an entry whose metadata cannot be parsed into the
+     * {@value #QUARANTINE_DIR} subdirectory, so it stops blocking the drain and
+     * its bytes, possibly the only copy, are kept for an operator to inspect.
+     */
+    private void quarantine(String id) {
+        Path target = dir.resolve(QUARANTINE_DIR);
+        try {
+            Files.createDirectories(target);
+            Path data = dir.resolve(id + DATA_SUFFIX);
+            if (Files.exists(data)) {
+                long size = Files.size(data);
+                Files.move(data, target.resolve(id + DATA_SUFFIX), StandardCopyOption.REPLACE_EXISTING);
+                spooledBytes.addAndGet(-size);
+            }
+            Files.move(dir.resolve(id + META_SUFFIX), target.resolve(id + META_SUFFIX),
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (NoSuchFileException e) {
+            // removed or quarantined concurrently
+        } catch (IOException e) {
+            log.warn("Failed to quarantine spool entry {}: {}", id, e.getMessage());
+        }
+    }
+
+    private void writeMeta(Entry entry) throws IOException {
+        Properties props = new Properties();
+        props.setProperty("key", entry.key());
+        props.setProperty("contentType", entry.contentType());
+        props.setProperty("stagedAt", Long.toString(entry.stagedAt().toEpochMilli()));
+        props.setProperty("attempts", Integer.toString(entry.attempts()));
+        props.setProperty("nextAttemptAt", Long.toString(entry.nextAttemptAt().toEpochMilli()));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        props.store(out, null);
+        writeDurably(dir.resolve(entry.id() + META_SUFFIX), out.toByteArray());
+    }
+
+    /** Writes to a temporary sibling, fsyncs it, then atomically renames it into place. */
+    private void writeDurably(Path target, byte[] content) throws IOException {
+        Path tmp = target.resolveSibling(target.getFileName() + TMP_SUFFIX);
+        try (FileChannel channel = FileChannel.open(tmp,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             OutputStream out = Channels.newOutputStream(channel)) {
+            out.write(content);
+            out.flush();
+            channel.force(true);
+        }
+        try {
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete spool file {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.tracegrade.storage;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.tracegrade.domain.model.StorageTier;
+import com.tracegrade.domain.model.StudentSubmission;
+import com.tracegrade.domain.repository.StudentSubmissionRepository;
+import com.tracegrade.exception.StorageException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Background job draining the {@link WriteBehindSpool} into storage.
+ *
+ * <p>Each run uploads the entries that are due, oldest first, and removes them
+ * from the spool once the object is stored. A failed upload stays in the spool
+ * and is retried with exponential backoff between
+ * {@code storage.write-behind.initial-backoff-ms} and
+ * {@code storage.write-behind.max-backoff-ms}; the spool holds the only copy,
+ * so entries are never given up on.
+ *
+ * <p>After uploading, staged submission rows whose images have all left the
+ * spool are promoted to {@link StorageTier#HOT}. Because the spool entry is
+ * written before the row is saved, a staged row without spool entries is always
+ * fully uploaded, which also covers rows whose entries were drained before the
+ * row committed or before a restart.
+ *
+ * <p>That reasoning only holds on the node whose spool staged the row, so each
+ * node promotes only the rows recording its {@link WriteBehindSpool#nodeId()}.
+ * Staged rows without a recorded owner are promoted once every image is found
+ * in storage.
+ *
+ * <p>Only active when {@code storage.write-behind.enabled=true}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "storage.write-behind.enabled", havingValue = "true")
+public class WriteBehindUploader {
+
+    static final String SPOOLED_BYTES = "storage.writeBehind.spooled.bytes";
+    static final String UPLOADS       = "storage.writeBehind.uploads";
+    static final String TAG_OUTCOME   = "outcome";
+
+    private final WriteBehindSpool spool;
+    private final StorageService storageService;
+    private final StudentSubmissionRepository submissionRepository;
+    private final StorageProperties.WriteBehind properties;
+    private final Counter uploaded;
+    private final Counter failed;
+
+    /** Injected only when storage.derivatives.enabled=true; null otherwise. */
+    @Autowired(required = false)
+    private ImageDerivativeService imageDerivativeService;
+
+    public WriteBehindUploader(WriteBehindSpool spool,
+                               StorageService storageService,
+                               StudentSubmissionRepository submissionRepository,
+                               StorageProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.spool = spool;
+        this.storageService = storageService;
+        this.submissionRepository = submissionRepository;
+        this.properties = properties.getWriteBehind();
+
+        Gauge.builder(SPOOLED_BYTES, spool, WriteBehindSpool::spooledBytes)
+                .description("Bytes waiting in the write-behind spool")
+                .register(meterRegistry);
+        this.uploaded = Counter.builder(UPLOADS).tag(TAG_OUTCOME, "success")
+                .description("Write-behind uploads attempted, by outcome")
+                .register(meterRegistry);
+        this.failed = Counter.builder(UPLOADS).tag(TAG_OUTCOME, "failure")
+                .description("Write-behind uploads attempted, by outcome")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${storage.write-behind.drain-interval-ms:2000}")
+    public void drain() {
+        Instant now = Instant.now();
+        int uploadedCount = 0;
+        for (WriteBehindSpool.Entry entry : spool.due(now, properties.getBatchSize())) {
+            if (upload(entry, now)) {
+                uploadedCount++;
+            }
+        }
+
+        int promoted = promoteStaged();
+        if (uploadedCount > 0 || promoted > 0) {
+            log.info("Write-behind drain: uploaded={} promoted={} spooledBytes={}",
+                    uploadedCount, promoted, spool.spooledBytes());
+        }
+    }
+
+    /**
+     * Makes a staged submission's images readable from storage right away and
+     * marks it hot on the given (managed) entity. Used when a staged submission
+     * must be readable before the next drain, e.g. for grading.
+     *
+     * <p>On the node that staged it, images still in the spool are uploaded
+     * now. Any other node cannot reach that spool: it marks the row hot only if
+     * every image is already in storage, and otherwise fails so the caller can
+     * retry after the owning node has drained it.
+     *
+     * @throws StorageException if an upload fails, or if the images are still
+     *         spooled on another node
+     */
+    public void flush(StudentSubmission submission) {
+        if (submission.getStorageTier() != StorageTier.STAGED) {
+            return;
+        }
+        List<String> keys = storageService.submissionImageKeys(submission);
+        if (spool.nodeId().equals(submission.getStagedBy())) {
+            for (String key : keys) {
+                Optional<WriteBehindSpool.Entry> entry = spool.find(key);
+                if (entry.isPresent()) {
+                    Optional<byte[]> content = spool.read(entry.get());
+                    if (content.isPresent()) {
+                        storageService.uploadTo(key, content.get(), entry.get().contentType());
+                        uploaded.increment();
+                    }
+                    spool.remove(key);
+                    afterUpload(key);
+                }
+            }
+        } else if (!keys.stream().allMatch(storageService::exists)) {
+            throw new StorageException("FLUSH", "Submission " + submission.getId()
+                    + " is still spooled on node " + submission.getStagedBy() + "; retry once it is uploaded");
+        }
+        submission.setStorageTier(StorageTier.HOT);
+        submission.setStagedBy(null);
+    }
+
+    private boolean upload(WriteBehindSpool.Entry entry, Instant now) {
+        try {
+            Optional<byte[]> content = spool.read(entry);
+            if (content.isEmpty()) {
+                return false;
+            }
+            storageService.uploadTo(entry.key(), content.get(), entry.contentType());
+            spool.remove(entry.key());
+            uploaded.increment();
+            afterUpload(entry.key());
+            return true;
+        } catch (RuntimeException e) {
+            failed.increment();
+            Duration backoff = backoff(entry.attempts());
+            spool.reschedule(entry, now.plus(backoff));
+            log.warn("Write-behind upload failed for key={} (attempt {}); retrying in {}: {}",
+                    entry.key(), entry.attempts() + 1, backoff, e.getMessage());
+            return false;
+        }
+    }
+
+    private int promoteStaged() {
+        int promoted = 0;
+        List<StudentSubmission> staged = submissionRepository.findStaged(
+                spool.nodeId(), PageRequest.of(0, properties.getBatchSize()));
+        for (StudentSubmission submission : staged) {
+            boolean pending = submission.getStagedBy() != null
+                    ? storageService.submissionImageKeys(submission).stream().anyMatch(spool::contains)
+                    : !storageService.submissionImageKeys(submission).stream().allMatch(storageService::exists);
+            if (!pending) {
+                promoted += submissionRepository.markStored(submission.getId());
+            }
+        }
+        return promoted;
+    }
+
+    private void afterUpload(String key) {
+        if (imageDerivativeService != null) {
+            imageDerivativeService.generateAsync(key);
+        }
+    }
+
+    Duration backoff(int attempts) {
+        long initial = properties.getInitialBackoffMs();
+        long delay = initial << Math.min(attempts, 30);
+        if (delay <= 0 || delay > properties.getMaxBackoffMs()) {
+            delay = properties.getMaxBackoffMs();
+        }
+        return Duration.ofMillis(delay);
+    }
+}
@@ -3,7 +3,9 @@ package com.tracegrade.student;
 import com.tracegrade.dto.request.CreateStudentRequest;
 import com.tracegrade.dto.request.UpdateStudentRequest;
 import com.tracegrade.dto.response.ApiResponse;
+import com.tracegrade.dto.response.CursorPage;
 import com.tracegrade.dto.response.StudentResponse;
+import com.tracegrade.pagination.PageCursor;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,6 +13,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -40,22 +44,26 @@ public class StudentController {
 
     @Operation(
             summary = "List students for a school",
-            description = "Returns all students belonging to the specified school. Pass `includeInactive=true` to include deactivated records."
+            description = "Returns a page of the students belonging to the specified school, oldest first. Pass `includeInactive=true` to include deactivated records, and `nextCursor` as `cursor` for the next page."
     )
     @ApiResponses({
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Student list returned"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "School not found", content = @Content)
     })
     @GetMapping
-    public ResponseEntity<ApiResponse<List<StudentResponse>>> getStudents(
+    public ResponseEntity<ApiResponse<CursorPage<StudentResponse>>> getStudents(
             @Parameter(description = "UUID of the school", required = true)
             @PathVariable UUID schoolId,
             @Parameter(description = "When true, include deactivated students", required = false)
-            @RequestParam(defaultValue = "false") boolean includeInactive) {
+            @RequestParam(defaultValue = "false") boolean includeInactive,
+            @Parameter(description = "nextCursor of the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of items on the page (1-200)")
+            @RequestParam(defaultValue = PageCursor.DEFAULT_LIMIT) @Min(1) @Max(PageCursor.MAX_LIMIT) int limit) {
 
-        List<StudentResponse> students = includeInactive
-                ? studentService.getAllStudentsBySchool(schoolId)
-                : studentService.getActiveStudentsBySchool(schoolId);
+        CursorPage<StudentResponse> students = includeInactive
+                ? studentService.getAllStudentsBySchool(schoolId, cursor, limit)
+                : studentService.getActiveStudentsBySchool(schoolId, cursor, limit);
 
         return ResponseEntity.ok(ApiResponse.success(students));
     }
@@ -1,22 +1,24 @@
 package com.tracegrade.student;
 
+import com.tracegrade.dashboard.DashboardStatsChangedEvent;
 import com.tracegrade.domain.model.School;
 import com.tracegrade.domain.model.Student;
 import com.tracegrade.domain.repository.SchoolRepository;
 import com.tracegrade.domain.repository.StudentRepository;
 import com.tracegrade.dto.request.CreateStudentRequest;
 import com.tracegrade.dto.request.UpdateStudentRequest;
+import com.tracegrade.dto.response.CursorPage;
 import com.tracegrade.dto.response.StudentResponse;
 import com.tracegrade.exception.DuplicateResourceException;
 import com.tracegrade.exception.ResourceNotFoundException;
+import com.tracegrade.pagination.PageCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -26,21 +28,22 @@ public class StudentService {
 
     private final StudentRepository studentRepository;
     private final SchoolRepository schoolRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
-    public List<StudentResponse> getActiveStudentsBySchool(UUID schoolId) {
+    public CursorPage<StudentResponse> getActiveStudentsBySchool(UUID schoolId, String cursor, int limit) {
         requireSchoolExists(schoolId);
-        return studentRepository.findBySchoolIdAndIsActiveTrue(schoolId).stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        PageCursor after = PageCursor.decode(cursor, PageCursor.BEFORE_ALL);
+        return CursorPage.of(studentRepository.findActivePageBySchoolId(
+                schoolId, after.createdAt(), after.id(), PageCursor.fetch(limit)), limit, this::toResponse);
     }
 
     @Transactional(readOnly = true)
-    public List<StudentResponse> getAllStudentsBySchool(UUID schoolId) {
+    public CursorPage<StudentResponse> getAllStudentsBySchool(UUID schoolId, String cursor, int limit) {
         requireSchoolExists(schoolId);
-        return studentRepository.findBySchoolId(schoolId).stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        PageCursor after = PageCursor.decode(cursor, PageCursor.BEFORE_ALL);
+        return CursorPage.of(studentRepository.findPageBySchoolId(
+                schoolId, after.createdAt(), after.id(), PageCursor.fetch(limit)), limit, this::toResponse);
     }
 
     @Transactional(readOnly = true)
@@ -71,7 +74,9 @@ public class StudentService {
                 .build();
 
         log.info("Creating student: email={}, schoolId={}", request.getEmail(), request.getSchoolId());
-        return toResponse(studentRepository.save(student));
+        Student saved = studentRepository.save(student);
+        eventPublisher.publishEvent(new DashboardStatsChangedEvent(request.getSchoolId()));
+        return toResponse(saved);
     }
 
     @Transactional
@@ -94,10 +99,15 @@ public class StudentService {
 
         if (request.getFirstName() != null) student.setFirstName(request.getFirstName());
         if (request.getLastName() != null)  student.setLastName(request.getLastName());
+        boolean activeChanged = request.getIsActive() != null && !request.getIsActive().equals(student.getIsActive());
         if (request.getIsActive() != null)  student.setIsActive(request.getIsActive());
 
         log.info("Updating student {}", studentId);
-        return toResponse(studentRepository.save(student));
+        Student saved = studentRepository.save(student);
+        if (activeChanged) {
+            eventPublisher.publishEvent(new DashboardStatsChangedEvent(schoolId));
+        }
+        return toResponse(saved);
     }
 
     @Transactional
@@ -106,6 +116,7 @@ public class StudentService {
         log.info("Deactivating student {}", studentId);
         student.setIsActive(false);
         studentRepository.save(student);
+        eventPublisher.publishEvent(new DashboardStatsChangedEvent(schoolId));
     }
 
     // ---- helpers ----
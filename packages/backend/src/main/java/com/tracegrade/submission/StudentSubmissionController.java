@@ -12,10 +12,12 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -127,4 +129,46 @@ public class StudentSubmissionController {
         SubmissionStatusResponse response = submissionService.updateStatus(submissionId, request.getStatus());
         return ResponseEntity.ok(ApiResponse.success(response));
     }
+
+    @Operation(
+            summary = "Replace the image of a submission",
+            description = "Stores a new exam image (JPEG, PNG, PDF, or HEIC; max 10 MB) for an existing submission "
+                    + "and releases the file it replaces. Submissions that are being or have been graded "
+                    + "cannot be replaced."
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Image replaced"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid file type or size exceeded", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Submission not found", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Submission is being or has been graded", content = @Content)
+    })
+    @PutMapping(value = "/{submissionId}/image", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<FileUploadResponse>> replaceImage(
+            @Parameter(description = "UUID of the submission", required = true)
+            @PathVariable UUID submissionId,
+            @Parameter(description = "Exam image file (JPEG, PNG, PDF, or HEIC; max 10 MB)", required = true)
+            @RequestPart("file") @ValidFileUpload MultipartFile file) {
+
+        FileUploadResponse response = uploadService.replaceImage(submissionId, file);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @Operation(
+            summary = "Delete a submission",
+            description = "Deletes a submission and its grading result, and releases its stored files. "
+                    + "The school's dashboard statistics drop the result, and the student's grade on the "
+                    + "assignment is re-posted from the remaining results or removed."
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "204", description = "Submission deleted"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Submission not found", content = @Content)
+    })
+    @DeleteMapping("/{submissionId}")
+    public ResponseEntity<Void> deleteSubmission(
+            @Parameter(description = "UUID of the submission to delete", required = true)
+            @PathVariable UUID submissionId) {
+
+        uploadService.deleteSubmission(submissionId);
+        return ResponseEntity.noContent().build();
+    }
 }
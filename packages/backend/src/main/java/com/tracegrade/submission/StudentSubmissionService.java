@@ -25,14 +25,14 @@ public class StudentSubmissionService {
 
     @Transactional(readOnly = true)
     public SubmissionStatusResponse getSubmission(UUID submissionId) {
-        StudentSubmission submission = submissionRepository.findById(submissionId)
+        StudentSubmission submission = submissionRepository.findWithGradingResultById(submissionId)
                 .orElseThrow(() -> new ResourceNotFoundException("StudentSubmission", submissionId));
         return toStatusResponse(submission);
     }
 
     @Transactional
     public SubmissionStatusResponse updateStatus(UUID submissionId, SubmissionStatus newStatus) {
-        StudentSubmission submission = submissionRepository.findById(submissionId)
+        StudentSubmission submission = submissionRepository.findWithGradingResultById(submissionId)
                 .orElseThrow(() -> new ResourceNotFoundException("StudentSubmission", submissionId));
 
         log.info("Updating submission {} status from {} to {}", submissionId, submission.getStatus(), newStatus);
@@ -0,0 +1,10 @@
+package com.tracegrade.submission;
+
+import java.util.UUID;
+
+public class SubmissionAlreadyGradedException extends RuntimeException {
+
+    public SubmissionAlreadyGradedException(UUID submissionId) {
+        super("Submission " + submissionId + " is being or has been graded; its image can no longer be replaced");
+    }
+}
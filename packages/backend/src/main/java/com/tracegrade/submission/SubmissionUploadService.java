@@ -2,21 +2,35 @@ package com.tracegrade.submission;
 
 import java.io.IOException;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.tracegrade.dashboard.SchoolGradingStatsService;
+import com.tracegrade.domain.model.GradingResult;
+import com.tracegrade.domain.model.StorageTier;
 import com.tracegrade.domain.model.StudentSubmission;
 import com.tracegrade.domain.model.SubmissionStatus;
+import com.tracegrade.domain.repository.GradingResultRepository;
 import com.tracegrade.domain.repository.StudentSubmissionRepository;
 import com.tracegrade.dto.response.BatchUploadResponse;
 import com.tracegrade.dto.response.FileUploadResponse;
+import com.tracegrade.exception.ResourceNotFoundException;
 import com.tracegrade.exception.StorageException;
+import com.tracegrade.gradebook.GradePostingService;
+import com.tracegrade.storage.ContentAddressedStorageService;
+import com.tracegrade.storage.ImageDerivativeService;
 import com.tracegrade.storage.StorageService;
 import com.tracegrade.storage.StorageType;
+import com.tracegrade.storage.WriteBehindSpool;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -24,42 +38,277 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@SuppressWarnings("null") // UUID path params are guaranteed non-null by Spring MVC before reaching findById()
 public class SubmissionUploadService {
 
     private final StorageService storageService;
     private final StudentSubmissionRepository submissionRepository;
+    private final GradingResultRepository gradingResultRepository;
+    private final SchoolGradingStatsService schoolGradingStatsService;
+    private final GradePostingService gradePostingService;
+    private final TransactionTemplate transactionTemplate;
 
-    @Transactional
+    /** Injected only when storage.dedup.enabled=true; null otherwise (one object per upload). */
+    @Autowired(required = false)
+    private ContentAddressedStorageService contentAddressedStorageService;
+
+    /** Injected only when storage.derivatives.enabled=true; null otherwise (no thumbnails/previews). */
+    @Autowired(required = false)
+    private ImageDerivativeService imageDerivativeService;
+
+    /** Injected only when storage.write-behind.enabled=true; null otherwise (uploads are written through). */
+    @Autowired(required = false)
+    private WriteBehindSpool writeBehindSpool;
+
+    /** Where one uploaded file ended up. {@code contentHash} is set only for deduplicated blobs. */
+    private record StoredFile(String storageKey, String contentHash, StorageTier storageTier) {
+    }
+
+    /** An uploaded file read into memory; {@code stored} is null until it has been placed in storage. */
+    private record PendingFile(String filename, byte[] content, String contentType, StoredFile stored) {
+    }
+
+    /**
+     * Stores one uploaded file and creates its submission row. See
+     * {@link #uploadBatch} for how storage I/O and the transaction are split.
+     */
     public FileUploadResponse uploadSingle(UUID assignmentId, UUID studentId, MultipartFile file) {
+        return upload(assignmentId, studentId, List.of(file)).get(0);
+    }
+
+    /**
+     * Stores the uploaded files and creates one submission row per file. Spooled
+     * and plain uploads are written before the transaction opens, so no database
+     * connection is held while bytes travel to storage. Deduplicated blobs are
+     * stored inside the transaction, so each blob's reference count and the row
+     * holding the reference commit or roll back together. Either all rows are
+     * created or none are; spooled files of a failed batch are discarded.
+     */
+    public BatchUploadResponse uploadBatch(UUID assignmentId, UUID studentId, List<MultipartFile> files) {
+        List<FileUploadResponse> results = upload(assignmentId, studentId, files);
+
+        return BatchUploadResponse.builder()
+                .submissions(results)
+                .totalFiles(files.size())
+                .successfulUploads(results.size())
+                .build();
+    }
+
+    private List<FileUploadResponse> upload(UUID assignmentId, UUID studentId, List<MultipartFile> files) {
+        List<PendingFile> pending = new ArrayList<>();
+        for (MultipartFile file : files) {
+            log.info("Uploading submission for assignmentId={} studentId={} fileName={}",
+                    assignmentId, studentId, file.getOriginalFilename());
+            pending.add(place(file.getOriginalFilename(), readContent(file), contentType(file)));
+        }
+
+        List<StoredFile> stored = new ArrayList<>();
+        List<FileUploadResponse> results;
+        try {
+            results = transactionTemplate.execute(status -> pending.stream()
+                    .map(file -> {
+                        StoredFile placed = store(file);
+                        stored.add(placed);
+                        String fileUrl = storageService.getPublicUrl(placed.storageKey());
+                        StudentSubmission saved = submissionRepository.save(StudentSubmission.builder()
+                                .assignmentId(assignmentId)
+                                .studentId(studentId)
+                                .submissionImageUrls("[\"" + fileUrl + "\"]")
+                                .originalFormat(extractFormat(file.filename()))
+                                .status(SubmissionStatus.PENDING)
+                                .submittedAt(Instant.now())
+                                .contentHash(placed.contentHash())
+                                .storageTier(placed.storageTier())
+                                .stagedBy(stagedBy(placed))
+                                .build());
+                        log.info("Submission created id={}", saved.getId());
+                        return toUploadResponse(saved, fileUrl, file.filename());
+                    })
+                    .toList());
+        } catch (RuntimeException e) {
+            pending.forEach(file -> discardStaged(file.stored()));
+            throw e;
+        }
+
+        stored.forEach(this::generateDerivatives);
+        return results;
+    }
+
+    /**
+     * Replaces the image of a submission with a newly uploaded file. The new file
+     * is written before the transaction opens, as in {@link #uploadBatch}; the
+     * files the submission pointed at before are released in the same
+     * transaction as the row update (see {@link #releaseFiles}).
+     *
+     * <p>Only submissions that are not being graded and have no grading result
+     * can be replaced; the result, its question scores and any posted grade
+     * would otherwise describe an image the submission no longer has. The row
+     * is locked while this is checked, so grading cannot start in between.
+     *
+     * @throws SubmissionAlreadyGradedException if grading has started or finished
+     */
+    public FileUploadResponse replaceImage(UUID submissionId, MultipartFile file) {
+        requireReplaceable(submissionRepository.findById(submissionId)
+                .orElseThrow(() -> new ResourceNotFoundException("StudentSubmission", submissionId)));
         String originalFilename = file.getOriginalFilename();
-        String format = extractFormat(originalFilename);
-        String contentType = file.getContentType() != null ? file.getContentType() : "application/octet-stream";
 
-        byte[] content;
+        log.info("Replacing image of submission id={} fileName={}", submissionId, originalFilename);
+
+        PendingFile pending = place(originalFilename, readContent(file), contentType(file));
+
+        StoredFile[] stored = new StoredFile[1];
+        FileUploadResponse response;
         try {
-            content = file.getBytes();
-        } catch (IOException e) {
-            throw new StorageException("upload", "Failed to read uploaded file: " + e.getMessage(), e);
+            response = transactionTemplate.execute(status -> {
+                StudentSubmission submission = submissionRepository.findByIdForUpdate(submissionId)
+                        .orElseThrow(() -> new ResourceNotFoundException("StudentSubmission", submissionId));
+                requireReplaceable(submission);
+                stored[0] = store(pending);
+                String fileUrl = storageService.getPublicUrl(stored[0].storageKey());
+                releaseFiles(submission);
+                submission.setSubmissionImageUrls("[\"" + fileUrl + "\"]");
+                submission.setOriginalFormat(extractFormat(originalFilename));
+                submission.setContentHash(stored[0].contentHash());
+                submission.setStorageTier(stored[0].storageTier());
+                submission.setStagedBy(stagedBy(stored[0]));
+                return toUploadResponse(submissionRepository.saveAndFlush(submission), fileUrl, originalFilename);
+            });
+        } catch (RuntimeException e) {
+            discardStaged(pending.stored());
+            throw e;
         }
 
-        log.info("Uploading submission for assignmentId={} studentId={} fileName={}", assignmentId, studentId, originalFilename);
+        generateDerivatives(stored[0]);
+        return response;
+    }
 
-        String storageKey = storageService.upload(StorageType.SUBMISSION_IMAGE, originalFilename, content, contentType);
-        String fileUrl = storageService.getPublicUrl(storageKey);
+    private void requireReplaceable(StudentSubmission submission) {
+        if (submission.getStatus() == SubmissionStatus.PROCESSING
+                || gradingResultRepository.existsBySubmissionId(submission.getId())) {
+            throw new SubmissionAlreadyGradedException(submission.getId());
+        }
+    }
 
-        Instant now = Instant.now();
-        StudentSubmission submission = StudentSubmission.builder()
-                .assignmentId(assignmentId)
-                .studentId(studentId)
-                .submissionImageUrls("[\"" + fileUrl + "\"]")
-                .originalFormat(format)
-                .status(SubmissionStatus.PENDING)
-                .submittedAt(now)
-                .build();
+    /**
+     * Deletes a submission, together with its grading result, and releases the
+     * files it points at (see {@link #releaseFiles}). A deleted result is taken
+     * out of the school's dashboard statistics, and the student's grade on the
+     * assignment is re-posted from the results that remain, or removed if none
+     * do, all in the same transaction.
+     */
+    @Transactional
+    public void deleteSubmission(UUID submissionId) {
+        StudentSubmission submission = submissionRepository.findById(submissionId)
+                .orElseThrow(() -> new ResourceNotFoundException("StudentSubmission", submissionId));
 
-        StudentSubmission saved = submissionRepository.save(submission);
-        log.info("Submission created id={}", saved.getId());
+        log.info("Deleting submission id={}", submissionId);
+        GradingResult result = submission.getGradingResult();
+        if (result != null) {
+            schoolGradingStatsService.recordRemoved(submission.getStudentId(), result);
+        }
+        releaseFiles(submission);
+        submissionRepository.delete(submission);
+        if (result != null) {
+            submissionRepository.flush();
+            gradePostingService.repostAfterRemoval(submission.getStudentId(), submission.getAssignmentId());
+        }
+    }
+
+    /**
+     * Writes a file to the spool or to storage, outside any transaction.
+     * Deduplicated files are left for {@link #store}, which needs the caller's
+     * transaction for the blob's reference count.
+     */
+    private PendingFile place(String originalFilename, byte[] content, String contentType) {
+        StoredFile stored = null;
+        if (contentAddressedStorageService == null && writeBehindSpool != null) {
+            String storageKey = storageService.generateKey(StorageType.SUBMISSION_IMAGE, originalFilename);
+            if (writeBehindSpool.stage(storageKey, content, contentType)) {
+                stored = new StoredFile(storageKey, null, StorageTier.STAGED);
+            } else {
+                storageService.uploadTo(storageKey, content, contentType);
+                stored = new StoredFile(storageKey, null, StorageTier.HOT);
+            }
+        } else if (contentAddressedStorageService == null) {
+            String storageKey = storageService.upload(StorageType.SUBMISSION_IMAGE, originalFilename, content, contentType);
+            stored = new StoredFile(storageKey, null, StorageTier.HOT);
+        }
+        return new PendingFile(originalFilename, content, contentType, stored);
+    }
+
+    private StoredFile store(PendingFile file) {
+        if (file.stored() != null) {
+            return file.stored();
+        }
+        ContentAddressedStorageService.StoredBlob blob =
+                contentAddressedStorageService.store(file.content(), file.contentType());
+        return new StoredFile(blob.storageKey(), blob.contentHash(), StorageTier.HOT);
+    }
+
+    private String stagedBy(StoredFile stored) {
+        return stored.storageTier() == StorageTier.STAGED ? writeBehindSpool.nodeId() : null;
+    }
+
+    private void generateDerivatives(StoredFile stored) {
+        if (imageDerivativeService != null && stored.storageTier() != StorageTier.STAGED) {
+            imageDerivativeService.generateAsync(stored.storageKey());
+        }
+    }
+
+    private void discardStaged(StoredFile stored) {
+        if (stored != null && stored.storageTier() == StorageTier.STAGED) {
+            writeBehindSpool.remove(stored.storageKey());
+        }
+    }
 
+    /**
+     * Drops the submission's hold on the files it points at. A deduplicated hot
+     * blob loses one reference in the caller's transaction and is left to
+     * {@link com.tracegrade.storage.StorageBlobGarbageCollector}; a rolled-back
+     * caller keeps the reference. Objects the submission owns outright, and
+     * their derivatives, are deleted only once the caller commits. Cold copies of deduplicated blobs are
+     * never deleted here, because other archived submissions may share them.
+     */
+    private void releaseFiles(StudentSubmission submission) {
+        List<String> keys = storageService.submissionImageKeys(submission);
+        if (submission.getContentHash() != null) {
+            if (submission.getStorageTier() == StorageTier.COLD) {
+                return;
+            }
+            if (contentAddressedStorageService == null) {
+                log.warn("Deduplication disabled; leaving blob reference of submission id={} in place", submission.getId());
+                return;
+            }
+            keys.forEach(contentAddressedStorageService::release);
+            return;
+        }
+
+        Runnable delete = () -> keys.forEach(key -> {
+            if (writeBehindSpool != null) {
+                writeBehindSpool.remove(key);
+            }
+            try {
+                storageService.delete(key);
+            } catch (StorageException e) {
+                log.warn("Failed to delete released object key={}: {}", key, e.getMessage());
+            }
+            if (imageDerivativeService != null) {
+                imageDerivativeService.deleteDerivatives(key);
+            }
+        });
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    delete.run();
+                }
+            });
+        } else {
+            delete.run();
+        }
+    }
+
+    private FileUploadResponse toUploadResponse(StudentSubmission saved, String fileUrl, String originalFilename) {
         return FileUploadResponse.builder()
                 .submissionId(saved.getId())
                 .fileUrl(fileUrl)
@@ -69,17 +318,16 @@ public class SubmissionUploadService {
                 .build();
     }
 
-    @Transactional
-    public BatchUploadResponse uploadBatch(UUID assignmentId, UUID studentId, List<MultipartFile> files) {
-        List<FileUploadResponse> results = files.stream()
-                .map(file -> uploadSingle(assignmentId, studentId, file))
-                .toList();
+    private static byte[] readContent(MultipartFile file) {
+        try {
+            return file.getBytes();
+        } catch (IOException e) {
+            throw new StorageException("upload", "Failed to read uploaded file: " + e.getMessage(), e);
+        }
+    }
 
-        return BatchUploadResponse.builder()
-                .submissions(results)
-                .totalFiles(files.size())
-                .successfulUploads(results.size())
-                .build();
+    private static String contentType(MultipartFile file) {
+        return file.getContentType() != null ? file.getContentType() : "application/octet-stream";
     }
 
     private String extractFormat(String filename) {
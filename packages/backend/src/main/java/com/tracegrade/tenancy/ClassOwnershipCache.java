@@ -0,0 +1,70 @@
+package com.tracegrade.tenancy;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.tracegrade.domain.repository.ClassOwnership;
+import com.tracegrade.domain.repository.ClassRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Short-lived node-local cache of which school and teacher each class belongs
+ * to, so school-scoped calls do not look the class up on every request.
+ *
+ * <p>A class's school and teacher cannot change, so an entry only goes stale
+ * when the class is deleted; it then lingers for at most
+ * {@code tenancy.class-cache-ttl-seconds}. Unknown classes are not cached, so a
+ * new class is visible immediately. Statistics are published under the
+ * {@code cache.*} meters with {@code cache=tenancy.classOwnership}.
+ */
+@Component
+public class ClassOwnershipCache {
+
+    static final String CACHE_NAME = "tenancy.classOwnership";
+
+    private final ClassRepository classRepository;
+    private final Cache<UUID, ClassOwnership> owners;
+
+    @Autowired
+    public ClassOwnershipCache(ClassRepository classRepository, TenancyProperties properties,
+                               MeterRegistry meterRegistry) {
+        this(classRepository, properties, meterRegistry, Ticker.systemTicker());
+    }
+
+    ClassOwnershipCache(ClassRepository classRepository, TenancyProperties properties,
+                        MeterRegistry meterRegistry, Ticker ticker) {
+        this.classRepository = classRepository;
+        this.owners = Caffeine.newBuilder()
+                .maximumSize(properties.getClassCacheMaxSize())
+                .expireAfterWrite(Duration.ofSeconds(properties.getClassCacheTtlSeconds()))
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, owners, CACHE_NAME);
+    }
+
+    /** The class's school and teacher, or empty if the class does not exist. */
+    public Optional<ClassOwnership> find(UUID classId) {
+        ClassOwnership cached = owners.getIfPresent(classId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<ClassOwnership> loaded = classRepository.findOwnershipById(classId);
+        loaded.ifPresent(ownership -> owners.put(classId, ownership));
+        return loaded;
+    }
+
+    /** Forgets a class, e.g. after it has been deleted. */
+    public void evict(UUID classId) {
+        owners.invalidate(classId);
+    }
+}
@@ -0,0 +1,51 @@
+package com.tracegrade.tenancy;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import com.tracegrade.domain.repository.ClassOwnership;
+import com.tracegrade.exception.ResourceNotFoundException;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The school-scoped resources the current request has been checked against.
+ *
+ * <p>Services call {@link #requireClass} instead of querying the class
+ * themselves. The first check of a class in a request consults
+ * {@link ClassOwnershipCache}; later checks in the same request are answered
+ * from this context without touching the cache or the database.
+ *
+ * <p>Request scoped: only usable while serving an HTTP request.
+ */
+@Component
+@RequestScope
+@RequiredArgsConstructor
+public class TenancyContext {
+
+    private final ClassOwnershipCache classOwnershipCache;
+
+    private final Map<UUID, ClassOwnership> classes = new HashMap<>();
+
+    /**
+     * Returns the owner of a class, checking that it belongs to the given school.
+     *
+     * @throws ResourceNotFoundException if the class does not exist or belongs to another school
+     */
+    public ClassOwnership requireClass(UUID schoolId, UUID classId) {
+        ClassOwnership ownership = classes.get(classId);
+        if (ownership == null) {
+            ownership = classOwnershipCache.find(classId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Class", classId));
+            classes.put(classId, ownership);
+        }
+        if (!ownership.schoolId().equals(schoolId)) {
+            throw new ResourceNotFoundException("Class", classId);
+        }
+        return ownership;
+    }
+}
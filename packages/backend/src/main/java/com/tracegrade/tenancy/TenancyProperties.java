@@ -0,0 +1,18 @@
+package com.tracegrade.tenancy;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "tenancy")
+public class TenancyProperties {
+
+    /** How long a class's school and teacher are remembered, in seconds */
+    private long classCacheTtlSeconds = 30;
+
+    /** Maximum number of classes whose ownership is held per node */
+    private long classCacheMaxSize = 50_000;
+}
@@ -0,0 +1,11 @@
+-- Deletes a school's dashboard and bumps its generation, so a dashboard computed
+-- from data read before this eviction can no longer be stored.
+--
+-- KEYS[1]  dashboard key
+-- KEYS[2]  generation key
+-- ARGV[1]  generation TTL in milliseconds
+
+redis.call('DEL', KEYS[1])
+redis.call('INCR', KEYS[2])
+redis.call('PEXPIRE', KEYS[2], ARGV[1])
+return 1
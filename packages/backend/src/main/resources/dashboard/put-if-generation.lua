@@ -0,0 +1,16 @@
+-- Stores a computed dashboard unless the school was evicted since it was read.
+--
+-- KEYS[1]  dashboard key
+-- KEYS[2]  generation key, incremented by every eviction of the school
+-- ARGV[1]  dashboard JSON
+-- ARGV[2]  generation read before the dashboard was computed ('' if there was none)
+-- ARGV[3]  TTL in milliseconds
+--
+-- Returns 1 if the dashboard was stored, 0 if a newer eviction made it stale.
+
+local current = redis.call('GET', KEYS[2]) or ''
+if current ~= ARGV[2] then
+    return 0
+end
+redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[3])
+return 1
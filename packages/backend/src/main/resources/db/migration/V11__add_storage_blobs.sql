@@ -0,0 +1,30 @@
+-- Content-addressed storage: one row per distinct uploaded object, reference-counted
+-- so identical re-uploads share a single stored blob.
+
+CREATE TABLE storage_blobs (
+    id              UUID         PRIMARY KEY,
+    content_hash    VARCHAR(64)  NOT NULL,
+    storage_key     VARCHAR(500) NOT NULL,
+    content_type    VARCHAR(100),
+    size_bytes      BIGINT       NOT NULL,
+    ref_count       INTEGER      NOT NULL DEFAULT 1,
+    unreferenced_at TIMESTAMP,
+    created_at      TIMESTAMP    NOT NULL,
+    updated_at      TIMESTAMP    NOT NULL,
+    CONSTRAINT uq_storage_blobs_content_hash
+        UNIQUE (content_hash),
+    CONSTRAINT chk_storage_blobs_ref_count_non_negative
+        CHECK (ref_count >= 0)
+);
+
+CREATE INDEX idx_storage_blobs_storage_key ON storage_blobs(storage_key);
+
+-- Garbage collection scans only unreferenced blobs
+CREATE INDEX idx_storage_blobs_unreferenced
+    ON storage_blobs(unreferenced_at)
+    WHERE ref_count = 0;
+
+-- Lets grading and other caches key on the submission's content hash
+ALTER TABLE student_submissions ADD COLUMN content_hash VARCHAR(64);
+
+CREATE INDEX idx_student_submissions_content_hash ON student_submissions(content_hash);
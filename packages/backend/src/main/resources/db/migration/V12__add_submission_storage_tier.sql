@@ -0,0 +1,17 @@
+-- Storage tiering: reviewed submissions are moved to a cold tier by a background job
+
+ALTER TABLE student_submissions
+    ADD COLUMN storage_tier VARCHAR(10) NOT NULL DEFAULT 'HOT';
+
+ALTER TABLE student_submissions
+    ADD CONSTRAINT chk_student_submissions_storage_tier
+        CHECK (storage_tier IN ('HOT', 'COLD'));
+
+-- Lifecycle candidate scan: hot submissions in id order, joined to reviewed results
+CREATE INDEX idx_student_submissions_hot_id
+    ON student_submissions(id)
+    WHERE storage_tier = 'HOT';
+
+CREATE INDEX idx_grading_results_reviewed_at
+    ON grading_results(reviewed_at)
+    WHERE reviewed_at IS NOT NULL;
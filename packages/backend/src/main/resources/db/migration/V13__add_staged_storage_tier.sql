@@ -0,0 +1,13 @@
+-- Write-behind uploads: submissions accepted into the local spool are STAGED until uploaded
+
+ALTER TABLE student_submissions
+    DROP CONSTRAINT chk_student_submissions_storage_tier;
+
+ALTER TABLE student_submissions
+    ADD CONSTRAINT chk_student_submissions_storage_tier
+        CHECK (storage_tier IN ('HOT', 'COLD', 'STAGED'));
+
+-- Reconciliation scan: the staged set is tiny and short-lived
+CREATE INDEX idx_student_submissions_staged_submitted_at
+    ON student_submissions(submitted_at)
+    WHERE storage_tier = 'STAGED';
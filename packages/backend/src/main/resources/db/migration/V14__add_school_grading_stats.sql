@@ -0,0 +1,39 @@
+-- Dashboard statistics maintained incrementally as grading results are created
+-- and reviewed, so the dashboard no longer scans a school's grading history.
+
+CREATE TABLE school_grading_stats (
+    school_id       UUID           PRIMARY KEY REFERENCES schools(id) ON DELETE CASCADE,
+    graded_count    BIGINT         NOT NULL DEFAULT 0,
+    pending_reviews BIGINT         NOT NULL DEFAULT 0,
+    score_sum       NUMERIC(18, 2) NOT NULL DEFAULT 0,
+    score_count     BIGINT         NOT NULL DEFAULT 0,
+    updated_at      TIMESTAMP      NOT NULL
+);
+
+-- Results graded per school and UTC day, for "graded this week"
+CREATE TABLE school_grading_days (
+    school_id    UUID   NOT NULL REFERENCES schools(id) ON DELETE CASCADE,
+    graded_on    DATE   NOT NULL,
+    graded_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (school_id, graded_on)
+);
+
+-- Backfill from existing results
+INSERT INTO school_grading_stats (school_id, graded_count, pending_reviews, score_sum, score_count, updated_at)
+SELECT s.school_id,
+       COUNT(gr.id),
+       SUM(CASE WHEN gr.needs_review = TRUE AND gr.reviewed_at IS NULL THEN 1 ELSE 0 END),
+       COALESCE(SUM(COALESCE(gr.final_score, gr.ai_score)), 0),
+       COUNT(COALESCE(gr.final_score, gr.ai_score)),
+       CURRENT_TIMESTAMP
+FROM grading_results gr
+INNER JOIN student_submissions ss ON ss.id = gr.submission_id
+INNER JOIN students s ON s.id = ss.student_id
+GROUP BY s.school_id;
+
+INSERT INTO school_grading_days (school_id, graded_on, graded_count)
+SELECT s.school_id, CAST(gr.created_at AS DATE), COUNT(gr.id)
+FROM grading_results gr
+INNER JOIN student_submissions ss ON ss.id = gr.submission_id
+INNER JOIN students s ON s.id = ss.student_id
+GROUP BY s.school_id, CAST(gr.created_at AS DATE);
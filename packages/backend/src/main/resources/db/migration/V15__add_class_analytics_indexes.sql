@@ -0,0 +1,13 @@
+-- Indexes for the per-class analytics query and the dashboard class count.
+-- The analytics query walks assignments -> submissions -> grading results of
+-- one class; these let each step be answered from the index alone.
+
+CREATE INDEX idx_student_submissions_assignment_id
+    ON student_submissions (assignment_id, id);
+
+CREATE INDEX idx_grading_results_submission_scores
+    ON grading_results (submission_id)
+    INCLUDE (final_score, ai_score, needs_review, reviewed_at, created_at);
+
+CREATE INDEX idx_classes_school_active
+    ON classes (school_id, is_active);
@@ -0,0 +1,54 @@
+-- Per-student, per-category running grade totals, updated as grades change so
+-- a student's course grade is read in O(categories) instead of O(assignments).
+-- lowest_scores holds the category's drop_lowest lowest grades by percentage,
+-- as 'assignmentId=earned/possible' entries separated by ';', lowest first.
+
+CREATE TABLE student_category_aggregates (
+    id            UUID           PRIMARY KEY,
+    class_id      UUID           NOT NULL,
+    category_id   UUID           NOT NULL,
+    student_id    UUID           NOT NULL,
+    earned_sum    NUMERIC(12, 2) NOT NULL DEFAULT 0,
+    possible_sum  NUMERIC(12, 2) NOT NULL DEFAULT 0,
+    graded_count  INTEGER        NOT NULL DEFAULT 0,
+    lowest_scores TEXT           NOT NULL DEFAULT '',
+    created_at    TIMESTAMP      NOT NULL,
+    updated_at    TIMESTAMP      NOT NULL,
+    CONSTRAINT fk_student_category_aggregates_category
+        FOREIGN KEY (category_id) REFERENCES grade_categories(id) ON DELETE CASCADE,
+    CONSTRAINT fk_student_category_aggregates_student
+        FOREIGN KEY (student_id) REFERENCES students(id) ON DELETE CASCADE,
+    CONSTRAINT uq_student_category_aggregates
+        UNIQUE (student_id, category_id)
+);
+
+CREATE INDEX idx_student_category_aggregates_class_student
+    ON student_category_aggregates(class_id, student_id);
+
+-- Backfill from existing grades: missing work counts as zero, excused and
+-- ungraded work and unpublished assignments do not count.
+INSERT INTO student_category_aggregates
+    (id, class_id, category_id, student_id, earned_sum, possible_sum, graded_count, lowest_scores,
+     created_at, updated_at)
+SELECT gen_random_uuid(), t.class_id, t.category_id, t.student_id,
+       SUM(t.earned), SUM(t.possible), COUNT(*),
+       COALESCE(STRING_AGG(CASE WHEN t.rank_in_category <= t.drop_lowest
+                                THEN t.assignment_id || '=' || t.earned || '/' || t.possible END,
+                           ';' ORDER BY t.rank_in_category), ''),
+       CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+FROM (
+    SELECT a.class_id, a.category_id, g.student_id, g.assignment_id, gc.drop_lowest,
+           CASE WHEN g.status = 'MISSING' THEN 0 ELSE g.points_earned END AS earned,
+           a.max_points AS possible,
+           ROW_NUMBER() OVER (
+               PARTITION BY g.student_id, a.category_id
+               ORDER BY CASE WHEN g.status = 'MISSING' THEN 0 ELSE g.points_earned END / a.max_points,
+                        g.assignment_id) AS rank_in_category
+    FROM grades g
+    INNER JOIN assignments a ON a.id = g.assignment_id
+    INNER JOIN grade_categories gc ON gc.id = a.category_id
+    WHERE a.is_published = TRUE
+      AND g.status <> 'EXCUSED'
+      AND (g.status = 'MISSING' OR g.points_earned IS NOT NULL)
+) t
+GROUP BY t.class_id, t.category_id, t.student_id;
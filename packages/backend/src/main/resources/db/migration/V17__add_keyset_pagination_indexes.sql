@@ -0,0 +1,28 @@
+-- Indexes for the keyset-paginated list endpoints. Each list is ordered by
+-- (created_at, id) within its scope, so every page is one index range scan
+-- starting at the cursor, however deep into the list it is. Newest-first
+-- lists scan the same indexes backwards.
+
+CREATE INDEX idx_students_school_created
+    ON students (school_id, created_at, id);
+
+CREATE INDEX idx_students_school_active_created
+    ON students (school_id, created_at, id)
+    WHERE is_active = TRUE;
+
+CREATE INDEX idx_exam_templates_teacher_created
+    ON exam_templates (teacher_id, created_at, id);
+
+CREATE INDEX idx_assignments_class_created
+    ON assignments (class_id, created_at, id);
+
+CREATE INDEX idx_class_enrollments_active_created
+    ON class_enrollments (class_id, created_at, id)
+    WHERE dropped_at IS NULL;
+
+CREATE INDEX idx_homework_school_created
+    ON homework (school_id, created_at, id);
+
+CREATE INDEX idx_grading_results_pending_review_created
+    ON grading_results (created_at, id)
+    WHERE needs_review = TRUE AND reviewed_at IS NULL;
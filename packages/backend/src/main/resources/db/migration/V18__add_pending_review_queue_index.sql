@@ -0,0 +1,10 @@
+-- School-scoped review queue. The pending-review partial index from V17
+-- serves the queue in (created_at, id) order when the school has many
+-- pending results; this one serves it from the other side, when the school
+-- or teacher is narrow and the planner starts from its students'
+-- submissions and looks up which of them still await review. Both stay
+-- small: a row leaves them as soon as it is reviewed.
+
+CREATE INDEX idx_grading_results_pending_review_submission
+    ON grading_results (submission_id) INCLUDE (created_at)
+    WHERE needs_review = TRUE AND reviewed_at IS NULL;
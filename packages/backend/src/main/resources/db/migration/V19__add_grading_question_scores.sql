@@ -0,0 +1,48 @@
+-- Per-question scores of a grading result, one row per question, so item
+-- analysis (the average on one question across a class, how often it was
+-- illegible) runs in SQL and a reviewer's change to one question updates one
+-- row. grading_results.question_scores keeps the document as graded.
+
+CREATE TABLE grading_question_scores (
+    id                UUID          PRIMARY KEY,
+    grading_result_id UUID          NOT NULL,
+    question_number   INTEGER       NOT NULL,
+    points_awarded    DECIMAL(10,2) NOT NULL,
+    points_available  DECIMAL(10,2) NOT NULL,
+    confidence_score  DECIMAL(5,2),
+    illegible         BOOLEAN       NOT NULL DEFAULT FALSE,
+    feedback          TEXT,
+    created_at        TIMESTAMP     NOT NULL,
+    updated_at        TIMESTAMP     NOT NULL,
+    CONSTRAINT fk_grading_question_scores_result
+        FOREIGN KEY (grading_result_id) REFERENCES grading_results(id) ON DELETE CASCADE,
+    CONSTRAINT uq_grading_question_scores_result_question
+        UNIQUE (grading_result_id, question_number)
+);
+
+-- Backfill from the stored documents. Documents that are not the graded
+-- array of question entries (e.g. free-form review JSON) are skipped.
+DO $$
+DECLARE
+    r RECORD;
+BEGIN
+    FOR r IN SELECT id, question_scores FROM grading_results LOOP
+        BEGIN
+            INSERT INTO grading_question_scores
+                (id, grading_result_id, question_number, points_awarded, points_available,
+                 confidence_score, illegible, feedback, created_at, updated_at)
+            SELECT gen_random_uuid(), r.id,
+                   (q ->> 'questionNumber')::INTEGER,
+                   (q ->> 'pointsAwarded')::DECIMAL(10,2),
+                   (q ->> 'pointsAvailable')::DECIMAL(10,2),
+                   (q ->> 'confidenceScore')::DECIMAL(5,2),
+                   COALESCE((q ->> 'illegible')::BOOLEAN, FALSE),
+                   q ->> 'feedback',
+                   CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+            FROM jsonb_array_elements(r.question_scores::jsonb) q
+            WHERE q ? 'questionNumber' AND q ? 'pointsAwarded' AND q ? 'pointsAvailable';
+        EXCEPTION WHEN others THEN
+            RAISE NOTICE 'Skipping question scores of grading result %', r.id;
+        END;
+    END LOOP;
+END $$;
@@ -0,0 +1,7 @@
+-- Write-behind uploads: the node whose local spool holds a STAGED submission's
+-- bytes. Only that node can upload them, so only it promotes the row to HOT.
+-- Rows staged before this column existed have no owner and are promoted by
+-- whichever node finds all of their objects in storage.
+
+ALTER TABLE student_submissions
+    ADD COLUMN staged_by VARCHAR(100);
@@ -0,0 +1,41 @@
+-- Atomic token bucket with greedy refill, shared by every node.
+--
+-- KEYS[1]  bucket key
+-- ARGV[1]  capacity (tokens)
+-- ARGV[2]  window: milliseconds for an empty bucket to refill completely
+-- ARGV[3]  tokens requested; fewer may be granted if fewer are available
+--
+-- Returns {granted, tokens left after the grant, ms until one token is available (0 if granted)}.
+-- Uses the Redis server clock so nodes with skewed clocks agree on refill.
+
+local capacity = tonumber(ARGV[1])
+local window_ms = tonumber(ARGV[2])
+local requested = tonumber(ARGV[3])
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+local tokens = tonumber(state[1])
+local ts = tonumber(state[2])
+if tokens == nil or ts == nil then
+    tokens = capacity
+    ts = now
+end
+
+local rate = capacity / window_ms
+tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate)
+
+local granted = math.min(requested, math.floor(tokens))
+tokens = tokens - granted
+
+redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now))
+-- An untouched bucket is full again after one window, so it can simply disappear
+redis.call('PEXPIRE', KEYS[1], window_ms)
+
+local wait_ms = 0
+if granted == 0 then
+    wait_ms = math.ceil((1 - tokens) / rate)
+end
+
+return {granted, math.floor(tokens), wait_ms}
@@ -0,0 +1,173 @@
+package com.tracegrade.analytics;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.tracegrade.config.CorsProperties;
+import com.tracegrade.config.CsrfAccessDeniedHandler;
+import com.tracegrade.config.CsrfProperties;
+import com.tracegrade.config.SecurityConfig;
+import com.tracegrade.config.SecurityHeadersProperties;
+import com.tracegrade.dto.response.AssignmentAnalyticsResponse;
+import com.tracegrade.dto.response.ClassAnalyticsResponse;
+import com.tracegrade.dto.response.QuestionAnalyticsResponse;
+import com.tracegrade.dto.response.ScoreAnalytics;
+import com.tracegrade.exception.ResourceNotFoundException;
+import com.tracegrade.filter.SanitizationProperties;
+import com.tracegrade.ratelimit.RateLimitProperties;
+import com.tracegrade.ratelimit.RateLimitService;
+
+@WebMvcTest(ClassAnalyticsController.class)
+@ActiveProfiles("test")
+@Import({SecurityConfig.class, SecurityHeadersProperties.class,
+         CsrfProperties.class, CsrfAccessDeniedHandler.class,
+         CorsProperties.class,
+         RateLimitProperties.class, SanitizationProperties.class})
+@TestPropertySource(properties = {
+        "security-headers.https-redirect-enabled=false",
+        "rate-limit.enabled=false",
+        "sanitization.enabled=false",
+        "csrf.enabled=false"
+})
+class ClassAnalyticsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ClassAnalyticsService classAnalyticsService;
+
+    @MockBean
+    private RateLimitService rateLimitService;
+
+    @Test
+    @DisplayName("GET class analytics returns 200 with class and assignment analytics")
+    void returnsAnalytics() throws Exception {
+        UUID schoolId = UUID.randomUUID();
+        UUID classId = UUID.randomUUID();
+        ScoreAnalytics scores = ScoreAnalytics.builder()
+                .resultCount(3)
+                .scoredCount(3)
+                .averageScore(new BigDecimal("80.0"))
+                .medianScore(new BigDecimal("85.0"))
+                .pendingReviews(1)
+                .gradedLast7Days(2)
+                .histogram(List.of(0L, 0L, 0L, 0L, 0L, 0L, 1L, 0L, 2L, 0L))
+                .build();
+        when(classAnalyticsService.getClassAnalytics(schoolId, classId)).thenReturn(ClassAnalyticsResponse.builder()
+                .classId(classId)
+                .scores(scores)
+                .assignments(List.of(AssignmentAnalyticsResponse.builder()
+                        .assignmentId(UUID.randomUUID())
+                        .name("Quiz 1")
+                        .scores(scores)
+                        .build()))
+                .build());
+
+        mockMvc.perform(get("/api/schools/{schoolId}/classes/{classId}/analytics", schoolId, classId)
+                        .with(user(schoolId.toString())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success", is(true)))
+                .andExpect(jsonPath("$.data.classId", is(classId.toString())))
+                .andExpect(jsonPath("$.data.scores.medianScore", is(85.0)))
+                .andExpect(jsonPath("$.data.scores.histogram", hasSize(10)))
+                .andExpect(jsonPath("$.data.assignments[0].name", is("Quiz 1")))
+                .andExpect(jsonPath("$.data.assignments[0].scores.pendingReviews", is(1)));
+
+        verify(classAnalyticsService).getClassAnalytics(schoolId, classId);
+    }
+
+    @Test
+    @DisplayName("GET class analytics returns 401 when unauthenticated")
+    void returnsUnauthorizedWhenUnauthenticated() throws Exception {
+        mockMvc.perform(get("/api/schools/{schoolId}/classes/{classId}/analytics", UUID.randomUUID(), UUID.randomUUID()))
+                .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(classAnalyticsService);
+    }
+
+    @Test
+    @DisplayName("GET class analytics returns 403 when authenticated as different school")
+    void returnsForbiddenForOtherSchool() throws Exception {
+        mockMvc.perform(get("/api/schools/{schoolId}/classes/{classId}/analytics", UUID.randomUUID(), UUID.randomUUID())
+                        .with(user(UUID.randomUUID().toString())))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(classAnalyticsService);
+    }
+
+    @Test
+    @DisplayName("GET class analytics returns 404 when class not found")
+    void returnsNotFoundForMissingClass() throws Exception {
+        UUID schoolId = UUID.randomUUID();
+        UUID classId = UUID.randomUUID();
+        when(classAnalyticsService.getClassAnalytics(schoolId, classId))
+                .thenThrow(new ResourceNotFoundException("Class", classId));
+
+        mockMvc.perform(get("/api/schools/{schoolId}/classes/{classId}/analytics", schoolId, classId)
+                        .with(user(schoolId.toString())))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error.code", is("NOT_FOUND")));
+    }
+
+    @Test
+    @DisplayName("GET question analytics returns 200 with per-question statistics")
+    void returnsQuestionAnalytics() throws Exception {
+        UUID schoolId = UUID.randomUUID();
+        UUID classId = UUID.randomUUID();
+        UUID assignmentId = UUID.randomUUID();
+        when(classAnalyticsService.getQuestionAnalytics(schoolId, classId, assignmentId))
+                .thenReturn(QuestionAnalyticsResponse.builder()
+                        .assignmentId(assignmentId)
+                        .questions(List.of(QuestionAnalyticsResponse.QuestionStats.builder()
+                                .questionNumber(3)
+                                .responseCount(27)
+                                .averagePoints(new BigDecimal("3.25"))
+                                .pointsAvailable(new BigDecimal("5.00"))
+                                .averagePercent(new BigDecimal("65.0"))
+                                .illegibleCount(1)
+                                .build()))
+                        .build());
+
+        mockMvc.perform(get("/api/schools/{schoolId}/classes/{classId}/analytics/assignments/{assignmentId}/questions",
+                                schoolId, classId, assignmentId)
+                        .with(user(schoolId.toString())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.assignmentId", is(assignmentId.toString())))
+                .andExpect(jsonPath("$.data.questions", hasSize(1)))
+                .andExpect(jsonPath("$.data.questions[0].questionNumber", is(3)))
+                .andExpect(jsonPath("$.data.questions[0].averagePercent", is(65.0)));
+    }
+
+    @Test
+    @DisplayName("GET question analytics returns 403 when authenticated as different school")
+    void questionAnalyticsForbiddenForOtherSchool() throws Exception {
+        mockMvc.perform(get("/api/schools/{schoolId}/classes/{classId}/analytics/assignments/{assignmentId}/questions",
+                                UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID())
+                        .with(user(UUID.randomUUID().toString())))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(classAnalyticsService);
+    }
+}
@@ -0,0 +1,153 @@
+package com.tracegrade.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.tracegrade.domain.model.Assignment;
+import com.tracegrade.domain.repository.AssignmentRepository;
+import com.tracegrade.domain.repository.AssignmentRepository.AnalyticsRow;
+import com.tracegrade.domain.repository.GradingQuestionScoreRepository;
+import com.tracegrade.domain.repository.QuestionItemStats;
+import com.tracegrade.dto.response.ClassAnalyticsResponse;
+import com.tracegrade.dto.response.QuestionAnalyticsResponse;
+import com.tracegrade.dto.response.ScoreAnalytics;
+import com.tracegrade.exception.ResourceNotFoundException;
+import com.tracegrade.tenancy.TenancyContext;
+
+class ClassAnalyticsServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T12:00:00Z");
+    private static final UUID SCHOOL_ID = UUID.randomUUID();
+    private static final UUID CLASS_ID = UUID.randomUUID();
+    private static final UUID QUIZ_ID = UUID.randomUUID();
+    private static final UUID ESSAY_ID = UUID.randomUUID();
+
+    private AssignmentRepository assignmentRepository;
+    private GradingQuestionScoreRepository questionScoreRepository;
+    private TenancyContext tenancyContext;
+    private ClassAnalyticsService service;
+
+    @BeforeEach
+    void setUp() {
+        assignmentRepository = mock(AssignmentRepository.class);
+        questionScoreRepository = mock(GradingQuestionScoreRepository.class);
+        tenancyContext = mock(TenancyContext.class);
+        service = new ClassAnalyticsService(assignmentRepository, questionScoreRepository, tenancyContext,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private record Row(UUID getAssignmentId, String getAssignmentName, Integer getBucket, Long getResults,
+                       Long getScored, BigDecimal getScoreSum, Long getPending, Long getGradedSince,
+                       BigDecimal getAssignmentMedianSum, Long getAssignmentMedianCount,
+                       BigDecimal getClassMedianSum, Long getClassMedianCount) implements AnalyticsRow {
+    }
+
+    private static BigDecimal dec(String value) {
+        return value != null ? new BigDecimal(value) : null;
+    }
+
+    @Test
+    @DisplayName("Should fold bucket rows into class and assignment analytics")
+    void foldsRows() {
+        // Essay: 72, 85, 95 (one pending, one unscored result); Quiz: 40. Class scores: 40, 72, 85, 95.
+        when(assignmentRepository.findClassAnalytics(CLASS_ID, NOW.minusSeconds(7 * 24 * 3600))).thenReturn(List.of(
+                new Row(ESSAY_ID, "Essay", 7, 1L, 1L, dec("72"), 0L, 1L, null, 0L, dec("72"), 1L),
+                new Row(ESSAY_ID, "Essay", 8, 1L, 1L, dec("85"), 1L, 1L, dec("85"), 1L, dec("85"), 1L),
+                new Row(ESSAY_ID, "Essay", 9, 1L, 1L, dec("95"), 0L, 0L, null, 0L, null, 0L),
+                new Row(ESSAY_ID, "Essay", null, 1L, 0L, dec("0"), 0L, 0L, null, 0L, null, 0L),
+                new Row(QUIZ_ID, "Quiz", 4, 1L, 1L, dec("40"), 0L, 0L, dec("40"), 1L, null, 0L)));
+
+        ClassAnalyticsResponse response = service.getClassAnalytics(SCHOOL_ID, CLASS_ID);
+
+        verify(tenancyContext).requireClass(SCHOOL_ID, CLASS_ID);
+        ScoreAnalytics overall = response.getScores();
+        assertThat(overall.getResultCount()).isEqualTo(5);
+        assertThat(overall.getScoredCount()).isEqualTo(4);
+        assertThat(overall.getAverageScore()).isEqualByComparingTo("73.0");
+        assertThat(overall.getMedianScore()).isEqualByComparingTo("78.5");
+        assertThat(overall.getPendingReviews()).isEqualTo(1);
+        assertThat(overall.getGradedLast7Days()).isEqualTo(2);
+        assertThat(overall.getHistogram()).containsExactly(0L, 0L, 0L, 0L, 1L, 0L, 0L, 1L, 1L, 1L);
+
+        assertThat(response.getAssignments()).extracting(a -> a.getName()).containsExactly("Essay", "Quiz");
+        ScoreAnalytics essay = response.getAssignments().get(0).getScores();
+        assertThat(essay.getResultCount()).isEqualTo(4);
+        assertThat(essay.getAverageScore()).isEqualByComparingTo("84.0");
+        assertThat(essay.getMedianScore()).isEqualByComparingTo("85.0");
+        assertThat(response.getAssignments().get(1).getScores().getMedianScore()).isEqualByComparingTo("40.0");
+    }
+
+    @Test
+    @DisplayName("Should report null average and median for assignments without scores")
+    void handlesAssignmentWithoutResults() {
+        when(assignmentRepository.findClassAnalytics(eq(CLASS_ID), any())).thenReturn(List.of(
+                new Row(QUIZ_ID, "Quiz", null, 0L, 0L, dec("0"), 0L, 0L, null, 0L, null, 0L)));
+
+        ClassAnalyticsResponse response = service.getClassAnalytics(SCHOOL_ID, CLASS_ID);
+
+        ScoreAnalytics quiz = response.getAssignments().get(0).getScores();
+        assertThat(quiz.getResultCount()).isZero();
+        assertThat(quiz.getAverageScore()).isNull();
+        assertThat(quiz.getMedianScore()).isNull();
+        assertThat(quiz.getHistogram()).hasSize(10).containsOnly(0L);
+    }
+
+    @Test
+    @DisplayName("Should reject classes outside the school before querying")
+    void rejectsForeignClass() {
+        doThrow(new ResourceNotFoundException("Class", CLASS_ID)).when(tenancyContext).requireClass(SCHOOL_ID, CLASS_ID);
+
+        assertThatThrownBy(() -> service.getClassAnalytics(SCHOOL_ID, CLASS_ID))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verifyNoInteractions(assignmentRepository);
+    }
+
+    @Test
+    @DisplayName("Should report per-question averages as points and as a share of the points available")
+    void reportsQuestionAnalytics() {
+        when(assignmentRepository.findByIdAndClassId(QUIZ_ID, CLASS_ID)).thenReturn(Optional.of(new Assignment()));
+        when(questionScoreRepository.findItemStatsByAssignmentId(QUIZ_ID)).thenReturn(List.of(
+                new QuestionItemStats(1, 3L, 4.5, dec("5.00"), 0L),
+                new QuestionItemStats(2, 3L, 2.0 / 3, dec("4.00"), 1L)));
+
+        QuestionAnalyticsResponse response = service.getQuestionAnalytics(SCHOOL_ID, CLASS_ID, QUIZ_ID);
+
+        verify(tenancyContext).requireClass(SCHOOL_ID, CLASS_ID);
+        assertThat(response.getAssignmentId()).isEqualTo(QUIZ_ID);
+        QuestionAnalyticsResponse.QuestionStats hard = response.getQuestions().get(1);
+        assertThat(hard.getQuestionNumber()).isEqualTo(2);
+        assertThat(hard.getAveragePoints()).isEqualByComparingTo("0.67");
+        assertThat(hard.getAveragePercent()).isEqualByComparingTo("16.7");
+        assertThat(hard.getIllegibleCount()).isEqualTo(1);
+        assertThat(response.getQuestions().get(0).getAveragePercent()).isEqualByComparingTo("90.0");
+    }
+
+    @Test
+    @DisplayName("Should reject question analytics of an assignment outside the class")
+    void rejectsForeignAssignment() {
+        when(assignmentRepository.findByIdAndClassId(QUIZ_ID, CLASS_ID)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.getQuestionAnalytics(SCHOOL_ID, CLASS_ID, QUIZ_ID))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verifyNoInteractions(questionScoreRepository);
+    }
+}
@@ -3,6 +3,7 @@ package com.tracegrade.assignment;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
@@ -42,6 +43,7 @@ import com.tracegrade.config.SecurityHeadersProperties;
 import com.tracegrade.dto.request.CreateAssignmentRequest;
 import com.tracegrade.dto.request.UpdateAssignmentRequest;
 import com.tracegrade.dto.response.AssignmentResponse;
+import com.tracegrade.dto.response.CursorPage;
 import com.tracegrade.exception.ResourceNotFoundException;
 import com.tracegrade.filter.SanitizationProperties;
 import com.tracegrade.ratelimit.RateLimitProperties;
@@ -90,18 +92,57 @@ class AssignmentControllerTest {
                         .id(UUID.randomUUID()).classId(classId).categoryId(categoryId)
                         .name("Homework 1").maxPoints(BigDecimal.valueOf(20)).isPublished(true).build()
         );
+        CursorPage<AssignmentResponse> page = CursorPage.<AssignmentResponse>builder()
+                .items(assignments)
+                .nextCursor("next-page")
+                .build();
 
-        when(assignmentService.listAssignments(eq(schoolId), eq(classId))).thenReturn(assignments);
+        when(assignmentService.listAssignments(eq(schoolId), eq(classId), eq(null), eq(50))).thenReturn(page);
 
         mockMvc.perform(get("/api/schools/{schoolId}/classes/{classId}/assignments", schoolId, classId)
                         .with(user(schoolId.toString())))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success", is(true)))
-                .andExpect(jsonPath("$.data", hasSize(2)))
-                .andExpect(jsonPath("$.data[0].name", is("Quiz 1")))
-                .andExpect(jsonPath("$.data[1].name", is("Homework 1")));
+                .andExpect(jsonPath("$.data.items", hasSize(2)))
+                .andExpect(jsonPath("$.data.items[0].name", is("Quiz 1")))
+                .andExpect(jsonPath("$.data.items[1].name", is("Homework 1")))
+                .andExpect(jsonPath("$.data.nextCursor", is("next-page")));
+
+        verify(assignmentService).listAssignments(schoolId, classId, null, 50);
+    }
+
+    @Test
+    @DisplayName("GET assignments passes the cursor and limit through to the service")
+    void listAssignments_passesCursorAndLimit() throws Exception {
+        UUID schoolId = UUID.randomUUID();
+        UUID classId = UUID.randomUUID();
+
+        when(assignmentService.listAssignments(schoolId, classId, "abc", 10))
+                .thenReturn(CursorPage.<AssignmentResponse>builder().items(List.of()).build());
+
+        mockMvc.perform(get("/api/schools/{schoolId}/classes/{classId}/assignments", schoolId, classId)
+                        .param("cursor", "abc")
+                        .param("limit", "10")
+                        .with(user(schoolId.toString())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items", hasSize(0)));
 
-        verify(assignmentService).listAssignments(schoolId, classId);
+        verify(assignmentService).listAssignments(schoolId, classId, "abc", 10);
+    }
+
+    @Test
+    @DisplayName("GET assignments returns 400 when the limit is out of range")
+    void listAssignments_returns400ForLimitOutOfRange() throws Exception {
+        UUID schoolId = UUID.randomUUID();
+        UUID classId = UUID.randomUUID();
+
+        mockMvc.perform(get("/api/schools/{schoolId}/classes/{classId}/assignments", schoolId, classId)
+                        .param("limit", "201")
+                        .with(user(schoolId.toString())))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error.code", is("VALIDATION_ERROR")));
+
+        verifyNoInteractions(assignmentService);
     }
 
     @Test
@@ -138,7 +179,7 @@ class AssignmentControllerTest {
         UUID schoolId = UUID.randomUUID();
         UUID classId = UUID.randomUUID();
 
-        when(assignmentService.listAssignments(any(), any()))
+        when(assignmentService.listAssignments(any(), any(), any(), anyInt()))
                 .thenThrow(new ResourceNotFoundException("Class", classId));
 
         mockMvc.perform(get("/api/schools/{schoolId}/classes/{classId}/assignments", schoolId, classId)
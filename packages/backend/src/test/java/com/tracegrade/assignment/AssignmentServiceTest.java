@@ -8,6 +8,7 @@ import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -25,12 +26,16 @@ import com.tracegrade.domain.model.Class;
 import com.tracegrade.domain.model.GradeCategory;
 import com.tracegrade.domain.model.School;
 import com.tracegrade.domain.repository.AssignmentRepository;
-import com.tracegrade.domain.repository.ClassRepository;
+import com.tracegrade.domain.repository.ClassOwnership;
 import com.tracegrade.domain.repository.GradeCategoryRepository;
 import com.tracegrade.dto.request.CreateAssignmentRequest;
 import com.tracegrade.dto.request.UpdateAssignmentRequest;
 import com.tracegrade.dto.response.AssignmentResponse;
+import com.tracegrade.dto.response.CursorPage;
 import com.tracegrade.exception.ResourceNotFoundException;
+import com.tracegrade.gradebook.GradeAggregateService;
+import com.tracegrade.pagination.PageCursor;
+import com.tracegrade.tenancy.TenancyContext;
 
 @ExtendWith(MockitoExtension.class)
 class AssignmentServiceTest {
@@ -39,11 +44,14 @@ class AssignmentServiceTest {
     private AssignmentRepository assignmentRepository;
 
     @Mock
-    private ClassRepository classRepository;
+    private TenancyContext tenancyContext;
 
     @Mock
     private GradeCategoryRepository gradeCategoryRepository;
 
+    @Mock
+    private GradeAggregateService gradeAggregateService;
+
     @InjectMocks
     private AssignmentService assignmentService;
 
@@ -67,14 +75,44 @@ class AssignmentServiceTest {
                 .classId(classId).categoryId(categoryId).name("Homework 1")
                 .maxPoints(BigDecimal.valueOf(20)).isPublished(true).build();
 
-        when(classRepository.findByIdAndSchoolId(classId, schoolId)).thenReturn(Optional.of(cls));
-        when(assignmentRepository.findByClassId(classId)).thenReturn(List.of(a1, a2));
+        when(tenancyContext.requireClass(schoolId, classId))
+                .thenReturn(new ClassOwnership(classId, schoolId, cls.getTeacherId()));
+        when(assignmentRepository.findPageByClassId(classId, PageCursor.BEFORE_ALL.createdAt(),
+                PageCursor.BEFORE_ALL.id(), PageCursor.fetch(50))).thenReturn(List.of(a1, a2));
+
+        CursorPage<AssignmentResponse> result = assignmentService.listAssignments(schoolId, classId, null, 50);
+
+        assertThat(result.getItems()).hasSize(2);
+        assertThat(result.getItems().get(0).getName()).isEqualTo("Quiz 1");
+        assertThat(result.getItems().get(1).getName()).isEqualTo("Homework 1");
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("listAssignments resumes after the cursor and returns a cursor when more rows follow")
+    void listAssignments_pagesByCursor() {
+        UUID schoolId = UUID.randomUUID();
+        UUID classId = UUID.randomUUID();
+        PageCursor after = new PageCursor(Instant.parse("2026-01-05T08:00:00Z"), UUID.randomUUID());
+
+        Assignment a1 = Assignment.builder()
+                .classId(classId).categoryId(UUID.randomUUID()).name("Quiz 2")
+                .maxPoints(BigDecimal.valueOf(50)).isPublished(true).build();
+        a1.setId(UUID.randomUUID());
+        a1.setCreatedAt(Instant.parse("2026-01-06T08:00:00Z"));
+        Assignment a2 = Assignment.builder()
+                .classId(classId).categoryId(UUID.randomUUID()).name("Quiz 3")
+                .maxPoints(BigDecimal.valueOf(50)).isPublished(true).build();
 
-        List<AssignmentResponse> result = assignmentService.listAssignments(schoolId, classId);
+        when(assignmentRepository.findPageByClassId(classId, after.createdAt(), after.id(), PageCursor.fetch(1)))
+                .thenReturn(List.of(a1, a2));
 
-        assertThat(result).hasSize(2);
-        assertThat(result.get(0).getName()).isEqualTo("Quiz 1");
-        assertThat(result.get(1).getName()).isEqualTo("Homework 1");
+        CursorPage<AssignmentResponse> result = assignmentService.listAssignments(schoolId, classId,
+                after.encode(), 1);
+
+        assertThat(result.getItems()).extracting(AssignmentResponse::getName).containsExactly("Quiz 2");
+        assertThat(PageCursor.decode(result.getNextCursor(), PageCursor.BEFORE_ALL))
+                .isEqualTo(new PageCursor(a1.getCreatedAt(), a1.getId()));
     }
 
     @Test
@@ -83,9 +121,10 @@ class AssignmentServiceTest {
         UUID schoolId = UUID.randomUUID();
         UUID classId = UUID.randomUUID();
 
-        when(classRepository.findByIdAndSchoolId(classId, schoolId)).thenReturn(Optional.empty());
+        when(tenancyContext.requireClass(schoolId, classId))
+                .thenThrow(new ResourceNotFoundException("Class", classId));
 
-        assertThatThrownBy(() -> assignmentService.listAssignments(schoolId, classId))
+        assertThatThrownBy(() -> assignmentService.listAssignments(schoolId, classId, null, 50))
                 .isInstanceOf(ResourceNotFoundException.class);
 
         verifyNoInteractions(assignmentRepository);
@@ -109,7 +148,8 @@ class AssignmentServiceTest {
                 .classId(classId).categoryId(categoryId).name("Final Exam")
                 .maxPoints(BigDecimal.valueOf(100)).isPublished(true).build();
 
-        when(classRepository.findByIdAndSchoolId(classId, schoolId)).thenReturn(Optional.of(cls));
+        when(tenancyContext.requireClass(schoolId, classId))
+                .thenReturn(new ClassOwnership(classId, schoolId, cls.getTeacherId()));
         when(assignmentRepository.findByIdAndClassId(assignmentId, classId)).thenReturn(Optional.of(assignment));
 
         AssignmentResponse result = assignmentService.getAssignment(schoolId, classId, assignmentId);
@@ -130,7 +170,8 @@ class AssignmentServiceTest {
         Class cls = Class.builder().school(school).teacherId(UUID.randomUUID())
                 .name("Math").schoolYear("2026").build();
 
-        when(classRepository.findByIdAndSchoolId(classId, schoolId)).thenReturn(Optional.of(cls));
+        when(tenancyContext.requireClass(schoolId, classId))
+                .thenReturn(new ClassOwnership(classId, schoolId, cls.getTeacherId()));
         when(assignmentRepository.findByIdAndClassId(assignmentId, classId)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> assignmentService.getAssignment(schoolId, classId, assignmentId))
@@ -166,7 +207,8 @@ class AssignmentServiceTest {
                 .maxPoints(BigDecimal.valueOf(100)).dueDate(LocalDate.of(2026, 6, 15))
                 .isPublished(true).build();
 
-        when(classRepository.findByIdAndSchoolId(classId, schoolId)).thenReturn(Optional.of(cls));
+        when(tenancyContext.requireClass(schoolId, classId))
+                .thenReturn(new ClassOwnership(classId, schoolId, cls.getTeacherId()));
         when(gradeCategoryRepository.findByIdAndClassId(categoryId, classId)).thenReturn(Optional.of(category));
         when(assignmentRepository.save(any(Assignment.class))).thenReturn(saved);
 
@@ -205,7 +247,8 @@ class AssignmentServiceTest {
                 .classId(classId).categoryId(categoryId).name("Pop Quiz")
                 .maxPoints(BigDecimal.valueOf(20)).isPublished(true).build();
 
-        when(classRepository.findByIdAndSchoolId(classId, schoolId)).thenReturn(Optional.of(cls));
+        when(tenancyContext.requireClass(schoolId, classId))
+                .thenReturn(new ClassOwnership(classId, schoolId, cls.getTeacherId()));
         when(gradeCategoryRepository.findByIdAndClassId(categoryId, classId)).thenReturn(Optional.of(category));
         when(assignmentRepository.save(any(Assignment.class))).thenReturn(saved);
 
@@ -231,7 +274,8 @@ class AssignmentServiceTest {
                 .maxPoints(BigDecimal.valueOf(100))
                 .build();
 
-        when(classRepository.findByIdAndSchoolId(classId, schoolId)).thenReturn(Optional.of(cls));
+        when(tenancyContext.requireClass(schoolId, classId))
+                .thenReturn(new ClassOwnership(classId, schoolId, cls.getTeacherId()));
         when(gradeCategoryRepository.findByIdAndClassId(categoryId, classId)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> assignmentService.createAssignment(schoolId, classId, request))
@@ -267,7 +311,8 @@ class AssignmentServiceTest {
                 .classId(classId).categoryId(categoryId).name("Final Exam")
                 .maxPoints(BigDecimal.valueOf(150)).isPublished(false).build();
 
-        when(classRepository.findByIdAndSchoolId(classId, schoolId)).thenReturn(Optional.of(cls));
+        when(tenancyContext.requireClass(schoolId, classId))
+                .thenReturn(new ClassOwnership(classId, schoolId, cls.getTeacherId()));
         when(assignmentRepository.findByIdAndClassId(assignmentId, classId)).thenReturn(Optional.of(existing));
         when(assignmentRepository.save(any(Assignment.class))).thenReturn(updated);
 
@@ -277,6 +322,7 @@ class AssignmentServiceTest {
         assertThat(response.getName()).isEqualTo("Final Exam");
         assertThat(response.getMaxPoints()).isEqualByComparingTo(BigDecimal.valueOf(150));
         assertThat(response.getIsPublished()).isFalse();
+        verify(gradeAggregateService).rebuildCategory(categoryId);
     }
 
     @Test
@@ -297,7 +343,8 @@ class AssignmentServiceTest {
 
         UpdateAssignmentRequest request = UpdateAssignmentRequest.builder().build(); // all null
 
-        when(classRepository.findByIdAndSchoolId(classId, schoolId)).thenReturn(Optional.of(cls));
+        when(tenancyContext.requireClass(schoolId, classId))
+                .thenReturn(new ClassOwnership(classId, schoolId, cls.getTeacherId()));
         when(assignmentRepository.findByIdAndClassId(assignmentId, classId)).thenReturn(Optional.of(existing));
         when(assignmentRepository.save(any(Assignment.class))).thenReturn(existing);
 
@@ -305,6 +352,7 @@ class AssignmentServiceTest {
 
         assertThat(response.getName()).isEqualTo("Midterm");
         assertThat(response.getMaxPoints()).isEqualByComparingTo(BigDecimal.valueOf(100));
+        verifyNoInteractions(gradeAggregateService);
     }
 
     @Test
@@ -328,7 +376,8 @@ class AssignmentServiceTest {
                 .categoryId(newCategoryId)
                 .build();
 
-        when(classRepository.findByIdAndSchoolId(classId, schoolId)).thenReturn(Optional.of(cls));
+        when(tenancyContext.requireClass(schoolId, classId))
+                .thenReturn(new ClassOwnership(classId, schoolId, cls.getTeacherId()));
         when(assignmentRepository.findByIdAndClassId(assignmentId, classId)).thenReturn(Optional.of(existing));
         when(gradeCategoryRepository.findByIdAndClassId(newCategoryId, classId)).thenReturn(Optional.empty());
 
@@ -337,6 +386,36 @@ class AssignmentServiceTest {
                 .hasMessageContaining("Category does not belong to this class");
     }
 
+    @Test
+    @DisplayName("updateAssignment rebuilds grade totals of both categories when the category changes")
+    void updateAssignment_categoryChanged_rebuildsBoth() {
+        UUID schoolId = UUID.randomUUID();
+        UUID classId = UUID.randomUUID();
+        UUID assignmentId = UUID.randomUUID();
+        UUID existingCategoryId = UUID.randomUUID();
+        UUID newCategoryId = UUID.randomUUID();
+
+        Assignment existing = Assignment.builder()
+                .classId(classId).categoryId(existingCategoryId).name("Midterm")
+                .maxPoints(BigDecimal.valueOf(100)).isPublished(true).build();
+
+        UpdateAssignmentRequest request = UpdateAssignmentRequest.builder()
+                .categoryId(newCategoryId)
+                .build();
+
+        when(tenancyContext.requireClass(schoolId, classId))
+                .thenReturn(new ClassOwnership(classId, schoolId, UUID.randomUUID()));
+        when(assignmentRepository.findByIdAndClassId(assignmentId, classId)).thenReturn(Optional.of(existing));
+        when(gradeCategoryRepository.findByIdAndClassId(newCategoryId, classId))
+                .thenReturn(Optional.of(GradeCategory.builder().classId(classId).build()));
+        when(assignmentRepository.save(any(Assignment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assignmentService.updateAssignment(schoolId, classId, assignmentId, request);
+
+        verify(gradeAggregateService).rebuildCategory(newCategoryId);
+        verify(gradeAggregateService).rebuildCategory(existingCategoryId);
+    }
+
     @Test
     @DisplayName("updateAssignment throws ResourceNotFoundException when assignment not found")
     void updateAssignment_notFound_throws() {
@@ -348,7 +427,8 @@ class AssignmentServiceTest {
         Class cls = Class.builder().school(school).teacherId(UUID.randomUUID())
                 .name("Math").schoolYear("2026").build();
 
-        when(classRepository.findByIdAndSchoolId(classId, schoolId)).thenReturn(Optional.of(cls));
+        when(tenancyContext.requireClass(schoolId, classId))
+                .thenReturn(new ClassOwnership(classId, schoolId, cls.getTeacherId()));
         when(assignmentRepository.findByIdAndClassId(assignmentId, classId)).thenReturn(Optional.empty());
 
         UpdateAssignmentRequest request = UpdateAssignmentRequest.builder().name("New Name").build();
@@ -375,12 +455,14 @@ class AssignmentServiceTest {
                 .classId(classId).categoryId(categoryId).name("Quiz 1")
                 .maxPoints(BigDecimal.valueOf(50)).isPublished(true).build();
 
-        when(classRepository.findByIdAndSchoolId(classId, schoolId)).thenReturn(Optional.of(cls));
+        when(tenancyContext.requireClass(schoolId, classId))
+                .thenReturn(new ClassOwnership(classId, schoolId, cls.getTeacherId()));
         when(assignmentRepository.findByIdAndClassId(assignmentId, classId)).thenReturn(Optional.of(assignment));
 
         assignmentService.deleteAssignment(schoolId, classId, assignmentId);
 
         verify(assignmentRepository).delete(assignment);
+        verify(gradeAggregateService).rebuildCategory(categoryId);
     }
 
     @Test
@@ -394,7 +476,8 @@ class AssignmentServiceTest {
         Class cls = Class.builder().school(school).teacherId(UUID.randomUUID())
                 .name("Math").schoolYear("2026").build();
 
-        when(classRepository.findByIdAndSchoolId(classId, schoolId)).thenReturn(Optional.of(cls));
+        when(tenancyContext.requireClass(schoolId, classId))
+                .thenReturn(new ClassOwnership(classId, schoolId, cls.getTeacherId()));
         when(assignmentRepository.findByIdAndClassId(assignmentId, classId)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> assignmentService.deleteAssignment(schoolId, classId, assignmentId))
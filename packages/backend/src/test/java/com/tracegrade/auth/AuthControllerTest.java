@@ -3,9 +3,11 @@ package com.tracegrade.auth;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -171,7 +173,7 @@ class AuthControllerTest {
         request.setEmail("teacher@school.edu");
         request.setPassword("Secure123!");
 
-        when(authService.login("teacher@school.edu", "Secure123!"))
+        when(authService.login(eq("teacher@school.edu"), eq("Secure123!"), any()))
                 .thenReturn("mocked.jwt.token");
 
         mockMvc.perform(post("/api/auth/login")
@@ -190,7 +192,7 @@ class AuthControllerTest {
         request.setEmail("teacher@school.edu");
         request.setPassword("WrongPassword!");
 
-        when(authService.login("teacher@school.edu", "WrongPassword!"))
+        when(authService.login(eq("teacher@school.edu"), eq("WrongPassword!"), any()))
                 .thenThrow(new BadCredentialsException("Invalid email or password"));
 
         mockMvc.perform(post("/api/auth/login")
@@ -208,7 +210,7 @@ class AuthControllerTest {
         request.setEmail("unknown@school.edu");
         request.setPassword("Secure123!");
 
-        when(authService.login("unknown@school.edu", "Secure123!"))
+        when(authService.login(eq("unknown@school.edu"), eq("Secure123!"), any()))
                 .thenThrow(new BadCredentialsException("Invalid email or password"));
 
         mockMvc.perform(post("/api/auth/login")
@@ -219,6 +221,25 @@ class AuthControllerTest {
                 .andExpect(jsonPath("$.error.code", is("UNAUTHORIZED")));
     }
 
+    @Test
+    @DisplayName("POST /api/auth/login returns 429 with Retry-After when login is throttled")
+    void login_returns429WhenThrottled() throws Exception {
+        LoginRequest request = new LoginRequest();
+        request.setEmail("teacher@school.edu");
+        request.setPassword("Secure123!");
+
+        when(authService.login(eq("teacher@school.edu"), eq("Secure123!"), any()))
+                .thenThrow(new LoginThrottledException("Too many login attempts. Try again in 42 seconds.", 42));
+
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "42"))
+                .andExpect(jsonPath("$.success", is(false)))
+                .andExpect(jsonPath("$.error.code", is("TOO_MANY_REQUESTS")));
+    }
+
     @Test
     @DisplayName("POST /api/auth/login returns 400 when email is missing")
     void login_returns400WhenEmailMissing() throws Exception {
@@ -4,7 +4,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.Optional;
@@ -17,7 +20,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 import com.tracegrade.domain.model.User;
 import com.tracegrade.domain.model.UserRole;
@@ -32,7 +34,10 @@ class AuthServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
+
+    @Mock
+    private LoginThrottle loginThrottle;
 
     @Mock
     private JwtService jwtService;
@@ -63,14 +68,14 @@ class AuthServiceTest {
         // simulate ID being set after save via BaseEntity
         // We use a spy approach: mock what the service calls
         when(userRepository.findByEmail("teacher@school.edu")).thenReturn(Optional.empty());
-        when(passwordEncoder.encode("Secure123!")).thenReturn("$2a$encoded");
+        when(passwordHasher.encode("Secure123!")).thenReturn("$2a$encoded");
         when(userRepository.save(any(User.class))).thenReturn(savedUser);
         when(jwtService.generateToken(any(), anyString())).thenReturn("test.jwt.token");
 
         String token = authService.register(request);
 
         assertThat(token).isEqualTo("test.jwt.token");
-        verify(passwordEncoder).encode("Secure123!");
+        verify(passwordHasher).encode("Secure123!");
         verify(userRepository).save(any(User.class));
         verify(jwtService).generateToken(any(), anyString());
     }
@@ -85,7 +90,7 @@ class AuthServiceTest {
         request.setLastName("Smith");
 
         when(userRepository.findByEmail("teacher@school.edu")).thenReturn(Optional.empty());
-        when(passwordEncoder.encode(anyString())).thenReturn("$2a$encoded");
+        when(passwordHasher.encode(anyString())).thenReturn("$2a$encoded");
 
         User savedUser = User.builder()
                 .email("teacher@school.edu")
@@ -145,10 +150,10 @@ class AuthServiceTest {
                 .build();
 
         when(userRepository.findByEmail("teacher@school.edu")).thenReturn(Optional.of(user));
-        when(passwordEncoder.matches("Secure123!", "$2a$encoded")).thenReturn(true);
+        when(passwordHasher.matches("Secure123!", "$2a$encoded")).thenReturn(true);
         when(jwtService.generateToken(any(), anyString())).thenReturn("login.jwt.token");
 
-        String token = authService.login("teacher@school.edu", "Secure123!");
+        String token = authService.login("teacher@school.edu", "Secure123!", "10.0.0.1");
 
         assertThat(token).isEqualTo("login.jwt.token");
         verify(jwtService).generateToken(any(), anyString());
@@ -167,10 +172,10 @@ class AuthServiceTest {
                 .build();
 
         when(userRepository.findByEmail("teacher@school.edu")).thenReturn(Optional.of(user));
-        when(passwordEncoder.matches("Secure123!", "$2a$encoded")).thenReturn(true);
+        when(passwordHasher.matches("Secure123!", "$2a$encoded")).thenReturn(true);
         when(jwtService.generateToken(any(), anyString())).thenReturn("token");
 
-        authService.login("Teacher@SCHOOL.EDU", "Secure123!");
+        authService.login("Teacher@SCHOOL.EDU", "Secure123!", "10.0.0.1");
 
         verify(userRepository).findByEmail("teacher@school.edu");
     }
@@ -188,9 +193,9 @@ class AuthServiceTest {
                 .build();
 
         when(userRepository.findByEmail("teacher@school.edu")).thenReturn(Optional.of(user));
-        when(passwordEncoder.matches("WrongPassword", "$2a$encoded")).thenReturn(false);
+        when(passwordHasher.matches("WrongPassword", "$2a$encoded")).thenReturn(false);
 
-        assertThatThrownBy(() -> authService.login("teacher@school.edu", "WrongPassword"))
+        assertThatThrownBy(() -> authService.login("teacher@school.edu", "WrongPassword", "10.0.0.1"))
                 .isInstanceOf(BadCredentialsException.class)
                 .hasMessageContaining("Invalid email or password");
     }
@@ -200,9 +205,10 @@ class AuthServiceTest {
     void login_throwsBadCredentialsWhenEmailNotFound() {
         when(userRepository.findByEmail("unknown@school.edu")).thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> authService.login("unknown@school.edu", "Secure123!"))
+        assertThatThrownBy(() -> authService.login("unknown@school.edu", "Secure123!", "10.0.0.1"))
                 .isInstanceOf(BadCredentialsException.class)
                 .hasMessageContaining("Invalid email or password");
+        verify(passwordHasher).matchesDummy("Secure123!");
     }
 
     @Test
@@ -218,9 +224,65 @@ class AuthServiceTest {
                 .build();
 
         when(userRepository.findByEmail("inactive@school.edu")).thenReturn(Optional.of(inactiveUser));
+        when(passwordHasher.matches("Secure123!", "$2a$encoded")).thenReturn(true);
 
-        assertThatThrownBy(() -> authService.login("inactive@school.edu", "Secure123!"))
+        assertThatThrownBy(() -> authService.login("inactive@school.edu", "Secure123!", "10.0.0.1"))
                 .isInstanceOf(BadCredentialsException.class)
                 .hasMessageContaining("inactive");
     }
+
+    @Test
+    @DisplayName("login() does not reveal an inactive account to a wrong password")
+    void login_wrongPasswordOnInactiveAccountIsInvalidCredentials() {
+        User inactiveUser = User.builder()
+                .email("inactive@school.edu")
+                .passwordHash("$2a$encoded")
+                .firstName("Jane")
+                .lastName("Smith")
+                .role(UserRole.TEACHER)
+                .isActive(false)
+                .build();
+
+        when(userRepository.findByEmail("inactive@school.edu")).thenReturn(Optional.of(inactiveUser));
+        when(passwordHasher.matches("WrongPassword", "$2a$encoded")).thenReturn(false);
+
+        assertThatThrownBy(() -> authService.login("inactive@school.edu", "WrongPassword", "10.0.0.1"))
+                .isInstanceOf(BadCredentialsException.class)
+                .hasMessageContaining("Invalid email or password");
+    }
+
+    @Test
+    @DisplayName("login() rejects a throttled attempt before looking up or hashing anything")
+    void login_throttledBeforeHashing() {
+        doThrow(new LoginThrottledException("Too many login attempts", 60))
+                .when(loginThrottle).acquire("teacher@school.edu", "10.0.0.1");
+
+        assertThatThrownBy(() -> authService.login("Teacher@school.edu", "Secure123!", "10.0.0.1"))
+                .isInstanceOf(LoginThrottledException.class);
+        verifyNoInteractions(userRepository, passwordHasher);
+    }
+
+    @Test
+    @DisplayName("login() resets the account's attempts only after a successful login")
+    void login_resetsAccountThrottleOnSuccess() {
+        User user = User.builder()
+                .email("teacher@school.edu")
+                .passwordHash("$2a$encoded")
+                .firstName("Jane")
+                .lastName("Smith")
+                .role(UserRole.TEACHER)
+                .isActive(true)
+                .build();
+        when(userRepository.findByEmail("teacher@school.edu")).thenReturn(Optional.of(user));
+        when(passwordHasher.matches("WrongPassword", "$2a$encoded")).thenReturn(false);
+        when(passwordHasher.matches("Secure123!", "$2a$encoded")).thenReturn(true);
+        when(jwtService.generateToken(any(), anyString())).thenReturn("token");
+
+        assertThatThrownBy(() -> authService.login("teacher@school.edu", "WrongPassword", "10.0.0.1"))
+                .isInstanceOf(BadCredentialsException.class);
+        verify(loginThrottle, never()).reset(anyString());
+
+        authService.login("teacher@school.edu", "Secure123!", "10.0.0.1");
+        verify(loginThrottle).reset("teacher@school.edu");
+    }
 }
@@ -0,0 +1,303 @@
+package com.tracegrade.auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import com.tracegrade.config.JwtProperties;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.Jwks;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class JwtKeyRingTest {
+
+    private static final String JWKS_URI = "https://issuer.example/jwks.json";
+
+    @TempDir
+    Path dir;
+
+    private JwtProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new JwtProperties();
+        properties.setSecret("test-secret-key-for-jwt-signing-at-least-32-bytes");
+    }
+
+    private JwtProperties.Key writeKey(String kid, String algorithm, boolean withPrivateKey)
+            throws GeneralSecurityException, IOException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance(algorithm);
+        if ("RSA".equals(algorithm)) {
+            generator.initialize(2048);
+        }
+        KeyPair pair = generator.generateKeyPair();
+        Path publicKey = dir.resolve(kid + ".pub");
+        Files.writeString(publicKey, pem("PUBLIC KEY", pair.getPublic().getEncoded()));
+
+        JwtProperties.Key key = new JwtProperties.Key();
+        key.setKid(kid);
+        key.setPublicKeyLocation("file:" + publicKey);
+        if (withPrivateKey) {
+            Path privateKey = dir.resolve(kid + ".key");
+            Files.writeString(privateKey, pem("PRIVATE KEY", pair.getPrivate().getEncoded()));
+            key.setPrivateKeyLocation("file:" + privateKey);
+        }
+        properties.getKeyRing().getKeys().add(key);
+        return key;
+    }
+
+    private static String pem(String type, byte[] der) {
+        return "-----BEGIN " + type + "-----\n"
+                + Base64.getMimeEncoder(64, "\n".getBytes()).encodeToString(der)
+                + "\n-----END " + type + "-----\n";
+    }
+
+    private JwtService service() {
+        return new JwtService(properties, new JwtKeyRing(properties), new SimpleMeterRegistry());
+    }
+
+    private static String header(String token, String name) {
+        String json = new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))));
+        return json.replaceAll(".*\"" + name + "\":\"([^\"]+)\".*", "$1");
+    }
+
+    @Test
+    @DisplayName("Should sign with the active RSA key and name it in the kid header")
+    void signsWithActiveRsaKey() throws Exception {
+        writeKey("2026-10", "RSA", true);
+        properties.getKeyRing().setActiveKid("2026-10");
+        JwtService jwtService = service();
+
+        String token = jwtService.generateToken(UUID.randomUUID(), "t@school.edu");
+
+        assertThat(header(token, "kid")).isEqualTo("2026-10");
+        assertThat(header(token, "alg")).isEqualTo("RS256");
+        assertThat(jwtService.validateToken(token).getSubject()).isEqualTo("t@school.edu");
+    }
+
+    @Test
+    @DisplayName("Should sign with Ed25519 keys using EdDSA")
+    void signsWithEd25519() throws Exception {
+        writeKey("ed-1", "Ed25519", true);
+        properties.getKeyRing().setActiveKid("ed-1");
+        JwtService jwtService = service();
+
+        String token = jwtService.generateToken(UUID.randomUUID(), "t@school.edu");
+
+        assertThat(header(token, "alg")).isEqualTo("EdDSA");
+        assertThat(jwtService.validateToken(token).getSubject()).isEqualTo("t@school.edu");
+    }
+
+    @Test
+    @DisplayName("Should keep accepting tokens from the previous key during a rotation")
+    void overlappingRotation() throws Exception {
+        JwtProperties.Key oldKey = writeKey("old", "RSA", true);
+        properties.getKeyRing().setActiveKid("old");
+        String oldToken = service().generateToken(UUID.randomUUID(), "t@school.edu");
+
+        writeKey("new", "RSA", true);
+        oldKey.setPrivateKeyLocation(null);
+        properties.getKeyRing().setActiveKid("new");
+        JwtService rotated = service();
+
+        assertThat(rotated.validateToken(oldToken).getSubject()).isEqualTo("t@school.edu");
+        assertThat(header(rotated.generateToken(UUID.randomUUID(), "t@school.edu"), "kid"))
+                .isEqualTo("new");
+
+        properties.getKeyRing().getKeys().remove(oldKey);
+        assertThatThrownBy(() -> service().validateToken(oldToken)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    @DisplayName("Should stop accepting a cached token once its key is dropped from the ring")
+    void droppedKeyRevokesCachedToken() throws Exception {
+        JwtProperties.Key oldKey = writeKey("old", "RSA", true);
+        properties.getKeyRing().setActiveKid("old");
+        JwtKeyRing keyRing = new JwtKeyRing(properties);
+        JwtService jwtService = new JwtService(properties, keyRing, new SimpleMeterRegistry());
+        String oldToken = jwtService.generateToken(UUID.randomUUID(), "t@school.edu");
+        assertThat(jwtService.validateToken(oldToken).getSubject()).isEqualTo("t@school.edu");
+        assertThat(jwtService.cachedTokenCount()).isEqualTo(1);
+
+        writeKey("new", "RSA", true);
+        properties.getKeyRing().setActiveKid("new");
+        properties.getKeyRing().getKeys().remove(oldKey);
+        keyRing.refresh();
+
+        assertThatThrownBy(() -> jwtService.validateToken(oldToken)).isInstanceOf(JwtException.class);
+        assertThat(jwtService.cachedTokenCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject HMAC tokens once HMAC is no longer accepted")
+    void rejectsHmacWhenDisabled() throws Exception {
+        String hmacToken = service().generateToken(UUID.randomUUID(), "t@school.edu");
+        writeKey("k1", "RSA", true);
+        properties.getKeyRing().setActiveKid("k1");
+        properties.getKeyRing().setAcceptHmac(false);
+
+        assertThatThrownBy(() -> service().validateToken(hmacToken)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    @DisplayName("Should refuse to start when the active key has no private key")
+    void activeKeyNeedsPrivateKey() throws Exception {
+        writeKey("k1", "RSA", false);
+        properties.getKeyRing().setActiveKid("k1");
+
+        assertThatThrownBy(() -> new JwtKeyRing(properties)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Should publish only public key material in the JWKS document")
+    void publishesJwks() throws Exception {
+        writeKey("k1", "RSA", true);
+        writeKey("k2", "Ed25519", false);
+        properties.getKeyRing().setActiveKid("k1");
+
+        String jwks = new JwtKeyRing(properties).jwks();
+
+        assertThat(Jwks.setParser().build().parse(jwks).getKeys()).extracting(Jwk::getId)
+                .containsExactlyInAnyOrder("k1", "k2");
+        assertThat(jwks).doesNotContain("\"d\"");
+    }
+
+    @Test
+    @DisplayName("Should still sign and verify HMAC tokens when no key is active")
+    void hmacByDefault() {
+        JwtService jwtService = service();
+
+        String token = jwtService.generateToken(UUID.randomUUID(), "t@school.edu");
+
+        assertThat(header(token, "alg")).startsWith("HS");
+        assertThat(jwtService.validateToken(token).getSubject()).isEqualTo("t@school.edu");
+    }
+
+    @Test
+    @DisplayName("Should refuse to start when HMAC tokens are in use with the default secret")
+    void defaultSecretRefusedForHmac() throws Exception {
+        properties.setSecret(JwtProperties.DEFAULT_SECRET);
+
+        assertThatThrownBy(() -> new JwtKeyRing(properties)).isInstanceOf(IllegalStateException.class);
+
+        writeKey("k1", "RSA", true);
+        properties.getKeyRing().setActiveKid("k1");
+        properties.getKeyRing().setAcceptHmac(true);
+        assertThatThrownBy(() -> new JwtKeyRing(properties)).isInstanceOf(IllegalStateException.class);
+
+        properties.getKeyRing().setAcceptHmac(false);
+        assertThat(new JwtKeyRing(properties).signingKey().kid()).isEqualTo("k1");
+    }
+
+    @Test
+    @DisplayName("Should never accept HMAC tokens on nodes reading a JWKS document")
+    void jwksNodesRejectHmac() throws Exception {
+        properties.getKeyRing().setJwksUri(JWKS_URI);
+        properties.getKeyRing().setAcceptHmac(true);
+        RestClient.Builder builder = RestClient.builder();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(builder).build();
+        server.expect(ExpectedCount.once(), requestTo(JWKS_URI))
+                .andRespond(withSuccess(jwks("k1", rsaPublicKey()), MediaType.APPLICATION_JSON));
+
+        JwtKeyRing keyRing = new JwtKeyRing(properties, new DefaultResourceLoader(), builder.build());
+
+        assertThatThrownBy(() -> keyRing.verificationKey(null)).isInstanceOf(JwtException.class);
+        server.verify();
+    }
+
+    @Test
+    @DisplayName("Should not refetch the JWKS document for unknown keys within the minimum interval")
+    void unknownKidRefreshIsRateLimited() throws Exception {
+        properties.getKeyRing().setJwksUri(JWKS_URI);
+        properties.getKeyRing().setMinRefreshIntervalMs(60_000);
+        RestClient.Builder builder = RestClient.builder();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(builder).build();
+        server.expect(ExpectedCount.once(), requestTo(JWKS_URI))
+                .andRespond(withSuccess(jwks("k1", rsaPublicKey()), MediaType.APPLICATION_JSON));
+
+        JwtKeyRing keyRing = new JwtKeyRing(properties, new DefaultResourceLoader(), builder.build());
+
+        assertThatThrownBy(() -> keyRing.verificationKey("k2")).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> keyRing.verificationKey("k3")).isInstanceOf(JwtException.class);
+        server.verify();
+    }
+
+    @Test
+    @DisplayName("Should let concurrent tokens with a new key share one JWKS refetch")
+    void unknownKidRefreshIsSingleFlight() throws Exception {
+        properties.getKeyRing().setJwksUri(JWKS_URI);
+        properties.getKeyRing().setMinRefreshIntervalMs(0);
+        PublicKey newKey = rsaPublicKey();
+        CountDownLatch fetching = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RestClient.Builder builder = RestClient.builder();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(builder).build();
+        server.expect(ExpectedCount.once(), requestTo(JWKS_URI))
+                .andRespond(withSuccess(jwks("k1", rsaPublicKey()), MediaType.APPLICATION_JSON));
+        server.expect(ExpectedCount.once(), requestTo(JWKS_URI))
+                .andRespond(request -> {
+                    fetching.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return withSuccess(jwks("k2", newKey), MediaType.APPLICATION_JSON).createResponse(request);
+                });
+        JwtKeyRing keyRing = new JwtKeyRing(properties, new DefaultResourceLoader(), builder.build());
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Key> first = executor.submit(() -> keyRing.verificationKey("k2"));
+            assertThat(fetching.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<Key> second = executor.submit(() -> keyRing.verificationKey("k2"));
+            Thread.sleep(100);
+            release.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(newKey);
+            assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo(newKey);
+        } finally {
+            executor.shutdownNow();
+        }
+        server.verify();
+    }
+
+    private static PublicKey rsaPublicKey() throws GeneralSecurityException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        return generator.generateKeyPair().getPublic();
+    }
+
+    private static String jwks(String kid, PublicKey key) {
+        return "{\"keys\":[" + Jwks.json(Jwks.builder().key(key).id(kid).build()) + "]}";
+    }
+}
@@ -0,0 +1,86 @@
+package com.tracegrade.auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.tracegrade.config.JwtProperties;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class JwtServiceTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private JwtProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private JwtService jwtService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new JwtProperties();
+        properties.setSecret("test-secret-key-for-jwt-signing-at-least-32-bytes");
+        properties.setExpirationSeconds(600);
+        meterRegistry = new SimpleMeterRegistry();
+        // Far from the system time, so only the injected clock can make tokens valid and cacheable
+        jwtService = new JwtService(properties, new JwtKeyRing(properties), meterRegistry, nanos::get,
+                Clock.fixed(Instant.parse("2020-01-01T00:00:00Z"), ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("Should round-trip the user ID and email")
+    void roundTripsClaims() {
+        UUID userId = UUID.randomUUID();
+
+        Claims claims = jwtService.validateToken(jwtService.generateToken(userId, "t@school.edu"));
+
+        assertThat(claims.getSubject()).isEqualTo("t@school.edu");
+        assertThat(claims.get("userId", String.class)).isEqualTo(userId.toString());
+    }
+
+    @Test
+    @DisplayName("Should serve a recently verified token from the cache")
+    void cachesVerifiedTokens() {
+        String token = jwtService.generateToken(UUID.randomUUID(), "t@school.edu");
+
+        Claims first = jwtService.validateToken(token);
+        Claims second = jwtService.validateToken(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(jwtService.cachedTokenCount()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", JwtService.CLAIMS_CACHE_NAME)
+                .tag("result", "hit").functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should drop cached claims once the token expires")
+    void expiresWithToken() {
+        String token = jwtService.generateToken(UUID.randomUUID(), "t@school.edu");
+        jwtService.validateToken(token);
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(601));
+
+        assertThat(jwtService.cachedTokenCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject tampered tokens and never cache them")
+    void rejectsTamperedTokens() {
+        String token = jwtService.generateToken(UUID.randomUUID(), "t@school.edu");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThatThrownBy(() -> jwtService.validateToken(tampered)).isInstanceOf(JwtException.class);
+        assertThat(jwtService.cachedTokenCount()).isZero();
+    }
+}
@@ -0,0 +1,68 @@
+package com.tracegrade.auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LoginThrottleTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private LoginThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        LoginProperties properties = new LoginProperties();
+        properties.setAccountLimit(3);
+        properties.setIpLimit(5);
+        meterRegistry = new SimpleMeterRegistry();
+        throttle = new LoginThrottle(properties, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should reject an account after its attempts are used up, from any address")
+    void limitsAttemptsPerAccount() {
+        throttle.acquire("teacher@school.edu", "10.0.0.1");
+        throttle.acquire("teacher@school.edu", "10.0.0.2");
+        throttle.acquire("teacher@school.edu", "10.0.0.3");
+
+        assertThatThrownBy(() -> throttle.acquire("teacher@school.edu", "10.0.0.4"))
+                .isInstanceOf(LoginThrottledException.class)
+                .satisfies(e -> assertThat(((LoginThrottledException) e).getRetryAfterSeconds()).isPositive());
+        throttle.acquire("other@school.edu", "10.0.0.4");
+        assertThat(throttledCount("account")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject an address spraying many accounts")
+    void limitsAttemptsPerAddress() {
+        for (int i = 0; i < 5; i++) {
+            throttle.acquire("user" + i + "@school.edu", "10.0.0.1");
+        }
+
+        assertThatThrownBy(() -> throttle.acquire("user5@school.edu", "10.0.0.1"))
+                .isInstanceOf(LoginThrottledException.class);
+        throttle.acquire("user5@school.edu", "10.0.0.2");
+        assertThat(throttledCount("address")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should give an account its allowance back after a successful login")
+    void resetRestoresAccountAllowance() {
+        for (int i = 0; i < 3; i++) {
+            throttle.acquire("teacher@school.edu", null);
+        }
+
+        throttle.reset("teacher@school.edu");
+
+        throttle.acquire("teacher@school.edu", null);
+    }
+
+    private double throttledCount(String scope) {
+        return meterRegistry.get(LoginThrottle.THROTTLED_METRIC).tag("scope", scope).counter().count();
+    }
+}
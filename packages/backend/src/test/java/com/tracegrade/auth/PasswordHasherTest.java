@@ -0,0 +1,105 @@
+package com.tracegrade.auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PasswordHasherTest {
+
+    private PasswordHasher hasher;
+
+    @AfterEach
+    void tearDown() {
+        hasher.destroy();
+    }
+
+    @Test
+    @DisplayName("Should hash and verify passwords on the hashing pool")
+    void encodesAndMatches() {
+        hasher = new PasswordHasher(new BCryptPasswordEncoder(4), new LoginProperties(), new SimpleMeterRegistry());
+
+        String hash = hasher.encode("Secure123!");
+
+        assertThat(hasher.matches("Secure123!", hash)).isTrue();
+        assertThat(hasher.matches("wrong", hash)).isFalse();
+        assertThat(hasher.matchesDummy("Secure123!")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should turn sign-ins away once the pool and its queue are full")
+    void rejectsWhenSaturated() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new BCryptPasswordEncoder(4) {
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                if ("block".contentEquals(rawPassword)) {
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.matches(rawPassword, encodedPassword);
+            }
+        };
+        LoginProperties properties = new LoginProperties();
+        properties.setHashingThreads(1);
+        properties.setHashingQueueCapacity(1);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        hasher = new PasswordHasher(blocking, properties, meterRegistry);
+
+        Thread first = new Thread(() -> hasher.matchesDummy("block"));
+        Thread second = new Thread(() -> hasher.matchesDummy("queued"));
+        first.start();
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        second.start();
+        while (meterRegistry.get(PasswordHasher.QUEUED_METRIC).gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        try {
+            assertThatThrownBy(() -> hasher.matchesDummy("third"))
+                    .isInstanceOf(LoginThrottledException.class);
+            assertThat(meterRegistry.get(PasswordHasher.REJECTED_METRIC).counter().count()).isEqualTo(1);
+        } finally {
+            release.countDown();
+            first.join();
+            second.join();
+        }
+    }
+
+    @Test
+    @DisplayName("Should give up on a password check that waits too long")
+    void timesOut() {
+        PasswordEncoder slow = new BCryptPasswordEncoder(4) {
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                try {
+                    Thread.sleep(5_000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return false;
+            }
+        };
+        LoginProperties properties = new LoginProperties();
+        properties.setHashingTimeoutMs(50);
+        hasher = new PasswordHasher(slow, properties, new SimpleMeterRegistry());
+
+        assertThatThrownBy(() -> hasher.matches("Secure123!", "$2a$04$x"))
+                .isInstanceOf(LoginThrottledException.class)
+                .hasMessageContaining("timed out");
+    }
+}
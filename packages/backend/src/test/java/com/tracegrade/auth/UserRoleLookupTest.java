@@ -0,0 +1,63 @@
+package com.tracegrade.auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.tracegrade.config.JwtProperties;
+import com.tracegrade.domain.model.UserRole;
+import com.tracegrade.domain.repository.UserRepository;
+
+class UserRoleLookupTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+
+    private final AtomicLong nanos = new AtomicLong();
+    private UserRepository userRepository;
+    private UserRoleLookup lookup;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        JwtProperties properties = new JwtProperties();
+        properties.setRoleCacheTtlSeconds(60);
+        lookup = new UserRoleLookup(userRepository, properties, nanos::get);
+    }
+
+    @Test
+    @DisplayName("Should recognise an active admin and reuse the role until the TTL passes")
+    void resolvesAndCachesRole() {
+        when(userRepository.findActiveRoleById(USER_ID)).thenReturn(Optional.of(UserRole.ADMIN));
+
+        assertThat(lookup.isAdmin(USER_ID)).isTrue();
+        assertThat(lookup.isAdmin(USER_ID)).isTrue();
+        verify(userRepository, times(1)).findActiveRoleById(USER_ID);
+
+        when(userRepository.findActiveRoleById(USER_ID)).thenReturn(Optional.of(UserRole.TEACHER));
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(61));
+        assertThat(lookup.isAdmin(USER_ID)).isFalse();
+        verify(userRepository, times(2)).findActiveRoleById(USER_ID);
+    }
+
+    @Test
+    @DisplayName("Should not treat teachers or unknown and inactive users as admins")
+    void nonAdminsAreNotAdmins() {
+        UUID teacherId = UUID.randomUUID();
+        when(userRepository.findActiveRoleById(teacherId)).thenReturn(Optional.of(UserRole.TEACHER));
+        when(userRepository.findActiveRoleById(USER_ID)).thenReturn(Optional.empty());
+
+        assertThat(lookup.isAdmin(teacherId)).isFalse();
+        assertThat(lookup.isAdmin(USER_ID)).isFalse();
+    }
+}
@@ -18,7 +18,7 @@ import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 
 import com.tracegrade.dashboard.DashboardStatsController;
-import com.tracegrade.dashboard.DashboardStatsService;
+import com.tracegrade.dashboard.DashboardStatsCache;
 import com.tracegrade.examtemplate.ExamTemplateService;
 import com.tracegrade.filter.SanitizationProperties;
 import com.tracegrade.grading.GradingService;
@@ -58,7 +58,7 @@ class SecurityConfigTest {
     private SubmissionUploadService submissionUploadService;
 
     @MockBean
-    private DashboardStatsService dashboardStatsService;
+    private DashboardStatsCache dashboardStatsCache;
 
     @MockBean
     private ExamTemplateService examTemplateService;
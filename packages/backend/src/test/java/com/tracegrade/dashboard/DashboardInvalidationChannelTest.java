@@ -0,0 +1,54 @@
+package com.tracegrade.dashboard;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+class DashboardInvalidationChannelTest {
+
+    private StringRedisTemplate redisTemplate;
+    private RedisConnectionFactory connectionFactory;
+    private DashboardInvalidationChannel channel;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        connectionFactory = mock(RedisConnectionFactory.class);
+        channel = new DashboardInvalidationChannel(redisTemplate, connectionFactory, new DashboardCacheProperties());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        channel.destroy();
+    }
+
+    @Test
+    @DisplayName("Should publish the evicted school on the configured channel")
+    void publishesSchool() {
+        UUID schoolId = UUID.randomUUID();
+
+        channel.publish(schoolId);
+
+        verify(redisTemplate).convertAndSend("dashboard:stats:invalidate", schoolId.toString());
+    }
+
+    @Test
+    @DisplayName("Should not fail startup when Redis is unreachable and retry later")
+    void toleratesUnreachableRedis() {
+        when(connectionFactory.getConnection()).thenThrow(new RedisConnectionFailureException("down"));
+
+        assertThatCode(() -> channel.subscribe(schoolId -> { })).doesNotThrowAnyException();
+        assertThatCode(channel::ensureListening).doesNotThrowAnyException();
+    }
+}
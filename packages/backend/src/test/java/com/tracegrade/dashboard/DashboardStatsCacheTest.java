@@ -0,0 +1,200 @@
+package com.tracegrade.dashboard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import com.tracegrade.dto.response.DashboardStatsResponse;
+import com.tracegrade.exception.ResourceNotFoundException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class DashboardStatsCacheTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T09:30:15.250Z");
+
+    private final UUID schoolId = UUID.randomUUID();
+    private final AtomicLong nanos = new AtomicLong();
+
+    private DashboardStatsService dashboardStatsService;
+    private DashboardStatsCache cache;
+
+    @BeforeEach
+    void setUp() {
+        dashboardStatsService = mock(DashboardStatsService.class);
+        cache = new DashboardStatsCache(dashboardStatsService, new DashboardCacheProperties(),
+                new SimpleMeterRegistry(), nanos::get, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private static DashboardStatsResponse stats(long pendingReviews) {
+        return DashboardStatsResponse.builder()
+                .totalStudents(20)
+                .gradedThisWeek(8)
+                .pendingReviews(pendingReviews)
+                .classAverage(new BigDecimal("84.7"))
+                .letterGrade("B")
+                .build();
+    }
+
+    private <T> T inject(String fieldName, T bean) throws Exception {
+        Field field = DashboardStatsCache.class.getDeclaredField(fieldName);
+        field.setAccessible(true);
+        field.set(cache, bean);
+        return bean;
+    }
+
+    private RedisDashboardStatsCache withRedis() throws Exception {
+        return inject("redisCache", mock(RedisDashboardStatsCache.class));
+    }
+
+    private static RedisDashboardStatsCache.Lookup miss(String generation) {
+        return new RedisDashboardStatsCache.Lookup(Optional.empty(), generation);
+    }
+
+    @Test
+    @DisplayName("Should compute a dashboard once and serve it from memory until the TTL passes")
+    void cachesUntilTtl() {
+        when(dashboardStatsService.getDashboardStats(schoolId)).thenReturn(stats(2));
+
+        DashboardStatsSnapshot first = cache.get(schoolId);
+        DashboardStatsSnapshot second = cache.get(schoolId);
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.lastModified()).isEqualTo(Instant.parse("2026-10-18T09:30:15Z"));
+        verify(dashboardStatsService, times(1)).getDashboardStats(schoolId);
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(301));
+
+        cache.get(schoolId);
+        verify(dashboardStatsService, times(2)).getDashboardStats(schoolId);
+    }
+
+    @Test
+    @DisplayName("Should recompute after a change event and change the ETag only when the stats changed")
+    void evictsOnChange() {
+        when(dashboardStatsService.getDashboardStats(schoolId))
+                .thenReturn(stats(2))
+                .thenReturn(stats(2))
+                .thenReturn(stats(1));
+
+        String etag = cache.get(schoolId).etag();
+
+        cache.onStatsChanged(new DashboardStatsChangedEvent(schoolId));
+        assertThat(cache.get(schoolId).etag()).isEqualTo(etag);
+
+        cache.onStatsChanged(new DashboardStatsChangedEvent(schoolId));
+        assertThat(cache.get(schoolId).etag()).isNotEqualTo(etag);
+        verify(dashboardStatsService, times(3)).getDashboardStats(schoolId);
+    }
+
+    @Test
+    @DisplayName("Should not remember schools that do not exist")
+    void doesNotCacheMissingSchools() {
+        when(dashboardStatsService.getDashboardStats(schoolId))
+                .thenThrow(new ResourceNotFoundException("School", schoolId))
+                .thenReturn(stats(0));
+
+        assertThatThrownBy(() -> cache.get(schoolId)).isInstanceOf(ResourceNotFoundException.class);
+        assertThat(cache.get(schoolId).stats().getPendingReviews()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should serve a local miss from Redis without querying the database")
+    void servesFromRedis() throws Exception {
+        RedisDashboardStatsCache redisCache = withRedis();
+        DashboardStatsSnapshot shared = DashboardStatsSnapshot.of(stats(3), NOW);
+        when(redisCache.get(schoolId)).thenReturn(new RedisDashboardStatsCache.Lookup(Optional.of(shared), "4"));
+
+        assertThat(cache.get(schoolId)).isSameAs(shared);
+        verify(dashboardStatsService, never()).getDashboardStats(any());
+    }
+
+    @Test
+    @DisplayName("Should store computed dashboards in Redis under the generation read before computing them")
+    void storesAndEvictsInRedis() throws Exception {
+        RedisDashboardStatsCache redisCache = withRedis();
+        when(redisCache.get(schoolId)).thenReturn(miss("7"));
+        when(dashboardStatsService.getDashboardStats(schoolId)).thenReturn(stats(2));
+
+        DashboardStatsSnapshot snapshot = cache.get(schoolId);
+        cache.onStatsChanged(new DashboardStatsChangedEvent(schoolId));
+
+        verify(redisCache).put(schoolId, snapshot, "7");
+        verify(redisCache).evict(schoolId);
+    }
+
+    @Test
+    @DisplayName("Should announce evictions on the invalidation channel without a shared cache")
+    void announcesEvictionsWithoutRedisCache() throws Exception {
+        DashboardInvalidationChannel channel = inject("invalidationChannel", mock(DashboardInvalidationChannel.class));
+        when(dashboardStatsService.getDashboardStats(schoolId)).thenReturn(stats(2));
+
+        cache.get(schoolId);
+        cache.onStatsChanged(new DashboardStatsChangedEvent(schoolId));
+
+        verify(channel).publish(schoolId);
+        cache.get(schoolId);
+        verify(dashboardStatsService, times(2)).getDashboardStats(schoolId);
+    }
+
+    @Test
+    @DisplayName("Should still evict locally when the eviction cannot be announced")
+    void evictsLocallyWhenAnnouncementFails() throws Exception {
+        DashboardInvalidationChannel channel = inject("invalidationChannel", mock(DashboardInvalidationChannel.class));
+        doThrow(new RedisConnectionFailureException("down")).when(channel).publish(schoolId);
+        when(dashboardStatsService.getDashboardStats(schoolId)).thenReturn(stats(2)).thenReturn(stats(1));
+
+        cache.get(schoolId);
+        cache.evict(schoolId);
+
+        assertThat(cache.get(schoolId).stats().getPendingReviews()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the database and pause Redis reads after a Redis failure, but keep evicting")
+    void fallsBackWhenRedisFails() throws Exception {
+        RedisDashboardStatsCache redisCache = withRedis();
+        when(redisCache.get(schoolId)).thenThrow(new RedisConnectionFailureException("down"));
+        when(dashboardStatsService.getDashboardStats(schoolId)).thenReturn(stats(2));
+
+        assertThat(cache.get(schoolId).stats().getPendingReviews()).isEqualTo(2);
+
+        cache.evict(schoolId);
+        cache.get(schoolId);
+        verify(redisCache, times(1)).get(schoolId);
+        verify(redisCache, never()).put(eq(schoolId), any(), any());
+        verify(redisCache).evict(schoolId);
+    }
+
+    @Test
+    @DisplayName("Should derive the same ETag for the same stats regardless of when they were computed")
+    void etagDependsOnContentOnly() {
+        DashboardStatsSnapshot a = DashboardStatsSnapshot.of(stats(2), NOW);
+        DashboardStatsSnapshot b = DashboardStatsSnapshot.of(stats(2), NOW.plusSeconds(60));
+
+        assertThat(a.etag()).isEqualTo(b.etag()).startsWith("\"").endsWith("\"");
+        assertThat(DashboardStatsSnapshot.of(stats(3), NOW).etag()).isNotEqualTo(a.etag());
+    }
+}
@@ -6,10 +6,13 @@ import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.UUID;
 
 import org.junit.jupiter.api.DisplayName;
@@ -48,11 +51,13 @@ import com.tracegrade.ratelimit.RateLimitService;
 @SuppressWarnings("null")
 class DashboardStatsControllerTest {
 
+    private static final Instant LAST_MODIFIED = Instant.parse("2026-10-18T09:30:00Z");
+
     @Autowired
     private MockMvc mockMvc;
 
     @MockBean
-    private DashboardStatsService dashboardStatsService;
+    private DashboardStatsCache dashboardStatsCache;
 
     @MockBean
     private RateLimitService rateLimitService;
@@ -65,7 +70,7 @@ class DashboardStatsControllerTest {
         mockMvc.perform(get("/api/schools/{schoolId}/dashboard/stats", schoolId))
                 .andExpect(status().isUnauthorized());
 
-        verifyNoInteractions(dashboardStatsService);
+        verifyNoInteractions(dashboardStatsCache);
     }
 
     @Test
@@ -81,7 +86,7 @@ class DashboardStatsControllerTest {
                 .letterGrade("B")
                 .build();
 
-        when(dashboardStatsService.getDashboardStats(schoolId)).thenReturn(response);
+        when(dashboardStatsCache.get(schoolId)).thenReturn(DashboardStatsSnapshot.of(response, LAST_MODIFIED));
 
         mockMvc.perform(get("/api/schools/{schoolId}/dashboard/stats", schoolId)
                         .with(user(schoolId.toString())))
@@ -94,7 +99,7 @@ class DashboardStatsControllerTest {
                 .andExpect(jsonPath("$.data.classAverage", is(84.7)))
                 .andExpect(jsonPath("$.data.letterGrade", is("B")));
 
-        verify(dashboardStatsService).getDashboardStats(schoolId);
+        verify(dashboardStatsCache).get(schoolId);
     }
 
         @Test
@@ -110,7 +115,7 @@ class DashboardStatsControllerTest {
                                 .letterGrade("F")
                                 .build();
 
-                when(dashboardStatsService.getDashboardStats(schoolId)).thenReturn(response);
+                when(dashboardStatsCache.get(schoolId)).thenReturn(DashboardStatsSnapshot.of(response, LAST_MODIFIED));
 
                 mockMvc.perform(get("/api/schools/{schoolId}/dashboard/stats", schoolId)
                                                 .with(user(schoolId.toString())))
@@ -123,9 +128,40 @@ class DashboardStatsControllerTest {
                                 .andExpect(jsonPath("$.data.classAverage", is(0.0)))
                                 .andExpect(jsonPath("$.data.letterGrade", is("F")));
 
-                verify(dashboardStatsService).getDashboardStats(schoolId);
+                verify(dashboardStatsCache).get(schoolId);
         }
 
+    @Test
+    @DisplayName("GET dashboard stats returns ETag and Last-Modified, and 304 when If-None-Match matches")
+    void returnsNotModifiedForMatchingEtag() throws Exception {
+        UUID schoolId = UUID.randomUUID();
+        DashboardStatsSnapshot snapshot = DashboardStatsSnapshot.of(DashboardStatsResponse.builder()
+                .totalStudents(20)
+                .classAverage(new BigDecimal("84.7"))
+                .letterGrade("B")
+                .build(), LAST_MODIFIED);
+        when(dashboardStatsCache.get(schoolId)).thenReturn(snapshot);
+
+        mockMvc.perform(get("/api/schools/{schoolId}/dashboard/stats", schoolId)
+                        .with(user(schoolId.toString())))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", snapshot.etag()))
+                .andExpect(header().string("Last-Modified", "Sun, 18 Oct 2026 09:30:00 GMT"))
+                .andExpect(header().string("Cache-Control", "no-cache, private"));
+
+        mockMvc.perform(get("/api/schools/{schoolId}/dashboard/stats", schoolId)
+                        .header("If-None-Match", snapshot.etag())
+                        .with(user(schoolId.toString())))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", snapshot.etag()))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/api/schools/{schoolId}/dashboard/stats", schoolId)
+                        .header("If-None-Match", "\"stale\"")
+                        .with(user(schoolId.toString())))
+                .andExpect(status().isOk());
+    }
+
     @Test
         @DisplayName("GET dashboard stats returns 403 when authenticated user is not authorized for school")
         void returnsForbiddenWhenSchoolAccessUnauthorized() throws Exception {
@@ -137,14 +173,14 @@ class DashboardStatsControllerTest {
                                 .andExpect(jsonPath("$.success", is(false)))
                                 .andExpect(jsonPath("$.error.code", is("ACCESS_DENIED")));
 
-                verifyNoInteractions(dashboardStatsService);
+                verifyNoInteractions(dashboardStatsCache);
         }
 
         @Test
         @DisplayName("GET dashboard stats returns 404 when school does not exist")
     void returnsNotFoundWhenSchoolMissing() throws Exception {
         UUID schoolId = UUID.randomUUID();
-        when(dashboardStatsService.getDashboardStats(schoolId))
+        when(dashboardStatsCache.get(schoolId))
                 .thenThrow(new ResourceNotFoundException("School", schoolId));
 
                 mockMvc.perform(get("/api/schools/{schoolId}/dashboard/stats", schoolId)
@@ -153,7 +189,7 @@ class DashboardStatsControllerTest {
                 .andExpect(jsonPath("$.success", is(false)))
                 .andExpect(jsonPath("$.error.code", is("NOT_FOUND")));
 
-        verify(dashboardStatsService).getDashboardStats(schoolId);
+        verify(dashboardStatsCache).get(schoolId);
     }
 
     @Test
@@ -164,6 +200,6 @@ class DashboardStatsControllerTest {
                         .with(user(UUID.randomUUID().toString())))
                 .andExpect(status().isForbidden());
 
-        verifyNoInteractions(dashboardStatsService);
+        verifyNoInteractions(dashboardStatsCache);
     }
 }
\ No newline at end of file
@@ -0,0 +1,119 @@
+package com.tracegrade.dashboard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.tracegrade.dto.response.DashboardStatsResponse;
+
+@SuppressWarnings({"null", "unchecked"})
+class RedisDashboardStatsCacheTest {
+
+    private final UUID schoolId = UUID.randomUUID();
+
+    private StringRedisTemplate redisTemplate;
+    private ValueOperations<String, String> values;
+    private RedisDashboardStatsCache redisCache;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        values = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        redisCache = new RedisDashboardStatsCache(redisTemplate,
+                Jackson2ObjectMapperBuilder.json().build(), new DashboardCacheProperties());
+    }
+
+    private List<String> keys() {
+        return List.of("dashboard:stats:" + schoolId, "dashboard:stats:gen:" + schoolId);
+    }
+
+    private static DashboardStatsSnapshot snapshot() {
+        return DashboardStatsSnapshot.of(DashboardStatsResponse.builder()
+                .totalStudents(20)
+                .gradedThisWeek(8)
+                .pendingReviews(2)
+                .classAverage(new BigDecimal("84.7"))
+                .letterGrade("B")
+                .build(), Instant.parse("2026-10-18T09:30:00Z"));
+    }
+
+    @Test
+    @DisplayName("Should read back a stored dashboard with its validators")
+    void roundTripsSnapshot() {
+        DashboardStatsSnapshot snapshot = snapshot();
+        when(redisTemplate.execute(any(RedisScript.class), eq(keys()), any(), eq("3"), eq("300000")))
+                .thenReturn(1L);
+
+        assertThat(redisCache.put(schoolId, snapshot, "3")).isTrue();
+
+        ArgumentCaptor<String> json = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).execute(any(RedisScript.class), eq(keys()), json.capture(), eq("3"), eq("300000"));
+        when(values.multiGet(keys())).thenReturn(Arrays.asList(json.getValue(), "3"));
+
+        RedisDashboardStatsCache.Lookup lookup = redisCache.get(schoolId);
+        DashboardStatsSnapshot read = lookup.snapshot().orElseThrow();
+        assertThat(lookup.generation()).isEqualTo("3");
+        assertThat(read.etag()).isEqualTo(snapshot.etag());
+        assertThat(read.lastModified()).isEqualTo(snapshot.lastModified());
+        assertThat(read.stats().getClassAverage()).isEqualByComparingTo("84.7");
+        assertThat(read.stats().getLetterGrade()).isEqualTo("B");
+    }
+
+    @Test
+    @DisplayName("Should report a miss with an empty generation for a school never evicted")
+    void missWithoutGeneration() {
+        when(values.multiGet(keys())).thenReturn(Arrays.asList(null, null));
+
+        RedisDashboardStatsCache.Lookup lookup = redisCache.get(schoolId);
+
+        assertThat(lookup.snapshot()).isEmpty();
+        assertThat(lookup.generation()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should treat an unreadable entry as a miss")
+    void ignoresUnreadableEntry() {
+        when(values.multiGet(keys())).thenReturn(Arrays.asList("{not json", "2"));
+
+        RedisDashboardStatsCache.Lookup lookup = redisCache.get(schoolId);
+
+        assertThat(lookup.snapshot()).isEmpty();
+        assertThat(lookup.generation()).isEqualTo("2");
+    }
+
+    @Test
+    @DisplayName("Should report a put rejected because the school was evicted meanwhile")
+    void rejectsStalePut() {
+        when(redisTemplate.execute(any(RedisScript.class), eq(keys()), any(), eq("3"), eq("300000")))
+                .thenReturn(0L);
+
+        assertThat(redisCache.put(schoolId, snapshot(), "3")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should delete the entry and bump the generation on eviction")
+    void evictsAndBumpsGeneration() {
+        redisCache.evict(schoolId);
+
+        verify(redisTemplate).execute(any(RedisScript.class), eq(keys()), eq("600000"));
+    }
+}
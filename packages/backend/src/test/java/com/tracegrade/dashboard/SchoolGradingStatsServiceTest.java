@@ -0,0 +1,106 @@
+package com.tracegrade.dashboard;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.tracegrade.domain.model.GradingResult;
+import com.tracegrade.domain.repository.SchoolGradingStatsRepository;
+import com.tracegrade.domain.repository.StudentRepository;
+
+@ExtendWith(MockitoExtension.class)
+class SchoolGradingStatsServiceTest {
+
+    private static final UUID STUDENT_ID = UUID.randomUUID();
+    private static final UUID SCHOOL_ID = UUID.randomUUID();
+
+    @Mock
+    private SchoolGradingStatsRepository statsRepository;
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private SchoolGradingStatsService service;
+
+    @Test
+    @DisplayName("Counts a new result, its score, its pending review and its day")
+    void recordsGradedResult() {
+        when(studentRepository.findSchoolIdById(STUDENT_ID)).thenReturn(Optional.of(SCHOOL_ID));
+        GradingResult result = GradingResult.builder()
+                .aiScore(new BigDecimal("72.50"))
+                .finalScore(new BigDecimal("72.50"))
+                .needsReview(true)
+                .build();
+
+        service.recordGraded(STUDENT_ID, result);
+
+        verify(statsRepository).insertIfAbsent(SCHOOL_ID);
+        verify(statsRepository).increment(SCHOOL_ID, 1, 1, new BigDecimal("72.50"), 1);
+        verify(statsRepository).insertDayIfAbsent(eq(SCHOOL_ID), any());
+        verify(statsRepository).incrementDay(eq(SCHOOL_ID), any(), eq(1L));
+        verify(eventPublisher).publishEvent(new DashboardStatsChangedEvent(SCHOOL_ID));
+    }
+
+    @Test
+    @DisplayName("Applies the score difference of a review and clears its pending review")
+    void recordsReview() {
+        when(studentRepository.findSchoolIdById(STUDENT_ID)).thenReturn(Optional.of(SCHOOL_ID));
+        GradingResult reviewed = GradingResult.builder()
+                .aiScore(new BigDecimal("90.00"))
+                .finalScore(new BigDecimal("75.00"))
+                .needsReview(false)
+                .reviewedAt(Instant.now())
+                .build();
+
+        service.recordReviewed(STUDENT_ID, new BigDecimal("90.00"), true, reviewed);
+
+        verify(statsRepository).increment(SCHOOL_ID, 0, -1, new BigDecimal("-15.00"), 0);
+    }
+
+    @Test
+    @DisplayName("Takes a deleted result, its score, its pending review and its day back out")
+    void recordsRemovedResult() {
+        when(studentRepository.findSchoolIdById(STUDENT_ID)).thenReturn(Optional.of(SCHOOL_ID));
+        GradingResult result = GradingResult.builder()
+                .aiScore(new BigDecimal("60.00"))
+                .needsReview(true)
+                .build();
+        result.setCreatedAt(Instant.parse("2026-03-02T23:30:00Z"));
+
+        service.recordRemoved(STUDENT_ID, result);
+
+        verify(statsRepository).increment(SCHOOL_ID, -1, -1, new BigDecimal("-60.00"), -1);
+        verify(statsRepository).incrementDay(SCHOOL_ID, LocalDate.of(2026, 3, 2), -1);
+        verify(eventPublisher).publishEvent(new DashboardStatsChangedEvent(SCHOOL_ID));
+    }
+
+    @Test
+    @DisplayName("Skips results whose student is unknown")
+    void skipsUnknownStudent() {
+        when(studentRepository.findSchoolIdById(STUDENT_ID)).thenReturn(Optional.empty());
+
+        service.recordGraded(STUDENT_ID, GradingResult.builder().aiScore(BigDecimal.TEN).build());
+
+        verifyNoInteractions(statsRepository, eventPublisher);
+    }
+}
@@ -0,0 +1,152 @@
+package com.tracegrade.domain.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import com.tracegrade.domain.model.Assignment;
+import com.tracegrade.domain.model.Class;
+import com.tracegrade.domain.model.GradingResult;
+import com.tracegrade.domain.model.School;
+import com.tracegrade.domain.model.SchoolType;
+import com.tracegrade.domain.model.StudentSubmission;
+import com.tracegrade.domain.model.SubmissionStatus;
+import com.tracegrade.domain.repository.AssignmentRepository.AnalyticsRow;
+
+/** Runs against the test profile's PostgreSQL-mode H2 database. */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class AssignmentRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    private Class schoolClass;
+
+    @BeforeEach
+    void setUp() {
+        School school = entityManager.persistAndFlush(School.builder()
+                .name("Analytics School")
+                .schoolType(SchoolType.HIGH)
+                .build());
+        schoolClass = entityManager.persistAndFlush(Class.builder()
+                .school(school)
+                .teacherId(UUID.randomUUID())
+                .name("Biology")
+                .schoolYear("2026-2027")
+                .build());
+    }
+
+    private Assignment createAndPersistAssignment(String name) {
+        return entityManager.persistAndFlush(Assignment.builder()
+                .classId(schoolClass.getId())
+                .categoryId(UUID.randomUUID())
+                .name(name)
+                .maxPoints(new BigDecimal("100"))
+                .isPublished(true)
+                .build());
+    }
+
+    private GradingResult createAndPersistResult(Assignment assignment, String aiScore, String finalScore,
+                                                 boolean needsReview) {
+        StudentSubmission submission = entityManager.persistAndFlush(StudentSubmission.builder()
+                .assignmentId(assignment.getId())
+                .studentId(UUID.randomUUID())
+                .submissionImageUrls("[\"s3://bucket/img.jpg\"]")
+                .originalFormat("jpg")
+                .status(SubmissionStatus.COMPLETED)
+                .submittedAt(Instant.now())
+                .build());
+        return entityManager.persistAndFlush(GradingResult.builder()
+                .submission(submission)
+                .aiScore(aiScore != null ? new BigDecimal(aiScore) : null)
+                .finalScore(finalScore != null ? new BigDecimal(finalScore) : null)
+                .confidenceScore(new BigDecimal("90.00"))
+                .needsReview(needsReview)
+                .questionScores("[]")
+                .build());
+    }
+
+    @Test
+    @DisplayName("Should group a class's results by assignment and score bucket with middle scores marked")
+    void findsClassAnalytics() {
+        Assignment essay = createAndPersistAssignment("Essay");
+        Assignment quiz = createAndPersistAssignment("Quiz");
+        createAndPersistAssignment("Unit test");
+        createAndPersistResult(essay, "95.00", null, false);
+        createAndPersistResult(essay, "60.00", "85.00", true);
+        GradingResult old = createAndPersistResult(essay, "72.00", null, false);
+        createAndPersistResult(essay, null, null, false);
+        createAndPersistResult(quiz, "40.00", null, false);
+        createAndPersistResult(quiz, "100.00", null, false);
+        entityManager.getEntityManager()
+                .createNativeQuery("UPDATE grading_results SET created_at = :createdAt WHERE id = :id")
+                .setParameter("createdAt", Instant.now().minus(30, ChronoUnit.DAYS))
+                .setParameter("id", old.getId())
+                .executeUpdate();
+
+        List<AnalyticsRow> rows = assignmentRepository.findClassAnalytics(
+                schoolClass.getId(), Instant.now().minus(7, ChronoUnit.DAYS));
+
+        assertThat(rows).extracting(AnalyticsRow::getAssignmentName, AnalyticsRow::getBucket, AnalyticsRow::getResults)
+                .containsExactly(
+                        tuple("Essay", 7, 1L),
+                        tuple("Essay", 8, 1L),
+                        tuple("Essay", 9, 1L),
+                        tuple("Essay", null, 1L),
+                        tuple("Quiz", 4, 1L),
+                        tuple("Quiz", 9, 1L),
+                        tuple("Unit test", null, 0L));
+
+        assertThat(rows.stream().mapToLong(AnalyticsRow::getPending).sum()).isEqualTo(1);
+        assertThat(rows.stream().mapToLong(AnalyticsRow::getGradedSince).sum()).isEqualTo(5);
+        assertThat(median(rows, AnalyticsRow::getAssignmentMedianSum, AnalyticsRow::getAssignmentMedianCount, "Essay"))
+                .isEqualByComparingTo("85");
+        assertThat(median(rows, AnalyticsRow::getAssignmentMedianSum, AnalyticsRow::getAssignmentMedianCount, "Quiz"))
+                .isEqualByComparingTo("70");
+        // class scores 40, 72, 85, 95, 100
+        assertThat(median(rows, AnalyticsRow::getClassMedianSum, AnalyticsRow::getClassMedianCount, null))
+                .isEqualByComparingTo("85");
+    }
+
+    private static BigDecimal median(List<AnalyticsRow> rows,
+                                     Function<AnalyticsRow, BigDecimal> sum,
+                                     Function<AnalyticsRow, Long> count,
+                                     String assignmentName) {
+        BigDecimal total = BigDecimal.ZERO;
+        long n = 0;
+        for (AnalyticsRow row : rows) {
+            if (assignmentName == null || assignmentName.equals(row.getAssignmentName())) {
+                if (sum.apply(row) != null) {
+                    total = total.add(sum.apply(row));
+                }
+                n += count.apply(row);
+            }
+        }
+        return total.divide(BigDecimal.valueOf(n));
+    }
+}
@@ -0,0 +1,81 @@
+package com.tracegrade.domain.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import com.tracegrade.domain.model.ClassEnrollment;
+import com.tracegrade.domain.model.School;
+import com.tracegrade.domain.model.SchoolType;
+import com.tracegrade.domain.model.Student;
+
+/** Runs against the test profile's PostgreSQL-mode H2 database. */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class ClassEnrollmentRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ClassEnrollmentRepository classEnrollmentRepository;
+
+    private Student createAndPersistStudent(School school, String firstName, String lastName) {
+        return entityManager.persistAndFlush(Student.builder()
+                .school(school)
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(firstName.toLowerCase() + "@test.com")
+                .build());
+    }
+
+    private void enroll(UUID classId, Student student, Instant droppedAt) {
+        entityManager.persistAndFlush(ClassEnrollment.builder()
+                .classId(classId)
+                .studentId(student.getId())
+                .enrolledAt(Instant.now())
+                .droppedAt(droppedAt)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Should list currently enrolled students by last and first name")
+    void findsEnrolledStudents() {
+        School school = entityManager.persistAndFlush(School.builder()
+                .name("Test School")
+                .schoolType(SchoolType.HIGH)
+                .build());
+        UUID classId = UUID.randomUUID();
+        Student turing = createAndPersistStudent(school, "Alan", "Turing");
+        Student ada = createAndPersistStudent(school, "Ada", "Lovelace");
+        Student byron = createAndPersistStudent(school, "Augusta", "Lovelace");
+        Student dropped = createAndPersistStudent(school, "Grace", "Hopper");
+        Student elsewhere = createAndPersistStudent(school, "Edsger", "Dijkstra");
+        enroll(classId, turing, null);
+        enroll(classId, byron, null);
+        enroll(classId, ada, null);
+        enroll(classId, dropped, Instant.now());
+        enroll(UUID.randomUUID(), elsewhere, null);
+
+        assertThat(classEnrollmentRepository.findEnrolledStudents(classId))
+                .containsExactly(
+                        new EnrolledStudent(ada.getId(), "Ada", "Lovelace"),
+                        new EnrolledStudent(byron.getId(), "Augusta", "Lovelace"),
+                        new EnrolledStudent(turing.getId(), "Alan", "Turing"));
+    }
+}
@@ -111,6 +111,19 @@ class ClassRepositoryTest {
         assertThat(notFound).isNotPresent();
     }
 
+    @Test
+    @DisplayName("Should load only the school and teacher of a class")
+    void shouldFindOwnershipById() {
+        School school = createAndPersistSchool("Ownership School");
+        UUID teacher = createAndPersistTeacher(school, "teacher-owner@test.com");
+
+        Class classEntity = createAndPersistClass(school, teacher, "Physics", "2025-2026", "P5", true);
+
+        assertThat(classRepository.findOwnershipById(classEntity.getId()))
+                .contains(new ClassOwnership(classEntity.getId(), school.getId(), teacher));
+        assertThat(classRepository.findOwnershipById(UUID.randomUUID())).isEmpty();
+    }
+
     @Test
     @DisplayName("Should support duplicate checks for active classes")
     void shouldSupportDuplicateChecksForActiveClasses() {
@@ -21,6 +21,7 @@ import org.springframework.test.context.TestPropertySource;
 import com.tracegrade.domain.model.AnswerRubric;
 import com.tracegrade.domain.model.DifficultyLevel;
 import com.tracegrade.domain.model.ExamTemplate;
+import com.tracegrade.pagination.PageCursor;
 
 @DataJpaTest
 @ActiveProfiles("test")
@@ -79,7 +80,7 @@ class ExamTemplateRepositoryTest {
     }
 
     @Test
-    @DisplayName("Should find exam templates by teacher ID ordered by created_at desc")
+    @DisplayName("Should page exam templates by teacher ID ordered by created_at desc")
     void shouldFindByTeacherId() {
         UUID teacherId = UUID.randomUUID();
         entityManager.persistAndFlush(ExamTemplate.builder()
@@ -102,10 +103,18 @@ class ExamTemplateRepositoryTest {
                 .build());
         entityManager.clear();
 
-        List<ExamTemplate> results = examTemplateRepository.findByTeacherIdOrderByCreatedAtDesc(teacherId);
+        List<ExamTemplate> results = examTemplateRepository.findPageByTeacherId(teacherId, null, null,
+                PageCursor.AFTER_ALL.createdAt(), PageCursor.AFTER_ALL.id(), PageCursor.fetch(10));
 
         assertThat(results).hasSize(2);
         assertThat(results).extracting(ExamTemplate::getTeacherId).containsOnly(teacherId);
+        assertThat(results.get(0).getCreatedAt()).isAfterOrEqualTo(results.get(1).getCreatedAt());
+
+        ExamTemplate first = results.get(0);
+        List<ExamTemplate> rest = examTemplateRepository.findPageByTeacherId(teacherId, null, null,
+                first.getCreatedAt(), first.getId(), PageCursor.fetch(10));
+
+        assertThat(rest).extracting(ExamTemplate::getId).containsExactly(results.get(1).getId());
     }
 
     @Test
@@ -134,6 +143,47 @@ class ExamTemplateRepositoryTest {
         assertThat(results.get(0).getName()).isEqualTo("Math Exam");
     }
 
+    @Test
+    @DisplayName("Should filter a page of exam templates by subject and grade level ignoring case")
+    void shouldFilterPageBySubjectAndGradeLevel() {
+        UUID teacherId = UUID.randomUUID();
+        entityManager.persistAndFlush(ExamTemplate.builder()
+                .teacherId(teacherId)
+                .name("Algebra")
+                .subject("Mathematics")
+                .gradeLevel("10th Grade")
+                .totalPoints(new BigDecimal("100.00"))
+                .questionsJson("[]")
+                .build());
+        entityManager.persistAndFlush(ExamTemplate.builder()
+                .teacherId(teacherId)
+                .name("Geometry")
+                .subject("Mathematics")
+                .gradeLevel("9th Grade")
+                .totalPoints(new BigDecimal("100.00"))
+                .questionsJson("[]")
+                .build());
+        entityManager.persistAndFlush(ExamTemplate.builder()
+                .teacherId(teacherId)
+                .name("Biology")
+                .subject("Science")
+                .gradeLevel("10th Grade")
+                .totalPoints(new BigDecimal("100.00"))
+                .questionsJson("[]")
+                .build());
+        entityManager.clear();
+
+        assertThat(examTemplateRepository.findPageByTeacherId(teacherId, "mathematics", "10TH GRADE",
+                PageCursor.AFTER_ALL.createdAt(), PageCursor.AFTER_ALL.id(), PageCursor.fetch(10)))
+                .extracting(ExamTemplate::getName).containsExactly("Algebra");
+        assertThat(examTemplateRepository.findPageByTeacherId(teacherId, "MATHEMATICS", null,
+                PageCursor.AFTER_ALL.createdAt(), PageCursor.AFTER_ALL.id(), PageCursor.fetch(10)))
+                .extracting(ExamTemplate::getName).containsExactlyInAnyOrder("Algebra", "Geometry");
+        assertThat(examTemplateRepository.findPageByTeacherId(teacherId, null, "10th grade",
+                PageCursor.AFTER_ALL.createdAt(), PageCursor.AFTER_ALL.id(), PageCursor.fetch(10)))
+                .extracting(ExamTemplate::getName).containsExactlyInAnyOrder("Algebra", "Biology");
+    }
+
     @Test
     @DisplayName("Should reject ExamTemplate when required fields are missing")
     void shouldRejectWhenRequiredFieldsMissing() {
@@ -0,0 +1,105 @@
+package com.tracegrade.domain.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import com.tracegrade.domain.model.Assignment;
+import com.tracegrade.domain.model.Grade;
+import com.tracegrade.domain.model.GradeStatus;
+
+/** Runs against the test profile's PostgreSQL-mode H2 database. */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class GradeRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    private UUID classId;
+
+    @BeforeEach
+    void setUp() {
+        classId = UUID.randomUUID();
+    }
+
+    private Assignment createAndPersistAssignment(UUID classId, String name) {
+        return entityManager.persistAndFlush(Assignment.builder()
+                .classId(classId)
+                .categoryId(UUID.randomUUID())
+                .name(name)
+                .maxPoints(new BigDecimal("20"))
+                .isPublished(true)
+                .build());
+    }
+
+    private Grade createAndPersistGrade(Assignment assignment, UUID studentId, String points, GradeStatus status) {
+        return entityManager.persistAndFlush(Grade.builder()
+                .assignmentId(assignment.getId())
+                .studentId(studentId)
+                .pointsEarned(points != null ? new BigDecimal(points) : null)
+                .status(status)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Should return the grade cells of every assignment in the class only")
+    void findsCellsOfClass() {
+        UUID studentId = UUID.randomUUID();
+        Assignment quiz = createAndPersistAssignment(classId, "Quiz");
+        Assignment essay = createAndPersistAssignment(classId, "Essay");
+        Assignment elsewhere = createAndPersistAssignment(UUID.randomUUID(), "Other class");
+        createAndPersistGrade(quiz, studentId, "17.5", GradeStatus.GRADED);
+        createAndPersistGrade(essay, studentId, null, GradeStatus.EXCUSED);
+        createAndPersistGrade(elsewhere, studentId, "20", GradeStatus.GRADED);
+
+        assertThat(gradeRepository.findCellsByClassId(classId))
+                .extracting(GradeCell::assignmentId, GradeCell::studentId, GradeCell::status)
+                .containsExactlyInAnyOrder(
+                        tuple(quiz.getId(), studentId, GradeStatus.GRADED),
+                        tuple(essay.getId(), studentId, GradeStatus.EXCUSED));
+        assertThat(gradeRepository.findCellsByClassId(classId))
+                .filteredOn(cell -> cell.assignmentId().equals(quiz.getId()))
+                .singleElement()
+                .satisfies(cell -> assertThat(cell.pointsEarned()).isEqualByComparingTo("17.5"));
+    }
+
+    @Test
+    @DisplayName("Should return the grade cells of a category, for all students or one")
+    void findsCellsOfCategory() {
+        UUID ada = UUID.randomUUID();
+        UUID alan = UUID.randomUUID();
+        Assignment quiz = createAndPersistAssignment(classId, "Quiz");
+        Assignment other = createAndPersistAssignment(classId, "Other category");
+        createAndPersistGrade(quiz, ada, "15", GradeStatus.GRADED);
+        createAndPersistGrade(quiz, alan, null, GradeStatus.MISSING);
+        createAndPersistGrade(other, ada, "20", GradeStatus.GRADED);
+
+        assertThat(gradeRepository.findCellsByCategoryId(quiz.getCategoryId()))
+                .extracting(GradeCell::studentId)
+                .containsExactlyInAnyOrder(ada, alan);
+        assertThat(gradeRepository.findCellsByCategoryIdAndStudentId(quiz.getCategoryId(), alan))
+                .extracting(GradeCell::assignmentId, GradeCell::status)
+                .containsExactly(tuple(quiz.getId(), GradeStatus.MISSING));
+    }
+}
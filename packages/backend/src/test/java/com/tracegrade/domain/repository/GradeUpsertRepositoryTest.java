@@ -0,0 +1,140 @@
+package com.tracegrade.domain.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+
+import com.tracegrade.domain.model.Grade;
+import com.tracegrade.domain.model.GradeStatus;
+
+/**
+ * H2 does not support {@code ON CONFLICT ... DO UPDATE}, so the statement is
+ * checked against a mocked {@link JdbcTemplate} rather than executed.
+ */
+class GradeUpsertRepositoryTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final GradeUpsertRepository repository = new GradeUpsertRepository(jdbcTemplate);
+
+    @Test
+    @DisplayName("upsert overwrites only pending and graded grades on conflict")
+    void upsertSkipsTeacherStatuses() {
+        assertThat(GradeUpsertRepository.UPSERT_SQL)
+                .contains("ON CONFLICT (student_id, assignment_id) DO UPDATE")
+                .contains("WHERE grades.status IN ('PENDING', 'GRADED')");
+    }
+
+    @Test
+    @DisplayName("lockCell inserts a pending grade if absent and then reads the row under a write lock")
+    @SuppressWarnings("unchecked")
+    void lockCellInsertsThenLocks() throws Exception {
+        UUID id = UUID.randomUUID();
+        UUID assignmentId = UUID.randomUUID();
+        UUID studentId = UUID.randomUUID();
+        when(jdbcTemplate.query(eq(GradeUpsertRepository.LOCK_SQL), any(RowMapper.class),
+                eq(studentId), eq(assignmentId)))
+                .thenAnswer(inv -> {
+                    ResultSet rs = mock(ResultSet.class);
+                    when(rs.getBigDecimal("points_earned")).thenReturn(null);
+                    when(rs.getString("status")).thenReturn("MISSING");
+                    return List.of(inv.<RowMapper<GradeCell>>getArgument(1).mapRow(rs, 0));
+                });
+
+        GradeCell cell = repository.lockCell(id, assignmentId, studentId);
+
+        assertThat(cell).isEqualTo(new GradeCell(assignmentId, studentId, null, GradeStatus.MISSING));
+        InOrder order = inOrder(jdbcTemplate);
+        order.verify(jdbcTemplate).update(GradeUpsertRepository.INSERT_PENDING_SQL, id, assignmentId, studentId);
+        order.verify(jdbcTemplate).query(eq(GradeUpsertRepository.LOCK_SQL), any(RowMapper.class),
+                eq(studentId), eq(assignmentId));
+        assertThat(GradeUpsertRepository.INSERT_PENDING_SQL).contains("DO NOTHING");
+        assertThat(GradeUpsertRepository.LOCK_SQL).contains("FOR UPDATE");
+    }
+
+    @Test
+    @DisplayName("findCellForUpdate locks without inserting and is empty when there is no grade")
+    @SuppressWarnings("unchecked")
+    void findCellForUpdateDoesNotInsert() {
+        UUID assignmentId = UUID.randomUUID();
+        UUID studentId = UUID.randomUUID();
+        when(jdbcTemplate.query(eq(GradeUpsertRepository.LOCK_SQL), any(RowMapper.class),
+                eq(studentId), eq(assignmentId)))
+                .thenReturn(List.of());
+
+        assertThat(repository.findCellForUpdate(assignmentId, studentId)).isEmpty();
+
+        verify(jdbcTemplate, never()).update(eq(GradeUpsertRepository.INSERT_PENDING_SQL), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("deleteGraded removes only a graded grade")
+    void deleteGradedKeepsTeacherStatuses() {
+        UUID assignmentId = UUID.randomUUID();
+        UUID studentId = UUID.randomUUID();
+
+        repository.deleteGraded(assignmentId, studentId);
+
+        verify(jdbcTemplate).update(GradeUpsertRepository.DELETE_GRADED_SQL, studentId, assignmentId);
+        assertThat(GradeUpsertRepository.DELETE_GRADED_SQL).contains("status = 'GRADED'");
+    }
+
+    @Test
+    @DisplayName("grades are written in one batch statement with their IDs, points and graded time")
+    @SuppressWarnings("unchecked")
+    void writesGradesInBatches() throws Exception {
+        Instant gradedAt = Instant.parse("2026-03-02T10:00:00Z");
+        Grade grade = Grade.builder()
+                .assignmentId(UUID.randomUUID())
+                .studentId(UUID.randomUUID())
+                .pointsEarned(new BigDecimal("17.50"))
+                .status(GradeStatus.GRADED)
+                .gradedAt(gradedAt)
+                .build();
+        grade.setId(UUID.randomUUID());
+
+        repository.upsertGraded(List.of(grade), 250);
+
+        ArgumentCaptor<ParameterizedPreparedStatementSetter<Grade>> setter =
+                ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+        verify(jdbcTemplate).batchUpdate(eq(GradeUpsertRepository.UPSERT_SQL), eq(List.of(grade)), eq(250),
+                setter.capture());
+
+        PreparedStatement ps = mock(PreparedStatement.class);
+        setter.getValue().setValues(ps, grade);
+        verify(ps).setObject(1, grade.getId());
+        verify(ps).setObject(2, grade.getAssignmentId());
+        verify(ps).setObject(3, grade.getStudentId());
+        verify(ps).setBigDecimal(4, new BigDecimal("17.50"));
+        verify(ps).setTimestamp(5, Timestamp.from(gradedAt));
+    }
+
+    @Test
+    @DisplayName("an empty list issues no statement")
+    void emptyListIsNoOp() {
+        repository.upsertGraded(List.of(), 250);
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
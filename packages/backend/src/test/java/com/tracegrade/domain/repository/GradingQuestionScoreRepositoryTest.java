@@ -0,0 +1,140 @@
+package com.tracegrade.domain.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import com.tracegrade.domain.model.GradingQuestionScore;
+import com.tracegrade.domain.model.GradingResult;
+import com.tracegrade.domain.model.StudentSubmission;
+import com.tracegrade.domain.model.SubmissionStatus;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true"
+})
+class GradingQuestionScoreRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private GradingQuestionScoreRepository questionScoreRepository;
+
+    private GradingResult persistResult(UUID assignmentId) {
+        StudentSubmission submission = entityManager.persistAndFlush(StudentSubmission.builder()
+                .assignmentId(assignmentId)
+                .studentId(UUID.randomUUID())
+                .submissionImageUrls("[\"s3://bucket/img.jpg\"]")
+                .originalFormat("jpg")
+                .status(SubmissionStatus.COMPLETED)
+                .submittedAt(Instant.now())
+                .build());
+        return entityManager.persistAndFlush(GradingResult.builder()
+                .submission(submission)
+                .aiScore(new BigDecimal("70.00"))
+                .confidenceScore(new BigDecimal("90.00"))
+                .questionScores("[]")
+                .build());
+    }
+
+    private static GradingQuestionScore score(GradingResult result, int questionNumber, String points,
+                                              boolean illegible) {
+        return GradingQuestionScore.builder()
+                .gradingResultId(result.getId())
+                .questionNumber(questionNumber)
+                .pointsAwarded(new BigDecimal(points))
+                .pointsAvailable(new BigDecimal("4.00"))
+                .confidenceScore(new BigDecimal("90.00"))
+                .illegible(illegible)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should write a result's question scores as one batch of inserts")
+    void shouldInsertQuestionScoresInOneBatch() {
+        GradingResult result = persistResult(UUID.randomUUID());
+        StatementCounter statements = new StatementCounter(entityManager.getEntityManager());
+        statements.reset();
+
+        questionScoreRepository.saveAll(IntStream.rangeClosed(1, 10)
+                .mapToObj(n -> score(result, n, "3.00", false))
+                .toList());
+        entityManager.flush();
+
+        assertThat(statements.count()).isEqualTo(1);
+        entityManager.clear();
+        assertThat(questionScoreRepository.findByGradingResultIdOrderByQuestionNumber(result.getId()))
+                .extracting(GradingQuestionScore::getQuestionNumber)
+                .containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+    }
+
+    @Test
+    @DisplayName("Should read the question scores of several results in one query, in question order")
+    void shouldFindScoresOfSeveralResults() {
+        GradingResult first = persistResult(UUID.randomUUID());
+        GradingResult second = persistResult(UUID.randomUUID());
+        GradingResult other = persistResult(UUID.randomUUID());
+        questionScoreRepository.saveAll(List.of(
+                score(first, 2, "1.00", false),
+                score(first, 1, "4.00", false),
+                score(second, 1, "3.00", false),
+                score(other, 1, "0.00", true)));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<GradingQuestionScore> scores = questionScoreRepository.findByGradingResultIdInOrderByQuestionNumber(
+                List.of(first.getId(), second.getId()));
+
+        assertThat(scores).extracting(GradingQuestionScore::getGradingResultId)
+                .containsOnly(first.getId(), second.getId())
+                .hasSize(3);
+        assertThat(scores.stream().filter(s -> s.getGradingResultId().equals(first.getId())))
+                .extracting(GradingQuestionScore::getQuestionNumber)
+                .containsExactly(1, 2);
+    }
+
+    @Test
+    @DisplayName("Should aggregate question scores of one assignment per question")
+    void shouldComputeItemStatsPerQuestion() {
+        UUID assignmentId = UUID.randomUUID();
+        GradingResult first = persistResult(assignmentId);
+        GradingResult second = persistResult(assignmentId);
+        GradingResult otherAssignment = persistResult(UUID.randomUUID());
+        questionScoreRepository.saveAll(List.of(
+                score(first, 1, "4.00", false),
+                score(first, 2, "1.00", false),
+                score(second, 1, "3.00", false),
+                score(second, 2, "0.00", true),
+                score(otherAssignment, 1, "0.00", true)));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<QuestionItemStats> stats = questionScoreRepository.findItemStatsByAssignmentId(assignmentId);
+
+        assertThat(stats).extracting(QuestionItemStats::questionNumber).containsExactly(1, 2);
+        assertThat(stats.get(0).responses()).isEqualTo(2);
+        assertThat(stats.get(0).averagePoints()).isEqualTo(3.5);
+        assertThat(stats.get(0).pointsAvailable()).isEqualByComparingTo("4.00");
+        assertThat(stats.get(0).illegibleCount()).isZero();
+        assertThat(stats.get(1).averagePoints()).isEqualTo(0.5);
+        assertThat(stats.get(1).illegibleCount()).isEqualTo(1);
+    }
+}
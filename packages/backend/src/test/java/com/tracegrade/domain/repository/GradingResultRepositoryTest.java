@@ -8,6 +8,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,12 +17,15 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.TestPropertySource;
 
+import com.tracegrade.domain.model.Assignment;
+import com.tracegrade.domain.model.Class;
 import com.tracegrade.domain.model.GradingResult;
 import com.tracegrade.domain.model.School;
 import com.tracegrade.domain.model.SchoolType;
 import com.tracegrade.domain.model.Student;
 import com.tracegrade.domain.model.StudentSubmission;
 import com.tracegrade.domain.model.SubmissionStatus;
+import com.tracegrade.pagination.PageCursor;
 
 @DataJpaTest
 @ActiveProfiles("test")
@@ -61,8 +65,12 @@ class GradingResultRepositoryTest {
     }
 
     private StudentSubmission createAndPersistSubmission(UUID studentId) {
+        return createAndPersistSubmission(UUID.randomUUID(), studentId);
+    }
+
+    private StudentSubmission createAndPersistSubmission(UUID assignmentId, UUID studentId) {
         StudentSubmission submission = StudentSubmission.builder()
-                .assignmentId(UUID.randomUUID())
+                .assignmentId(assignmentId)
                 .studentId(studentId)
                 .submissionImageUrls("[\"s3://bucket/img.jpg\"]")
                 .originalFormat("jpg")
@@ -363,4 +371,169 @@ class GradingResultRepositoryTest {
 
                 assertThat(average).isNull();
         }
+
+    @Test
+    @DisplayName("Should find postable results by class, submission and student, skipping unscored and unreviewed ones")
+    void shouldFindPostableResults() {
+        UUID classId = UUID.randomUUID();
+        Assignment assignment = entityManager.persistAndFlush(Assignment.builder()
+                .classId(classId)
+                .categoryId(UUID.randomUUID())
+                .name("Quiz 1")
+                .maxPoints(new BigDecimal("20.00"))
+                .isPublished(true)
+                .build());
+
+        StudentSubmission autoGraded = createAndPersistSubmission(assignment.getId(), UUID.randomUUID());
+        StudentSubmission reviewed = createAndPersistSubmission(assignment.getId(), UUID.randomUUID());
+        StudentSubmission awaitingReview = createAndPersistSubmission(assignment.getId(), UUID.randomUUID());
+        StudentSubmission unscored = createAndPersistSubmission(assignment.getId(), UUID.randomUUID());
+        Instant reviewedAt = Instant.parse("2026-03-02T10:00:00Z");
+
+        entityManager.persistAndFlush(GradingResult.builder()
+                .submission(autoGraded)
+                .aiScore(new BigDecimal("80.00"))
+                .confidenceScore(new BigDecimal("95.00"))
+                .questionScores("[]")
+                .build());
+        entityManager.persistAndFlush(GradingResult.builder()
+                .submission(reviewed)
+                .aiScore(new BigDecimal("60.00"))
+                .finalScore(new BigDecimal("70.00"))
+                .confidenceScore(new BigDecimal("60.00"))
+                .needsReview(true)
+                .reviewedBy(UUID.randomUUID())
+                .reviewedAt(reviewedAt)
+                .questionScores("[]")
+                .build());
+        entityManager.persistAndFlush(GradingResult.builder()
+                .submission(awaitingReview)
+                .aiScore(new BigDecimal("50.00"))
+                .confidenceScore(new BigDecimal("50.00"))
+                .needsReview(true)
+                .questionScores("[]")
+                .build());
+        entityManager.persistAndFlush(GradingResult.builder()
+                .submission(unscored)
+                .confidenceScore(new BigDecimal("95.00"))
+                .questionScores("[]")
+                .build());
+        entityManager.clear();
+
+        List<PostableResult> byClass = gradingResultRepository.findPostableByClassId(classId);
+
+        assertThat(byClass).extracting(PostableResult::submissionId)
+                .containsExactlyInAnyOrder(autoGraded.getId(), reviewed.getId());
+        PostableResult reviewedResult = byClass.stream()
+                .filter(r -> r.submissionId().equals(reviewed.getId()))
+                .findFirst().orElseThrow();
+        assertThat(reviewedResult.score()).isEqualByComparingTo("70.00");
+        assertThat(reviewedResult.maxPoints()).isEqualByComparingTo("20.00");
+        assertThat(reviewedResult.assignmentId()).isEqualTo(assignment.getId());
+        assertThat(reviewedResult.gradedAt()).isEqualTo(reviewedAt);
+
+        assertThat(gradingResultRepository.findPostableBySubmissionIds(
+                        List.of(autoGraded.getId(), awaitingReview.getId())))
+                .extracting(PostableResult::submissionId)
+                .containsExactly(autoGraded.getId());
+        assertThat(gradingResultRepository.findPostableByClassId(UUID.randomUUID())).isEmpty();
+
+        assertThat(gradingResultRepository.findPostableByStudentIdAndAssignmentId(
+                        reviewed.getStudentId(), assignment.getId()))
+                .extracting(PostableResult::submissionId)
+                .containsExactly(reviewed.getId());
+        assertThat(gradingResultRepository.findPostableByStudentIdAndAssignmentId(
+                        awaitingReview.getStudentId(), assignment.getId()))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should page results awaiting review oldest first, resuming after the cursor")
+    void shouldPagePendingReviews() {
+        GradingResult first = entityManager.persistAndFlush(GradingResult.builder()
+                .submission(createAndPersistSubmission())
+                .confidenceScore(new BigDecimal("70.00"))
+                .needsReview(true)
+                .questionScores("[]")
+                .build());
+        GradingResult second = entityManager.persistAndFlush(GradingResult.builder()
+                .submission(createAndPersistSubmission())
+                .confidenceScore(new BigDecimal("65.00"))
+                .needsReview(true)
+                .questionScores("[]")
+                .build());
+        entityManager.persistAndFlush(GradingResult.builder()
+                .submission(createAndPersistSubmission())
+                .confidenceScore(new BigDecimal("60.00"))
+                .needsReview(true)
+                .reviewedAt(Instant.now())
+                .questionScores("[]")
+                .build());
+        entityManager.persistAndFlush(GradingResult.builder()
+                .submission(createAndPersistSubmission())
+                .confidenceScore(new BigDecimal("99.00"))
+                .questionScores("[]")
+                .build());
+        entityManager.clear();
+
+        List<GradingResult> firstPage = gradingResultRepository.findPendingReviewPage(
+                PageCursor.BEFORE_ALL.createdAt(), PageCursor.BEFORE_ALL.id(), PageCursor.fetch(1));
+
+        assertThat(firstPage).extracting(GradingResult::getId).containsExactlyInAnyOrder(first.getId(), second.getId());
+
+        GradingResult head = firstPage.get(0);
+        List<GradingResult> secondPage = gradingResultRepository.findPendingReviewPage(
+                head.getCreatedAt(), head.getId(), PageCursor.fetch(1));
+
+        assertThat(secondPage).extracting(GradingResult::getId).containsExactly(firstPage.get(1).getId());
+    }
+
+    @Test
+    @DisplayName("Should page a school's pending reviews with submissions loaded, optionally for one teacher")
+    void shouldPageSchoolPendingReviews() {
+        School school = createAndPersistSchool();
+        School otherSchool = createAndPersistSchool();
+        Student student = createAndPersistStudent(school, "scoped-student@school.com");
+        Student otherStudent = createAndPersistStudent(otherSchool, "other-student@school.com");
+        UUID teacherId = UUID.randomUUID();
+        Class teacherClass = entityManager.persistAndFlush(Class.builder()
+                .school(school)
+                .teacherId(teacherId)
+                .name("Algebra I")
+                .schoolYear("2025-2026")
+                .isActive(true)
+                .build());
+        Assignment teacherAssignment = entityManager.persistAndFlush(Assignment.builder()
+                .classId(teacherClass.getId())
+                .categoryId(UUID.randomUUID())
+                .name("Quiz 1")
+                .maxPoints(new BigDecimal("20.00"))
+                .isPublished(true)
+                .build());
+
+        GradingResult teacherPending = persistPendingResult(
+                createAndPersistSubmission(teacherAssignment.getId(), student.getId()));
+        GradingResult schoolPending = persistPendingResult(createAndPersistSubmission(student.getId()));
+        persistPendingResult(createAndPersistSubmission(teacherAssignment.getId(), otherStudent.getId()));
+        entityManager.clear();
+
+        List<GradingResult> schoolPage = gradingResultRepository.findSchoolPendingReviewPage(school.getId(), null,
+                PageCursor.BEFORE_ALL.createdAt(), PageCursor.BEFORE_ALL.id(), PageCursor.fetch(50));
+        List<GradingResult> teacherPage = gradingResultRepository.findSchoolPendingReviewPage(school.getId(),
+                teacherId, PageCursor.BEFORE_ALL.createdAt(), PageCursor.BEFORE_ALL.id(), PageCursor.fetch(50));
+
+        assertThat(schoolPage).extracting(GradingResult::getId)
+                .containsExactlyInAnyOrder(teacherPending.getId(), schoolPending.getId());
+        assertThat(schoolPage).allMatch(r -> Hibernate.isInitialized(r.getSubmission()));
+        assertThat(teacherPage).extracting(GradingResult::getId).containsExactly(teacherPending.getId());
+    }
+
+    private GradingResult persistPendingResult(StudentSubmission submission) {
+        return entityManager.persistAndFlush(GradingResult.builder()
+                .submission(submission)
+                .confidenceScore(new BigDecimal("55.00"))
+                .needsReview(true)
+                .questionScores("[]")
+                .build());
+    }
 }
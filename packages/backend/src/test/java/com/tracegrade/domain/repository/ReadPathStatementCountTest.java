@@ -0,0 +1,180 @@
+package com.tracegrade.domain.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import com.tracegrade.domain.model.GradingResult;
+import com.tracegrade.domain.model.School;
+import com.tracegrade.domain.model.SchoolType;
+import com.tracegrade.domain.model.StorageTier;
+import com.tracegrade.domain.model.Student;
+import com.tracegrade.domain.model.StudentSubmission;
+import com.tracegrade.domain.model.SubmissionStatus;
+import com.tracegrade.pagination.PageCursor;
+
+/**
+ * Read paths that map results and submissions to responses must issue the
+ * same number of statements however many rows they return.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class ReadPathStatementCountTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private GradingResultRepository gradingResultRepository;
+
+    @Autowired
+    private StudentSubmissionRepository submissionRepository;
+
+    private StatementCounter statements;
+    private Student student;
+
+    @BeforeEach
+    void setUp() {
+        statements = new StatementCounter(entityManager.getEntityManager());
+        School school = entityManager.persistAndFlush(School.builder()
+                .name("Counting School")
+                .schoolType(SchoolType.HIGH)
+                .build());
+        student = entityManager.persistAndFlush(Student.builder()
+                .school(school)
+                .firstName("Ada")
+                .lastName("Lovelace")
+                .email("ada@school.com")
+                .isActive(true)
+                .build());
+    }
+
+    private StudentSubmission persistSubmission(StorageTier tier) {
+        return entityManager.persistAndFlush(StudentSubmission.builder()
+                .assignmentId(UUID.randomUUID())
+                .studentId(student.getId())
+                .submissionImageUrls("[\"s3://bucket/img.jpg\"]")
+                .originalFormat("jpg")
+                .status(SubmissionStatus.COMPLETED)
+                .storageTier(tier)
+                .submittedAt(Instant.now())
+                .build());
+    }
+
+    private GradingResult persistPendingResult() {
+        return entityManager.persistAndFlush(GradingResult.builder()
+                .submission(persistSubmission(StorageTier.HOT))
+                .aiScore(new BigDecimal("50.00"))
+                .confidenceScore(new BigDecimal("55.00"))
+                .needsReview(true)
+                .questionScores("[]")
+                .build());
+    }
+
+    /** Reads every field the response mappers read from a result. */
+    private static void touch(GradingResult result) {
+        assertThat(result.getSubmission().getSubmissionImageUrls()).isNotNull();
+        assertThat(result.getSubmission().getStatus()).isNotNull();
+        assertThat(result.getSubmission().getGradingResult()).isSameAs(result);
+    }
+
+    private long pendingReviewPageStatements(int results) {
+        for (int i = 0; i < results; i++) {
+            persistPendingResult();
+        }
+        entityManager.clear();
+        statements.reset();
+
+        List<GradingResult> page = gradingResultRepository.findPendingReviewPage(
+                PageCursor.BEFORE_ALL.createdAt(), PageCursor.BEFORE_ALL.id(), PageCursor.fetch(50));
+        List<GradingResult> schoolPage = gradingResultRepository.findSchoolPendingReviewPage(
+                student.getSchool().getId(), null,
+                PageCursor.BEFORE_ALL.createdAt(), PageCursor.BEFORE_ALL.id(), PageCursor.fetch(50));
+        page.forEach(ReadPathStatementCountTest::touch);
+        schoolPage.forEach(ReadPathStatementCountTest::touch);
+
+        assertThat(page).hasSize(results);
+        return statements.count();
+    }
+
+    @Test
+    @DisplayName("a pending-review page is one statement per query, however many results it holds")
+    void pendingReviewPagesAreConstant() {
+        assertThat(pendingReviewPageStatements(1)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("a pending-review page of many results costs no more statements than a page of one")
+    void pendingReviewPagesDoNotGrow() {
+        assertThat(pendingReviewPageStatements(5)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("a result read by submission or grade ID loads its submission in the same statement")
+    void singleResultReadsAreOneStatement() {
+        GradingResult result = persistPendingResult();
+        result.setGradeId(UUID.randomUUID());
+        entityManager.persistAndFlush(result);
+        entityManager.clear();
+
+        statements.reset();
+        touch(gradingResultRepository.findBySubmissionId(result.getSubmission().getId()).orElseThrow());
+        assertThat(statements.count()).isEqualTo(1);
+
+        entityManager.clear();
+        statements.reset();
+        touch(gradingResultRepository.findByGradeId(result.getGradeId()).orElseThrow());
+        assertThat(statements.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("a submission status read loads the grading result, present or not, in the same statement")
+    void submissionReadsAreOneStatement() {
+        GradingResult graded = persistPendingResult();
+        StudentSubmission ungraded = persistSubmission(StorageTier.HOT);
+        entityManager.clear();
+
+        statements.reset();
+        assertThat(submissionRepository.findWithGradingResultById(graded.getSubmission().getId()).orElseThrow()
+                .getGradingResult().getConfidenceScore()).isEqualByComparingTo("55.00");
+        assertThat(submissionRepository.findWithGradingResultById(ungraded.getId()).orElseThrow()
+                .getGradingResult()).isNull();
+        assertThat(statements.count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("listing submissions is one statement however many submissions are returned")
+    void submissionListsAreOneStatement() {
+        for (int i = 0; i < 3; i++) {
+            persistSubmission(StorageTier.STAGED);
+            persistPendingResult();
+        }
+        entityManager.clear();
+
+        statements.reset();
+        assertThat(submissionRepository.findStaged("node-a", PageRequest.of(0, 10))).hasSize(3);
+        assertThat(statements.count()).isEqualTo(1);
+
+        statements.reset();
+        assertThat(submissionRepository.findByStatus(SubmissionStatus.COMPLETED)).hasSize(6);
+        assertThat(statements.count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,112 @@
+package com.tracegrade.domain.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import com.tracegrade.domain.model.Class;
+import com.tracegrade.domain.model.School;
+import com.tracegrade.domain.model.SchoolType;
+import com.tracegrade.domain.model.Student;
+
+/** Runs against the test profile's PostgreSQL-mode H2 database, which the upserts need. */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class SchoolGradingStatsRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private SchoolGradingStatsRepository statsRepository;
+
+    private School createAndPersistSchool() {
+        return entityManager.persistAndFlush(School.builder()
+                .name("Stats School")
+                .schoolType(SchoolType.HIGH)
+                .build());
+    }
+
+    private void createAndPersistStudent(School school, boolean active) {
+        entityManager.persistAndFlush(Student.builder()
+                .school(school)
+                .firstName("Jane")
+                .lastName("Doe")
+                .email(UUID.randomUUID() + "@test.com")
+                .isActive(active)
+                .build());
+    }
+
+    private void createAndPersistClass(School school, boolean active) {
+        entityManager.persistAndFlush(Class.builder()
+                .school(school)
+                .teacherId(UUID.randomUUID())
+                .name("Algebra")
+                .schoolYear("2026-2027")
+                .isActive(active)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Should accumulate increments and answer the dashboard in one row")
+    void accumulatesAndReadsDashboardRow() {
+        School school = createAndPersistSchool();
+        createAndPersistStudent(school, true);
+        createAndPersistStudent(school, false);
+        createAndPersistClass(school, true);
+        createAndPersistClass(school, true);
+        createAndPersistClass(school, false);
+        LocalDate today = LocalDate.of(2026, 10, 18);
+
+        for (int i = 0; i < 2; i++) {
+            statsRepository.insertIfAbsent(school.getId());
+            statsRepository.increment(school.getId(), 1, 1, new BigDecimal("80.00"), 1);
+        }
+        statsRepository.increment(school.getId(), 0, -1, new BigDecimal("5.50"), 0);
+        for (LocalDate day : new LocalDate[] {today.minusDays(7), today.minusDays(6), today}) {
+            statsRepository.insertDayIfAbsent(school.getId(), day);
+            statsRepository.incrementDay(school.getId(), day, 1);
+        }
+        statsRepository.insertDayIfAbsent(school.getId(), today);
+        statsRepository.incrementDay(school.getId(), today, 2);
+
+        SchoolGradingStatsRepository.DashboardRow row =
+                statsRepository.findDashboardRow(school.getId(), today.minusDays(6)).orElseThrow();
+
+        assertThat(row.getActiveStudents()).isEqualTo(1);
+        assertThat(row.getActiveClasses()).isEqualTo(2);
+        assertThat(row.getGradedSince()).isEqualTo(4);
+        assertThat(row.getPendingReviews()).isEqualTo(1);
+        assertThat(row.getScoreSum()).isEqualByComparingTo("165.50");
+        assertThat(row.getScoreCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should return zeros for a school without stats and nothing for an unknown school")
+    void handlesMissingStats() {
+        School school = createAndPersistSchool();
+
+        SchoolGradingStatsRepository.DashboardRow row =
+                statsRepository.findDashboardRow(school.getId(), LocalDate.now()).orElseThrow();
+
+        assertThat(row.getGradedSince()).isZero();
+        assertThat(row.getScoreCount()).isZero();
+        assertThat(statsRepository.findDashboardRow(UUID.randomUUID(), LocalDate.now())).isEmpty();
+    }
+}
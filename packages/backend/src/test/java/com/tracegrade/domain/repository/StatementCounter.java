@@ -0,0 +1,29 @@
+package com.tracegrade.domain.repository;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Counts the SQL statements Hibernate prepares, read from its statistics.
+ * Tests that use it set {@code spring.jpa.properties.hibernate.generate_statistics=true}.
+ */
+final class StatementCounter {
+
+    private final Statistics statistics;
+
+    StatementCounter(EntityManager entityManager) {
+        this.statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /** Starts counting from zero. */
+    void reset() {
+        statistics.clear();
+    }
+
+    /** Statements prepared since the last {@link #reset}. */
+    long count() {
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,112 @@
+package com.tracegrade.domain.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import com.tracegrade.domain.model.StorageBlob;
+
+/** Runs against the test profile's PostgreSQL-mode H2 database. */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class StorageBlobRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private StorageBlobRepository storageBlobRepository;
+
+    private StorageBlob persistBlob(String hashSeed, int refCount) {
+        String hash = String.format("%64s", hashSeed).replace(' ', '0');
+        return entityManager.persistAndFlush(StorageBlob.builder()
+                .contentHash(hash)
+                .storageKey("blobs/sha256/00/" + hash)
+                .contentType("image/png")
+                .sizeBytes(10L)
+                .refCount(refCount)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Should increment the reference count of an existing hash")
+    void incrementRefCount() {
+        StorageBlob blob = persistBlob("a1", 1);
+
+        int updated = storageBlobRepository.incrementRefCount(blob.getContentHash(), Instant.now());
+
+        assertThat(updated).isEqualTo(1);
+        assertThat(storageBlobRepository.findById(blob.getId()).orElseThrow().getRefCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should report no update for an unknown hash")
+    void incrementUnknownHash() {
+        assertThat(storageBlobRepository.incrementRefCount("f".repeat(64), Instant.now())).isZero();
+    }
+
+    @Test
+    @DisplayName("Should insert a new hash once and leave an existing one alone")
+    void insertIfAbsent() {
+        String hash = "c".repeat(64);
+        Instant now = Instant.now();
+
+        assertThat(storageBlobRepository.insertIfAbsent(UUID.randomUUID(), hash, "blobs/sha256/cc/" + hash,
+                "image/png", 10L, now)).isEqualTo(1);
+        assertThat(storageBlobRepository.insertIfAbsent(UUID.randomUUID(), hash, "blobs/sha256/cc/" + hash,
+                "image/png", 10L, now)).isZero();
+
+        StorageBlob blob = storageBlobRepository.findByContentHash(hash).orElseThrow();
+        assertThat(blob.getRefCount()).isEqualTo(1);
+        assertThat(blob.getUnreferencedAt()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should stamp unreferencedAt only when the last reference is released")
+    void decrementToZero() {
+        StorageBlob blob = persistBlob("b2", 2);
+        Instant now = Instant.now();
+
+        storageBlobRepository.decrementRefCount(blob.getStorageKey(), now);
+        StorageBlob afterFirst = storageBlobRepository.findById(blob.getId()).orElseThrow();
+        assertThat(afterFirst.getRefCount()).isEqualTo(1);
+        assertThat(afterFirst.getUnreferencedAt()).isNull();
+
+        storageBlobRepository.decrementRefCount(blob.getStorageKey(), now);
+        StorageBlob afterSecond = storageBlobRepository.findById(blob.getId()).orElseThrow();
+        assertThat(afterSecond.getRefCount()).isZero();
+        assertThat(afterSecond.getUnreferencedAt()).isNotNull();
+
+        assertThat(storageBlobRepository.decrementRefCount(blob.getStorageKey(), now)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should find only unreferenced blobs released before the cutoff")
+    void findUnreferencedIdsBefore() {
+        StorageBlob referenced = persistBlob("c3", 1);
+        StorageBlob released = persistBlob("d4", 1);
+        storageBlobRepository.decrementRefCount(released.getStorageKey(), Instant.now().minusSeconds(3600));
+
+        List<UUID> ids = storageBlobRepository.findUnreferencedIdsBefore(Instant.now(), PageRequest.of(0, 10));
+
+        assertThat(ids).containsExactly(released.getId());
+        assertThat(ids).doesNotContain(referenced.getId());
+    }
+}
@@ -0,0 +1,70 @@
+package com.tracegrade.domain.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import com.tracegrade.domain.model.StudentCategoryAggregate;
+
+/** Runs against the test profile's PostgreSQL-mode H2 database. */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class StudentCategoryAggregateRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private StudentCategoryAggregateRepository aggregateRepository;
+
+    @Test
+    @DisplayName("Should insert an empty row once and lock it for update")
+    void insertsOnceAndLocks() {
+        UUID classId = UUID.randomUUID();
+        UUID categoryId = UUID.randomUUID();
+        UUID studentId = UUID.randomUUID();
+
+        aggregateRepository.insertIfAbsent(UUID.randomUUID(), classId, categoryId, studentId);
+        aggregateRepository.insertIfAbsent(UUID.randomUUID(), classId, categoryId, studentId);
+
+        assertThat(aggregateRepository.findByClassIdAndStudentId(classId, studentId)).hasSize(1);
+        StudentCategoryAggregate row = aggregateRepository.findForUpdate(studentId, categoryId).orElseThrow();
+        assertThat(row.getEarnedSum()).isZero();
+        assertThat(row.getGradedCount()).isZero();
+        assertThat(row.getLowestScores()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should delete only the rows of the given category")
+    void deletesCategory() {
+        UUID classId = UUID.randomUUID();
+        UUID studentId = UUID.randomUUID();
+        UUID homework = UUID.randomUUID();
+        UUID exams = UUID.randomUUID();
+        entityManager.persist(StudentCategoryAggregate.builder()
+                .classId(classId).categoryId(homework).studentId(studentId).build());
+        entityManager.persist(StudentCategoryAggregate.builder()
+                .classId(classId).categoryId(exams).studentId(studentId).build());
+
+        aggregateRepository.deleteByCategoryId(homework);
+        entityManager.clear();
+
+        assertThat(aggregateRepository.findByClassIdAndStudentId(classId, studentId))
+                .extracting(StudentCategoryAggregate::getCategoryId)
+                .containsExactly(exams);
+    }
+}
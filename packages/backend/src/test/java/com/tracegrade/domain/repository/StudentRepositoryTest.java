@@ -2,7 +2,9 @@ package com.tracegrade.domain.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,6 +17,7 @@ import org.springframework.test.context.TestPropertySource;
 import com.tracegrade.domain.model.School;
 import com.tracegrade.domain.model.SchoolType;
 import com.tracegrade.domain.model.Student;
+import com.tracegrade.pagination.PageCursor;
 
 @DataJpaTest
 @ActiveProfiles("test")
@@ -78,4 +81,39 @@ class StudentRepositoryTest {
         assertThat(students).hasSize(1);
         assertThat(students.get(0).getEmail()).isEqualTo("active1@test.com");
     }
+
+    @Test
+    @DisplayName("Should walk a school's students in (createdAt, id) pages without gaps or repeats")
+    void shouldPageStudentsBySchoolId() {
+        School school = createAndPersistSchool();
+        School otherSchool = createAndPersistSchool();
+        List<UUID> created = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            created.add(createAndPersistStudent(school, "student" + i + "@test.com", i != 2).getId());
+        }
+        createAndPersistStudent(otherSchool, "other@test.com", true);
+        entityManager.clear();
+
+        List<Student> walked = new ArrayList<>();
+        PageCursor after = PageCursor.BEFORE_ALL;
+        while (true) {
+            List<Student> rows = studentRepository.findPageBySchoolId(
+                    school.getId(), after.createdAt(), after.id(), PageCursor.fetch(2));
+            List<Student> page = rows.subList(0, Math.min(2, rows.size()));
+            walked.addAll(page);
+            if (rows.size() <= 2) {
+                break;
+            }
+            Student last = page.get(page.size() - 1);
+            after = new PageCursor(last.getCreatedAt(), last.getId());
+        }
+
+        assertThat(walked).extracting(Student::getId).containsExactlyInAnyOrderElementsOf(created);
+        assertThat(walked).extracting(Student::getCreatedAt).isSorted();
+
+        List<Student> active = studentRepository.findActivePageBySchoolId(
+                school.getId(), PageCursor.BEFORE_ALL.createdAt(), PageCursor.BEFORE_ALL.id(), PageCursor.fetch(10));
+
+        assertThat(active).hasSize(4).allMatch(Student::getIsActive);
+    }
 }
@@ -13,10 +13,13 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.TestPropertySource;
 
 import com.tracegrade.domain.model.ExamTemplate;
+import com.tracegrade.domain.model.GradingResult;
+import com.tracegrade.domain.model.StorageTier;
 import com.tracegrade.domain.model.StudentSubmission;
 import com.tracegrade.domain.model.SubmissionStatus;
 
@@ -137,4 +140,63 @@ class StudentSubmissionRepositoryTest {
         assertThat(found.get().getExamTemplate()).isNotNull();
         assertThat(found.get().getExamTemplate().getId()).isEqualTo(template.getId());
     }
+
+    @Test
+    @DisplayName("Should select hot submissions reviewed before the cutoff in id order")
+    void shouldFindArchivableIds() {
+        Instant cutoff = Instant.now();
+        StudentSubmission oldReviewed = persistWithResult(cutoff.minusSeconds(3600), StorageTier.HOT);
+        StudentSubmission recentlyReviewed = persistWithResult(cutoff.plusSeconds(3600), StorageTier.HOT);
+        StudentSubmission unreviewed = persistWithResult(null, StorageTier.HOT);
+        StudentSubmission alreadyCold = persistWithResult(cutoff.minusSeconds(3600), StorageTier.COLD);
+
+        List<UUID> ids = studentSubmissionRepository.findArchivableIds(
+                cutoff, new UUID(0L, 0L), PageRequest.of(0, 10));
+
+        assertThat(ids).containsExactly(oldReviewed.getId());
+        assertThat(ids).doesNotContain(recentlyReviewed.getId(), unreviewed.getId(), alreadyCold.getId());
+        assertThat(studentSubmissionRepository.findArchivableIds(cutoff, oldReviewed.getId(), PageRequest.of(0, 10)))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should list only the node's own and unowned staged submissions and promote them exactly once")
+    void shouldFindAndPromoteStaged() {
+        StudentSubmission staged = buildSubmission(UUID.randomUUID(), UUID.randomUUID(), SubmissionStatus.PENDING);
+        staged.setStorageTier(StorageTier.STAGED);
+        staged.setStagedBy("node-a");
+        entityManager.persistAndFlush(staged);
+        StudentSubmission unowned = buildSubmission(UUID.randomUUID(), UUID.randomUUID(), SubmissionStatus.PENDING);
+        unowned.setStorageTier(StorageTier.STAGED);
+        entityManager.persistAndFlush(unowned);
+        StudentSubmission otherNode = buildSubmission(UUID.randomUUID(), UUID.randomUUID(), SubmissionStatus.PENDING);
+        otherNode.setStorageTier(StorageTier.STAGED);
+        otherNode.setStagedBy("node-b");
+        entityManager.persistAndFlush(otherNode);
+        entityManager.persistAndFlush(buildSubmission(UUID.randomUUID(), UUID.randomUUID(), SubmissionStatus.PENDING));
+
+        assertThat(studentSubmissionRepository.findStaged("node-a", PageRequest.of(0, 10)))
+                .extracting(StudentSubmission::getId)
+                .containsExactlyInAnyOrder(staged.getId(), unowned.getId());
+
+        assertThat(studentSubmissionRepository.markStored(staged.getId())).isEqualTo(1);
+        assertThat(studentSubmissionRepository.markStored(staged.getId())).isZero();
+        StudentSubmission promoted = studentSubmissionRepository.findById(staged.getId()).orElseThrow();
+        assertThat(promoted.getStorageTier()).isEqualTo(StorageTier.HOT);
+        assertThat(promoted.getStagedBy()).isNull();
+    }
+
+    private StudentSubmission persistWithResult(Instant reviewedAt, StorageTier tier) {
+        StudentSubmission submission = buildSubmission(UUID.randomUUID(), UUID.randomUUID(), SubmissionStatus.COMPLETED);
+        submission.setStorageTier(tier);
+        entityManager.persistAndFlush(submission);
+        entityManager.persistAndFlush(GradingResult.builder()
+                .submission(submission)
+                .gradeId(UUID.randomUUID())
+                .confidenceScore(new BigDecimal("90.00"))
+                .questionScores("[]")
+                .reviewedAt(reviewedAt)
+                .build());
+        return submission;
+    }
 }
@@ -12,6 +12,8 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.test.context.ActiveProfiles;
 
+import com.tracegrade.domain.model.School;
+import com.tracegrade.domain.model.SchoolType;
 import com.tracegrade.domain.model.User;
 import com.tracegrade.domain.model.UserRole;
 
@@ -142,4 +144,36 @@ class UserRepositoryTest {
 
             assertThat(reloaded.getEmail()).isEqualTo("updated.case@test.com");
         }
+
+    @Test
+    @DisplayName("Should return the school ID of active users only")
+    void shouldFindActiveSchoolIdById() {
+        School school = entityManager.persistAndFlush(School.builder()
+                .name("Quota School")
+                .schoolType(SchoolType.HIGH)
+                .build());
+        User member = userRepository.saveAndFlush(User.builder()
+                .school(school)
+                .email("member@quota.test")
+                .passwordHash("hash-member")
+                .firstName("Member")
+                .lastName("Active")
+                .role(UserRole.TEACHER)
+                .isActive(true)
+                .build());
+        User inactive = userRepository.saveAndFlush(User.builder()
+                .school(school)
+                .email("inactive@quota.test")
+                .passwordHash("hash-inactive")
+                .firstName("Member")
+                .lastName("Inactive")
+                .role(UserRole.TEACHER)
+                .isActive(false)
+                .build());
+        entityManager.clear();
+
+        assertThat(userRepository.findActiveSchoolIdById(member.getId())).contains(school.getId());
+        assertThat(userRepository.findActiveSchoolIdById(inactive.getId())).isEmpty();
+        assertThat(userRepository.findActiveSchoolIdById(UUID.randomUUID())).isEmpty();
+    }
 }
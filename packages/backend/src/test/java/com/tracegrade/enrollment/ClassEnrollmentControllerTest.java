@@ -38,6 +38,7 @@ import com.tracegrade.config.CsrfProperties;
 import com.tracegrade.config.SecurityConfig;
 import com.tracegrade.config.SecurityHeadersProperties;
 import com.tracegrade.dto.request.EnrollStudentRequest;
+import com.tracegrade.dto.response.CursorPage;
 import com.tracegrade.dto.response.EnrollmentResponse;
 import com.tracegrade.exception.DuplicateResourceException;
 import com.tracegrade.exception.ResourceNotFoundException;
@@ -133,17 +134,18 @@ class ClassEnrollmentControllerTest {
                         .id(UUID.randomUUID()).classId(classId).studentId(studentId2).enrolledAt(Instant.now()).build()
         );
 
-        when(enrollmentService.listEnrollments(eq(schoolId), eq(classId))).thenReturn(enrollments);
+        when(enrollmentService.listEnrollments(eq(schoolId), eq(classId), eq(null), eq(50)))
+                .thenReturn(CursorPage.<EnrollmentResponse>builder().items(enrollments).build());
 
         mockMvc.perform(get("/api/schools/{schoolId}/classes/{classId}/enrollments", schoolId, classId)
                         .with(user(schoolId.toString())))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success", is(true)))
-                .andExpect(jsonPath("$.data", hasSize(2)))
-                .andExpect(jsonPath("$.data[0].studentId", is(studentId1.toString())))
-                .andExpect(jsonPath("$.data[1].studentId", is(studentId2.toString())));
+                .andExpect(jsonPath("$.data.items", hasSize(2)))
+                .andExpect(jsonPath("$.data.items[0].studentId", is(studentId1.toString())))
+                .andExpect(jsonPath("$.data.items[1].studentId", is(studentId2.toString())));
 
-        verify(enrollmentService).listEnrollments(schoolId, classId);
+        verify(enrollmentService).listEnrollments(schoolId, classId, null, 50);
     }
 
     @Test
@@ -26,11 +26,14 @@ import com.tracegrade.domain.model.ClassEnrollment;
 import com.tracegrade.domain.model.School;
 import com.tracegrade.domain.model.Student;
 import com.tracegrade.domain.repository.ClassEnrollmentRepository;
-import com.tracegrade.domain.repository.ClassRepository;
+import com.tracegrade.domain.repository.ClassOwnership;
 import com.tracegrade.domain.repository.StudentRepository;
+import com.tracegrade.dto.response.CursorPage;
 import com.tracegrade.dto.response.EnrollmentResponse;
 import com.tracegrade.exception.DuplicateResourceException;
 import com.tracegrade.exception.ResourceNotFoundException;
+import com.tracegrade.pagination.PageCursor;
+import com.tracegrade.tenancy.TenancyContext;
 
 @ExtendWith(MockitoExtension.class)
 class ClassEnrollmentServiceTest {
@@ -39,7 +42,7 @@ class ClassEnrollmentServiceTest {
     private ClassEnrollmentRepository enrollmentRepository;
 
     @Mock
-    private ClassRepository classRepository;
+    private TenancyContext tenancyContext;
 
     @Mock
     private StudentRepository studentRepository;
@@ -61,7 +64,8 @@ class ClassEnrollmentServiceTest {
                 .name("Math").schoolYear("2026").build();
         Student student = new Student();
 
-        when(classRepository.findByIdAndSchoolId(classId, schoolId)).thenReturn(Optional.of(cls));
+        when(tenancyContext.requireClass(schoolId, classId))
+                .thenReturn(new ClassOwnership(classId, schoolId, cls.getTeacherId()));
         when(studentRepository.findByIdAndSchoolId(studentId, schoolId)).thenReturn(Optional.of(student));
         when(enrollmentRepository.existsByClassIdAndStudentIdAndDroppedAtIsNull(classId, studentId)).thenReturn(false);
 
@@ -95,7 +99,8 @@ class ClassEnrollmentServiceTest {
                 .name("Math").schoolYear("2026").build();
         Student student = new Student();
 
-        when(classRepository.findByIdAndSchoolId(classId, schoolId)).thenReturn(Optional.of(cls));
+        when(tenancyContext.requireClass(schoolId, classId))
+                .thenReturn(new ClassOwnership(classId, schoolId, cls.getTeacherId()));
         when(studentRepository.findByIdAndSchoolId(studentId, schoolId)).thenReturn(Optional.of(student));
         when(enrollmentRepository.existsByClassIdAndStudentIdAndDroppedAtIsNull(classId, studentId)).thenReturn(true);
 
@@ -110,7 +115,8 @@ class ClassEnrollmentServiceTest {
         UUID classId = UUID.randomUUID();
         UUID studentId = UUID.randomUUID();
 
-        when(classRepository.findByIdAndSchoolId(classId, schoolId)).thenReturn(Optional.empty());
+        when(tenancyContext.requireClass(schoolId, classId))
+                .thenThrow(new ResourceNotFoundException("Class", classId));
 
         assertThatThrownBy(() -> enrollmentService.enrollStudent(schoolId, classId, studentId))
                 .isInstanceOf(ResourceNotFoundException.class);
@@ -129,7 +135,8 @@ class ClassEnrollmentServiceTest {
         Class cls = Class.builder().school(school).teacherId(UUID.randomUUID())
                 .name("Math").schoolYear("2026").build();
 
-        when(classRepository.findByIdAndSchoolId(classId, schoolId)).thenReturn(Optional.of(cls));
+        when(tenancyContext.requireClass(schoolId, classId))
+                .thenReturn(new ClassOwnership(classId, schoolId, cls.getTeacherId()));
         when(studentRepository.findByIdAndSchoolId(studentId, schoolId)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> enrollmentService.enrollStudent(schoolId, classId, studentId))
@@ -147,7 +154,8 @@ class ClassEnrollmentServiceTest {
         Class cls = Class.builder().school(school).teacherId(UUID.randomUUID())
                 .name("Math").schoolYear("2026").build();
 
-        when(classRepository.findByIdAndSchoolId(classId, schoolId)).thenReturn(Optional.of(cls));
+        when(tenancyContext.requireClass(schoolId, classId))
+                .thenReturn(new ClassOwnership(classId, schoolId, cls.getTeacherId()));
         when(studentRepository.findByIdAndSchoolId(studentId, schoolId)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> enrollmentService.enrollStudent(schoolId, classId, studentId))
@@ -174,14 +182,17 @@ class ClassEnrollmentServiceTest {
         ClassEnrollment e2 = ClassEnrollment.builder()
                 .classId(classId).studentId(studentId2).enrolledAt(Instant.now()).build();
 
-        when(classRepository.findByIdAndSchoolId(classId, schoolId)).thenReturn(Optional.of(cls));
-        when(enrollmentRepository.findByClassIdAndDroppedAtIsNull(classId)).thenReturn(List.of(e1, e2));
+        when(tenancyContext.requireClass(schoolId, classId))
+                .thenReturn(new ClassOwnership(classId, schoolId, cls.getTeacherId()));
+        when(enrollmentRepository.findActivePageByClassId(classId, PageCursor.BEFORE_ALL.createdAt(),
+                PageCursor.BEFORE_ALL.id(), PageCursor.fetch(50))).thenReturn(List.of(e1, e2));
 
-        List<EnrollmentResponse> result = enrollmentService.listEnrollments(schoolId, classId);
+        CursorPage<EnrollmentResponse> result = enrollmentService.listEnrollments(schoolId, classId, null, 50);
 
-        assertThat(result).hasSize(2);
-        assertThat(result.get(0).getStudentId()).isEqualTo(studentId1);
-        assertThat(result.get(1).getStudentId()).isEqualTo(studentId2);
+        assertThat(result.getItems()).hasSize(2);
+        assertThat(result.getItems().get(0).getStudentId()).isEqualTo(studentId1);
+        assertThat(result.getItems().get(1).getStudentId()).isEqualTo(studentId2);
+        assertThat(result.getNextCursor()).isNull();
     }
 
     @Test
@@ -189,10 +200,11 @@ class ClassEnrollmentServiceTest {
     void listEnrollments_classNotInSchool_throws404() {
         UUID schoolId = UUID.randomUUID();
         UUID classId = UUID.randomUUID();
-        when(classRepository.findByIdAndSchoolId(classId, schoolId)).thenReturn(Optional.empty());
+        when(tenancyContext.requireClass(schoolId, classId))
+                .thenThrow(new ResourceNotFoundException("Class", classId));
 
         assertThrows(ResourceNotFoundException.class,
-                () -> enrollmentService.listEnrollments(schoolId, classId));
+                () -> enrollmentService.listEnrollments(schoolId, classId, null, 50));
         verifyNoInteractions(enrollmentRepository);
     }
 
@@ -215,7 +227,8 @@ class ClassEnrollmentServiceTest {
                 .enrolledAt(Instant.now())
                 .build();
 
-        when(classRepository.findByIdAndSchoolId(classId, schoolId)).thenReturn(Optional.of(cls));
+        when(tenancyContext.requireClass(schoolId, classId))
+                .thenReturn(new ClassOwnership(classId, schoolId, cls.getTeacherId()));
         when(enrollmentRepository.findByIdAndClassId(enrollmentId, classId)).thenReturn(Optional.of(enrollment));
         when(enrollmentRepository.save(any(ClassEnrollment.class))).thenReturn(enrollment);
 
@@ -236,7 +249,8 @@ class ClassEnrollmentServiceTest {
         Class cls = Class.builder().school(school).teacherId(UUID.randomUUID())
                 .name("Math").schoolYear("2026").build();
 
-        when(classRepository.findByIdAndSchoolId(classId, schoolId)).thenReturn(Optional.of(cls));
+        when(tenancyContext.requireClass(schoolId, classId))
+                .thenReturn(new ClassOwnership(classId, schoolId, cls.getTeacherId()));
         when(enrollmentRepository.findByIdAndClassId(enrollmentId, classId)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> enrollmentService.dropStudent(schoolId, classId, enrollmentId))
@@ -261,7 +275,8 @@ class ClassEnrollmentServiceTest {
                 .droppedAt(Instant.now().minusSeconds(1800))
                 .build();
 
-        when(classRepository.findByIdAndSchoolId(classId, schoolId)).thenReturn(Optional.of(cls));
+        when(tenancyContext.requireClass(schoolId, classId))
+                .thenReturn(new ClassOwnership(classId, schoolId, cls.getTeacherId()));
         when(enrollmentRepository.findByIdAndClassId(enrollmentId, classId)).thenReturn(Optional.of(alreadyDropped));
 
         assertThatThrownBy(() -> enrollmentService.dropStudent(schoolId, classId, enrollmentId))
@@ -274,7 +289,8 @@ class ClassEnrollmentServiceTest {
         UUID schoolId = UUID.randomUUID();
         UUID classId = UUID.randomUUID();
         UUID enrollmentId = UUID.randomUUID();
-        when(classRepository.findByIdAndSchoolId(classId, schoolId)).thenReturn(Optional.empty());
+        when(tenancyContext.requireClass(schoolId, classId))
+                .thenThrow(new ResourceNotFoundException("Class", classId));
 
         assertThrows(ResourceNotFoundException.class,
                 () -> enrollmentService.dropStudent(schoolId, classId, enrollmentId));
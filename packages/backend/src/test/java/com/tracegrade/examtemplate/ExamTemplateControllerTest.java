@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tracegrade.domain.model.DifficultyLevel;
 import com.tracegrade.dto.request.CreateExamTemplateRequest;
 import com.tracegrade.dto.request.UpdateExamTemplateRequest;
+import com.tracegrade.dto.response.CursorPage;
 import com.tracegrade.dto.response.ExamTemplateResponse;
 import com.tracegrade.exception.DuplicateResourceException;
 import com.tracegrade.exception.GlobalExceptionHandler;
@@ -115,19 +116,27 @@ class ExamTemplateControllerTest {
         UUID teacherId = UUID.randomUUID();
         UUID templateId = UUID.randomUUID();
 
-        when(examTemplateService.getExamTemplates(eq(teacherId), eq("Mathematics"), eq("10th Grade")))
-                .thenReturn(List.of(buildResponse(templateId, teacherId)));
+        when(examTemplateService.getExamTemplates(eq(teacherId), eq("Mathematics"), eq("10th Grade"),
+                eq("abc"), eq(20)))
+                .thenReturn(CursorPage.<ExamTemplateResponse>builder()
+                        .items(List.of(buildResponse(templateId, teacherId)))
+                        .nextCursor("def")
+                        .build());
 
         mockMvc.perform(get("/api/exam-templates")
                         .principal(principal(teacherId))
                         .param("subject", "Mathematics")
-                        .param("gradeLevel", "10th Grade"))
+                        .param("gradeLevel", "10th Grade")
+                        .param("cursor", "abc")
+                        .param("limit", "20"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success", is(true)))
-                .andExpect(jsonPath("$.data.length()", is(1)))
-                .andExpect(jsonPath("$.data[0].id", is(templateId.toString())));
+                .andExpect(jsonPath("$.data.items.length()", is(1)))
+                .andExpect(jsonPath("$.data.items[0].id", is(templateId.toString())))
+                .andExpect(jsonPath("$.data.nextCursor", is("def")));
 
-        verify(examTemplateService).getExamTemplates(eq(teacherId), eq("Mathematics"), eq("10th Grade"));
+        verify(examTemplateService).getExamTemplates(eq(teacherId), eq("Mathematics"), eq("10th Grade"),
+                eq("abc"), eq(20));
     }
 
     @Test
@@ -260,16 +269,16 @@ class ExamTemplateControllerTest {
         void getExamTemplatesReturnsOkForNonUuidPrincipalNameWhenTeacherIdAttributeExists() throws Exception {
                 UUID teacherId = UUID.randomUUID();
 
-                when(examTemplateService.getExamTemplates(eq(teacherId), eq(null), eq(null)))
-                                .thenReturn(List.of());
+                when(examTemplateService.getExamTemplates(eq(teacherId), eq(null), eq(null), eq(null), eq(50)))
+                                .thenReturn(CursorPage.<ExamTemplateResponse>builder().items(List.of()).build());
 
         mockMvc.perform(get("/api/exam-templates")
                                                                                                 .principal(authentication(Map.of("teacher_id", teacherId.toString()))))
                                 .andExpect(status().isOk())
                                 .andExpect(jsonPath("$.success", is(true)))
-                                .andExpect(jsonPath("$.data.length()", is(0)));
+                                .andExpect(jsonPath("$.data.items.length()", is(0)));
 
-                verify(examTemplateService).getExamTemplates(eq(teacherId), eq(null), eq(null));
+                verify(examTemplateService).getExamTemplates(eq(teacherId), eq(null), eq(null), eq(null), eq(50));
     }
 
     @Test
@@ -5,14 +5,17 @@ import com.tracegrade.domain.model.ExamTemplate;
 import com.tracegrade.domain.repository.ExamTemplateRepository;
 import com.tracegrade.dto.request.CreateExamTemplateRequest;
 import com.tracegrade.dto.request.UpdateExamTemplateRequest;
+import com.tracegrade.dto.response.CursorPage;
 import com.tracegrade.dto.response.ExamTemplateResponse;
 import com.tracegrade.exception.DuplicateResourceException;
 import com.tracegrade.exception.ResourceNotFoundException;
+import com.tracegrade.pagination.PageCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -91,17 +94,45 @@ class ExamTemplateServiceTest {
         UUID teacherA = UUID.randomUUID();
         ExamTemplate matching = buildTemplate(teacherA, "Template A", "Mathematics", "10th Grade");
 
-        when(examTemplateRepository.findByTeacherIdAndSubjectIgnoreCaseAndGradeLevelIgnoreCaseOrderByCreatedAtDesc(
-            teacherA, "mathematics", "10th Grade")).thenReturn(List.of(matching));
+        when(examTemplateRepository.findPageByTeacherId(teacherA, "mathematics", "10th Grade",
+            PageCursor.AFTER_ALL.createdAt(), PageCursor.AFTER_ALL.id(), PageCursor.fetch(50)))
+            .thenReturn(List.of(matching));
 
-        List<ExamTemplateResponse> results = examTemplateService.getExamTemplates(teacherA, "mathematics", "10th Grade");
+        CursorPage<ExamTemplateResponse> results =
+            examTemplateService.getExamTemplates(teacherA, " mathematics ", "10th Grade", null, 50);
 
-        assertThat(results).hasSize(1);
-        assertThat(results.get(0).getId()).isEqualTo(matching.getId());
+        assertThat(results.getItems()).hasSize(1);
+        assertThat(results.getItems().get(0).getId()).isEqualTo(matching.getId());
+        assertThat(results.getNextCursor()).isNull();
+        }
+
+    @Test
+    @DisplayName("getExamTemplates should treat blank filters as absent and resume before the cursor")
+    void getExamTemplatesWithCursorAndBlankFilters() {
+        UUID teacherA = UUID.randomUUID();
+        PageCursor before = new PageCursor(Instant.parse("2026-02-01T12:00:00Z"), UUID.randomUUID());
+        ExamTemplate older = buildTemplate(teacherA, "Template B", "Science", "9th Grade");
+
+        when(examTemplateRepository.findPageByTeacherId(teacherA, null, null,
+            before.createdAt(), before.id(), PageCursor.fetch(10)))
+            .thenReturn(List.of(older));
+
+        CursorPage<ExamTemplateResponse> results =
+            examTemplateService.getExamTemplates(teacherA, "  ", "", before.encode(), 10);
+
+        assertThat(results.getItems()).extracting(ExamTemplateResponse::getName).containsExactly("Template B");
+        }
+
+    @Test
+    @DisplayName("getExamTemplates should reject a malformed cursor")
+    void getExamTemplatesWithMalformedCursor() {
+        UUID teacherA = UUID.randomUUID();
+
+        assertThatThrownBy(() -> examTemplateService.getExamTemplates(teacherA, null, null, "not-a-cursor", 10))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Invalid page cursor");
 
-        verify(examTemplateRepository)
-            .findByTeacherIdAndSubjectIgnoreCaseAndGradeLevelIgnoreCaseOrderByCreatedAtDesc(
-                teacherA, "mathematics", "10th Grade");
+        verifyNoInteractions(examTemplateRepository);
         }
 
     @Test
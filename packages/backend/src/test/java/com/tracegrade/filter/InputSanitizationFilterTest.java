@@ -4,6 +4,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
+import java.nio.charset.StandardCharsets;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -64,6 +66,27 @@ class InputSanitizationFilterTest {
                 org.mockito.ArgumentMatchers.eq(response));
     }
 
+    @Test
+    @DisplayName("Should serve the sanitized JSON body with a matching content length")
+    void shouldSanitizeJsonBody() throws Exception {
+        request.setContentType("application/json");
+        request.setContent("{\"q\":\"<script>x</script>ok\"}".getBytes(StandardCharsets.UTF_8));
+
+        filter.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain).doFilter(
+                org.mockito.ArgumentMatchers.argThat(req -> {
+                    try {
+                        byte[] body = req.getInputStream().readAllBytes();
+                        return "{\"q\":\"xok\"}".equals(new String(body, StandardCharsets.UTF_8))
+                                && req.getContentLength() == body.length;
+                    } catch (java.io.IOException e) {
+                        return false;
+                    }
+                }),
+                org.mockito.ArgumentMatchers.eq(response));
+    }
+
     @Test
     @DisplayName("Should skip multipart requests")
     void shouldSkipMultipart() throws Exception {
@@ -0,0 +1,69 @@
+package com.tracegrade.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class JsonBodySanitizerTest {
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String sanitize(String json) {
+        return new String(JsonBodySanitizer.sanitize(bytes(json)), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("Should return a clean body untouched, newlines included")
+    void cleanBodyIsReturnedAsIs() {
+        byte[] body = bytes("{\n  \"name\": \"Algebra\",\n  \"points\": 10\n}");
+
+        assertThat(JsonBodySanitizer.sanitize(body)).isSameAs(body);
+    }
+
+    @Test
+    @DisplayName("Should strip script tags, javascript: URLs and event handlers from string values")
+    void stripsPatternsFromStrings() {
+        String sanitized = sanitize(
+                "{\"q\":\"<script>alert(1)</script>2+2?\",\"link\":\"JavaScript:go()\",\"img\":\"<img onerror=x>\"}");
+
+        assertThat(sanitized).isEqualTo("{\"q\":\"alert(1)2+2?\",\"link\":\"go()\",\"img\":\"<img x>\"}");
+    }
+
+    @Test
+    @DisplayName("Should catch markup hidden behind unicode escapes")
+    void decodesUnicodeEscapes() {
+        String sanitized = sanitize("{\"q\":\"\\u003cscript\\u003ealert(1)\"}");
+
+        assertThat(sanitized).isEqualTo("{\"q\":\"alert(1)\"}");
+    }
+
+    @Test
+    @DisplayName("Should leave numbers, booleans, nulls and nesting exactly as sent")
+    void copiesOtherTokens() {
+        String sanitized = sanitize("{\"a\":[1.10,2e5,-3],\"b\":true,\"c\":null,\"d\":{\"e\":\"x=1\"}}");
+
+        assertThat(sanitized).isEqualTo("{\"a\":[1.10,2e5,-3],\"b\":true,\"c\":null,\"d\":{\"e\":\"x=1\"}}");
+    }
+
+    @Test
+    @DisplayName("Should fall back to text sanitization when the body is not valid JSON")
+    void fallsBackForInvalidJson() {
+        String sanitized = sanitize("{\"q\": \"<script>x</script>\"");
+
+        assertThat(sanitized).isEqualTo("{\"q\": \"x\"");
+    }
+
+    @Test
+    @DisplayName("Should only flag bodies that contain a sink")
+    void fastScan() {
+        assertThat(JsonBodySanitizer.mayNeedSanitizing(bytes("{\"a\":\"b: c\"}"))).isFalse();
+        assertThat(JsonBodySanitizer.mayNeedSanitizing(bytes("{\"a\":\"JAVASCRIPT:\"}"))).isTrue();
+        assertThat(JsonBodySanitizer.mayNeedSanitizing(bytes("{\"a\":\"<b>\"}"))).isTrue();
+        assertThat(JsonBodySanitizer.mayNeedSanitizing(bytes("{\"a\":\"java\"}"))).isFalse();
+    }
+}
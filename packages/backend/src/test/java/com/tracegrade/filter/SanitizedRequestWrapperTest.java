@@ -0,0 +1,77 @@
+package com.tracegrade.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.owasp.html.PolicyFactory;
+import org.owasp.html.Sanitizers;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+class SanitizedRequestWrapperTest {
+
+    private static final PolicyFactory POLICY = Sanitizers.FORMATTING.and(Sanitizers.BLOCKS);
+
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        request = new MockHttpServletRequest();
+        request.setContentType("application/x-www-form-urlencoded");
+    }
+
+    @Test
+    @DisplayName("Should sanitize every value in the parameter map")
+    void sanitizesParameterMap() throws Exception {
+        request.addParameter("name", "<script>alert(1)</script>Ann");
+        request.addParameter("tags", "math", "<b>bold</b>");
+
+        Map<String, String[]> params = new SanitizedRequestWrapper(request).getParameterMap();
+
+        assertThat(params.get("name")).containsExactly("Ann");
+        assertThat(params.get("tags")).containsExactly("math", "<b>bold</b>");
+    }
+
+    @Test
+    @DisplayName("Should build the parameter map once and keep it consistent with single lookups")
+    void memoizesParameters() throws Exception {
+        request.addParameter("q", "a & b");
+        SanitizedRequestWrapper wrapper = new SanitizedRequestWrapper(request);
+
+        Map<String, String[]> first = wrapper.getParameterMap();
+
+        assertThat(wrapper.getParameterMap()).isSameAs(first);
+        assertThat(wrapper.getParameter("q")).isEqualTo(first.get("q")[0]).isEqualTo("a &amp; b");
+        assertThat(wrapper.getParameter("missing")).isNull();
+        assertThat(wrapper.getParameterValues("missing")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should not let callers change memoized values")
+    void returnsCopiesOfValues() throws Exception {
+        request.addParameter("q", "x");
+        SanitizedRequestWrapper wrapper = new SanitizedRequestWrapper(request);
+
+        wrapper.getParameterValues("q")[0] = "changed";
+
+        assertThat(wrapper.getParameter("q")).isEqualTo("x");
+    }
+
+    @Test
+    @DisplayName("Should only skip the policy for values it would leave unchanged")
+    void plainTextMatchesPolicy() {
+        String[] samples = {"John Doe", "Grade 7, section B", "tab\there", "line\nbreak", "50%",
+                "a@b.com", "x=1", "1+1", "it's", "\"quoted\"", "<i>", "café", "back`tick", "nul\u0000"};
+
+        for (String sample : samples) {
+            if (SanitizedRequestWrapper.isPlainText(sample)) {
+                assertThat(POLICY.sanitize(sample)).as(sample).isEqualTo(sample);
+            }
+        }
+        assertThat(SanitizedRequestWrapper.isPlainText("John Doe")).isTrue();
+        assertThat(SanitizedRequestWrapper.isPlainText("a@b.com")).isFalse();
+    }
+}
@@ -0,0 +1,238 @@
+package com.tracegrade.gradebook;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import com.tracegrade.domain.model.Assignment;
+import com.tracegrade.domain.model.GradeCategory;
+import com.tracegrade.domain.model.GradeStatus;
+import com.tracegrade.domain.model.StudentCategoryAggregate;
+import com.tracegrade.domain.repository.AssignmentRepository;
+import com.tracegrade.domain.repository.GradeCategoryRepository;
+import com.tracegrade.domain.repository.GradeCell;
+import com.tracegrade.domain.repository.GradeRepository;
+import com.tracegrade.domain.repository.StudentCategoryAggregateRepository;
+
+class GradeAggregateServiceTest {
+
+    private static final UUID CLASS_ID = UUID.randomUUID();
+    private static final UUID STUDENT_ID = UUID.randomUUID();
+
+    private StudentCategoryAggregateRepository aggregateRepository;
+    private GradeCategoryRepository gradeCategoryRepository;
+    private AssignmentRepository assignmentRepository;
+    private GradeRepository gradeRepository;
+    private GradeAggregateService service;
+
+    private GradeCategory homework;
+    private StudentCategoryAggregate aggregate;
+
+    @BeforeEach
+    void setUp() {
+        aggregateRepository = mock(StudentCategoryAggregateRepository.class);
+        gradeCategoryRepository = mock(GradeCategoryRepository.class);
+        assignmentRepository = mock(AssignmentRepository.class);
+        gradeRepository = mock(GradeRepository.class);
+        service = new GradeAggregateService(aggregateRepository, gradeCategoryRepository, assignmentRepository,
+                gradeRepository);
+
+        homework = GradeCategory.builder()
+                .classId(CLASS_ID)
+                .name("Homework")
+                .weight(new BigDecimal("40"))
+                .dropLowest(1)
+                .build();
+        homework.setId(UUID.randomUUID());
+        when(gradeCategoryRepository.findById(homework.getId())).thenReturn(Optional.of(homework));
+
+        aggregate = StudentCategoryAggregate.builder()
+                .classId(CLASS_ID)
+                .categoryId(homework.getId())
+                .studentId(STUDENT_ID)
+                .build();
+        when(aggregateRepository.findForUpdate(STUDENT_ID, homework.getId())).thenReturn(Optional.of(aggregate));
+    }
+
+    private Assignment assignment(String maxPoints, boolean published) {
+        Assignment assignment = Assignment.builder()
+                .classId(CLASS_ID)
+                .categoryId(homework.getId())
+                .name("HW")
+                .maxPoints(new BigDecimal(maxPoints))
+                .isPublished(published)
+                .build();
+        assignment.setId(UUID.randomUUID());
+        return assignment;
+    }
+
+    private static GradeCell graded(Assignment assignment, String points) {
+        return new GradeCell(assignment.getId(), STUDENT_ID, new BigDecimal(points), GradeStatus.GRADED);
+    }
+
+    private double average() {
+        return GradeAggregateService.categoryAverage(aggregate, homework.getDropLowest());
+    }
+
+    @Test
+    @DisplayName("Should add new grades to the totals and keep the lowest by percentage")
+    void addsGrades() {
+        Assignment hw1 = assignment("10", true);
+        Assignment hw2 = assignment("20", true);
+        Assignment hw3 = assignment("10", true);
+
+        service.recordGradeChange(hw1, null, graded(hw1, "9"));
+        service.recordGradeChange(hw2, null, graded(hw2, "10"));
+        service.recordGradeChange(hw3, null, graded(hw3, "7"));
+
+        assertThat(aggregate.getEarnedSum()).isEqualByComparingTo("26");
+        assertThat(aggregate.getPossibleSum()).isEqualByComparingTo("40");
+        assertThat(aggregate.getGradedCount()).isEqualTo(3);
+        assertThat(aggregate.getLowestScores()).isEqualTo(hw2.getId() + "=10/20");
+        // 10/20 is dropped: (9 + 7) / (10 + 10)
+        assertThat(average()).isCloseTo(80.0, within(1e-9));
+        verifyNoInteractions(gradeRepository);
+    }
+
+    @Test
+    @DisplayName("Should keep the only grade even though the category drops one")
+    void keepsOnlyGrade() {
+        Assignment hw1 = assignment("10", true);
+
+        service.recordGradeChange(hw1, null, graded(hw1, "4"));
+
+        assertThat(average()).isCloseTo(40.0, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("Should update the totals in place when a grade outside the lowest changes")
+    void updatesGradeOutsideLowest() {
+        Assignment hw1 = assignment("10", true);
+        Assignment hw2 = assignment("10", true);
+        service.recordGradeChange(hw1, null, graded(hw1, "5"));
+        service.recordGradeChange(hw2, null, graded(hw2, "8"));
+
+        service.recordGradeChange(hw2, graded(hw2, "8"), graded(hw2, "10"));
+
+        assertThat(aggregate.getEarnedSum()).isEqualByComparingTo("15");
+        assertThat(aggregate.getGradedCount()).isEqualTo(2);
+        assertThat(average()).isCloseTo(100.0, within(1e-9));
+        verifyNoInteractions(gradeRepository);
+    }
+
+    @Test
+    @DisplayName("Should refold the student's category from their grades when a dropped grade is raised")
+    void refoldsWhenLowestLeaves() {
+        Assignment hw1 = assignment("10", true);
+        Assignment hw2 = assignment("10", true);
+        Assignment hw3 = assignment("10", true);
+        service.recordGradeChange(hw1, null, graded(hw1, "2"));
+        service.recordGradeChange(hw2, null, graded(hw2, "6"));
+        service.recordGradeChange(hw3, null, graded(hw3, "8"));
+        when(assignmentRepository.findByCategoryId(homework.getId())).thenReturn(List.of(hw1, hw2, hw3));
+        when(gradeRepository.findCellsByCategoryIdAndStudentId(homework.getId(), STUDENT_ID)).thenReturn(List.of(
+                graded(hw1, "9"), graded(hw2, "6"), graded(hw3, "8")));
+
+        service.recordGradeChange(hw1, graded(hw1, "2"), graded(hw1, "9"));
+
+        assertThat(aggregate.getEarnedSum()).isEqualByComparingTo("23");
+        assertThat(aggregate.getGradedCount()).isEqualTo(3);
+        assertThat(aggregate.getLowestScores()).isEqualTo(hw2.getId() + "=6/10");
+        assertThat(average()).isCloseTo(85.0, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("Should count missing work as zero and remove excused work")
+    void missingAndExcused() {
+        Assignment hw1 = assignment("10", true);
+        Assignment hw2 = assignment("10", true);
+        service.recordGradeChange(hw1, null, graded(hw1, "10"));
+        service.recordGradeChange(hw2, null, new GradeCell(hw2.getId(), STUDENT_ID, null, GradeStatus.MISSING));
+
+        assertThat(aggregate.getGradedCount()).isEqualTo(2);
+        assertThat(aggregate.getLowestScores()).isEqualTo(hw2.getId() + "=0/10");
+        when(assignmentRepository.findByCategoryId(homework.getId())).thenReturn(List.of(hw1, hw2));
+        when(gradeRepository.findCellsByCategoryIdAndStudentId(homework.getId(), STUDENT_ID)).thenReturn(List.of(
+                graded(hw1, "10"), new GradeCell(hw2.getId(), STUDENT_ID, null, GradeStatus.EXCUSED)));
+
+        service.recordGradeChange(hw2, new GradeCell(hw2.getId(), STUDENT_ID, null, GradeStatus.MISSING),
+                new GradeCell(hw2.getId(), STUDENT_ID, null, GradeStatus.EXCUSED));
+
+        assertThat(aggregate.getGradedCount()).isEqualTo(1);
+        assertThat(average()).isCloseTo(100.0, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("Should ignore grades on unpublished assignments and changes that do not move the points")
+    void ignoresUncountedChanges() {
+        Assignment draft = assignment("10", false);
+        Assignment hw1 = assignment("10", true);
+
+        service.recordGradeChange(draft, null, graded(draft, "5"));
+        service.recordGradeChange(hw1, graded(hw1, "5.0"), graded(hw1, "5.00"));
+        service.recordGradeChange(hw1, null, new GradeCell(hw1.getId(), STUDENT_ID, null, GradeStatus.PENDING));
+
+        verifyNoInteractions(aggregateRepository);
+    }
+
+    @Test
+    @DisplayName("Should rebuild every student's totals in a category from their grades")
+    @SuppressWarnings("unchecked")
+    void rebuildsCategory() {
+        Assignment hw1 = assignment("10", true);
+        Assignment hw2 = assignment("10", true);
+        Assignment draft = assignment("10", false);
+        UUID otherStudent = UUID.randomUUID();
+        when(assignmentRepository.findByCategoryId(homework.getId())).thenReturn(List.of(hw1, hw2, draft));
+        when(gradeRepository.findCellsByCategoryId(homework.getId())).thenReturn(List.of(
+                graded(hw1, "4"),
+                graded(hw2, "8"),
+                graded(draft, "0"),
+                new GradeCell(hw1.getId(), otherStudent, null, GradeStatus.EXCUSED)));
+
+        service.rebuildCategory(homework);
+
+        ArgumentCaptor<List<StudentCategoryAggregate>> saved = ArgumentCaptor.forClass(List.class);
+        InOrder order = inOrder(aggregateRepository);
+        order.verify(aggregateRepository).deleteByCategoryId(homework.getId());
+        order.verify(aggregateRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).singleElement().satisfies(row -> {
+            assertThat(row.getStudentId()).isEqualTo(STUDENT_ID);
+            assertThat(row.getEarnedSum()).isEqualByComparingTo("12");
+            assertThat(row.getPossibleSum()).isEqualByComparingTo("20");
+            assertThat(row.getGradedCount()).isEqualTo(2);
+            assertThat(row.getLowestScores()).isEqualTo(hw1.getId() + "=4/10");
+            assertThat(GradeAggregateService.categoryAverage(row, 1)).isCloseTo(80.0, within(1e-9));
+        });
+    }
+
+    @Test
+    @DisplayName("Should rebuild nothing for a category that no longer exists")
+    void rebuildsMissingCategory() {
+        UUID categoryId = UUID.randomUUID();
+        when(gradeCategoryRepository.findById(categoryId)).thenReturn(Optional.empty());
+
+        service.rebuildCategory(categoryId);
+
+        verify(aggregateRepository, never()).deleteByCategoryId(eq(categoryId));
+        verify(aggregateRepository, never()).saveAll(anyList());
+    }
+}
@@ -0,0 +1,53 @@
+package com.tracegrade.gradebook;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class GradePostingDispatcherTest {
+
+    private final GradePostingService postingService = mock(GradePostingService.class);
+
+    @Test
+    @DisplayName("a settled result is posted on the executor")
+    void postsSettledSubmission() {
+        UUID submissionId = UUID.randomUUID();
+        GradePostingDispatcher dispatcher = new GradePostingDispatcher(postingService, Runnable::run);
+
+        dispatcher.onResultSettled(new GradingResultSettledEvent(submissionId));
+
+        verify(postingService).postSubmissions(List.of(submissionId));
+    }
+
+    @Test
+    @DisplayName("a failed posting is logged and not rethrown on the worker")
+    void swallowsPostingFailure() {
+        when(postingService.postSubmissions(any())).thenThrow(new IllegalStateException("boom"));
+        GradePostingDispatcher dispatcher = new GradePostingDispatcher(postingService, Runnable::run);
+
+        assertThatCode(() -> dispatcher.onResultSettled(new GradingResultSettledEvent(UUID.randomUUID())))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("a full queue drops the posting without failing the caller")
+    void dropsWhenQueueFull() {
+        GradePostingDispatcher dispatcher = new GradePostingDispatcher(postingService, task -> {
+            throw new RejectedExecutionException("full");
+        });
+
+        assertThatCode(() -> dispatcher.onResultSettled(new GradingResultSettledEvent(UUID.randomUUID())))
+                .doesNotThrowAnyException();
+        verifyNoInteractions(postingService);
+    }
+}
@@ -0,0 +1,297 @@
+package com.tracegrade.gradebook;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.tracegrade.domain.model.Assignment;
+import com.tracegrade.domain.model.Grade;
+import com.tracegrade.domain.model.GradeStatus;
+import com.tracegrade.domain.repository.AssignmentRepository;
+import com.tracegrade.domain.repository.GradeCell;
+import com.tracegrade.domain.repository.GradeRepository;
+import com.tracegrade.domain.repository.GradeUpsertRepository;
+import com.tracegrade.domain.repository.GradingResultRepository;
+import com.tracegrade.domain.repository.PostableResult;
+import com.tracegrade.dto.response.GradePostingResponse;
+import com.tracegrade.exception.ResourceNotFoundException;
+import com.tracegrade.tenancy.TenancyContext;
+
+class GradePostingServiceTest {
+
+    private static final UUID SCHOOL_ID = UUID.randomUUID();
+    private static final UUID CLASS_ID = UUID.randomUUID();
+    private static final Instant NOW = Instant.parse("2026-03-02T10:00:00Z");
+
+    private GradingResultRepository gradingResultRepository;
+    private GradeRepository gradeRepository;
+    private GradeUpsertRepository gradeUpsertRepository;
+    private AssignmentRepository assignmentRepository;
+    private GradeAggregateService gradeAggregateService;
+    private TenancyContext tenancyContext;
+    private GradePostingService service;
+
+    private Assignment quiz;
+
+    @BeforeEach
+    void setUp() {
+        gradingResultRepository = mock(GradingResultRepository.class);
+        gradeRepository = mock(GradeRepository.class);
+        gradeUpsertRepository = mock(GradeUpsertRepository.class);
+        assignmentRepository = mock(AssignmentRepository.class);
+        gradeAggregateService = mock(GradeAggregateService.class);
+        tenancyContext = mock(TenancyContext.class);
+        GradePostingProperties properties = new GradePostingProperties();
+        properties.setBatchSize(50);
+        service = new GradePostingService(gradingResultRepository, gradeRepository, gradeUpsertRepository,
+                assignmentRepository, gradeAggregateService, properties, tenancyContext);
+
+        quiz = assignment();
+        when(assignmentRepository.findById(quiz.getId())).thenReturn(Optional.of(quiz));
+    }
+
+    private static Assignment assignment() {
+        Assignment assignment = Assignment.builder()
+                .classId(CLASS_ID)
+                .categoryId(UUID.randomUUID())
+                .name("Quiz")
+                .maxPoints(new BigDecimal("20"))
+                .isPublished(true)
+                .build();
+        assignment.setId(UUID.randomUUID());
+        return assignment;
+    }
+
+    private static PostableResult result(Assignment assignment, UUID studentId, String score, Instant gradedAt) {
+        return new PostableResult(UUID.randomUUID(), studentId, assignment.getId(), assignment.getMaxPoints(),
+                new BigDecimal(score), gradedAt);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Grade> upserted() {
+        ArgumentCaptor<List<Grade>> captor = ArgumentCaptor.forClass(List.class);
+        verify(gradeUpsertRepository).upsertGraded(captor.capture(), eq(50));
+        return captor.getValue();
+    }
+
+    @Test
+    @DisplayName("toPoints scales a percentage to the assignment's points, rounded to cents")
+    void scalesPercentageToPoints() {
+        assertThat(GradePostingService.toPoints(new BigDecimal("87.5"), new BigDecimal("20")))
+                .isEqualByComparingTo("17.50");
+        assertThat(GradePostingService.toPoints(new BigDecimal("33.333"), new BigDecimal("10")))
+                .isEqualByComparingTo("3.33");
+    }
+
+    private PostableResult postedAlone(UUID studentId, String score, GradeCell locked) {
+        PostableResult result = result(quiz, studentId, score, NOW);
+        when(gradingResultRepository.findPostableBySubmissionIds(List.of(result.submissionId())))
+                .thenReturn(List.of(result));
+        when(gradeUpsertRepository.lockCell(any(), eq(quiz.getId()), eq(studentId))).thenReturn(locked);
+        return result;
+    }
+
+    @Test
+    @DisplayName("posting one submission writes its grade and updates the student's category in place")
+    void postsSingleSubmission() {
+        UUID studentId = UUID.randomUUID();
+        GradeCell pending = new GradeCell(quiz.getId(), studentId, null, GradeStatus.PENDING);
+        PostableResult result = postedAlone(studentId, "90", pending);
+
+        int posted = service.postSubmissions(List.of(result.submissionId()));
+
+        assertThat(posted).isEqualTo(1);
+        Grade grade = upserted().get(0);
+        assertThat(grade.getStudentId()).isEqualTo(studentId);
+        assertThat(grade.getAssignmentId()).isEqualTo(quiz.getId());
+        assertThat(grade.getPointsEarned()).isEqualByComparingTo("18.00");
+        assertThat(grade.getStatus()).isEqualTo(GradeStatus.GRADED);
+        assertThat(grade.getGradedAt()).isEqualTo(NOW);
+        assertThat(grade.getId()).isNotNull();
+        verify(gradeUpsertRepository).lockCell(grade.getId(), quiz.getId(), studentId);
+        verify(gradeAggregateService).recordGradeChange(quiz, pending,
+                new GradeCell(quiz.getId(), studentId, new BigDecimal("18.00"), GradeStatus.GRADED));
+        verify(gradeAggregateService, never()).rebuildCategory(any(UUID.class));
+        verify(gradeRepository, never()).findCellsByAssignmentIdIn(any());
+    }
+
+    @Test
+    @DisplayName("posting one submission replaces the grade read under the row lock")
+    void singlePostingUsesLockedPrevious() {
+        UUID studentId = UUID.randomUUID();
+        GradeCell locked = new GradeCell(quiz.getId(), studentId, new BigDecimal("12.00"), GradeStatus.GRADED);
+        PostableResult result = postedAlone(studentId, "80", locked);
+
+        assertThat(service.postSubmissions(List.of(result.submissionId()))).isEqualTo(1);
+
+        verify(gradeAggregateService).recordGradeChange(quiz, locked,
+                new GradeCell(quiz.getId(), studentId, new BigDecimal("16.00"), GradeStatus.GRADED));
+    }
+
+    @Test
+    @DisplayName("posting one submission leaves a grade the teacher marked missing alone")
+    void singlePostingSkipsTeacherStatus() {
+        UUID studentId = UUID.randomUUID();
+        PostableResult result = postedAlone(studentId, "80",
+                new GradeCell(quiz.getId(), studentId, null, GradeStatus.MISSING));
+
+        assertThat(service.postSubmissions(List.of(result.submissionId()))).isZero();
+
+        verify(gradeUpsertRepository, never()).upsertGraded(anyList(), anyInt());
+        verifyNoInteractions(gradeAggregateService);
+    }
+
+    @Test
+    @DisplayName("the most recently settled result wins when a student has several for one assignment")
+    void latestResultWins() {
+        UUID studentId = UUID.randomUUID();
+        when(gradingResultRepository.findPostableByClassId(CLASS_ID)).thenReturn(List.of(
+                result(quiz, studentId, "50", NOW.plusSeconds(60)),
+                result(quiz, studentId, "100", NOW)));
+
+        service.postClass(SCHOOL_ID, CLASS_ID);
+
+        List<Grade> grades = upserted();
+        assertThat(grades).hasSize(1);
+        assertThat(grades.get(0).getPointsEarned()).isEqualByComparingTo("10.00");
+    }
+
+    @Test
+    @DisplayName("excused, missing, incomplete and unchanged grades are skipped")
+    void skipsTeacherStatusesAndUnchanged() {
+        UUID excusedStudent = UUID.randomUUID();
+        UUID missingStudent = UUID.randomUUID();
+        UUID incompleteStudent = UUID.randomUUID();
+        UUID currentStudent = UUID.randomUUID();
+        UUID changedStudent = UUID.randomUUID();
+        when(gradingResultRepository.findPostableByClassId(CLASS_ID)).thenReturn(List.of(
+                result(quiz, excusedStudent, "80", NOW),
+                result(quiz, missingStudent, "80", NOW),
+                result(quiz, incompleteStudent, "80", NOW),
+                result(quiz, currentStudent, "80", NOW),
+                result(quiz, changedStudent, "80", NOW)));
+        when(gradeRepository.findCellsByAssignmentIdIn(any())).thenReturn(List.of(
+                new GradeCell(quiz.getId(), excusedStudent, null, GradeStatus.EXCUSED),
+                new GradeCell(quiz.getId(), missingStudent, null, GradeStatus.MISSING),
+                new GradeCell(quiz.getId(), incompleteStudent, new BigDecimal("5.00"), GradeStatus.INCOMPLETE),
+                new GradeCell(quiz.getId(), currentStudent, new BigDecimal("16.0"), GradeStatus.GRADED),
+                new GradeCell(quiz.getId(), changedStudent, new BigDecimal("12.00"), GradeStatus.GRADED)));
+        when(assignmentRepository.findAllById(any())).thenReturn(List.of(quiz));
+
+        GradePostingResponse response = service.postClass(SCHOOL_ID, CLASS_ID);
+
+        assertThat(response.getPostedCount()).isEqualTo(1);
+        assertThat(upserted()).extracting(Grade::getStudentId).containsExactly(changedStudent);
+        verify(gradeAggregateService).rebuildCategory(quiz.getCategoryId());
+    }
+
+    @Test
+    @DisplayName("posting many grades rebuilds each affected category once instead of updating per grade")
+    void rebuildsCategoriesForBulkPosting() {
+        Assignment essay = assignment();
+        when(gradingResultRepository.findPostableByClassId(CLASS_ID)).thenReturn(List.of(
+                result(quiz, UUID.randomUUID(), "70", NOW),
+                result(quiz, UUID.randomUUID(), "75", NOW),
+                result(essay, UUID.randomUUID(), "95", NOW)));
+        when(assignmentRepository.findAllById(any())).thenReturn(List.of(quiz, essay));
+
+        GradePostingResponse response = service.postClass(SCHOOL_ID, CLASS_ID);
+
+        assertThat(response.getClassId()).isEqualTo(CLASS_ID);
+        assertThat(response.getPostedCount()).isEqualTo(3);
+        verify(gradeAggregateService).rebuildCategory(quiz.getCategoryId());
+        verify(gradeAggregateService).rebuildCategory(essay.getCategoryId());
+        verify(gradeAggregateService, never()).recordGradeChange(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("nothing is written when no result is postable")
+    void noPostableResults() {
+        when(gradingResultRepository.findPostableByClassId(CLASS_ID)).thenReturn(List.of());
+
+        assertThat(service.postClass(SCHOOL_ID, CLASS_ID).getPostedCount()).isZero();
+        assertThat(service.postSubmissions(List.of())).isZero();
+
+        verify(gradeUpsertRepository, never()).upsertGraded(anyList(), anyInt());
+        verifyNoInteractions(gradeAggregateService);
+    }
+
+    @Test
+    @DisplayName("posting a class in another school is rejected before any result is read")
+    void rejectsClassOfOtherSchool() {
+        when(tenancyContext.requireClass(SCHOOL_ID, CLASS_ID))
+                .thenThrow(new ResourceNotFoundException("Class", CLASS_ID));
+
+        assertThatThrownBy(() -> service.postClass(SCHOOL_ID, CLASS_ID))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        verifyNoInteractions(gradingResultRepository, gradeUpsertRepository);
+    }
+
+    @Test
+    @DisplayName("removing a result re-posts the student's grade from the latest result left")
+    void repostsFromRemainingResult() {
+        UUID studentId = UUID.randomUUID();
+        GradeCell locked = new GradeCell(quiz.getId(), studentId, new BigDecimal("18.00"), GradeStatus.GRADED);
+        when(gradeUpsertRepository.findCellForUpdate(quiz.getId(), studentId)).thenReturn(Optional.of(locked));
+        when(gradingResultRepository.findPostableByStudentIdAndAssignmentId(studentId, quiz.getId()))
+                .thenReturn(List.of(result(quiz, studentId, "50", NOW.minusSeconds(60)),
+                        result(quiz, studentId, "70", NOW)));
+
+        service.repostAfterRemoval(studentId, quiz.getId());
+
+        assertThat(upserted().get(0).getPointsEarned()).isEqualByComparingTo("14.00");
+        verify(gradeUpsertRepository, never()).deleteGraded(any(), any());
+        verify(gradeAggregateService).recordGradeChange(quiz, locked,
+                new GradeCell(quiz.getId(), studentId, new BigDecimal("14.00"), GradeStatus.GRADED));
+    }
+
+    @Test
+    @DisplayName("removing the only result removes the grade and takes it out of the category totals")
+    void removesGradeWithoutRemainingResult() {
+        UUID studentId = UUID.randomUUID();
+        GradeCell locked = new GradeCell(quiz.getId(), studentId, new BigDecimal("18.00"), GradeStatus.GRADED);
+        when(gradeUpsertRepository.findCellForUpdate(quiz.getId(), studentId)).thenReturn(Optional.of(locked));
+        when(gradingResultRepository.findPostableByStudentIdAndAssignmentId(studentId, quiz.getId()))
+                .thenReturn(List.of());
+
+        service.repostAfterRemoval(studentId, quiz.getId());
+
+        verify(gradeUpsertRepository).deleteGraded(quiz.getId(), studentId);
+        verify(gradeUpsertRepository, never()).upsertGraded(anyList(), anyInt());
+        verify(gradeAggregateService).recordGradeChange(quiz, locked, null);
+    }
+
+    @Test
+    @DisplayName("removing a result leaves pending grades and grades the teacher set alone")
+    void removalSkipsUngradedGrades() {
+        UUID studentId = UUID.randomUUID();
+        when(gradeUpsertRepository.findCellForUpdate(quiz.getId(), studentId))
+                .thenReturn(Optional.of(new GradeCell(quiz.getId(), studentId, null, GradeStatus.EXCUSED)));
+
+        service.repostAfterRemoval(studentId, quiz.getId());
+
+        verify(gradeUpsertRepository, never()).deleteGraded(any(), any());
+        verify(gradeUpsertRepository, never()).upsertGraded(anyList(), anyInt());
+        verifyNoInteractions(gradingResultRepository, gradeAggregateService);
+    }
+}
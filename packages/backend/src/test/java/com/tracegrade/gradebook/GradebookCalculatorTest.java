@@ -0,0 +1,97 @@
+package com.tracegrade.gradebook;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class GradebookCalculatorTest {
+
+    private static final double NONE = Double.NaN;
+
+    // Homework (weight 40, drops 1): columns 0-2 out of 10; Exams (weight 60): columns 3-4 out of 100.
+    private static final GradebookCalculator.Layout LAYOUT = new GradebookCalculator.Layout(
+            new int[] {0, 3, 5},
+            new double[] {40, 60},
+            new int[] {1, 0},
+            new double[] {10, 10, 10, 100, 100},
+            new boolean[] {true, true, true, true, true});
+
+    @Test
+    @DisplayName("Should drop the lowest score per category and weight the category averages")
+    void weightsCategoriesAfterDroppingLowest() {
+        GradebookCalculator.Result result = GradebookCalculator.compute(LAYOUT,
+                new double[] {10, 4, 8, 90, 70}, 1);
+
+        assertThat(result.categoryAverages()[0]).isCloseTo(90.0, within(1e-9));
+        assertThat(result.categoryAverages()[1]).isCloseTo(80.0, within(1e-9));
+        assertThat(result.courseAverages()[0]).isCloseTo(0.4 * 90 + 0.6 * 80, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("Should drop by percentage rather than by raw points")
+    void dropsByPercentage() {
+        GradebookCalculator.Layout layout = new GradebookCalculator.Layout(
+                new int[] {0, 2}, new double[] {100}, new int[] {1},
+                new double[] {10, 100}, new boolean[] {true, true});
+
+        // 5/10 is 50%, 60/100 is 60%: the 5 points are dropped even though 60 is more points.
+        GradebookCalculator.Result result = GradebookCalculator.compute(layout, new double[] {5, 60}, 1);
+
+        assertThat(result.courseAverages()[0]).isCloseTo(60.0, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("Should keep at least one score when a category drops more than it has")
+    void keepsOneScore() {
+        GradebookCalculator.Result result = GradebookCalculator.compute(LAYOUT,
+                new double[] {7, NONE, NONE, NONE, NONE}, 1);
+
+        assertThat(result.categoryAverages()[0]).isCloseTo(70.0, within(1e-9));
+        assertThat(result.categoryAverages()[1]).isNaN();
+        assertThat(result.courseAverages()[0]).isCloseTo(70.0, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("Should ignore columns that do not count")
+    void ignoresUncountedColumns() {
+        GradebookCalculator.Layout layout = new GradebookCalculator.Layout(
+                LAYOUT.categoryStart(), LAYOUT.categoryWeight(), new int[] {0, 0},
+                LAYOUT.maxPoints(), new boolean[] {true, true, false, true, false});
+
+        GradebookCalculator.Result result = GradebookCalculator.compute(layout,
+                new double[] {10, 6, 0, 50, 0}, 1);
+
+        assertThat(result.categoryAverages()[0]).isCloseTo(80.0, within(1e-9));
+        assertThat(result.categoryAverages()[1]).isCloseTo(50.0, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("Should compute each student's row independently")
+    void computesEveryStudent() {
+        GradebookCalculator.Result result = GradebookCalculator.compute(LAYOUT, new double[] {
+                10, 10, 10, 100, 100,
+                NONE, NONE, NONE, NONE, NONE,
+                0, 0, 0, 0, 0}, 3);
+
+        assertThat(result.courseAverages()[0]).isCloseTo(100.0, within(1e-9));
+        assertThat(result.courseAverages()[1]).isNaN();
+        assertThat(result.categoryAverages()[2]).isNaN();
+        assertThat(result.courseAverages()[2]).isCloseTo(0.0, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("Should skip zero-weight categories in the course average")
+    void skipsZeroWeightCategories() {
+        GradebookCalculator.Layout layout = new GradebookCalculator.Layout(
+                LAYOUT.categoryStart(), new double[] {0, 60}, new int[] {0, 0},
+                LAYOUT.maxPoints(), LAYOUT.counted());
+
+        GradebookCalculator.Result result = GradebookCalculator.compute(layout,
+                new double[] {0, 0, 0, 80, NONE}, 1);
+
+        assertThat(result.categoryAverages()[0]).isCloseTo(0.0, within(1e-9));
+        assertThat(result.courseAverages()[0]).isCloseTo(80.0, within(1e-9));
+    }
+}
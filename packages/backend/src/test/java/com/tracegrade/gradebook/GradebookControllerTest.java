@@ -0,0 +1,224 @@
+package com.tracegrade.gradebook;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.tracegrade.config.CorsProperties;
+import com.tracegrade.config.CsrfAccessDeniedHandler;
+import com.tracegrade.config.CsrfProperties;
+import com.tracegrade.config.SecurityConfig;
+import com.tracegrade.config.SecurityHeadersProperties;
+import com.tracegrade.dto.response.GradePostingResponse;
+import com.tracegrade.dto.response.GradebookResponse;
+import com.tracegrade.dto.response.StudentGradeResponse;
+import com.tracegrade.exception.ResourceNotFoundException;
+import com.tracegrade.filter.SanitizationProperties;
+import com.tracegrade.ratelimit.RateLimitProperties;
+import com.tracegrade.ratelimit.RateLimitService;
+
+@WebMvcTest(GradebookController.class)
+@ActiveProfiles("test")
+@Import({SecurityConfig.class, SecurityHeadersProperties.class,
+         CsrfProperties.class, CsrfAccessDeniedHandler.class,
+         CorsProperties.class,
+         RateLimitProperties.class, SanitizationProperties.class})
+@TestPropertySource(properties = {
+        "security-headers.https-redirect-enabled=false",
+        "rate-limit.enabled=false",
+        "sanitization.enabled=false",
+        "csrf.enabled=false"
+})
+class GradebookControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private GradebookService gradebookService;
+
+    @MockBean
+    private GradePostingService gradePostingService;
+
+    @MockBean
+    private RateLimitService rateLimitService;
+
+    @Test
+    @DisplayName("GET gradebook returns 200 with columns and student rows")
+    void returnsGradebook() throws Exception {
+        UUID schoolId = UUID.randomUUID();
+        UUID classId = UUID.randomUUID();
+        UUID categoryId = UUID.randomUUID();
+        UUID studentId = UUID.randomUUID();
+        when(gradebookService.getGradebook(schoolId, classId)).thenReturn(GradebookResponse.builder()
+                .classId(classId)
+                .categories(List.of(GradebookResponse.CategoryColumn.builder()
+                        .categoryId(categoryId)
+                        .name("Homework")
+                        .weight(new BigDecimal("100.00"))
+                        .dropLowest(1)
+                        .build()))
+                .assignments(List.of(
+                        GradebookResponse.AssignmentColumn.builder()
+                                .assignmentId(UUID.randomUUID())
+                                .categoryId(categoryId)
+                                .name("HW 1")
+                                .maxPoints(new BigDecimal("10.00"))
+                                .published(true)
+                                .build(),
+                        GradebookResponse.AssignmentColumn.builder()
+                                .assignmentId(UUID.randomUUID())
+                                .categoryId(categoryId)
+                                .name("HW 2")
+                                .maxPoints(new BigDecimal("10.00"))
+                                .published(true)
+                                .build()))
+                .students(List.of(GradebookResponse.StudentRow.builder()
+                        .studentId(studentId)
+                        .firstName("Ada")
+                        .lastName("Lovelace")
+                        .points(Arrays.asList(8.5, null))
+                        .categoryAverages(List.of(85.0))
+                        .courseAverage(85.0)
+                        .build()))
+                .build());
+
+        mockMvc.perform(get("/api/schools/{schoolId}/classes/{classId}/gradebook", schoolId, classId)
+                        .with(user(schoolId.toString())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success", is(true)))
+                .andExpect(jsonPath("$.data.classId", is(classId.toString())))
+                .andExpect(jsonPath("$.data.categories[0].dropLowest", is(1)))
+                .andExpect(jsonPath("$.data.assignments[1].name", is("HW 2")))
+                .andExpect(jsonPath("$.data.students[0].studentId", is(studentId.toString())))
+                .andExpect(jsonPath("$.data.students[0].points[0]", is(8.5)))
+                .andExpect(jsonPath("$.data.students[0].points[1]", nullValue()))
+                .andExpect(jsonPath("$.data.students[0].courseAverage", is(85.0)));
+
+        verify(gradebookService).getGradebook(schoolId, classId);
+    }
+
+    @Test
+    @DisplayName("GET gradebook returns 401 when unauthenticated")
+    void returnsUnauthorizedWhenUnauthenticated() throws Exception {
+        mockMvc.perform(get("/api/schools/{schoolId}/classes/{classId}/gradebook", UUID.randomUUID(), UUID.randomUUID()))
+                .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(gradebookService);
+    }
+
+    @Test
+    @DisplayName("GET gradebook returns 403 when authenticated as different school")
+    void returnsForbiddenForOtherSchool() throws Exception {
+        mockMvc.perform(get("/api/schools/{schoolId}/classes/{classId}/gradebook", UUID.randomUUID(), UUID.randomUUID())
+                        .with(user(UUID.randomUUID().toString())))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(gradebookService);
+    }
+
+    @Test
+    @DisplayName("GET gradebook returns 404 when class not found")
+    void returnsNotFoundForMissingClass() throws Exception {
+        UUID schoolId = UUID.randomUUID();
+        UUID classId = UUID.randomUUID();
+        when(gradebookService.getGradebook(schoolId, classId))
+                .thenThrow(new ResourceNotFoundException("Class", classId));
+
+        mockMvc.perform(get("/api/schools/{schoolId}/classes/{classId}/gradebook", schoolId, classId)
+                        .with(user(schoolId.toString())))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error.code", is("NOT_FOUND")));
+    }
+
+    @Test
+    @DisplayName("GET student grade returns 200 with category averages")
+    void returnsStudentGrade() throws Exception {
+        UUID schoolId = UUID.randomUUID();
+        UUID classId = UUID.randomUUID();
+        UUID studentId = UUID.randomUUID();
+        when(gradebookService.getStudentGrade(schoolId, classId, studentId)).thenReturn(StudentGradeResponse.builder()
+                .classId(classId)
+                .studentId(studentId)
+                .categories(List.of(StudentGradeResponse.CategoryGrade.builder()
+                        .categoryId(UUID.randomUUID())
+                        .name("Homework")
+                        .weight(new BigDecimal("100.00"))
+                        .gradedCount(3)
+                        .average(91.5)
+                        .build()))
+                .courseAverage(91.5)
+                .build());
+
+        mockMvc.perform(get("/api/schools/{schoolId}/classes/{classId}/gradebook/students/{studentId}",
+                        schoolId, classId, studentId)
+                        .with(user(schoolId.toString())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.studentId", is(studentId.toString())))
+                .andExpect(jsonPath("$.data.categories[0].gradedCount", is(3)))
+                .andExpect(jsonPath("$.data.courseAverage", is(91.5)));
+    }
+
+    @Test
+    @DisplayName("GET student grade returns 403 when authenticated as different school")
+    void studentGradeForbiddenForOtherSchool() throws Exception {
+        mockMvc.perform(get("/api/schools/{schoolId}/classes/{classId}/gradebook/students/{studentId}",
+                        UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID())
+                        .with(user(UUID.randomUUID().toString())))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(gradebookService);
+    }
+
+    @Test
+    @DisplayName("POST gradebook/post returns 200 with the number of grades posted")
+    void postsGrades() throws Exception {
+        UUID schoolId = UUID.randomUUID();
+        UUID classId = UUID.randomUUID();
+        when(gradePostingService.postClass(schoolId, classId)).thenReturn(GradePostingResponse.builder()
+                .classId(classId)
+                .postedCount(12)
+                .build());
+
+        mockMvc.perform(post("/api/schools/{schoolId}/classes/{classId}/gradebook/post", schoolId, classId)
+                        .with(user(schoolId.toString())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.classId", is(classId.toString())))
+                .andExpect(jsonPath("$.data.postedCount", is(12)));
+
+        verify(gradePostingService).postClass(schoolId, classId);
+    }
+
+    @Test
+    @DisplayName("POST gradebook/post returns 403 when authenticated as different school")
+    void postGradesForbiddenForOtherSchool() throws Exception {
+        mockMvc.perform(post("/api/schools/{schoolId}/classes/{classId}/gradebook/post",
+                        UUID.randomUUID(), UUID.randomUUID())
+                        .with(user(UUID.randomUUID().toString())))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(gradePostingService);
+    }
+}
@@ -0,0 +1,226 @@
+package com.tracegrade.gradebook;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.tracegrade.domain.model.Assignment;
+import com.tracegrade.domain.model.GradeCategory;
+import com.tracegrade.domain.model.GradeStatus;
+import com.tracegrade.domain.model.StudentCategoryAggregate;
+import com.tracegrade.domain.repository.AssignmentRepository;
+import com.tracegrade.domain.repository.ClassEnrollmentRepository;
+import com.tracegrade.domain.repository.EnrolledStudent;
+import com.tracegrade.domain.repository.GradeCategoryRepository;
+import com.tracegrade.domain.repository.GradeCell;
+import com.tracegrade.domain.repository.GradeRepository;
+import com.tracegrade.domain.repository.StudentCategoryAggregateRepository;
+import com.tracegrade.dto.response.GradebookResponse;
+import com.tracegrade.dto.response.StudentGradeResponse;
+import com.tracegrade.exception.ResourceNotFoundException;
+import com.tracegrade.tenancy.TenancyContext;
+
+class GradebookServiceTest {
+
+    private static final UUID SCHOOL_ID = UUID.randomUUID();
+    private static final UUID CLASS_ID = UUID.randomUUID();
+
+    private TenancyContext tenancyContext;
+    private GradeCategoryRepository gradeCategoryRepository;
+    private AssignmentRepository assignmentRepository;
+    private ClassEnrollmentRepository classEnrollmentRepository;
+    private GradeRepository gradeRepository;
+    private StudentCategoryAggregateRepository aggregateRepository;
+    private GradebookService service;
+
+    private GradeCategory homework;
+    private GradeCategory exams;
+    private Assignment hw1;
+    private Assignment hw2;
+    private Assignment draft;
+    private Assignment midterm;
+    private EnrolledStudent ada;
+    private EnrolledStudent alan;
+
+    @BeforeEach
+    void setUp() {
+        tenancyContext = mock(TenancyContext.class);
+        gradeCategoryRepository = mock(GradeCategoryRepository.class);
+        assignmentRepository = mock(AssignmentRepository.class);
+        classEnrollmentRepository = mock(ClassEnrollmentRepository.class);
+        gradeRepository = mock(GradeRepository.class);
+        aggregateRepository = mock(StudentCategoryAggregateRepository.class);
+        service = new GradebookService(tenancyContext, gradeCategoryRepository, assignmentRepository,
+                classEnrollmentRepository, gradeRepository, aggregateRepository);
+
+        homework = category("Homework", "40", 1);
+        exams = category("Exams", "60", 0);
+        hw1 = assignment(homework, "HW 1", LocalDate.of(2026, 9, 1), "10", true);
+        hw2 = assignment(homework, "HW 2", LocalDate.of(2026, 9, 8), "10", true);
+        draft = assignment(homework, "HW 3", LocalDate.of(2026, 9, 15), "10", false);
+        midterm = assignment(exams, "Midterm", LocalDate.of(2026, 10, 1), "100", true);
+        ada = new EnrolledStudent(UUID.randomUUID(), "Ada", "Lovelace");
+        alan = new EnrolledStudent(UUID.randomUUID(), "Alan", "Turing");
+    }
+
+    private static GradeCategory category(String name, String weight, int dropLowest) {
+        GradeCategory category = GradeCategory.builder()
+                .classId(CLASS_ID)
+                .name(name)
+                .weight(new BigDecimal(weight))
+                .dropLowest(dropLowest)
+                .build();
+        category.setId(UUID.randomUUID());
+        return category;
+    }
+
+    private static Assignment assignment(GradeCategory category, String name, LocalDate dueDate, String maxPoints,
+                                         boolean published) {
+        Assignment assignment = Assignment.builder()
+                .classId(CLASS_ID)
+                .categoryId(category.getId())
+                .name(name)
+                .dueDate(dueDate)
+                .maxPoints(new BigDecimal(maxPoints))
+                .isPublished(published)
+                .build();
+        assignment.setId(UUID.randomUUID());
+        return assignment;
+    }
+
+    private static GradeCell cell(Assignment assignment, EnrolledStudent student, String points, GradeStatus status) {
+        return new GradeCell(assignment.getId(), student.studentId(),
+                points != null ? new BigDecimal(points) : null, status);
+    }
+
+    @Test
+    @DisplayName("Should lay out columns by category and due date and compute weighted averages")
+    void buildsGradebook() {
+        when(gradeCategoryRepository.findByClassId(CLASS_ID)).thenReturn(List.of(homework, exams));
+        when(assignmentRepository.findByClassId(CLASS_ID)).thenReturn(List.of(midterm, hw2, draft, hw1));
+        when(classEnrollmentRepository.findEnrolledStudents(CLASS_ID)).thenReturn(List.of(ada, alan));
+        when(gradeRepository.findCellsByClassId(CLASS_ID)).thenReturn(List.of(
+                cell(hw1, ada, "9", GradeStatus.GRADED),
+                cell(hw2, ada, "5", GradeStatus.GRADED),
+                cell(draft, ada, "0", GradeStatus.GRADED),
+                cell(midterm, ada, "75.5", GradeStatus.GRADED),
+                cell(hw1, alan, null, GradeStatus.EXCUSED),
+                cell(hw2, alan, null, GradeStatus.MISSING)));
+
+        GradebookResponse response = service.getGradebook(SCHOOL_ID, CLASS_ID);
+
+        assertThat(response.getClassId()).isEqualTo(CLASS_ID);
+        assertThat(response.getCategories()).extracting(GradebookResponse.CategoryColumn::getName)
+                .containsExactly("Exams", "Homework");
+        assertThat(response.getAssignments()).extracting(GradebookResponse.AssignmentColumn::getName)
+                .containsExactly("Midterm", "HW 1", "HW 2", "HW 3");
+
+        GradebookResponse.StudentRow first = response.getStudents().get(0);
+        assertThat(first.getStudentId()).isEqualTo(ada.studentId());
+        assertThat(first.getPoints()).containsExactly(75.5, 9.0, 5.0, 0.0);
+        // Homework drops HW 2 (50%) and ignores the unpublished HW 3.
+        assertThat(first.getCategoryAverages()).containsExactly(75.5, 90.0);
+        assertThat(first.getCourseAverage()).isEqualTo(81.3);
+
+        GradebookResponse.StudentRow second = response.getStudents().get(1);
+        assertThat(second.getPoints()).containsExactly(null, null, 0.0, null);
+        assertThat(second.getCategoryAverages()).containsExactly(null, 0.0);
+        assertThat(second.getCourseAverage()).isEqualTo(0.0);
+    }
+
+    @Test
+    @DisplayName("Should ignore grades of students who are no longer enrolled")
+    void ignoresDroppedStudents() {
+        EnrolledStudent dropped = new EnrolledStudent(UUID.randomUUID(), "Grace", "Hopper");
+        when(gradeCategoryRepository.findByClassId(CLASS_ID)).thenReturn(List.of(exams));
+        when(assignmentRepository.findByClassId(CLASS_ID)).thenReturn(List.of(midterm));
+        when(classEnrollmentRepository.findEnrolledStudents(CLASS_ID)).thenReturn(List.of(ada));
+        when(gradeRepository.findCellsByClassId(CLASS_ID)).thenReturn(List.of(
+                cell(midterm, dropped, "100", GradeStatus.GRADED)));
+
+        GradebookResponse response = service.getGradebook(SCHOOL_ID, CLASS_ID);
+
+        assertThat(response.getStudents()).hasSize(1);
+        assertThat(response.getStudents().get(0).getPoints()).containsExactly((Double) null);
+        assertThat(response.getStudents().get(0).getCourseAverage()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should return an empty gradebook for a class without categories or students")
+    void emptyClass() {
+        when(gradeCategoryRepository.findByClassId(CLASS_ID)).thenReturn(List.of());
+        when(assignmentRepository.findByClassId(CLASS_ID)).thenReturn(List.of());
+        when(classEnrollmentRepository.findEnrolledStudents(CLASS_ID)).thenReturn(List.of());
+        when(gradeRepository.findCellsByClassId(CLASS_ID)).thenReturn(List.of());
+
+        GradebookResponse response = service.getGradebook(SCHOOL_ID, CLASS_ID);
+
+        assertThat(response.getCategories()).isEmpty();
+        assertThat(response.getAssignments()).isEmpty();
+        assertThat(response.getStudents()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not load anything when the class is not in the school")
+    void rejectsForeignClass() {
+        doThrow(new ResourceNotFoundException("Class", CLASS_ID))
+                .when(tenancyContext).requireClass(SCHOOL_ID, CLASS_ID);
+
+        assertThatThrownBy(() -> service.getGradebook(SCHOOL_ID, CLASS_ID))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verifyNoInteractions(gradeCategoryRepository, assignmentRepository, classEnrollmentRepository,
+                gradeRepository);
+    }
+
+    @Test
+    @DisplayName("Should read a student's grade from the per-category totals")
+    void readsStudentGrade() {
+        when(classEnrollmentRepository.existsByClassIdAndStudentIdAndDroppedAtIsNull(CLASS_ID, ada.studentId()))
+                .thenReturn(true);
+        when(gradeCategoryRepository.findByClassId(CLASS_ID)).thenReturn(List.of(homework, exams));
+        // Homework 9/10, 5/10: 5/10 is dropped. No exam grade yet, so homework carries the course average.
+        when(aggregateRepository.findByClassIdAndStudentId(CLASS_ID, ada.studentId())).thenReturn(List.of(
+                StudentCategoryAggregate.builder()
+                        .classId(CLASS_ID)
+                        .categoryId(homework.getId())
+                        .studentId(ada.studentId())
+                        .earnedSum(new BigDecimal("14"))
+                        .possibleSum(new BigDecimal("20"))
+                        .gradedCount(2)
+                        .lowestScores(hw2.getId() + "=5/10")
+                        .build()));
+
+        StudentGradeResponse response = service.getStudentGrade(SCHOOL_ID, CLASS_ID, ada.studentId());
+
+        assertThat(response.getCategories()).extracting(StudentGradeResponse.CategoryGrade::getName)
+                .containsExactly("Exams", "Homework");
+        assertThat(response.getCategories()).extracting(StudentGradeResponse.CategoryGrade::getAverage)
+                .containsExactly(null, 90.0);
+        assertThat(response.getCategories().get(1).getGradedCount()).isEqualTo(2);
+        assertThat(response.getCourseAverage()).isEqualTo(90.0);
+        verifyNoInteractions(gradeRepository, assignmentRepository);
+    }
+
+    @Test
+    @DisplayName("Should reject a grade request for a student not enrolled in the class")
+    void rejectsStudentNotEnrolled() {
+        when(classEnrollmentRepository.existsByClassIdAndStudentIdAndDroppedAtIsNull(CLASS_ID, alan.studentId()))
+                .thenReturn(false);
+
+        assertThatThrownBy(() -> service.getStudentGrade(SCHOOL_ID, CLASS_ID, alan.studentId()))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verifyNoInteractions(aggregateRepository);
+    }
+}
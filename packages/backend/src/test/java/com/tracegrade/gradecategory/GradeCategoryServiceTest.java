@@ -22,13 +22,15 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import com.tracegrade.domain.model.Class;
 import com.tracegrade.domain.model.GradeCategory;
 import com.tracegrade.domain.model.School;
-import com.tracegrade.domain.repository.ClassRepository;
+import com.tracegrade.domain.repository.ClassOwnership;
 import com.tracegrade.domain.repository.GradeCategoryRepository;
 import com.tracegrade.dto.request.CreateGradeCategoryRequest;
 import com.tracegrade.dto.request.UpdateGradeCategoryRequest;
 import com.tracegrade.dto.response.GradeCategoryResponse;
 import com.tracegrade.exception.DuplicateResourceException;
 import com.tracegrade.exception.ResourceNotFoundException;
+import com.tracegrade.gradebook.GradeAggregateService;
+import com.tracegrade.tenancy.TenancyContext;
 
 @ExtendWith(MockitoExtension.class)
 class GradeCategoryServiceTest {
@@ -37,7 +39,10 @@ class GradeCategoryServiceTest {
     private GradeCategoryRepository gradeCategoryRepository;
 
     @Mock
-    private ClassRepository classRepository;
+    private TenancyContext tenancyContext;
+
+    @Mock
+    private GradeAggregateService gradeAggregateService;
 
     @InjectMocks
     private GradeCategoryService gradeCategoryService;
@@ -59,7 +64,8 @@ class GradeCategoryServiceTest {
         GradeCategory cat2 = GradeCategory.builder()
                 .classId(classId).name("Homework").weight(BigDecimal.valueOf(40)).dropLowest(0).build();
 
-        when(classRepository.findByIdAndSchoolId(classId, schoolId)).thenReturn(Optional.of(cls));
+        when(tenancyContext.requireClass(schoolId, classId))
+                .thenReturn(new ClassOwnership(classId, schoolId, cls.getTeacherId()));
         when(gradeCategoryRepository.findByClassId(classId)).thenReturn(List.of(cat1, cat2));
 
         List<GradeCategoryResponse> result = gradeCategoryService.listCategories(schoolId, classId);
@@ -75,7 +81,8 @@ class GradeCategoryServiceTest {
         UUID schoolId = UUID.randomUUID();
         UUID classId = UUID.randomUUID();
 
-        when(classRepository.findByIdAndSchoolId(classId, schoolId)).thenReturn(Optional.empty());
+        when(tenancyContext.requireClass(schoolId, classId))
+                .thenThrow(new ResourceNotFoundException("Class", classId));
 
         assertThatThrownBy(() -> gradeCategoryService.listCategories(schoolId, classId))
                 .isInstanceOf(ResourceNotFoundException.class);
@@ -110,7 +117,8 @@ class GradeCategoryServiceTest {
                 .color("#FF5733")
                 .build();
 
-        when(classRepository.findByIdAndSchoolId(classId, schoolId)).thenReturn(Optional.of(cls));
+        when(tenancyContext.requireClass(schoolId, classId))
+                .thenReturn(new ClassOwnership(classId, schoolId, cls.getTeacherId()));
         when(gradeCategoryRepository.existsByClassIdAndNameIgnoreCase(classId, "Tests")).thenReturn(false);
         when(gradeCategoryRepository.sumWeightsByClassId(classId)).thenReturn(BigDecimal.valueOf(0));
         when(gradeCategoryRepository.save(any(GradeCategory.class))).thenReturn(saved);
@@ -141,7 +149,8 @@ class GradeCategoryServiceTest {
                 .dropLowest(0)
                 .build();
 
-        when(classRepository.findByIdAndSchoolId(classId, schoolId)).thenReturn(Optional.of(cls));
+        when(tenancyContext.requireClass(schoolId, classId))
+                .thenReturn(new ClassOwnership(classId, schoolId, cls.getTeacherId()));
         when(gradeCategoryRepository.existsByClassIdAndNameIgnoreCase(classId, "Tests")).thenReturn(true);
 
         assertThatThrownBy(() -> gradeCategoryService.createCategory(schoolId, classId, request))
@@ -164,7 +173,8 @@ class GradeCategoryServiceTest {
                 .dropLowest(0)
                 .build();
 
-        when(classRepository.findByIdAndSchoolId(classId, schoolId)).thenReturn(Optional.of(cls));
+        when(tenancyContext.requireClass(schoolId, classId))
+                .thenReturn(new ClassOwnership(classId, schoolId, cls.getTeacherId()));
         when(gradeCategoryRepository.existsByClassIdAndNameIgnoreCase(classId, "Quizzes")).thenReturn(false);
         when(gradeCategoryRepository.sumWeightsByClassId(classId)).thenReturn(BigDecimal.valueOf(60));
 
@@ -199,7 +209,8 @@ class GradeCategoryServiceTest {
         GradeCategory updated = GradeCategory.builder()
                 .classId(classId).name("Exams").weight(BigDecimal.valueOf(50)).dropLowest(1).color("#123456").build();
 
-        when(classRepository.findByIdAndSchoolId(classId, schoolId)).thenReturn(Optional.of(cls));
+        when(tenancyContext.requireClass(schoolId, classId))
+                .thenReturn(new ClassOwnership(classId, schoolId, cls.getTeacherId()));
         when(gradeCategoryRepository.findByIdAndClassId(categoryId, classId)).thenReturn(Optional.of(existing));
         when(gradeCategoryRepository.existsByClassIdAndNameIgnoreCaseAndIdNot(classId, "Exams", categoryId))
                 .thenReturn(false);
@@ -213,6 +224,33 @@ class GradeCategoryServiceTest {
         assertThat(response.getWeight()).isEqualByComparingTo(BigDecimal.valueOf(50));
         assertThat(response.getDropLowest()).isEqualTo(1);
         assertThat(response.getColor()).isEqualTo("#123456");
+        verify(gradeAggregateService).rebuildCategory(updated);
+    }
+
+    @Test
+    @DisplayName("updateCategory does not rebuild grade totals when only the weight changes")
+    void updateCategory_weightOnly_noRebuild() {
+        UUID schoolId = UUID.randomUUID();
+        UUID classId = UUID.randomUUID();
+        UUID categoryId = UUID.randomUUID();
+
+        GradeCategory existing = GradeCategory.builder()
+                .classId(classId).name("Tests").weight(BigDecimal.valueOf(60)).dropLowest(1).build();
+
+        UpdateGradeCategoryRequest request = UpdateGradeCategoryRequest.builder()
+                .weight(BigDecimal.valueOf(50))
+                .dropLowest(1)
+                .build();
+
+        when(tenancyContext.requireClass(schoolId, classId))
+                .thenReturn(new ClassOwnership(classId, schoolId, UUID.randomUUID()));
+        when(gradeCategoryRepository.findByIdAndClassId(categoryId, classId)).thenReturn(Optional.of(existing));
+        when(gradeCategoryRepository.sumWeightsByClassId(classId)).thenReturn(BigDecimal.valueOf(60));
+        when(gradeCategoryRepository.save(any(GradeCategory.class))).thenReturn(existing);
+
+        gradeCategoryService.updateCategory(schoolId, classId, categoryId, request);
+
+        verifyNoInteractions(gradeAggregateService);
     }
 
     @Test
@@ -226,7 +264,8 @@ class GradeCategoryServiceTest {
         Class cls = Class.builder().school(school).teacherId(UUID.randomUUID())
                 .name("Math").schoolYear("2026").build();
 
-        when(classRepository.findByIdAndSchoolId(classId, schoolId)).thenReturn(Optional.of(cls));
+        when(tenancyContext.requireClass(schoolId, classId))
+                .thenReturn(new ClassOwnership(classId, schoolId, cls.getTeacherId()));
         when(gradeCategoryRepository.findByIdAndClassId(categoryId, classId)).thenReturn(Optional.empty());
 
         UpdateGradeCategoryRequest request = UpdateGradeCategoryRequest.builder().name("Exams").build();
@@ -251,7 +290,8 @@ class GradeCategoryServiceTest {
         GradeCategory category = GradeCategory.builder()
                 .classId(classId).name("Tests").weight(BigDecimal.valueOf(60)).dropLowest(0).build();
 
-        when(classRepository.findByIdAndSchoolId(classId, schoolId)).thenReturn(Optional.of(cls));
+        when(tenancyContext.requireClass(schoolId, classId))
+                .thenReturn(new ClassOwnership(classId, schoolId, cls.getTeacherId()));
         when(gradeCategoryRepository.findByIdAndClassId(categoryId, classId)).thenReturn(Optional.of(category));
 
         gradeCategoryService.deleteCategory(schoolId, classId, categoryId);
@@ -270,7 +310,8 @@ class GradeCategoryServiceTest {
         Class cls = Class.builder().school(school).teacherId(UUID.randomUUID())
                 .name("Math").schoolYear("2026").build();
 
-        when(classRepository.findByIdAndSchoolId(classId, schoolId)).thenReturn(Optional.of(cls));
+        when(tenancyContext.requireClass(schoolId, classId))
+                .thenReturn(new ClassOwnership(classId, schoolId, cls.getTeacherId()));
         when(gradeCategoryRepository.findByIdAndClassId(categoryId, classId)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> gradeCategoryService.deleteCategory(schoolId, classId, categoryId))
@@ -0,0 +1,95 @@
+package com.tracegrade.grading;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.tracegrade.config.CorsProperties;
+import com.tracegrade.config.CsrfAccessDeniedHandler;
+import com.tracegrade.config.CsrfProperties;
+import com.tracegrade.config.SecurityConfig;
+import com.tracegrade.config.SecurityHeadersProperties;
+import com.tracegrade.dto.response.CursorPage;
+import com.tracegrade.dto.response.GradingResultResponse;
+import com.tracegrade.filter.SanitizationProperties;
+import com.tracegrade.ratelimit.RateLimitProperties;
+import com.tracegrade.ratelimit.RateLimitService;
+
+@WebMvcTest(GradingController.class)
+@ActiveProfiles("test")
+@Import({SecurityConfig.class, SecurityHeadersProperties.class,
+         CsrfProperties.class, CsrfAccessDeniedHandler.class,
+         CorsProperties.class,
+         RateLimitProperties.class, SanitizationProperties.class})
+@TestPropertySource(properties = {
+        "security-headers.https-redirect-enabled=false",
+        "rate-limit.enabled=false",
+        "sanitization.enabled=false",
+        "csrf.enabled=false"
+})
+class GradingControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private GradingService gradingService;
+
+    @MockBean
+    private RateLimitService rateLimitService;
+
+    @Test
+    @DisplayName("GET school review queue returns 200 with the teacher's page")
+    void returnsSchoolPendingReviews() throws Exception {
+        UUID schoolId = UUID.randomUUID();
+        UUID teacherId = UUID.randomUUID();
+        UUID submissionId = UUID.randomUUID();
+        when(gradingService.getSchoolPendingReviews(schoolId, teacherId, null, 20))
+                .thenReturn(CursorPage.<GradingResultResponse>builder()
+                        .items(List.of(GradingResultResponse.builder()
+                                .submissionId(submissionId)
+                                .needsReview(true)
+                                .build()))
+                        .build());
+
+        mockMvc.perform(get("/api/schools/{schoolId}/grading/reviews/pending", schoolId)
+                        .param("teacherId", teacherId.toString())
+                        .param("limit", "20")
+                        .with(user(schoolId.toString())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success", is(true)))
+                .andExpect(jsonPath("$.data.items[0].submissionId", is(submissionId.toString())))
+                .andExpect(jsonPath("$.data.nextCursor", nullValue()));
+
+        verify(gradingService).getSchoolPendingReviews(schoolId, teacherId, null, 20);
+    }
+
+    @Test
+    @DisplayName("GET school review queue returns 403 when authenticated as different school")
+    void returnsForbiddenForOtherSchool() throws Exception {
+        mockMvc.perform(get("/api/schools/{schoolId}/grading/reviews/pending", UUID.randomUUID())
+                        .with(user(UUID.randomUUID().toString())))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(gradingService);
+    }
+}
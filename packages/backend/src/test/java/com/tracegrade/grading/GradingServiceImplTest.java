@@ -20,30 +20,38 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tracegrade.dashboard.SchoolGradingStatsService;
 import com.tracegrade.domain.model.AnswerRubric;
 import com.tracegrade.domain.model.ExamTemplate;
+import com.tracegrade.domain.model.GradingQuestionScore;
 import com.tracegrade.domain.model.GradingResult;
 import com.tracegrade.domain.model.StudentSubmission;
 import com.tracegrade.domain.model.SubmissionStatus;
 import com.tracegrade.domain.model.User;
 import com.tracegrade.domain.model.UserRole;
 import com.tracegrade.domain.repository.AnswerRubricRepository;
+import com.tracegrade.domain.repository.GradingQuestionScoreRepository;
 import com.tracegrade.domain.repository.GradingResultRepository;
 import com.tracegrade.domain.repository.StudentSubmissionRepository;
 import com.tracegrade.domain.repository.UserRepository;
+import com.tracegrade.dto.response.CursorPage;
 import com.tracegrade.dto.response.GradingResultResponse;
 import com.tracegrade.exception.ResourceNotFoundException;
+import com.tracegrade.gradebook.GradingResultSettledEvent;
 import com.tracegrade.openai.OpenAiService;
 import com.tracegrade.openai.dto.GradingRequest;
 import com.tracegrade.openai.dto.GradingResponse;
 import com.tracegrade.openai.exception.OpenAiException;
 import com.tracegrade.openai.exception.OpenAiRateLimitException;
+import com.tracegrade.pagination.PageCursor;
 import com.tracegrade.dto.request.GradingReviewRequest;
 import com.tracegrade.dto.response.GradingEnqueuedResponse;
 import com.tracegrade.sqs.GradingJobPublisher;
+import com.tracegrade.storage.ImageDerivativeService;
 
 import java.lang.reflect.Field;
 
@@ -52,6 +60,7 @@ class GradingServiceImplTest {
 
     private StudentSubmissionRepository submissionRepository;
     private GradingResultRepository     gradingResultRepository;
+    private GradingQuestionScoreRepository questionScoreRepository;
     private AnswerRubricRepository      rubricRepository;
         private UserRepository              userRepository;
     private OpenAiService               openAiService;
@@ -67,13 +76,14 @@ class GradingServiceImplTest {
     void setUp() {
         submissionRepository    = mock(StudentSubmissionRepository.class);
         gradingResultRepository = mock(GradingResultRepository.class);
+        questionScoreRepository = mock(GradingQuestionScoreRepository.class);
         rubricRepository        = mock(AnswerRubricRepository.class);
         userRepository          = mock(UserRepository.class);
         openAiService           = mock(OpenAiService.class);
         gradingProperties       = new GradingProperties();
         gradingProperties.setConfidenceThreshold(0.80);
         service = new GradingServiceImpl(
-                submissionRepository, gradingResultRepository,
+                submissionRepository, gradingResultRepository, questionScoreRepository,
                 rubricRepository, userRepository, openAiService,
                 gradingProperties, new ObjectMapper()
         );
@@ -169,6 +179,15 @@ class GradingServiceImplTest {
         return result;
     }
 
+    private GradingQuestionScore buildQuestionScore(int questionNumber) {
+        return GradingQuestionScore.builder()
+                .gradingResultId(RESULT_ID)
+                .questionNumber(questionNumber)
+                .pointsAwarded(new BigDecimal("4.50"))
+                .pointsAvailable(new BigDecimal("5.00"))
+                .build();
+    }
+
     private GradingReviewRequest buildReviewRequest(double finalScore, boolean teacherOverride, String questionScores) {
         return GradingReviewRequest.builder()
                 .finalScore(BigDecimal.valueOf(finalScore))
@@ -267,6 +286,38 @@ class GradingServiceImplTest {
             assertThat(response.getStatus()).isEqualTo("COMPLETED");
         }
 
+        @Test
+        @SuppressWarnings("unchecked")
+        @DisplayName("Should store one question-score row per graded question alongside the result")
+        void success_storesQuestionScores() {
+            ExamTemplate template = buildTemplate();
+            StudentSubmission submission = buildSubmission(template);
+
+            when(gradingResultRepository.findBySubmissionId(SUBMISSION_ID)).thenReturn(Optional.empty());
+            when(submissionRepository.findById(SUBMISSION_ID)).thenReturn(Optional.of(submission));
+            when(rubricRepository.findByExamTemplateIdOrderByQuestionNumberAsc(TEMPLATE_ID))
+                    .thenReturn(List.of(buildRubric(template, 1), buildRubric(template, 2)));
+            when(openAiService.gradeSubmission(any()))
+                    .thenReturn(buildAiResponse(1, 0.92, false), buildAiResponse(2, 0.95, true));
+            stubSubmissionSave(submission);
+            when(gradingResultRepository.save(any())).thenAnswer(inv -> {
+                GradingResult saved = inv.getArgument(0);
+                saved.setId(RESULT_ID);
+                return saved;
+            });
+
+            service.grade(SUBMISSION_ID);
+
+            ArgumentCaptor<List<GradingQuestionScore>> rows = ArgumentCaptor.forClass(List.class);
+            verify(questionScoreRepository).saveAll(rows.capture());
+            assertThat(rows.getValue()).extracting(GradingQuestionScore::getGradingResultId)
+                    .containsOnly(RESULT_ID);
+            assertThat(rows.getValue()).extracting(GradingQuestionScore::getQuestionNumber).containsExactly(1, 2);
+            assertThat(rows.getValue()).extracting(GradingQuestionScore::getIllegible).containsExactly(false, true);
+            assertThat(rows.getValue().get(0).getPointsAwarded()).isEqualByComparingTo("4.50");
+            assertThat(rows.getValue().get(0).getConfidenceScore()).isEqualByComparingTo("92.00");
+        }
+
         @Test
         @DisplayName("Should flag needsReview=true when any question has confidence below threshold")
         void success_lowConfidence_reviewFlagged() {
@@ -626,24 +677,107 @@ class GradingServiceImplTest {
             StudentSubmission submission = buildSubmission(buildTemplate());
             GradingResult result1 = buildStoredResult(submission, true);
             GradingResult result2 = buildStoredResult(submission, true);
-            when(gradingResultRepository.findByNeedsReviewTrueAndReviewedAtIsNull())
+            when(gradingResultRepository.findPendingReviewPage(PageCursor.BEFORE_ALL.createdAt(),
+                    PageCursor.BEFORE_ALL.id(), PageCursor.fetch(50)))
                     .thenReturn(List.of(result1, result2));
 
-            List<GradingResultResponse> responses = service.getPendingReviews();
+            CursorPage<GradingResultResponse> responses = service.getPendingReviews(null, 50);
 
-            assertThat(responses).hasSize(2);
-            assertThat(responses).allMatch(r -> r.getNeedsReview());
+            assertThat(responses.getItems()).hasSize(2);
+            assertThat(responses.getItems()).allMatch(r -> r.getNeedsReview());
+            assertThat(responses.getNextCursor()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should build the page's questionScores from the question rows, read in one query")
+        void buildsQuestionScoresFromRowsInBulk() {
+            StudentSubmission submission = buildSubmission(buildTemplate());
+            GradingResult withRows = buildStoredResult(submission, true);
+            GradingResult withoutRows = buildStoredResult(submission, true);
+            withoutRows.setId(UUID.randomUUID());
+            GradingQuestionScore row = buildQuestionScore(1);
+            row.setPointsAwarded(new BigDecimal("2.00"));
+            when(gradingResultRepository.findPendingReviewPage(PageCursor.BEFORE_ALL.createdAt(),
+                    PageCursor.BEFORE_ALL.id(), PageCursor.fetch(50)))
+                    .thenReturn(List.of(withRows, withoutRows));
+            when(questionScoreRepository.findByGradingResultIdInOrderByQuestionNumber(
+                    List.of(RESULT_ID, withoutRows.getId()))).thenReturn(List.of(row));
+
+            CursorPage<GradingResultResponse> responses = service.getPendingReviews(null, 50);
+
+            assertThat(responses.getItems().get(0).getQuestionScores()).contains("\"pointsAwarded\":2.00");
+            assertThat(responses.getItems().get(1).getQuestionScores()).isEqualTo(withoutRows.getQuestionScores());
+            verify(questionScoreRepository, never()).findByGradingResultIdOrderByQuestionNumber(any());
+        }
+
+        @Test
+        @DisplayName("Should take list thumbnails from the derivative cache without probing storage per item")
+        void listUsesCachedDerivatives() throws Exception {
+            ImageDerivativeService derivatives = mock(ImageDerivativeService.class);
+            Field derivativesField = GradingServiceImpl.class.getDeclaredField("imageDerivativeService");
+            derivativesField.setAccessible(true);
+            derivativesField.set(service, derivatives);
+            when(derivatives.resolveCached("https://s3.example.com/img.jpg"))
+                    .thenReturn(new ImageDerivativeService.DerivativeUrls("thumb", "preview"));
+            StudentSubmission submission = buildSubmission(buildTemplate());
+            when(gradingResultRepository.findPendingReviewPage(PageCursor.BEFORE_ALL.createdAt(),
+                    PageCursor.BEFORE_ALL.id(), PageCursor.fetch(50)))
+                    .thenReturn(List.of(buildStoredResult(submission, true), buildStoredResult(submission, true)));
+
+            CursorPage<GradingResultResponse> responses = service.getPendingReviews(null, 50);
+
+            assertThat(responses.getItems()).allMatch(r -> "thumb".equals(r.getThumbnailUrl()));
+            verify(derivatives, times(2)).resolveCached("https://s3.example.com/img.jpg");
+            verify(derivatives, never()).resolve(any());
         }
 
         @Test
         @DisplayName("Should return an empty list when no results are pending review")
         void returnsEmptyList_whenNonePending() {
-            when(gradingResultRepository.findByNeedsReviewTrueAndReviewedAtIsNull())
+            when(gradingResultRepository.findPendingReviewPage(PageCursor.BEFORE_ALL.createdAt(),
+                    PageCursor.BEFORE_ALL.id(), PageCursor.fetch(50)))
                     .thenReturn(List.of());
 
-            List<GradingResultResponse> responses = service.getPendingReviews();
+            CursorPage<GradingResultResponse> responses = service.getPendingReviews(null, 50);
+
+            assertThat(responses.getItems()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should resume after the cursor and point the next cursor at the last result returned")
+        void pagesByCursor() {
+            StudentSubmission submission = buildSubmission(buildTemplate());
+            GradingResult result1 = buildStoredResult(submission, true);
+            result1.setCreatedAt(Instant.parse("2026-03-01T09:00:00Z"));
+            GradingResult result2 = buildStoredResult(submission, true);
+            PageCursor after = new PageCursor(Instant.parse("2026-03-01T08:00:00Z"), UUID.randomUUID());
+            when(gradingResultRepository.findPendingReviewPage(after.createdAt(), after.id(), PageCursor.fetch(1)))
+                    .thenReturn(List.of(result1, result2));
+
+            CursorPage<GradingResultResponse> responses = service.getPendingReviews(after.encode(), 1);
+
+            assertThat(responses.getItems()).hasSize(1);
+            assertThat(responses.getNextCursor())
+                    .isEqualTo(new PageCursor(result1.getCreatedAt(), result1.getId()).encode());
+        }
 
-            assertThat(responses).isEmpty();
+        @Test
+        @DisplayName("Should list the school's queue, narrowed to the teacher when one is given")
+        void listsSchoolQueue() {
+            UUID schoolId = UUID.randomUUID();
+            UUID teacherId = UUID.randomUUID();
+            GradingResult result = buildStoredResult(buildSubmission(buildTemplate()), true);
+            when(gradingResultRepository.findSchoolPendingReviewPage(schoolId, teacherId,
+                    PageCursor.BEFORE_ALL.createdAt(), PageCursor.BEFORE_ALL.id(), PageCursor.fetch(50)))
+                    .thenReturn(List.of(result));
+
+            CursorPage<GradingResultResponse> responses =
+                    service.getSchoolPendingReviews(schoolId, teacherId, null, 50);
+
+            assertThat(responses.getItems()).extracting(GradingResultResponse::getSubmissionId)
+                    .containsExactly(SUBMISSION_ID);
+            assertThat(responses.getNextCursor()).isNull();
+            verify(gradingResultRepository, never()).findPendingReviewPage(any(), any(), any());
         }
     }
 
@@ -797,17 +931,149 @@ class GradingServiceImplTest {
         }
 
         @Test
-        @DisplayName("Should update questionScores when the review request provides new scores")
-        void updatesQuestionScores_whenProvided() {
-            StudentSubmission submission = buildSubmission(buildTemplate());
-            GradingResult result = buildReviewableResult(submission);
-            String newScores = "[{\"questionNumber\":1,\"pointsAwarded\":3.0}]";
+        @DisplayName("Should apply a full questionScores document to the question rows")
+        void replacesQuestionRows_whenDocumentProvided() throws JsonProcessingException {
+            GradingResult result = buildReviewableResult(buildSubmission(buildTemplate()));
+            String originalScores = result.getQuestionScores();
+            GradingQuestionScore first = buildQuestionScore(1);
+            GradingQuestionScore second = buildQuestionScore(2);
             when(gradingResultRepository.findByGradeId(GRADE_ID)).thenReturn(Optional.of(result));
+            when(questionScoreRepository.findByGradingResultIdOrderByQuestionNumber(RESULT_ID))
+                    .thenReturn(List.of(first, second));
             stubResultSave();
+            String newScores = "[{\"questionNumber\":1,\"pointsAwarded\":3.0,\"feedback\":\"Partly right\"},"
+                    + "{\"questionNumber\":2,\"pointsAwarded\":5}]";
 
-            service.reviewGrade(GRADE_ID, buildReviewRequest(60.0, true, newScores));
+            GradingResultResponse response = service.reviewGrade(GRADE_ID, buildReviewRequest(80.0, true, newScores));
 
-            assertThat(result.getQuestionScores()).isEqualTo(newScores);
+            assertThat(first.getPointsAwarded()).isEqualByComparingTo("3.0");
+            assertThat(first.getFeedback()).isEqualTo("Partly right");
+            assertThat(second.getPointsAwarded()).isEqualByComparingTo("5");
+            assertThat(result.getQuestionScores()).isEqualTo(originalScores);
+            var array = new ObjectMapper().readTree(response.getQuestionScores());
+            assertThat(array.get(0).get("pointsAwarded").decimalValue()).isEqualByComparingTo("3.0");
+            assertThat(array.get(1).get("pointsAvailable").decimalValue()).isEqualByComparingTo("5.00");
+        }
+
+        @Test
+        @DisplayName("Should create question rows from the document when the result has none yet")
+        void createsQuestionRows_whenResultHasNone() {
+            GradingResult result = buildReviewableResult(buildSubmission(buildTemplate()));
+            when(gradingResultRepository.findByGradeId(GRADE_ID)).thenReturn(Optional.of(result));
+            stubResultSave();
+            String newScores = "[{\"questionNumber\":1,\"pointsAwarded\":3,\"pointsAvailable\":4}]";
+
+            service.reviewGrade(GRADE_ID, buildReviewRequest(75.0, true, newScores));
+
+            ArgumentCaptor<List<GradingQuestionScore>> rows = ArgumentCaptor.forClass(List.class);
+            verify(questionScoreRepository).saveAll(rows.capture());
+            assertThat(rows.getValue()).singleElement().satisfies(row -> {
+                assertThat(row.getGradingResultId()).isEqualTo(RESULT_ID);
+                assertThat(row.getPointsAwarded()).isEqualByComparingTo("3");
+                assertThat(row.getPointsAvailable()).isEqualByComparingTo("4");
+            });
+        }
+
+        @Test
+        @DisplayName("Should reject documents that do not list exactly the result's questions or mix with questionPoints")
+        void rejectsUnfittingDocuments() {
+            GradingResult result = buildReviewableResult(buildSubmission(buildTemplate()));
+            when(gradingResultRepository.findByGradeId(GRADE_ID)).thenReturn(Optional.of(result));
+            when(questionScoreRepository.findByGradingResultIdOrderByQuestionNumber(RESULT_ID))
+                    .thenReturn(List.of(buildQuestionScore(1), buildQuestionScore(2)));
+            GradingReviewRequest partial = buildReviewRequest(60.0, true,
+                    "[{\"questionNumber\":1,\"pointsAwarded\":3.0}]");
+            GradingReviewRequest freeForm = buildReviewRequest(60.0, true, "{\"note\":\"looks fine\"}");
+            GradingReviewRequest mixed = buildReviewRequest(60.0, true,
+                    "[{\"questionNumber\":1,\"pointsAwarded\":3.0},{\"questionNumber\":2,\"pointsAwarded\":3.0}]");
+            mixed.setQuestionPoints(List.of(new GradingReviewRequest.QuestionPoints(1, BigDecimal.ONE)));
+
+            assertThatThrownBy(() -> service.reviewGrade(GRADE_ID, partial))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("exactly the result's questions");
+            assertThatThrownBy(() -> service.reviewGrade(GRADE_ID, freeForm))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("JSON array");
+            assertThatThrownBy(() -> service.reviewGrade(GRADE_ID, mixed))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("not both");
+            verify(gradingResultRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Should reject a finalScore that does not match the per-question total")
+        void rejectsFinalScoreOffTotal() {
+            GradingResult result = buildReviewableResult(buildSubmission(buildTemplate()));
+            when(gradingResultRepository.findByGradeId(GRADE_ID)).thenReturn(Optional.of(result));
+            when(questionScoreRepository.findByGradingResultIdOrderByQuestionNumber(RESULT_ID))
+                    .thenReturn(List.of(buildQuestionScore(1), buildQuestionScore(2)))
+                    .thenReturn(List.of(buildQuestionScore(1), buildQuestionScore(2)));
+            GradingReviewRequest changed = buildReviewRequest(70.0, true, null);
+            changed.setQuestionPoints(List.of(new GradingReviewRequest.QuestionPoints(2, new BigDecimal("2.00"))));
+            GradingReviewRequest confirmed = buildReviewRequest(85.0, false, null);
+
+            assertThatThrownBy(() -> service.reviewGrade(GRADE_ID, changed))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("per-question total of 65.00");
+            assertThatThrownBy(() -> service.reviewGrade(GRADE_ID, confirmed))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("per-question total of 90.00");
+            verify(gradingResultRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Should let a teacher override the total without changing any question")
+        void allowsOverrideWithoutQuestionChanges() {
+            GradingResult result = buildReviewableResult(buildSubmission(buildTemplate()));
+            when(gradingResultRepository.findByGradeId(GRADE_ID)).thenReturn(Optional.of(result));
+            when(questionScoreRepository.findByGradingResultIdOrderByQuestionNumber(RESULT_ID))
+                    .thenReturn(List.of(buildQuestionScore(1)));
+            stubResultSave();
+
+            GradingResultResponse response = service.reviewGrade(GRADE_ID, buildReviewRequest(95.0, true, null));
+
+            assertThat(response.getFinalScore()).isEqualByComparingTo("95.0");
+        }
+
+        @Test
+        @DisplayName("Should set the reviewed points on the listed questions only")
+        void updatesListedQuestionPoints() {
+            GradingResult result = buildReviewableResult(buildSubmission(buildTemplate()));
+            GradingQuestionScore first = buildQuestionScore(1);
+            GradingQuestionScore second = buildQuestionScore(2);
+            when(gradingResultRepository.findByGradeId(GRADE_ID)).thenReturn(Optional.of(result));
+            when(questionScoreRepository.findByGradingResultIdOrderByQuestionNumber(RESULT_ID))
+                    .thenReturn(List.of(first, second));
+            stubResultSave();
+            GradingReviewRequest request = buildReviewRequest(65.0, true, null);
+            request.setQuestionPoints(List.of(new GradingReviewRequest.QuestionPoints(2, new BigDecimal("2.00"))));
+
+            service.reviewGrade(GRADE_ID, request);
+
+            assertThat(first.getPointsAwarded()).isEqualByComparingTo("4.50");
+            assertThat(second.getPointsAwarded()).isEqualByComparingTo("2.00");
+            assertThat(result.getQuestionScores()).isEqualTo("[{\"questionNumber\":1,\"pointsAwarded\":4.5}]");
+        }
+
+        @Test
+        @DisplayName("Should reject points for a question the result does not have or above what it is worth")
+        void rejectsInvalidQuestionPoints() {
+            GradingResult result = buildReviewableResult(buildSubmission(buildTemplate()));
+            when(gradingResultRepository.findByGradeId(GRADE_ID)).thenReturn(Optional.of(result));
+            when(questionScoreRepository.findByGradingResultIdOrderByQuestionNumber(RESULT_ID))
+                    .thenReturn(List.of(buildQuestionScore(1)));
+            GradingReviewRequest unknown = buildReviewRequest(70.0, true, null);
+            unknown.setQuestionPoints(List.of(new GradingReviewRequest.QuestionPoints(4, BigDecimal.ONE)));
+            GradingReviewRequest tooMany = buildReviewRequest(70.0, true, null);
+            tooMany.setQuestionPoints(List.of(new GradingReviewRequest.QuestionPoints(1, new BigDecimal("6"))));
+
+            assertThatThrownBy(() -> service.reviewGrade(GRADE_ID, unknown))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Grading result has no question 4");
+            assertThatThrownBy(() -> service.reviewGrade(GRADE_ID, tooMany))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("at most 5.00 points");
+            verify(gradingResultRepository, never()).save(any());
         }
 
         @Test
@@ -822,5 +1088,41 @@ class GradingServiceImplTest {
 
             verify(gradingResultRepository).save(result);
         }
+
+        @Test
+        @DisplayName("Should report the score change and the cleared review to the school stats")
+        void recordsReviewInSchoolStats() throws Exception {
+            SchoolGradingStatsService statsService = mock(SchoolGradingStatsService.class);
+            Field statsField = GradingServiceImpl.class.getDeclaredField("schoolGradingStatsService");
+            statsField.setAccessible(true);
+            statsField.set(service, statsService);
+
+            StudentSubmission submission = buildSubmission(buildTemplate());
+            GradingResult result = buildReviewableResult(submission);
+            when(gradingResultRepository.findByGradeId(GRADE_ID)).thenReturn(Optional.of(result));
+            stubResultSave();
+
+            service.reviewGrade(GRADE_ID, buildReviewRequest(75.0, true, null));
+
+            verify(statsService).recordReviewed(submission.getStudentId(), new BigDecimal("90.00"), true, result);
+        }
+
+        @Test
+        @DisplayName("Should announce the reviewed submission so its grade is posted to the gradebook")
+        void publishesSettledEventOnReview() throws Exception {
+            ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+            Field publisherField = GradingServiceImpl.class.getDeclaredField("eventPublisher");
+            publisherField.setAccessible(true);
+            publisherField.set(service, eventPublisher);
+
+            StudentSubmission submission = buildSubmission(buildTemplate());
+            GradingResult result = buildReviewableResult(submission);
+            when(gradingResultRepository.findByGradeId(GRADE_ID)).thenReturn(Optional.of(result));
+            stubResultSave();
+
+            service.reviewGrade(GRADE_ID, buildReviewRequest(75.0, true, null));
+
+            verify(eventPublisher).publishEvent(new GradingResultSettledEvent(submission.getId()));
+        }
     }
 }
@@ -0,0 +1,76 @@
+package com.tracegrade.pagination;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.tracegrade.domain.model.Homework;
+import com.tracegrade.dto.response.CursorPage;
+
+class PageCursorTest {
+
+    @Test
+    @DisplayName("a cursor survives encoding with microsecond precision")
+    void roundTrips() {
+        PageCursor cursor = new PageCursor(Instant.parse("2026-03-02T10:15:30.123456Z"), UUID.randomUUID());
+
+        String token = cursor.encode();
+
+        assertThat(token).doesNotContain("=", "+", "/");
+        assertThat(PageCursor.decode(token, PageCursor.BEFORE_ALL)).isEqualTo(cursor);
+    }
+
+    @Test
+    @DisplayName("a missing or blank token starts the list at the given position")
+    void missingTokenStartsList() {
+        assertThat(PageCursor.decode(null, PageCursor.BEFORE_ALL)).isSameAs(PageCursor.BEFORE_ALL);
+        assertThat(PageCursor.decode(" ", PageCursor.AFTER_ALL)).isSameAs(PageCursor.AFTER_ALL);
+    }
+
+    @Test
+    @DisplayName("malformed tokens are rejected as invalid arguments")
+    void rejectsMalformedTokens() {
+        String noSeparator = Base64.getUrlEncoder().encodeToString("2026-03-02T10:15:30Z".getBytes(StandardCharsets.UTF_8));
+        String badTime = Base64.getUrlEncoder().encodeToString(("yesterday|" + UUID.randomUUID())
+                .getBytes(StandardCharsets.UTF_8));
+
+        for (String token : List.of("%%%", noSeparator, badTime)) {
+            assertThatThrownBy(() -> PageCursor.decode(token, PageCursor.BEFORE_ALL))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Invalid page cursor");
+        }
+    }
+
+    @Test
+    @DisplayName("a page fetches one row beyond the limit and only then carries a next cursor")
+    void pageCarriesCursorOnlyWhenMoreRowsFollow() {
+        Homework first = homework("First", "2026-03-01T08:00:00Z");
+        Homework second = homework("Second", "2026-03-01T09:00:00Z");
+
+        assertThat(PageCursor.fetch(2).getPageSize()).isEqualTo(3);
+
+        CursorPage<String> partial = CursorPage.of(List.of(first, second), 1, Homework::getTitle);
+        assertThat(partial.getItems()).containsExactly("First");
+        assertThat(PageCursor.decode(partial.getNextCursor(), PageCursor.BEFORE_ALL))
+                .isEqualTo(new PageCursor(first.getCreatedAt(), first.getId()));
+
+        CursorPage<String> last = CursorPage.of(List.of(first, second), 2, Homework::getTitle);
+        assertThat(last.getItems()).containsExactly("First", "Second");
+        assertThat(last.getNextCursor()).isNull();
+    }
+
+    private static Homework homework(String title, String createdAt) {
+        Homework homework = Homework.builder().title(title).build();
+        homework.setId(UUID.randomUUID());
+        homework.setCreatedAt(Instant.parse(createdAt));
+        return homework;
+    }
+}
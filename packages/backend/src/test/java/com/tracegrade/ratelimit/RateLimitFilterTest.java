@@ -3,11 +3,16 @@ package com.tracegrade.ratelimit;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.List;
+import java.util.Map;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -17,6 +22,12 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
 import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -60,7 +71,7 @@ class RateLimitFilterTest {
     @DisplayName("Should pass request through when rate limit allows")
     void shouldPassWhenAllowed() throws Exception {
         when(rateLimitService.resolvePlan("/api/classes")).thenReturn(RateLimitPlan.API);
-        when(rateLimitService.tryConsume(eq("ip:192.168.1.1"), eq(RateLimitPlan.API)))
+        when(rateLimitService.tryConsume(eq("ip:192.168.1.1"), eq(RateLimitPlan.API), isNull()))
                 .thenReturn(RateLimitResult.allowed(100, 99));
 
         rateLimitFilter.doFilterInternal(request, response, filterChain);
@@ -74,7 +85,7 @@ class RateLimitFilterTest {
     @DisplayName("Should return 429 when rate limit exceeded")
     void shouldReturn429WhenBlocked() throws Exception {
         when(rateLimitService.resolvePlan("/api/classes")).thenReturn(RateLimitPlan.API);
-        when(rateLimitService.tryConsume(eq("ip:192.168.1.1"), eq(RateLimitPlan.API)))
+        when(rateLimitService.tryConsume(eq("ip:192.168.1.1"), eq(RateLimitPlan.API), isNull()))
                 .thenReturn(RateLimitResult.blocked(100, 30));
 
         rateLimitFilter.doFilterInternal(request, response, filterChain);
@@ -116,7 +127,7 @@ class RateLimitFilterTest {
         rateLimitFilter.doFilterInternal(request, response, filterChain);
 
         verify(filterChain).doFilter(request, response);
-        verify(rateLimitService, never()).tryConsume(any(), any());
+        verify(rateLimitService, never()).tryConsume(any(), any(), any());
     }
 
     @Test
@@ -124,12 +135,12 @@ class RateLimitFilterTest {
     void shouldUseForwardedForHeader() throws Exception {
         request.addHeader("X-Forwarded-For", "10.0.0.1, 192.168.1.1");
         when(rateLimitService.resolvePlan("/api/classes")).thenReturn(RateLimitPlan.API);
-        when(rateLimitService.tryConsume(eq("ip:10.0.0.1"), eq(RateLimitPlan.API)))
+        when(rateLimitService.tryConsume(eq("ip:10.0.0.1"), eq(RateLimitPlan.API), isNull()))
                 .thenReturn(RateLimitResult.allowed(100, 99));
 
         rateLimitFilter.doFilterInternal(request, response, filterChain);
 
-        verify(rateLimitService).tryConsume("ip:10.0.0.1", RateLimitPlan.API);
+        verify(rateLimitService).tryConsume("ip:10.0.0.1", RateLimitPlan.API, null);
         verify(filterChain).doFilter(request, response);
     }
 
@@ -138,11 +149,89 @@ class RateLimitFilterTest {
     void shouldUseAuthenticatedUser() throws Exception {
         request.setUserPrincipal(() -> "teacher@school.com");
         when(rateLimitService.resolvePlan("/api/classes")).thenReturn(RateLimitPlan.API);
-        when(rateLimitService.tryConsume(eq("user:teacher@school.com"), eq(RateLimitPlan.API)))
+        when(rateLimitService.tryConsume(eq("user:teacher@school.com"), eq(RateLimitPlan.API), isNull()))
                 .thenReturn(RateLimitResult.allowed(100, 99));
 
         rateLimitFilter.doFilterInternal(request, response, filterChain);
 
-        verify(rateLimitService).tryConsume("user:teacher@school.com", RateLimitPlan.API);
+        verify(rateLimitService).tryConsume("user:teacher@school.com", RateLimitPlan.API, null);
+    }
+
+    @Test
+    @DisplayName("Should charge AI requests to the school looked up for the user, ignoring SCHOOL_ authorities")
+    void shouldPassSchoolFromLookup() throws Exception {
+        SchoolMembershipLookup lookup = mock(SchoolMembershipLookup.class);
+        ReflectionTestUtils.setField(rateLimitFilter, "schoolMembershipLookup", lookup);
+        when(lookup.schoolOf("teacher-1")).thenReturn("school-7");
+        request.setUserPrincipal(new UsernamePasswordAuthenticationToken("teacher-1", null,
+                List.of(new SimpleGrantedAuthority("ROLE_TEACHER"), new SimpleGrantedAuthority("SCHOOL_school-9"))));
+        request.setRequestURI("/api/grading/run");
+        when(rateLimitService.resolvePlan("/api/grading/run")).thenReturn(RateLimitPlan.AI);
+        when(rateLimitService.tryConsume("user:teacher-1", RateLimitPlan.AI, "school-7"))
+                .thenReturn(RateLimitResult.allowed(50, 49));
+
+        rateLimitFilter.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    @DisplayName("Should not look up the school for API-plan requests")
+    void shouldSkipSchoolLookupForApiPlan() throws Exception {
+        SchoolMembershipLookup lookup = mock(SchoolMembershipLookup.class);
+        ReflectionTestUtils.setField(rateLimitFilter, "schoolMembershipLookup", lookup);
+        request.setUserPrincipal(() -> "teacher-1");
+        when(rateLimitService.resolvePlan("/api/classes")).thenReturn(RateLimitPlan.API);
+        when(rateLimitService.tryConsume("user:teacher-1", RateLimitPlan.API, null))
+                .thenReturn(RateLimitResult.allowed(100, 99));
+
+        rateLimitFilter.doFilterInternal(request, response, filterChain);
+
+        verify(lookup, never()).schoolOf(any());
+    }
+
+    @Test
+    @DisplayName("Should apply the @RateLimit plan of the matching handler without a per-request handler lookup")
+    void shouldUseAnnotatedHandlerPlan() throws Exception {
+        Map<RequestMappingInfo, HandlerMethod> handlers = Map.of(
+                RequestMappingInfo.paths("/api/schools/{schoolId}/exports").methods(RequestMethod.POST).build(),
+                new HandlerMethod(new AnnotatedController(), AnnotatedController.class.getMethod("export")));
+        when(handlerMapping.getHandlerMethods()).thenReturn(handlers);
+        when(rateLimitService.tryConsume(any(), eq(RateLimitPlan.AI), isNull())).thenReturn(RateLimitResult.allowed(50, 49));
+
+        request.setMethod("POST");
+        request.setRequestURI("/api/schools/42/exports");
+        rateLimitFilter.doFilterInternal(request, response, filterChain);
+        rateLimitFilter.doFilterInternal(request, new MockHttpServletResponse(), filterChain);
+
+        verify(rateLimitService, times(2)).tryConsume("ip:192.168.1.1", RateLimitPlan.AI, null);
+        verify(rateLimitService, never()).resolvePlan(any());
+        verify(handlerMapping, times(1)).getHandlerMethods();
+        verify(handlerMapping, never()).getHandler(any());
+    }
+
+    @Test
+    @DisplayName("Should fall back to URL resolution when the method does not match the annotated route")
+    void shouldFallBackWhenMethodDiffers() throws Exception {
+        Map<RequestMappingInfo, HandlerMethod> handlers = Map.of(
+                RequestMappingInfo.paths("/api/schools/{schoolId}/exports").methods(RequestMethod.POST).build(),
+                new HandlerMethod(new AnnotatedController(), AnnotatedController.class.getMethod("export")));
+        when(handlerMapping.getHandlerMethods()).thenReturn(handlers);
+        when(rateLimitService.resolvePlan("/api/schools/42/exports")).thenReturn(RateLimitPlan.API);
+        when(rateLimitService.tryConsume(any(), eq(RateLimitPlan.API), isNull())).thenReturn(RateLimitResult.allowed(100, 99));
+
+        request.setMethod("GET");
+        request.setRequestURI("/api/schools/42/exports");
+        rateLimitFilter.doFilterInternal(request, response, filterChain);
+
+        verify(rateLimitService).tryConsume("ip:192.168.1.1", RateLimitPlan.API, null);
+    }
+
+    @RateLimit(RateLimitPlan.UPLOAD)
+    static class AnnotatedController {
+
+        @RateLimit(RateLimitPlan.AI)
+        public void export() {
+        }
     }
 }
@@ -0,0 +1,186 @@
+package com.tracegrade.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.support.StaticWebApplicationContext;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tracegrade.analytics.ClassAnalyticsController;
+import com.tracegrade.assignment.AssignmentController;
+import com.tracegrade.auth.AuthController;
+import com.tracegrade.auth.JwksController;
+import com.tracegrade.config.CsrfTokenController;
+import com.tracegrade.dashboard.DashboardStatsController;
+import com.tracegrade.enrollment.ClassEnrollmentController;
+import com.tracegrade.examtemplate.ExamTemplateController;
+import com.tracegrade.gradebook.GradebookController;
+import com.tracegrade.gradecategory.GradeCategoryController;
+import com.tracegrade.grading.GradingController;
+import com.tracegrade.homework.HomeworkController;
+import com.tracegrade.rubric.AnswerRubricController;
+import com.tracegrade.school.SchoolController;
+import com.tracegrade.settings.TeacherSettingsController;
+import com.tracegrade.student.StudentController;
+import com.tracegrade.submission.StudentSubmissionController;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Pins the rate limit plan of every route the application serves, resolved the
+ * way {@link RateLimitFilter} resolves it: {@link RateLimit} annotations first,
+ * then the configured path patterns. A new route fails the coverage check until
+ * its plan is added here.
+ */
+class RateLimitRoutePlanTest {
+
+    private static final Class<?>[] CONTROLLERS = {
+            AnswerRubricController.class, AssignmentController.class, AuthController.class,
+            ClassAnalyticsController.class, ClassEnrollmentController.class, CsrfTokenController.class,
+            DashboardStatsController.class, ExamTemplateController.class, GradebookController.class,
+            GradeCategoryController.class, GradingController.class, HomeworkController.class,
+            JwksController.class, SchoolController.class, SchoolQuotaController.class,
+            StudentController.class, StudentSubmissionController.class, TeacherSettingsController.class
+    };
+
+    /** "METHOD pattern" of every handler, with a concrete request path and the plan it must get. */
+    private static final Map<String, Route> ROUTES = new LinkedHashMap<>();
+
+    static {
+        pin("GET /api/admin/rate-limit/schools", "/api/admin/rate-limit/schools", RateLimitPlan.API);
+        pin("GET /api/admin/rate-limit/schools/{schoolId}", "/api/admin/rate-limit/schools/s1", RateLimitPlan.API);
+        pin("POST /api/auth/login", "/api/auth/login", RateLimitPlan.API);
+        pin("POST /api/auth/register", "/api/auth/register", RateLimitPlan.API);
+        pin("GET /api/auth/jwks.json", "/api/auth/jwks.json", RateLimitPlan.API);
+        pin("GET /api/csrf/token", "/api/csrf/token", RateLimitPlan.API);
+        pin("POST /api/exam-templates", "/api/exam-templates", RateLimitPlan.API);
+        pin("GET /api/exam-templates", "/api/exam-templates", RateLimitPlan.API);
+        pin("GET /api/exam-templates/{id}", "/api/exam-templates/e1", RateLimitPlan.API);
+        pin("PATCH /api/exam-templates/{id}", "/api/exam-templates/e1", RateLimitPlan.API);
+        pin("DELETE /api/exam-templates/{id}", "/api/exam-templates/e1", RateLimitPlan.API);
+        pin("POST /api/exam-templates/{examTemplateId}/rubrics", "/api/exam-templates/e1/rubrics", RateLimitPlan.API);
+        pin("GET /api/exam-templates/{examTemplateId}/rubrics", "/api/exam-templates/e1/rubrics", RateLimitPlan.API);
+        pin("GET /api/exam-templates/{examTemplateId}/rubrics/{rubricId}", "/api/exam-templates/e1/rubrics/r1", RateLimitPlan.API);
+        pin("PUT /api/exam-templates/{examTemplateId}/rubrics/{rubricId}", "/api/exam-templates/e1/rubrics/r1", RateLimitPlan.API);
+        pin("DELETE /api/exam-templates/{examTemplateId}/rubrics/{rubricId}", "/api/exam-templates/e1/rubrics/r1", RateLimitPlan.API);
+        pin("GET /api/grading/reviews/pending", "/api/grading/reviews/pending", RateLimitPlan.AI);
+        pin("PATCH /api/grading/{gradeId}/review", "/api/grading/g1/review", RateLimitPlan.AI);
+        pin("GET /api/schools", "/api/schools", RateLimitPlan.API);
+        pin("POST /api/schools", "/api/schools", RateLimitPlan.API);
+        pin("GET /api/schools/{id}", "/api/schools/s1", RateLimitPlan.API);
+        pin("PATCH /api/schools/{id}", "/api/schools/s1", RateLimitPlan.API);
+        pin("DELETE /api/schools/{id}", "/api/schools/s1", RateLimitPlan.API);
+        pin("GET /api/schools/{schoolId}/dashboard/stats", "/api/schools/s1/dashboard/stats", RateLimitPlan.API);
+        pin("GET /api/schools/{schoolId}/grading/reviews/pending", "/api/schools/s1/grading/reviews/pending", RateLimitPlan.AI);
+        pin("GET /api/schools/{schoolId}/homework", "/api/schools/s1/homework", RateLimitPlan.API);
+        pin("POST /api/schools/{schoolId}/homework", "/api/schools/s1/homework", RateLimitPlan.API);
+        pin("GET /api/schools/{schoolId}/homework/{homeworkId}", "/api/schools/s1/homework/h1", RateLimitPlan.API);
+        pin("DELETE /api/schools/{schoolId}/homework/{homeworkId}", "/api/schools/s1/homework/h1", RateLimitPlan.API);
+        pin("GET /api/schools/{schoolId}/students", "/api/schools/s1/students", RateLimitPlan.API);
+        pin("POST /api/schools/{schoolId}/students", "/api/schools/s1/students", RateLimitPlan.API);
+        pin("GET /api/schools/{schoolId}/students/{studentId}", "/api/schools/s1/students/st1", RateLimitPlan.API);
+        pin("PATCH /api/schools/{schoolId}/students/{studentId}", "/api/schools/s1/students/st1", RateLimitPlan.API);
+        pin("DELETE /api/schools/{schoolId}/students/{studentId}", "/api/schools/s1/students/st1", RateLimitPlan.API);
+        pin("GET /api/schools/{schoolId}/classes/{classId}/analytics", "/api/schools/s1/classes/c1/analytics", RateLimitPlan.API);
+        pin("GET /api/schools/{schoolId}/classes/{classId}/analytics/assignments/{assignmentId}/questions",
+                "/api/schools/s1/classes/c1/analytics/assignments/a1/questions", RateLimitPlan.API);
+        pin("GET /api/schools/{schoolId}/classes/{classId}/assignments", "/api/schools/s1/classes/c1/assignments", RateLimitPlan.API);
+        pin("POST /api/schools/{schoolId}/classes/{classId}/assignments", "/api/schools/s1/classes/c1/assignments", RateLimitPlan.API);
+        pin("GET /api/schools/{schoolId}/classes/{classId}/assignments/{assignmentId}",
+                "/api/schools/s1/classes/c1/assignments/a1", RateLimitPlan.API);
+        pin("PUT /api/schools/{schoolId}/classes/{classId}/assignments/{assignmentId}",
+                "/api/schools/s1/classes/c1/assignments/a1", RateLimitPlan.API);
+        pin("DELETE /api/schools/{schoolId}/classes/{classId}/assignments/{assignmentId}",
+                "/api/schools/s1/classes/c1/assignments/a1", RateLimitPlan.API);
+        pin("GET /api/schools/{schoolId}/classes/{classId}/categories", "/api/schools/s1/classes/c1/categories", RateLimitPlan.API);
+        pin("POST /api/schools/{schoolId}/classes/{classId}/categories", "/api/schools/s1/classes/c1/categories", RateLimitPlan.API);
+        pin("PUT /api/schools/{schoolId}/classes/{classId}/categories/{categoryId}",
+                "/api/schools/s1/classes/c1/categories/k1", RateLimitPlan.API);
+        pin("DELETE /api/schools/{schoolId}/classes/{classId}/categories/{categoryId}",
+                "/api/schools/s1/classes/c1/categories/k1", RateLimitPlan.API);
+        pin("GET /api/schools/{schoolId}/classes/{classId}/enrollments", "/api/schools/s1/classes/c1/enrollments", RateLimitPlan.API);
+        pin("POST /api/schools/{schoolId}/classes/{classId}/enrollments", "/api/schools/s1/classes/c1/enrollments", RateLimitPlan.API);
+        pin("DELETE /api/schools/{schoolId}/classes/{classId}/enrollments/{enrollmentId}",
+                "/api/schools/s1/classes/c1/enrollments/n1", RateLimitPlan.API);
+        pin("GET /api/schools/{schoolId}/classes/{classId}/gradebook", "/api/schools/s1/classes/c1/gradebook", RateLimitPlan.API);
+        pin("GET /api/schools/{schoolId}/classes/{classId}/gradebook/students/{studentId}",
+                "/api/schools/s1/classes/c1/gradebook/students/st1", RateLimitPlan.API);
+        pin("POST /api/schools/{schoolId}/classes/{classId}/gradebook/post", "/api/schools/s1/classes/c1/gradebook/post", RateLimitPlan.API);
+        pin("POST /api/submissions/upload", "/api/submissions/upload", RateLimitPlan.UPLOAD);
+        pin("POST /api/submissions/upload/batch", "/api/submissions/upload/batch", RateLimitPlan.UPLOAD);
+        pin("GET /api/submissions/{submissionId}", "/api/submissions/u1", RateLimitPlan.UPLOAD);
+        pin("PATCH /api/submissions/{submissionId}/status", "/api/submissions/u1/status", RateLimitPlan.UPLOAD);
+        pin("PUT /api/submissions/{submissionId}/image", "/api/submissions/u1/image", RateLimitPlan.UPLOAD);
+        pin("DELETE /api/submissions/{submissionId}", "/api/submissions/u1", RateLimitPlan.UPLOAD);
+        pin("POST /api/submissions/{submissionId}/grade", "/api/submissions/u1/grade", RateLimitPlan.UPLOAD);
+        pin("GET /api/submissions/{submissionId}/grade", "/api/submissions/u1/grade", RateLimitPlan.UPLOAD);
+        pin("GET /api/teachers/me/grading-threshold", "/api/teachers/me/grading-threshold", RateLimitPlan.AI);
+        pin("PUT /api/teachers/me/grading-threshold", "/api/teachers/me/grading-threshold", RateLimitPlan.AI);
+    }
+
+    private record Route(String method, String path, RateLimitPlan plan) {
+    }
+
+    private static void pin(String handler, String path, RateLimitPlan plan) {
+        ROUTES.put(handler, new Route(handler.substring(0, handler.indexOf(' ')), path, plan));
+    }
+
+    private RequestMappingHandlerMapping handlerMapping;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        StaticWebApplicationContext context = new StaticWebApplicationContext();
+        for (Class<?> controller : CONTROLLERS) {
+            registerMock(context, controller);
+        }
+        context.refresh();
+
+        handlerMapping = new RequestMappingHandlerMapping();
+        handlerMapping.setApplicationContext(context);
+        handlerMapping.afterPropertiesSet();
+
+        RateLimitProperties properties = new RateLimitProperties();
+        filter = new RateLimitFilter(new RateLimitService(properties, new SimpleMeterRegistry(), System::nanoTime),
+                properties, handlerMapping, new ObjectMapper());
+    }
+
+    private static <T> void registerMock(StaticWebApplicationContext context, Class<T> type) {
+        context.registerBean(type, () -> mock(type));
+    }
+
+    @Test
+    @DisplayName("Should pin a plan for every registered route")
+    void everyRouteIsPinned() {
+        Set<String> registered = new TreeSet<>();
+        handlerMapping.getHandlerMethods().keySet().forEach(info -> info.getMethodsCondition().getMethods()
+                .forEach(method -> info.getPatternValues()
+                        .forEach(pattern -> registered.add(method + " " + pattern))));
+
+        assertThat(registered).containsExactlyInAnyOrderElementsOf(ROUTES.keySet());
+    }
+
+    @Test
+    @DisplayName("Should resolve the pinned plan for every route")
+    void everyRouteGetsItsPlan() {
+        Map<String, RateLimitPlan> resolved = new LinkedHashMap<>();
+        Map<String, RateLimitPlan> expected = new LinkedHashMap<>();
+        ROUTES.forEach((handler, route) -> {
+            MockHttpServletRequest request = new MockHttpServletRequest(route.method(), route.path());
+            resolved.put(handler, filter.resolveRateLimitPlan(request));
+            expected.put(handler, route.plan());
+        });
+
+        assertThat(resolved).containsExactlyEntriesOf(expected);
+    }
+}
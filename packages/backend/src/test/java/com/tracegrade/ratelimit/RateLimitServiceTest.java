@@ -1,15 +1,32 @@
 package com.tracegrade.ratelimit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 class RateLimitServiceTest {
 
     private RateLimitProperties properties;
     private RateLimitService rateLimitService;
+    private SimpleMeterRegistry meterRegistry;
+    private final AtomicLong nanos = new AtomicLong();
 
     @BeforeEach
     void setUp() {
@@ -22,7 +39,8 @@ class RateLimitServiceTest {
         properties.setAiLimit(3);
         properties.setAiWindowSeconds(3600);
 
-        rateLimitService = new RateLimitService(properties);
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimitService = new RateLimitService(properties, meterRegistry, nanos::get);
     }
 
     @Test
@@ -137,4 +155,132 @@ class RateLimitServiceTest {
         assertThat(rateLimitService.resolvePlan("/api/classes")).isEqualTo(RateLimitPlan.API);
         assertThat(rateLimitService.resolvePlan("/api/students/1")).isEqualTo(RateLimitPlan.API);
     }
+
+    @Test
+    @DisplayName("Should match whole path segments rather than substrings")
+    void resolveMatchesSegments() {
+        assertThat(rateLimitService.resolvePlan("/api/submissions")).isEqualTo(RateLimitPlan.UPLOAD);
+        assertThat(rateLimitService.resolvePlan("/api/submissions/1/grade")).isEqualTo(RateLimitPlan.UPLOAD);
+        assertThat(rateLimitService.resolvePlan("/api/aims")).isEqualTo(RateLimitPlan.API);
+    }
+
+    @Test
+    @DisplayName("Should use configured path patterns")
+    void resolveConfiguredPatterns() {
+        properties.setAiPaths(List.of("/api/schools/*/dashboard/**"));
+        rateLimitService = new RateLimitService(properties, meterRegistry, nanos::get);
+
+        assertThat(rateLimitService.resolvePlan("/api/schools/7/dashboard/stats")).isEqualTo(RateLimitPlan.AI);
+        assertThat(rateLimitService.resolvePlan("/api/grading/reviews/pending")).isEqualTo(RateLimitPlan.API);
+    }
+
+    @Test
+    @DisplayName("Should use the shared Redis bucket when available")
+    void usesRedisWhenAvailable() {
+        RedisRateLimiter redis = mock(RedisRateLimiter.class);
+        ReflectionTestUtils.setField(rateLimitService, "redisRateLimiter", redis);
+        when(redis.tryConsume("client7:API", RateLimitPlan.API, 5, 60)).thenReturn(RateLimitResult.blocked(5, 10));
+
+        RateLimitResult result = rateLimitService.tryConsume("client7", RateLimitPlan.API);
+
+        assertThat(result.isAllowed()).isFalse();
+        assertThat(result.getRetryAfterSeconds()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should fall back to local buckets and pause Redis after a failure")
+    void fallsBackToLocalBucketsWhenRedisFails() {
+        RedisRateLimiter redis = mock(RedisRateLimiter.class);
+        ReflectionTestUtils.setField(rateLimitService, "redisRateLimiter", redis);
+        when(redis.tryConsume(any(), any(), anyInt(), anyInt()))
+                .thenThrow(new RedisConnectionFailureException("connection refused"));
+
+        RateLimitResult first = rateLimitService.tryConsume("client8", RateLimitPlan.API);
+        RateLimitResult second = rateLimitService.tryConsume("client8", RateLimitPlan.API);
+
+        assertThat(first.isAllowed()).isTrue();
+        assertThat(second.getRemaining()).isEqualTo(3);
+        verify(redis, times(1)).tryConsume(any(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should charge AI requests to the school before the user's bucket")
+    void chargesSchoolBeforeUser() {
+        SchoolQuotaService schools = mock(SchoolQuotaService.class);
+        ReflectionTestUtils.setField(rateLimitService, "schoolQuotaService", schools);
+        when(schools.tryAcquire("school-1", RateLimitPlan.AI)).thenReturn(RateLimitResult.allowed(500, 1));
+
+        RateLimitResult result = rateLimitService.tryConsume("user:t1", RateLimitPlan.AI, "school-1");
+
+        assertThat(result.isAllowed()).isTrue();
+        assertThat(result.getLimit()).isEqualTo(3);
+        assertThat(result.getRemaining()).isEqualTo(1);   // capped by what the school has left
+    }
+
+    @Test
+    @DisplayName("Should reject without touching the user's bucket when the school budget is spent")
+    void schoolRejectionSparesUserBucket() {
+        SchoolQuotaService schools = mock(SchoolQuotaService.class);
+        ReflectionTestUtils.setField(rateLimitService, "schoolQuotaService", schools);
+        when(schools.tryAcquire("school-1", RateLimitPlan.UPLOAD)).thenReturn(RateLimitResult.blocked(200, 42));
+
+        RateLimitResult result = rateLimitService.tryConsume("user:t2", RateLimitPlan.UPLOAD, "school-1");
+
+        assertThat(result.isAllowed()).isFalse();
+        assertThat(result.getRetryAfterSeconds()).isEqualTo(42);
+        assertThat(rateLimitService.tryConsume("user:t2", RateLimitPlan.UPLOAD).getRemaining()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should refund the school when the user's own bucket rejects")
+    void refundsSchoolWhenUserBlocked() {
+        SchoolQuotaService schools = mock(SchoolQuotaService.class);
+        ReflectionTestUtils.setField(rateLimitService, "schoolQuotaService", schools);
+        when(schools.tryAcquire("school-1", RateLimitPlan.UPLOAD)).thenReturn(RateLimitResult.allowed(200, 150));
+
+        rateLimitService.tryConsume("user:t3", RateLimitPlan.UPLOAD, "school-1");
+        rateLimitService.tryConsume("user:t3", RateLimitPlan.UPLOAD, "school-1");
+        RateLimitResult third = rateLimitService.tryConsume("user:t3", RateLimitPlan.UPLOAD, "school-1");
+
+        assertThat(third.isAllowed()).isFalse();
+        verify(schools, times(1)).release("school-1", RateLimitPlan.UPLOAD);
+    }
+
+    @Test
+    @DisplayName("Should not apply school budgets to the API plan")
+    void apiPlanSkipsSchoolBudget() {
+        SchoolQuotaService schools = mock(SchoolQuotaService.class);
+        ReflectionTestUtils.setField(rateLimitService, "schoolQuotaService", schools);
+
+        rateLimitService.tryConsume("user:t4", RateLimitPlan.API, "school-1");
+
+        verify(schools, never()).tryAcquire(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should evict a bucket once it has been idle for its refill window")
+    void evictsIdleBuckets() {
+        rateLimitService.tryConsume("client9", RateLimitPlan.API);
+        rateLimitService.tryConsume("client9", RateLimitPlan.UPLOAD);
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(61));
+
+        assertThat(rateLimitService.bucketCount()).isEqualTo(1);   // API (60s) gone, UPLOAD (1h) kept
+    }
+
+    @Test
+    @DisplayName("Should cap the number of buckets and count evictions")
+    void capsBucketCount() {
+        properties.setMaxBuckets(10);
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimitService = new RateLimitService(properties, meterRegistry, nanos::get);
+
+        for (int i = 0; i < 100; i++) {
+            rateLimitService.tryConsume("ip:10.0.0." + i, RateLimitPlan.API);
+        }
+
+        assertThat(rateLimitService.bucketCount()).isLessThanOrEqualTo(10);
+        assertThat(meterRegistry.get("cache.evictions").tag("cache", RateLimitService.BUCKET_CACHE_NAME)
+                .functionCounter().count()).isGreaterThanOrEqualTo(90.0);
+    }
 }
@@ -0,0 +1,91 @@
+package com.tracegrade.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+@SuppressWarnings("unchecked")
+class RedisRateLimiterTest {
+
+    private StringRedisTemplate redisTemplate;
+    private RateLimitProperties properties;
+    private RedisRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        properties = new RateLimitProperties();
+        properties.getRedis().setApiLeaseSize(5);
+        properties.getRedis().setLeaseTtlMs(60_000);
+        limiter = new RedisRateLimiter(redisTemplate, properties);
+    }
+
+    private void redisReplies(List<Long> reply) {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyString(), anyString(), anyString()))
+                .thenReturn(reply);
+    }
+
+    @Test
+    @DisplayName("Should lease API tokens from Redis and serve the lease locally")
+    void servesApiLeaseLocally() {
+        redisReplies(List.of(5L, 90L, 0L));
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryConsume("ip:1:API", RateLimitPlan.API, 100, 60).isAllowed()).isTrue();
+        }
+
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class),
+                eq(List.of("ratelimit:ip:1:API")), eq("100"), eq("60000"), eq("5"));
+    }
+
+    @Test
+    @DisplayName("Should report remaining tokens including the unused lease")
+    void reportsRemainingWithLease() {
+        redisReplies(List.of(5L, 90L, 0L));
+
+        RateLimitResult first = limiter.tryConsume("ip:1:API", RateLimitPlan.API, 100, 60);
+        RateLimitResult second = limiter.tryConsume("ip:1:API", RateLimitPlan.API, 100, 60);
+
+        assertThat(first.getRemaining()).isEqualTo(94);
+        assertThat(second.getRemaining()).isEqualTo(93);
+    }
+
+    @Test
+    @DisplayName("Should consume exactly one token per AI check")
+    void aiChecksAreExact() {
+        redisReplies(List.of(1L, 10L, 0L));
+
+        limiter.tryConsume("user:a:AI", RateLimitPlan.AI, 50, 3600);
+        limiter.tryConsume("user:a:AI", RateLimitPlan.AI, 50, 3600);
+
+        verify(redisTemplate, times(2)).execute(any(RedisScript.class), anyList(), eq("50"), eq("3600000"), eq("1"));
+    }
+
+    @Test
+    @DisplayName("Should reject locally until Redis said a token would be available")
+    void cachesBlockedVerdict() {
+        redisReplies(List.of(0L, 0L, 30_000L));
+
+        RateLimitResult first = limiter.tryConsume("user:a:AI", RateLimitPlan.AI, 50, 3600);
+        RateLimitResult second = limiter.tryConsume("user:a:AI", RateLimitPlan.AI, 50, 3600);
+
+        assertThat(first.isAllowed()).isFalse();
+        assertThat(first.getRetryAfterSeconds()).isBetween(30L, 31L);
+        assertThat(second.isAllowed()).isFalse();
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), anyList(), anyString(), anyString(), anyString());
+    }
+}
@@ -0,0 +1,67 @@
+package com.tracegrade.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.tracegrade.domain.repository.UserRepository;
+
+class SchoolMembershipLookupTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final UUID SCHOOL_ID = UUID.randomUUID();
+
+    private final AtomicLong nanos = new AtomicLong();
+    private UserRepository userRepository;
+    private SchoolMembershipLookup lookup;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getSchool().setMembershipTtlSeconds(60);
+        lookup = new SchoolMembershipLookup(userRepository, properties, nanos::get);
+    }
+
+    @Test
+    @DisplayName("Should resolve the user's school from the repository and reuse it until the TTL passes")
+    void resolvesAndCachesSchool() {
+        when(userRepository.findActiveSchoolIdById(USER_ID)).thenReturn(Optional.of(SCHOOL_ID));
+
+        assertThat(lookup.schoolOf(USER_ID.toString())).isEqualTo(SCHOOL_ID.toString());
+        assertThat(lookup.schoolOf(USER_ID.toString())).isEqualTo(SCHOOL_ID.toString());
+        verify(userRepository, times(1)).findActiveSchoolIdById(USER_ID);
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(61));
+        lookup.schoolOf(USER_ID.toString());
+        verify(userRepository, times(2)).findActiveSchoolIdById(USER_ID);
+    }
+
+    @Test
+    @DisplayName("Should return null for users without a school")
+    void unknownUserHasNoSchool() {
+        when(userRepository.findActiveSchoolIdById(USER_ID)).thenReturn(Optional.empty());
+
+        assertThat(lookup.schoolOf(USER_ID.toString())).isNull();
+    }
+
+    @Test
+    @DisplayName("Should return null without a query when the principal is not a user ID")
+    void nonUuidPrincipalHasNoSchool() {
+        assertThat(lookup.schoolOf("teacher@school.com")).isNull();
+        verify(userRepository, never()).findActiveSchoolIdById(any());
+    }
+}
@@ -0,0 +1,110 @@
+package com.tracegrade.ratelimit;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.tracegrade.config.CorsProperties;
+import com.tracegrade.config.CsrfAccessDeniedHandler;
+import com.tracegrade.config.CsrfProperties;
+import com.tracegrade.config.SecurityConfig;
+import com.tracegrade.config.SecurityHeadersProperties;
+import com.tracegrade.dto.response.SchoolQuotaResponse;
+import com.tracegrade.filter.SanitizationProperties;
+
+@WebMvcTest(SchoolQuotaController.class)
+@ActiveProfiles("test")
+@Import({SecurityConfig.class, SecurityHeadersProperties.class,
+         CsrfProperties.class, CsrfAccessDeniedHandler.class,
+         CorsProperties.class,
+         RateLimitProperties.class, SanitizationProperties.class})
+@TestPropertySource(properties = {
+        "security-headers.https-redirect-enabled=false",
+        "rate-limit.enabled=false",
+        "rate-limit.school.enabled=true",
+        "sanitization.enabled=false",
+        "csrf.enabled=false"
+})
+class SchoolQuotaControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SchoolQuotaService schoolQuotaService;
+
+    @MockBean
+    private RateLimitService rateLimitService;
+
+    private static SchoolQuotaResponse quota(String schoolId) {
+        return SchoolQuotaResponse.builder()
+                .schoolId(schoolId)
+                .weight(2)
+                .aiLimit(500)
+                .aiRemaining(480)
+                .aiUsedThisWindow(20)
+                .aiFairShare(1000)
+                .uploadLimit(200)
+                .uploadRemaining(199)
+                .build();
+    }
+
+    @Test
+    @DisplayName("GET school quotas returns 200 for administrators")
+    void listsQuotasForAdmin() throws Exception {
+        String schoolId = UUID.randomUUID().toString();
+        when(schoolQuotaService.quotas()).thenReturn(List.of(quota(schoolId)));
+
+        mockMvc.perform(get("/api/admin/rate-limit/schools").with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success", is(true)))
+                .andExpect(jsonPath("$.data[0].schoolId", is(schoolId)))
+                .andExpect(jsonPath("$.data[0].weight", is(2)))
+                .andExpect(jsonPath("$.data[0].aiRemaining", is(480)));
+    }
+
+    @Test
+    @DisplayName("GET a school's quota returns 200 for administrators")
+    void returnsQuotaForAdmin() throws Exception {
+        UUID schoolId = UUID.randomUUID();
+        when(schoolQuotaService.quota(schoolId.toString())).thenReturn(quota(schoolId.toString()));
+
+        mockMvc.perform(get("/api/admin/rate-limit/schools/{schoolId}", schoolId)
+                        .with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.uploadLimit", is(200)));
+    }
+
+    @Test
+    @DisplayName("GET school quotas returns 403 for teachers")
+    void forbiddenForTeachers() throws Exception {
+        mockMvc.perform(get("/api/admin/rate-limit/schools").with(user("teacher").roles("TEACHER")))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(schoolQuotaService);
+    }
+
+    @Test
+    @DisplayName("GET school quotas returns 401 when unauthenticated")
+    void unauthorizedWithoutAuthentication() throws Exception {
+        mockMvc.perform(get("/api/admin/rate-limit/schools"))
+                .andExpect(status().isUnauthorized());
+    }
+}
@@ -0,0 +1,139 @@
+package com.tracegrade.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.tracegrade.dto.response.SchoolQuotaResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SchoolQuotaServiceTest {
+
+    private RateLimitProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private SchoolQuotaService service;
+    private final AtomicLong nanos = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        RateLimitProperties.School school = properties.getSchool();
+        school.setEnabled(true);
+        school.setAiLimit(100);
+        school.setUploadLimit(3);
+        school.setAiCapacity(20);
+        school.setContentionThreshold(0.5);
+
+        meterRegistry = new SimpleMeterRegistry();
+        service = new SchoolQuotaService(properties, meterRegistry, nanos::get);
+    }
+
+    private void rebuild() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new SchoolQuotaService(properties, meterRegistry, nanos::get);
+    }
+
+    private int admitted(String schoolId, int attempts) {
+        int admitted = 0;
+        for (int i = 0; i < attempts; i++) {
+            if (service.tryAcquire(schoolId, RateLimitPlan.AI).isAllowed()) {
+                admitted++;
+            }
+        }
+        return admitted;
+    }
+
+    @Test
+    @DisplayName("Should enforce the school's upload budget across its users")
+    void enforcesUploadBudget() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(service.tryAcquire("school-a", RateLimitPlan.UPLOAD).isAllowed()).isTrue();
+        }
+
+        RateLimitResult blocked = service.tryAcquire("school-a", RateLimitPlan.UPLOAD);
+
+        assertThat(blocked.isAllowed()).isFalse();
+        assertThat(blocked.getLimit()).isEqualTo(3);
+        assertThat(service.tryAcquire("school-b", RateLimitPlan.UPLOAD).isAllowed()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should apply per-school overrides")
+    void appliesOverrides() {
+        RateLimitProperties.Quota quota = new RateLimitProperties.Quota();
+        quota.setUploadLimit(1);
+        properties.getSchool().getOverrides().put("school-a", quota);
+        rebuild();
+
+        assertThat(service.tryAcquire("school-a", RateLimitPlan.UPLOAD).isAllowed()).isTrue();
+        assertThat(service.tryAcquire("school-a", RateLimitPlan.UPLOAD).isAllowed()).isFalse();
+        assertThat(service.quota("school-a").getAiLimit()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("Should let a school use spare AI capacity while nobody else needs it")
+    void uncontendedSchoolMayUseSpareCapacity() {
+        assertThat(admitted("school-a", 15)).isEqualTo(15);
+    }
+
+    @Test
+    @DisplayName("Should stop a heavy school at its fair share once AI capacity is contended")
+    void contendedCapacityIsSharedFairly() {
+        admitted("school-b", 1);
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(2));   // let the active weight total refresh
+
+        int heavy = admitted("school-a", 30);
+
+        assertThat(heavy).isEqualTo(10);                 // half of 20 with two equally weighted schools
+        assertThat(service.tryAcquire("school-b", RateLimitPlan.AI).isAllowed()).isTrue();
+        assertThat(meterRegistry.get(SchoolQuotaService.FAIR_SHARE_REJECTIONS).counter().count())
+                .isEqualTo(20.0);
+    }
+
+    @Test
+    @DisplayName("Should split contended AI capacity in proportion to school weights")
+    void sharesFollowWeights() {
+        RateLimitProperties.Quota quota = new RateLimitProperties.Quota();
+        quota.setWeight(3);
+        properties.getSchool().getOverrides().put("school-a", quota);
+        rebuild();
+        admitted("school-b", 1);
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(2));
+
+        assertThat(admitted("school-a", 30)).isEqualTo(15);   // 3/4 of 20
+    }
+
+    @Test
+    @DisplayName("Should refund a released token to the school and the shared capacity")
+    void releaseRefundsTokens() {
+        service.tryAcquire("school-a", RateLimitPlan.AI);
+        service.tryAcquire("school-a", RateLimitPlan.UPLOAD);
+
+        service.release("school-a", RateLimitPlan.AI);
+        service.release("school-a", RateLimitPlan.UPLOAD);
+
+        SchoolQuotaResponse quota = service.quota("school-a");
+        assertThat(quota.getAiRemaining()).isEqualTo(100);
+        assertThat(quota.getAiUsedThisWindow()).isZero();
+        assertThat(quota.getUploadRemaining()).isEqualTo(3);
+        assertThat(meterRegistry.get(SchoolQuotaService.SHARED_AI_AVAILABLE).gauge().value()).isEqualTo(20.0);
+    }
+
+    @Test
+    @DisplayName("Should list configured and recently active schools")
+    void listsQuotas() {
+        properties.getSchool().getOverrides().put("school-c", new RateLimitProperties.Quota());
+        rebuild();
+        service.tryAcquire("school-a", RateLimitPlan.AI);
+
+        assertThat(service.quotas()).extracting(SchoolQuotaResponse::getSchoolId)
+                .containsExactly("school-a", "school-c");
+        assertThat(service.quota("school-a").getAiUsedThisWindow()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,157 @@
+package com.tracegrade.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.tracegrade.domain.model.StorageBlob;
+import com.tracegrade.domain.repository.StorageBlobRepository;
+
+@SuppressWarnings("null")
+class ContentAddressedStorageServiceTest {
+
+    // SHA-256("hello")
+    private static final String HELLO_HASH = "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824";
+    private static final byte[] HELLO = "hello".getBytes(StandardCharsets.UTF_8);
+
+    private StorageService storageService;
+    private StorageBlobRepository blobRepository;
+    private ContentAddressedStorageService service;
+
+    @BeforeEach
+    void setUp() {
+        storageService = mock(StorageService.class);
+        blobRepository = mock(StorageBlobRepository.class);
+        service = new ContentAddressedStorageService(storageService, blobRepository);
+    }
+
+    @Test
+    @DisplayName("Should compute lower-case hex SHA-256")
+    void sha256Hex() {
+        assertThat(ContentAddressedStorageService.sha256Hex(HELLO)).isEqualTo(HELLO_HASH);
+    }
+
+    @Nested
+    @DisplayName("Store")
+    class StoreTests {
+
+        @Test
+        @DisplayName("Should upload and register new content")
+        void storesNewContent() {
+            when(blobRepository.incrementRefCount(eq(HELLO_HASH), any())).thenReturn(0);
+            when(storageService.uploadBlob(HELLO_HASH, HELLO, "image/png")).thenReturn("blobs/sha256/2c/" + HELLO_HASH);
+            when(blobRepository.insertIfAbsent(any(), eq(HELLO_HASH), anyString(), anyString(), anyLong(), any()))
+                    .thenReturn(1);
+
+            ContentAddressedStorageService.StoredBlob stored = service.store(HELLO, "image/png");
+
+            assertThat(stored.deduplicated()).isFalse();
+            assertThat(stored.contentHash()).isEqualTo(HELLO_HASH);
+            assertThat(stored.storageKey()).isEqualTo("blobs/sha256/2c/" + HELLO_HASH);
+            verify(blobRepository).insertIfAbsent(any(), eq(HELLO_HASH), eq("blobs/sha256/2c/" + HELLO_HASH),
+                    eq("image/png"), eq(5L), any());
+        }
+
+        @Test
+        @DisplayName("Should reference the blob a concurrent upload registered first")
+        void referencesConcurrentlyRegisteredBlob() {
+            when(blobRepository.incrementRefCount(eq(HELLO_HASH), any())).thenReturn(0, 1);
+            when(storageService.uploadBlob(HELLO_HASH, HELLO, "image/png")).thenReturn("blobs/sha256/2c/" + HELLO_HASH);
+            when(blobRepository.insertIfAbsent(any(), eq(HELLO_HASH), anyString(), anyString(), anyLong(), any()))
+                    .thenReturn(0);
+
+            ContentAddressedStorageService.StoredBlob stored = service.store(HELLO, "image/png");
+
+            assertThat(stored.deduplicated()).isTrue();
+            assertThat(stored.storageKey()).isEqualTo("blobs/sha256/2c/" + HELLO_HASH);
+            verify(blobRepository, times(2)).incrementRefCount(eq(HELLO_HASH), any());
+        }
+
+        @Test
+        @DisplayName("Should reference existing content without uploading again")
+        void deduplicatesExistingContent() {
+            StorageBlob existing = StorageBlob.builder()
+                    .contentHash(HELLO_HASH)
+                    .storageKey("blobs/sha256/2c/" + HELLO_HASH)
+                    .sizeBytes(5L)
+                    .refCount(2)
+                    .build();
+            when(blobRepository.incrementRefCount(eq(HELLO_HASH), any())).thenReturn(1);
+            when(blobRepository.findByContentHash(HELLO_HASH)).thenReturn(Optional.of(existing));
+
+            ContentAddressedStorageService.StoredBlob stored = service.store(HELLO, "image/png");
+
+            assertThat(stored.deduplicated()).isTrue();
+            assertThat(stored.storageKey()).isEqualTo(existing.getStorageKey());
+            verify(storageService, never()).uploadBlob(anyString(), any(), anyString());
+            verify(blobRepository, never()).insertIfAbsent(any(), anyString(), anyString(), anyString(), anyLong(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Garbage collection")
+    class CollectTests {
+
+        private final UUID blobId = UUID.randomUUID();
+        private final Instant cutoff = Instant.parse("2026-01-01T00:00:00Z");
+
+        private StorageBlob blob(int refCount, Instant unreferencedAt) {
+            return StorageBlob.builder()
+                    .contentHash(HELLO_HASH)
+                    .storageKey("blobs/sha256/2c/" + HELLO_HASH)
+                    .sizeBytes(5L)
+                    .refCount(refCount)
+                    .unreferencedAt(unreferencedAt)
+                    .build();
+        }
+
+        @Test
+        @DisplayName("Should delete object and row for an expired unreferenced blob")
+        void collectsExpiredBlob() {
+            StorageBlob expired = blob(0, cutoff.minusSeconds(1));
+            when(blobRepository.findByIdForUpdate(blobId)).thenReturn(Optional.of(expired));
+
+            assertThat(service.collectIfUnreferenced(blobId, cutoff)).isTrue();
+
+            verify(storageService).delete(expired.getStorageKey());
+            verify(blobRepository).delete(expired);
+        }
+
+        @Test
+        @DisplayName("Should keep a blob that was re-referenced before collection")
+        void skipsReferencedBlob() {
+            when(blobRepository.findByIdForUpdate(blobId)).thenReturn(Optional.of(blob(1, null)));
+
+            assertThat(service.collectIfUnreferenced(blobId, cutoff)).isFalse();
+
+            verify(storageService, never()).delete(anyString());
+        }
+
+        @Test
+        @DisplayName("Should keep an unreferenced blob still inside its grace period")
+        void skipsBlobInGracePeriod() {
+            when(blobRepository.findByIdForUpdate(blobId)).thenReturn(Optional.of(blob(0, cutoff.plusSeconds(1))));
+
+            assertThat(service.collectIfUnreferenced(blobId, cutoff)).isFalse();
+
+            verify(storageService, never()).delete(anyString());
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.tracegrade.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class ImageDerivativeServiceTest {
+
+    private static final String SOURCE_KEY = "submissions/page.png";
+    private static final String SOURCE_URL = "https://cdn.example.com/" + SOURCE_KEY;
+
+    private StorageService storageService;
+    private StorageProperties properties;
+    private ImageDerivativeService service;
+
+    @BeforeEach
+    void setUp() {
+        storageService = mock(StorageService.class);
+        properties = new StorageProperties();
+        properties.getDerivatives().setThumbnailMaxDimension(40);
+        properties.getDerivatives().setPreviewMaxDimension(100);
+        service = new ImageDerivativeService(storageService, properties, Runnable::run);
+
+        when(storageService.resolveKey(SOURCE_URL)).thenReturn(SOURCE_KEY);
+        when(storageService.derivativeKey(any(), anyString()))
+                .thenAnswer(inv -> ((StorageType) inv.getArgument(0)).getKeyPrefix() + inv.getArgument(1));
+        when(storageService.getPublicUrl(anyString()))
+                .thenAnswer(inv -> "https://cdn.example.com/" + inv.getArgument(0));
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+
+    @Test
+    @DisplayName("Should write a thumbnail and preview scaled to their max dimensions")
+    void generatesBothDerivatives() throws IOException {
+        when(storageService.download(SOURCE_KEY)).thenReturn(png(400, 200));
+
+        service.generateAsync(SOURCE_KEY);
+
+        ArgumentCaptor<byte[]> thumbnail = ArgumentCaptor.forClass(byte[].class);
+        ArgumentCaptor<byte[]> preview = ArgumentCaptor.forClass(byte[].class);
+        verify(storageService).uploadDerivative(eq(StorageType.SUBMISSION_THUMBNAIL), eq(SOURCE_KEY),
+                thumbnail.capture(), eq("image/jpeg"));
+        verify(storageService).uploadDerivative(eq(StorageType.SUBMISSION_PREVIEW), eq(SOURCE_KEY),
+                preview.capture(), eq("image/jpeg"));
+
+        BufferedImage thumb = ImageIO.read(new ByteArrayInputStream(thumbnail.getValue()));
+        BufferedImage prev = ImageIO.read(new ByteArrayInputStream(preview.getValue()));
+        assertThat(thumb.getWidth()).isEqualTo(40);
+        assertThat(thumb.getHeight()).isEqualTo(20);
+        assertThat(prev.getWidth()).isEqualTo(100);
+        assertThat(prev.getHeight()).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("Should never upscale images smaller than the max dimension")
+    void doesNotUpscale() {
+        BufferedImage scaled = ImageDerivativeService.scale(new BufferedImage(30, 10, BufferedImage.TYPE_INT_RGB), 240);
+
+        assertThat(scaled.getWidth()).isEqualTo(30);
+        assertThat(scaled.getHeight()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should skip sources that are not decodable images and not retry them")
+    void skipsUnsupportedSources() {
+        when(storageService.download(SOURCE_KEY)).thenReturn("%PDF-1.7".getBytes());
+
+        service.generateAsync(SOURCE_KEY);
+        service.generateAsync(SOURCE_KEY);
+
+        verify(storageService, times(1)).download(SOURCE_KEY);
+        verify(storageService, never()).uploadDerivative(any(), anyString(), any(), anyString());
+        assertThat(service.resolve(SOURCE_URL)).isEqualTo(new ImageDerivativeService.DerivativeUrls(null, null));
+    }
+
+    @Test
+    @DisplayName("Should skip sources whose header declares more pixels than allowed, without decoding them")
+    void skipsOversizedSources() throws IOException {
+        properties.getDerivatives().setMaxSourcePixels(400L * 200 - 1);
+        when(storageService.download(SOURCE_KEY)).thenReturn(png(400, 200));
+
+        service.generateAsync(SOURCE_KEY);
+        service.generateAsync(SOURCE_KEY);
+
+        verify(storageService, times(1)).download(SOURCE_KEY);
+        verify(storageService, never()).uploadDerivative(any(), anyString(), any(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should subsample large sources only as far as the preview size allows")
+    void subsamplesToPreviewSize() {
+        assertThat(ImageDerivativeService.subsampling(4000, 3000, 1280)).isEqualTo(3);
+        assertThat(ImageDerivativeService.subsampling(2000, 4000, 1280)).isEqualTo(3);
+        assertThat(ImageDerivativeService.subsampling(800, 600, 1280)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should return derivative URLs once they exist without re-checking storage")
+    void resolvesExistingDerivatives() {
+        when(storageService.exists("previews/" + SOURCE_KEY)).thenReturn(true);
+
+        ImageDerivativeService.DerivativeUrls first = service.resolve(SOURCE_URL);
+        ImageDerivativeService.DerivativeUrls second = service.resolve(SOURCE_URL);
+
+        assertThat(first.thumbnailUrl()).isEqualTo("https://cdn.example.com/thumbnails/" + SOURCE_KEY);
+        assertThat(first.previewUrl()).isEqualTo("https://cdn.example.com/previews/" + SOURCE_KEY);
+        assertThat(second).isEqualTo(first);
+        verify(storageService, times(1)).exists(anyString());
+    }
+
+    @Test
+    @DisplayName("Should generate missing derivatives lazily on first request")
+    void generatesLazilyOnFirstRequest() throws IOException {
+        List<Runnable> queued = new ArrayList<>();
+        service = new ImageDerivativeService(storageService, properties, queued::add);
+        when(storageService.download(SOURCE_KEY)).thenReturn(png(50, 50));
+
+        ImageDerivativeService.DerivativeUrls before = service.resolve(SOURCE_URL);
+        assertThat(before.thumbnailUrl()).isNull();
+        assertThat(queued).hasSize(1);
+
+        queued.get(0).run();
+
+        assertThat(service.resolve(SOURCE_URL).previewUrl())
+                .isEqualTo("https://cdn.example.com/previews/" + SOURCE_KEY);
+    }
+
+    @Test
+    @DisplayName("Should not enqueue the same source twice while generation is in flight")
+    void deduplicatesInFlightRequests() {
+        List<Runnable> queued = new ArrayList<>();
+        service = new ImageDerivativeService(storageService, properties, queued::add);
+
+        service.generateAsync(SOURCE_KEY);
+        service.generateAsync(SOURCE_KEY);
+
+        assertThat(queued).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should drop the request when the worker queue is full and allow a later retry")
+    void dropsWhenQueueFull() {
+        List<Runnable> queued = new ArrayList<>();
+        boolean[] full = {true};
+        service = new ImageDerivativeService(storageService, properties, task -> {
+            if (full[0]) {
+                throw new RejectedExecutionException("full");
+            }
+            queued.add(task);
+        });
+
+        service.generateAsync(SOURCE_KEY);
+        full[0] = false;
+        service.generateAsync(SOURCE_KEY);
+
+        assertThat(queued).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should answer cached lookups without storage calls and probe unseen sources in the background")
+    void resolveCachedProbesInBackground() {
+        List<Runnable> queued = new ArrayList<>();
+        service = new ImageDerivativeService(storageService, properties, queued::add);
+        when(storageService.exists("previews/" + SOURCE_KEY)).thenReturn(true);
+
+        assertThat(service.resolveCached(SOURCE_URL)).isEqualTo(new ImageDerivativeService.DerivativeUrls(null, null));
+        verify(storageService, never()).exists(anyString());
+        assertThat(queued).hasSize(1);
+
+        queued.get(0).run();
+
+        assertThat(service.resolveCached(SOURCE_URL).thumbnailUrl())
+                .isEqualTo("https://cdn.example.com/thumbnails/" + SOURCE_KEY);
+        verify(storageService, times(1)).exists(anyString());
+        verify(storageService, never()).download(anyString());
+    }
+
+    @Test
+    @DisplayName("Should delete both derivatives and forget that they existed")
+    void deletesDerivatives() {
+        when(storageService.exists("previews/" + SOURCE_KEY)).thenReturn(true);
+        service.resolve(SOURCE_URL);
+
+        service.deleteDerivatives(SOURCE_KEY);
+
+        verify(storageService).delete("previews/" + SOURCE_KEY);
+        verify(storageService).delete("thumbnails/" + SOURCE_KEY);
+        when(storageService.exists("previews/" + SOURCE_KEY)).thenReturn(false);
+        when(storageService.download(SOURCE_KEY)).thenReturn("%PDF-1.7".getBytes());
+        assertThat(service.resolve(SOURCE_URL).previewUrl()).isNull();
+    }
+}
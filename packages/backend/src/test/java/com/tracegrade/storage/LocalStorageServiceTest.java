@@ -100,4 +100,43 @@ class LocalStorageServiceTest {
 
         assertThat(key1).isNotEqualTo(key2);
     }
+
+    @Test
+    @DisplayName("Should copy to the compressed cold tier and read through either key once the original is deleted")
+    void archiveAndDownload() {
+        byte[] content = "archived content".getBytes();
+        String key = service.upload(StorageType.SUBMISSION_IMAGE, "page.jpg", content, "image/jpeg");
+
+        String archiveKey = service.archive(key);
+
+        assertThat(archiveKey).isEqualTo(StorageType.ARCHIVE_KEY_PREFIX + key + ".gz");
+        assertThat(service.exists(key)).isTrue();
+        assertThat(service.download(archiveKey)).isEqualTo(content);
+
+        service.delete(key);
+        assertThat(service.exists(key)).isFalse();
+        assertThat(service.download(key)).isEqualTo(content);
+        assertThat(service.archive(archiveKey)).isEqualTo(archiveKey);
+    }
+
+    @Test
+    @DisplayName("Should resolve the key back from a public URL")
+    void resolveKeyFromPublicUrl() {
+        String key = service.upload(StorageType.EXAM_PDF, "exam.pdf", new byte[]{1}, "application/pdf");
+
+        assertThat(service.resolveKey(service.getPublicUrl(key))).isEqualTo(key);
+        assertThat(service.resolveKey("https://elsewhere.example.com/exams/x.pdf")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should store derivatives under a key derived from the source key")
+    void uploadDerivative() {
+        String source = service.upload(StorageType.SUBMISSION_IMAGE, "page.png", new byte[]{1}, "image/png");
+
+        String key = service.uploadDerivative(StorageType.SUBMISSION_THUMBNAIL, source, new byte[]{2}, "image/jpeg");
+
+        assertThat(key).isEqualTo("thumbnails/" + source);
+        assertThat(service.derivativeKey(StorageType.SUBMISSION_THUMBNAIL, source)).isEqualTo(key);
+        assertThat(service.download(key)).containsExactly(2);
+    }
 }
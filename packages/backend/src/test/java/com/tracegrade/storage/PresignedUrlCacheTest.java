@@ -0,0 +1,120 @@
+package com.tracegrade.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.tracegrade.storage.PresignedUrlCache.Operation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PresignedUrlCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final Ticker ticker = nanos::get;
+    private final AtomicInteger signCount = new AtomicInteger();
+    private SimpleMeterRegistry registry;
+    private PresignedUrlCache cache;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        // 10 minute URLs, reuse while >30% remains: reuse window 7m, background refresh after 3.5m
+        cache = new PresignedUrlCache(Duration.ofMinutes(10), 0.3, 100,
+                key -> key.key() + "?sig=" + signCount.incrementAndGet(),
+                registry, ticker, Runnable::run);
+    }
+
+    private void advanceMinutes(double minutes) {
+        nanos.addAndGet((long) (TimeUnit.MINUTES.toNanos(1) * minutes));
+    }
+
+    @Test
+    @DisplayName("Should serve the cached URL while it is fresh")
+    void reusesFreshUrl() {
+        String first = cache.get("exams/a", Operation.GET);
+        advanceMinutes(1);
+        String second = cache.get("exams/a", Operation.GET);
+
+        assertThat(second).isEqualTo(first);
+        assertThat(signCount).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should re-sign in the background once half the reuse window has elapsed")
+    void refreshesBeforeExpiry() {
+        cache.get("exams/a", Operation.GET);
+        advanceMinutes(4);
+
+        cache.get("exams/a", Operation.GET);
+        advanceMinutes(3);
+        String afterRefresh = cache.get("exams/a", Operation.GET);
+
+        // The refreshed entry is still within its own reuse window 7 minutes after the first sign
+        assertThat(afterRefresh).isEqualTo("exams/a?sig=2");
+        assertThat(signCount).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should never hand out a URL with less than the minimum validity left")
+    void expiresBeforeMinimumRemainingValidity() {
+        cache.get("exams/a", Operation.GET);
+        advanceMinutes(7.5);
+
+        assertThat(cache.get("exams/a", Operation.GET)).isEqualTo("exams/a?sig=2");
+    }
+
+    @Test
+    @DisplayName("Should sign again after invalidation")
+    void invalidateDropsEntry() {
+        cache.get("exams/a", Operation.GET);
+        cache.invalidate("exams/a");
+
+        assertThat(cache.get("exams/a", Operation.GET)).isEqualTo("exams/a?sig=2");
+    }
+
+    @Test
+    @DisplayName("Should propagate signing failures without caching them")
+    void signingFailurePropagates() {
+        PresignedUrlCache failing = new PresignedUrlCache(Duration.ofMinutes(10), 0.3, 100,
+                key -> {
+                    throw new IllegalStateException("boom");
+                },
+                registry, ticker, Runnable::run);
+
+        assertThatThrownBy(() -> failing.get("exams/a", Operation.GET))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(failing.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should publish size and hit/miss metrics")
+    void publishesMetrics() {
+        cache.get("exams/a", Operation.GET);
+        cache.get("exams/a", Operation.GET);
+
+        assertThat(registry.get("cache.size").tag("cache", PresignedUrlCache.CACHE_NAME).gauge().value())
+                .isEqualTo(1.0);
+        assertThat(registry.get("cache.gets").tag("cache", PresignedUrlCache.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count()).isEqualTo(1.0);
+        assertThat(registry.get("cache.gets").tag("cache", PresignedUrlCache.CACHE_NAME)
+                .tag("result", "miss").functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should reject a minimum remaining fraction outside [0, 1)")
+    void rejectsInvalidFraction() {
+        assertThatThrownBy(() -> new PresignedUrlCache(Duration.ofMinutes(10), 1.0, 100,
+                key -> "url", registry))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -4,6 +4,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -19,9 +21,11 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.tracegrade.exception.StorageException;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import software.amazon.awssdk.core.ResponseBytes;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
@@ -32,6 +36,7 @@ import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectResponse;
 import software.amazon.awssdk.services.s3.model.S3Exception;
 import software.amazon.awssdk.services.s3.model.ServerSideEncryption;
+import software.amazon.awssdk.services.s3.model.StorageClass;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
@@ -55,7 +60,7 @@ class S3StorageServiceTest {
         properties.getS3().setRegion("us-east-1");
         properties.getS3().setPathPrefix("");
 
-        service = new S3StorageService(s3Client, s3Presigner, properties);
+        service = new S3StorageService(s3Client, s3Presigner, properties, new SimpleMeterRegistry());
     }
 
     @Nested
@@ -142,6 +147,61 @@ class S3StorageServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Archive")
+    class ArchiveTests {
+
+        @Test
+        @DisplayName("Should copy to the cold storage class under an archive key and keep the original")
+        void archiveCopiesAndKeepsOriginal() {
+            properties.getS3().setPathPrefix("tenant1/");
+
+            String archiveKey = service.archive("tenant1/submissions/abc_page.jpg");
+
+            assertThat(archiveKey).isEqualTo("tenant1/archive/submissions/abc_page.jpg");
+            ArgumentCaptor<CopyObjectRequest> copyCaptor = ArgumentCaptor.forClass(CopyObjectRequest.class);
+            verify(s3Client).copyObject(copyCaptor.capture());
+            assertThat(copyCaptor.getValue().sourceKey()).isEqualTo("tenant1/submissions/abc_page.jpg");
+            assertThat(copyCaptor.getValue().destinationKey()).isEqualTo(archiveKey);
+            assertThat(copyCaptor.getValue().storageClass()).isEqualTo(StorageClass.GLACIER_IR);
+
+            verify(s3Client, never()).deleteObject(any(DeleteObjectRequest.class));
+        }
+
+        @Test
+        @DisplayName("Should leave already archived keys untouched")
+        void archiveIsIdempotent() {
+            assertThat(service.archive("archive/submissions/abc_page.jpg")).isEqualTo("archive/submissions/abc_page.jpg");
+            verify(s3Client, never()).copyObject(any(CopyObjectRequest.class));
+        }
+
+        @SuppressWarnings("unchecked")
+        @Test
+        @DisplayName("Should fall back to the cold tier when the hot key is gone")
+        void downloadFallsBackToArchive() {
+            byte[] expected = "cold data".getBytes();
+            ResponseBytes<GetObjectResponse> responseBytes = mock(ResponseBytes.class);
+            when(responseBytes.asByteArray()).thenReturn(expected);
+            when(s3Client.getObjectAsBytes(any(GetObjectRequest.class))).thenAnswer(invocation -> {
+                GetObjectRequest request = invocation.getArgument(0);
+                if (request.key().startsWith("archive/")) {
+                    return responseBytes;
+                }
+                throw NoSuchKeyException.builder().message("Not found").build();
+            });
+
+            assertThat(service.download("submissions/abc_page.jpg")).isEqualTo(expected);
+        }
+
+        @Test
+        @DisplayName("Should resolve keys from public URLs of this bucket only")
+        void resolveKey() {
+            assertThat(service.resolveKey("https://test-bucket.s3.us-east-1.amazonaws.com/exams/test-key"))
+                    .isEqualTo("exams/test-key");
+            assertThat(service.resolveKey("https://other.example.com/exams/test-key")).isNull();
+        }
+    }
+
     @Nested
     @DisplayName("Delete")
     class DeleteTests {
@@ -197,6 +257,49 @@ class S3StorageServiceTest {
             assertThat(url).startsWith("https://");
             verify(s3Presigner).presignGetObject(any(GetObjectPresignRequest.class));
         }
+
+        @Test
+        @DisplayName("Should reuse cached presigned download URL for the same key")
+        void presignedDownloadUrlCached() throws Exception {
+            PresignedGetObjectRequest presigned = mock(PresignedGetObjectRequest.class);
+            when(presigned.url()).thenReturn(URI.create("https://test-bucket.s3.amazonaws.com/exams/key?signature=abc").toURL());
+            when(s3Presigner.presignGetObject(any(GetObjectPresignRequest.class))).thenReturn(presigned);
+
+            String first = service.generatePresignedDownloadUrl("exams/test-key");
+            String second = service.generatePresignedDownloadUrl("exams/test-key");
+
+            assertThat(second).isEqualTo(first);
+            verify(s3Presigner, times(1)).presignGetObject(any(GetObjectPresignRequest.class));
+        }
+
+        @Test
+        @DisplayName("Should re-sign download URL after the object is deleted")
+        void presignedDownloadUrlInvalidatedOnDelete() throws Exception {
+            PresignedGetObjectRequest presigned = mock(PresignedGetObjectRequest.class);
+            when(presigned.url()).thenReturn(URI.create("https://test-bucket.s3.amazonaws.com/exams/key?signature=abc").toURL());
+            when(s3Presigner.presignGetObject(any(GetObjectPresignRequest.class))).thenReturn(presigned);
+
+            service.generatePresignedDownloadUrl("exams/test-key");
+            service.delete("exams/test-key");
+            service.generatePresignedDownloadUrl("exams/test-key");
+
+            verify(s3Presigner, times(2)).presignGetObject(any(GetObjectPresignRequest.class));
+        }
+
+        @Test
+        @DisplayName("Should sign on every call when the cache is disabled")
+        void presignedDownloadUrlCacheDisabled() throws Exception {
+            properties.getS3().getPresignedUrlCache().setEnabled(false);
+            S3StorageService uncached = new S3StorageService(s3Client, s3Presigner, properties, new SimpleMeterRegistry());
+            PresignedGetObjectRequest presigned = mock(PresignedGetObjectRequest.class);
+            when(presigned.url()).thenReturn(URI.create("https://test-bucket.s3.amazonaws.com/exams/key?signature=abc").toURL());
+            when(s3Presigner.presignGetObject(any(GetObjectPresignRequest.class))).thenReturn(presigned);
+
+            uncached.generatePresignedDownloadUrl("exams/test-key");
+            uncached.generatePresignedDownloadUrl("exams/test-key");
+
+            verify(s3Presigner, times(2)).presignGetObject(any(GetObjectPresignRequest.class));
+        }
     }
 
     @Nested
@@ -277,6 +380,15 @@ class S3StorageServiceTest {
             assertThat(key).startsWith("school1/submissions/");
         }
 
+        @Test
+        @DisplayName("Should derive blob key from content hash with path prefix")
+        void blobKeyWithPathPrefix() {
+            properties.getS3().setPathPrefix("school1/");
+            String key = service.generateBlobKey("ab12cd");
+
+            assertThat(key).isEqualTo("school1/blobs/sha256/ab/ab12cd");
+        }
+
         @Test
         @DisplayName("Should generate unique keys for same filename")
         void uniqueKeys() {
@@ -0,0 +1,195 @@
+package com.tracegrade.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tracegrade.domain.model.StorageTier;
+import com.tracegrade.domain.model.StudentSubmission;
+import com.tracegrade.domain.repository.StudentSubmissionRepository;
+import com.tracegrade.exception.StorageException;
+
+@SuppressWarnings("null")
+class StorageLifecycleServiceTest {
+
+    private static final String BASE = "https://bucket/";
+
+    private StorageService storageService;
+    private StudentSubmissionRepository submissionRepository;
+    private StorageLifecycleService service;
+
+    @BeforeEach
+    void setUp() {
+        storageService = mock(StorageService.class);
+        submissionRepository = mock(StudentSubmissionRepository.class);
+        service = new StorageLifecycleService(storageService, submissionRepository, new ObjectMapper(),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+
+        when(storageService.resolveKey(any())).thenAnswer(invocation -> {
+            String url = invocation.getArgument(0);
+            return url.startsWith(BASE) ? url.substring(BASE.length()) : null;
+        });
+        when(storageService.getPublicUrl(any())).thenAnswer(invocation -> BASE + invocation.getArgument(0));
+        when(storageService.archive(any())).thenAnswer(invocation -> "archive/" + invocation.getArgument(0));
+    }
+
+    private StudentSubmission submission(String urlsJson, StorageTier tier) {
+        StudentSubmission submission = StudentSubmission.builder()
+                .assignmentId(UUID.randomUUID())
+                .studentId(UUID.randomUUID())
+                .submissionImageUrls(urlsJson)
+                .originalFormat("jpg")
+                .submittedAt(Instant.now())
+                .storageTier(tier)
+                .build();
+        submission.setId(UUID.randomUUID());
+        return submission;
+    }
+
+    private void stored(StudentSubmission submission) {
+        when(submissionRepository.findById(submission.getId())).thenReturn(Optional.of(submission));
+        when(submissionRepository.findByIdForUpdate(submission.getId())).thenReturn(Optional.of(submission));
+    }
+
+    @Test
+    @DisplayName("Should copy every image, commit the cold URLs, then delete the hot copies")
+    void archivesAndRewritesUrls() {
+        StudentSubmission submission = submission(
+                "[\"" + BASE + "submissions/a.jpg\",\"" + BASE + "submissions/b.jpg\"]", StorageTier.HOT);
+        stored(submission);
+
+        int archived = service.archiveSubmission(submission.getId());
+
+        assertThat(archived).isEqualTo(2);
+        assertThat(submission.getStorageTier()).isEqualTo(StorageTier.COLD);
+        assertThat(submission.getSubmissionImageUrls()).isEqualTo(
+                "[\"" + BASE + "archive/submissions/a.jpg\",\"" + BASE + "archive/submissions/b.jpg\"]");
+        InOrder order = inOrder(storageService, submissionRepository);
+        order.verify(storageService).archive("submissions/a.jpg");
+        order.verify(storageService).archive("submissions/b.jpg");
+        order.verify(submissionRepository).save(submission);
+        order.verify(storageService).delete("submissions/a.jpg");
+        order.verify(storageService).delete("submissions/b.jpg");
+    }
+
+    @Test
+    @DisplayName("Should delete the derivatives of archived hot copies")
+    void deletesDerivativesOfArchivedCopies() {
+        ImageDerivativeService derivatives = mock(ImageDerivativeService.class);
+        ReflectionTestUtils.setField(service, "imageDerivativeService", derivatives);
+        StudentSubmission submission = submission("[\"" + BASE + "submissions/a.jpg\"]", StorageTier.HOT);
+        stored(submission);
+
+        service.archiveSubmission(submission.getId());
+
+        verify(derivatives).deleteDerivatives("submissions/a.jpg");
+    }
+
+    @Test
+    @DisplayName("Should leave the row hot and keep the hot copies when copying fails")
+    void copyFailureLeavesRowHot() {
+        StudentSubmission submission = submission("[\"" + BASE + "submissions/a.jpg\"]", StorageTier.HOT);
+        stored(submission);
+        when(storageService.archive("submissions/a.jpg")).thenThrow(new StorageException("ARCHIVE", "S3 down"));
+
+        assertThatThrownBy(() -> service.archiveSubmission(submission.getId()))
+                .isInstanceOf(StorageException.class);
+
+        assertThat(submission.getStorageTier()).isEqualTo(StorageTier.HOT);
+        verify(submissionRepository, never()).save(any());
+        verify(storageService, never()).delete(any());
+    }
+
+    @Test
+    @DisplayName("Should keep the cold URLs when deleting a hot copy fails")
+    void deleteFailureIsTolerated() {
+        StudentSubmission submission = submission("[\"" + BASE + "submissions/a.jpg\"]", StorageTier.HOT);
+        stored(submission);
+        doThrow(new StorageException("DELETE", "S3 down")).when(storageService).delete("submissions/a.jpg");
+
+        assertThat(service.archiveSubmission(submission.getId())).isEqualTo(1);
+        assertThat(submission.getStorageTier()).isEqualTo(StorageTier.COLD);
+    }
+
+    @Test
+    @DisplayName("Should not touch the row or hot copies when the submission changed during the copy")
+    void changedDuringCopy() {
+        StudentSubmission submission = submission("[\"" + BASE + "submissions/a.jpg\"]", StorageTier.HOT);
+        StudentSubmission replaced = submission("[\"" + BASE + "submissions/retake.jpg\"]", StorageTier.HOT);
+        when(submissionRepository.findById(submission.getId())).thenReturn(Optional.of(submission));
+        when(submissionRepository.findByIdForUpdate(submission.getId())).thenReturn(Optional.of(replaced));
+
+        assertThat(service.archiveSubmission(submission.getId())).isZero();
+        verify(submissionRepository, never()).save(any());
+        verify(storageService, never()).delete(any());
+    }
+
+    @Test
+    @DisplayName("Should skip blob-keyed submissions without marking them cold when deduplication is disabled")
+    void skipsBlobKeyedWithoutDedup() {
+        StudentSubmission submission = submission("[\"" + BASE + "blobs/sha256/ab/abcd\"]", StorageTier.HOT);
+        submission.setContentHash("abcd");
+        stored(submission);
+
+        assertThat(service.archiveSubmission(submission.getId())).isZero();
+        assertThat(submission.getStorageTier()).isEqualTo(StorageTier.HOT);
+        verify(storageService, never()).archive(any());
+        verify(submissionRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should copy a shared blob and release the reference instead of deleting it")
+    void archivesBlobKeyedByReleasing() {
+        ContentAddressedStorageService casService = mock(ContentAddressedStorageService.class);
+        ReflectionTestUtils.setField(service, "contentAddressedStorageService", casService);
+        StudentSubmission submission = submission("[\"" + BASE + "blobs/sha256/ab/abcd\"]", StorageTier.HOT);
+        submission.setContentHash("abcd");
+        stored(submission);
+
+        assertThat(service.archiveSubmission(submission.getId())).isEqualTo(1);
+        assertThat(submission.getStorageTier()).isEqualTo(StorageTier.COLD);
+        assertThat(submission.getSubmissionImageUrls()).isEqualTo("[\"" + BASE + "archive/blobs/sha256/ab/abcd\"]");
+        verify(casService).release("blobs/sha256/ab/abcd");
+        verify(storageService, never()).delete(any());
+    }
+
+    @Test
+    @DisplayName("Should leave foreign URLs untouched and not archive a submission without stored images")
+    void skipsForeignUrls() {
+        StudentSubmission submission = submission("[\"https://elsewhere/x.jpg\"]", StorageTier.HOT);
+        stored(submission);
+
+        assertThat(service.archiveSubmission(submission.getId())).isZero();
+        assertThat(submission.getStorageTier()).isEqualTo(StorageTier.HOT);
+        verify(storageService, never()).archive(any());
+    }
+
+    @Test
+    @DisplayName("Should skip submissions already in the cold tier")
+    void skipsColdSubmissions() {
+        StudentSubmission submission = submission("[\"" + BASE + "archive/submissions/a.jpg\"]", StorageTier.COLD);
+        stored(submission);
+
+        assertThat(service.archiveSubmission(submission.getId())).isZero();
+        verify(submissionRepository, never()).save(any());
+    }
+}
@@ -26,8 +26,20 @@ class StorageTypeTest {
     }
 
     @Test
-    @DisplayName("Should have exactly three storage types")
-    void hasThreeTypes() {
-        assertThat(StorageType.values()).hasSize(3);
+    @DisplayName("SUBMISSION_THUMBNAIL should have 'thumbnails/' key prefix")
+    void submissionThumbnailPrefix() {
+        assertThat(StorageType.SUBMISSION_THUMBNAIL.getKeyPrefix()).isEqualTo("thumbnails/");
+    }
+
+    @Test
+    @DisplayName("SUBMISSION_PREVIEW should have 'previews/' key prefix")
+    void submissionPreviewPrefix() {
+        assertThat(StorageType.SUBMISSION_PREVIEW.getKeyPrefix()).isEqualTo("previews/");
+    }
+
+    @Test
+    @DisplayName("Should have exactly five storage types")
+    void hasFiveTypes() {
+        assertThat(StorageType.values()).hasSize(5);
     }
 }
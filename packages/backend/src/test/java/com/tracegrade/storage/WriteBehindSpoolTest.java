@@ -0,0 +1,119 @@
+package com.tracegrade.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class WriteBehindSpoolTest {
+
+    @TempDir
+    Path dir;
+
+    private StorageProperties properties;
+    private WriteBehindSpool spool;
+
+    @BeforeEach
+    void setUp() {
+        properties = new StorageProperties();
+        properties.getWriteBehind().setSpoolDir(dir.toString());
+        spool = new WriteBehindSpool(properties);
+    }
+
+    @Test
+    @DisplayName("Should stage content and expose it as a due entry")
+    void stageAndRead() {
+        assertThat(spool.stage("submissions/a.jpg", new byte[]{1, 2, 3}, "image/jpeg")).isTrue();
+
+        List<WriteBehindSpool.Entry> due = spool.due(Instant.now(), 10);
+
+        assertThat(due).singleElement().satisfies(entry -> {
+            assertThat(entry.key()).isEqualTo("submissions/a.jpg");
+            assertThat(entry.contentType()).isEqualTo("image/jpeg");
+            assertThat(entry.attempts()).isZero();
+            assertThat(spool.read(entry)).contains(new byte[]{1, 2, 3});
+        });
+        assertThat(spool.contains("submissions/a.jpg")).isTrue();
+        assertThat(spool.spooledBytes()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should refuse to stage beyond the configured byte limit")
+    void rejectsWhenFull() {
+        properties.getWriteBehind().setMaxSpoolBytes(4);
+        spool = new WriteBehindSpool(properties);
+
+        assertThat(spool.stage("submissions/a.jpg", new byte[3], "image/jpeg")).isTrue();
+        assertThat(spool.stage("submissions/b.jpg", new byte[3], "image/jpeg")).isFalse();
+        assertThat(spool.contains("submissions/b.jpg")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should hide rescheduled entries until their next attempt is due")
+    void rescheduleDefersEntry() {
+        spool.stage("submissions/a.jpg", new byte[]{1}, "image/jpeg");
+        WriteBehindSpool.Entry entry = spool.due(Instant.now(), 10).get(0);
+        Instant retryAt = Instant.now().plusSeconds(60);
+
+        spool.reschedule(entry, retryAt);
+
+        assertThat(spool.due(Instant.now(), 10)).isEmpty();
+        assertThat(spool.due(retryAt, 10)).singleElement()
+                .satisfies(e -> assertThat(e.attempts()).isEqualTo(1));
+    }
+
+    @Test
+    @DisplayName("Should forget an entry and its bytes once removed")
+    void removeDropsEntry() {
+        spool.stage("submissions/a.jpg", new byte[]{1, 2}, "image/jpeg");
+
+        spool.remove("submissions/a.jpg");
+
+        assertThat(spool.contains("submissions/a.jpg")).isFalse();
+        assertThat(spool.due(Instant.now(), 10)).isEmpty();
+        assertThat(spool.spooledBytes()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should quarantine an entry with malformed metadata and keep draining the rest")
+    void quarantinesMalformedMetadata() throws IOException {
+        spool.stage("submissions/a.jpg", new byte[]{1, 2, 3}, "image/jpeg");
+        spool.stage("submissions/b.jpg", new byte[]{4, 5}, "image/jpeg");
+        String id = WriteBehindSpool.idFor("submissions/a.jpg");
+        Path meta = dir.resolve(id + WriteBehindSpool.META_SUFFIX);
+        Files.writeString(meta, Files.readString(meta).replaceAll("stagedAt=\\d+", "stagedAt=garbage"));
+
+        List<WriteBehindSpool.Entry> due = spool.due(Instant.now(), 10);
+
+        assertThat(due).extracting(WriteBehindSpool.Entry::key).containsExactly("submissions/b.jpg");
+        Path quarantine = dir.resolve(WriteBehindSpool.QUARANTINE_DIR);
+        assertThat(quarantine.resolve(id + WriteBehindSpool.META_SUFFIX)).exists();
+        assertThat(quarantine.resolve(id + WriteBehindSpool.DATA_SUFFIX)).hasBinaryContent(new byte[]{1, 2, 3});
+        assertThat(spool.contains("submissions/a.jpg")).isFalse();
+        assertThat(spool.spooledBytes()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should recover complete entries and discard partial writes after a restart")
+    void recoversAfterRestart() throws IOException {
+        spool.stage("submissions/a.jpg", new byte[]{1, 2}, "image/jpeg");
+        Files.write(dir.resolve("orphan" + WriteBehindSpool.DATA_SUFFIX), new byte[]{9});
+        Files.write(dir.resolve("x" + WriteBehindSpool.DATA_SUFFIX + WriteBehindSpool.TMP_SUFFIX), new byte[]{9});
+
+        WriteBehindSpool restarted = new WriteBehindSpool(properties);
+
+        assertThat(restarted.due(Instant.now(), 10)).extracting(WriteBehindSpool.Entry::key)
+                .containsExactly("submissions/a.jpg");
+        assertThat(restarted.spooledBytes()).isEqualTo(2);
+        assertThat(dir.resolve("orphan" + WriteBehindSpool.DATA_SUFFIX)).doesNotExist();
+        assertThat(dir.resolve("x" + WriteBehindSpool.DATA_SUFFIX + WriteBehindSpool.TMP_SUFFIX)).doesNotExist();
+    }
+}
@@ -0,0 +1,196 @@
+package com.tracegrade.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Pageable;
+
+import com.tracegrade.domain.model.StorageTier;
+import com.tracegrade.domain.model.StudentSubmission;
+import com.tracegrade.domain.repository.StudentSubmissionRepository;
+import com.tracegrade.exception.StorageException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class WriteBehindUploaderTest {
+
+    private static final String KEY = "submissions/a.jpg";
+    private static final String URL = "https://bucket/" + KEY;
+    private static final String NODE = "node-a";
+
+    @TempDir
+    Path dir;
+
+    private WriteBehindSpool spool;
+    private StorageService storageService;
+    private StudentSubmissionRepository submissionRepository;
+    private SimpleMeterRegistry registry;
+    private WriteBehindUploader uploader;
+
+    @BeforeEach
+    void setUp() {
+        StorageProperties properties = new StorageProperties();
+        properties.getWriteBehind().setSpoolDir(dir.toString());
+        properties.getWriteBehind().setNodeId(NODE);
+        spool = new WriteBehindSpool(properties);
+        storageService = mock(StorageService.class);
+        submissionRepository = mock(StudentSubmissionRepository.class);
+        registry = new SimpleMeterRegistry();
+        uploader = new WriteBehindUploader(spool, storageService, submissionRepository, properties, registry);
+
+        when(storageService.submissionImageKeys(any())).thenCallRealMethod();
+        when(storageService.resolveKey(URL)).thenReturn(KEY);
+        when(submissionRepository.findStaged(eq(NODE), any(Pageable.class))).thenReturn(List.of());
+    }
+
+    private StudentSubmission stagedSubmission() {
+        return stagedSubmission(NODE);
+    }
+
+    private StudentSubmission stagedSubmission(String stagedBy) {
+        StudentSubmission submission = StudentSubmission.builder()
+                .submissionImageUrls("[\"" + URL + "\"]")
+                .storageTier(StorageTier.STAGED)
+                .stagedBy(stagedBy)
+                .build();
+        submission.setId(UUID.randomUUID());
+        return submission;
+    }
+
+    @Test
+    @DisplayName("Should upload due entries and remove them from the spool")
+    void drainUploadsEntries() {
+        spool.stage(KEY, new byte[]{1, 2}, "image/jpeg");
+
+        uploader.drain();
+
+        verify(storageService).uploadTo(KEY, new byte[]{1, 2}, "image/jpeg");
+        assertThat(spool.contains(KEY)).isFalse();
+        assertThat(registry.get(WriteBehindUploader.UPLOADS).tag("outcome", "success").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should keep a failed entry and back off before retrying")
+    void failedUploadIsRescheduled() {
+        spool.stage(KEY, new byte[]{1}, "image/jpeg");
+        doThrow(new StorageException("UPLOAD", "throttled")).when(storageService).uploadTo(anyString(), any(), any());
+
+        uploader.drain();
+
+        assertThat(spool.contains(KEY)).isTrue();
+        assertThat(spool.due(Instant.now(), 10)).isEmpty();
+        assertThat(spool.find(KEY)).hasValueSatisfying(e -> assertThat(e.attempts()).isEqualTo(1));
+    }
+
+    @Test
+    @DisplayName("Should promote staged rows whose images have left the spool")
+    void promotesUploadedRows() {
+        StudentSubmission submission = stagedSubmission();
+        when(submissionRepository.findStaged(eq(NODE), any(Pageable.class))).thenReturn(List.of(submission));
+
+        uploader.drain();
+
+        verify(submissionRepository).markStored(submission.getId());
+    }
+
+    @Test
+    @DisplayName("Should promote unowned staged rows only once their images are in storage")
+    void promotesUnownedRowsByExistence() {
+        StudentSubmission submission = stagedSubmission(null);
+        when(submissionRepository.findStaged(eq(NODE), any(Pageable.class))).thenReturn(List.of(submission));
+
+        uploader.drain();
+        verify(submissionRepository, never()).markStored(any());
+
+        when(storageService.exists(KEY)).thenReturn(true);
+        uploader.drain();
+        verify(submissionRepository).markStored(submission.getId());
+    }
+
+    @Test
+    @DisplayName("Should leave staged rows alone while their upload is still pending")
+    void keepsPendingRowsStaged() {
+        spool.stage(KEY, new byte[]{1}, "image/jpeg");
+        doThrow(new StorageException("UPLOAD", "throttled")).when(storageService).uploadTo(anyString(), any(), any());
+        when(submissionRepository.findStaged(eq(NODE), any(Pageable.class))).thenReturn(List.of(stagedSubmission()));
+
+        uploader.drain();
+
+        verify(submissionRepository, never()).markStored(any());
+    }
+
+    @Test
+    @DisplayName("Should upload a staged submission immediately on flush")
+    void flushUploadsNow() {
+        spool.stage(KEY, new byte[]{7}, "image/jpeg");
+        StudentSubmission submission = stagedSubmission();
+
+        uploader.flush(submission);
+
+        verify(storageService).uploadTo(KEY, new byte[]{7}, "image/jpeg");
+        assertThat(spool.contains(KEY)).isFalse();
+        assertThat(submission.getStorageTier()).isEqualTo(StorageTier.HOT);
+        assertThat(submission.getStagedBy()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should refuse to flush a submission still spooled on another node")
+    void flushRefusesForeignSpool() {
+        StudentSubmission submission = stagedSubmission("node-b");
+
+        assertThatThrownBy(() -> uploader.flush(submission)).isInstanceOf(StorageException.class);
+        verify(storageService, never()).uploadTo(anyString(), any(), any());
+        assertThat(submission.getStorageTier()).isEqualTo(StorageTier.STAGED);
+    }
+
+    @Test
+    @DisplayName("Should flush another node's submission once its images are in storage")
+    void flushAcceptsUploadedForeignSubmission() {
+        when(storageService.exists(KEY)).thenReturn(true);
+        StudentSubmission submission = stagedSubmission("node-b");
+
+        uploader.flush(submission);
+
+        assertThat(submission.getStorageTier()).isEqualTo(StorageTier.HOT);
+        verify(storageService, never()).uploadTo(anyString(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should propagate flush failures and keep the entry spooled")
+    void flushFailurePropagates() {
+        spool.stage(KEY, new byte[]{7}, "image/jpeg");
+        doThrow(new StorageException("UPLOAD", "down")).when(storageService).uploadTo(anyString(), any(), any());
+        StudentSubmission submission = stagedSubmission();
+
+        assertThatThrownBy(() -> uploader.flush(submission)).isInstanceOf(StorageException.class);
+        assertThat(spool.contains(KEY)).isTrue();
+        assertThat(submission.getStorageTier()).isEqualTo(StorageTier.STAGED);
+    }
+
+    @Test
+    @DisplayName("Should double the backoff per attempt up to the configured maximum")
+    void backoffIsCapped() {
+        assertThat(uploader.backoff(0)).isEqualTo(Duration.ofSeconds(1));
+        assertThat(uploader.backoff(3)).isEqualTo(Duration.ofSeconds(8));
+        assertThat(uploader.backoff(40)).isEqualTo(Duration.ofMinutes(5));
+    }
+}
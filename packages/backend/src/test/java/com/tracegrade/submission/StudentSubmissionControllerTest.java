@@ -3,10 +3,12 @@ package com.tracegrade.submission;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -350,4 +352,79 @@ class StudentSubmissionControllerTest {
                     .andExpect(status().isNotFound());
         }
     }
+
+    @Nested
+    @DisplayName("PUT /api/submissions/{submissionId}/image")
+    class ReplaceImageTests {
+
+        @Test
+        @DisplayName("Should return 200 with the new file URL")
+        void replacesImage() throws Exception {
+            UUID submissionId = UUID.randomUUID();
+            MockMultipartFile file = new MockMultipartFile("file", "retake.jpg", "image/jpeg", JPEG_BYTES);
+            when(uploadService.replaceImage(eq(submissionId), any()))
+                    .thenReturn(FileUploadResponse.builder()
+                            .submissionId(submissionId)
+                            .fileUrl("https://bucket/submissions/retake.jpg")
+                            .fileName("retake.jpg")
+                            .status(SubmissionStatus.PENDING.name())
+                            .build());
+
+            mockMvc.perform(multipart("/api/submissions/{id}/image", submissionId)
+                            .file(file)
+                            .with(request -> {
+                                request.setMethod("PUT");
+                                return request;
+                            })
+                            .with(csrf()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.fileUrl", is("https://bucket/submissions/retake.jpg")));
+        }
+
+        @Test
+        @DisplayName("Should return 409 when the submission has been graded")
+        void submissionAlreadyGraded() throws Exception {
+            UUID submissionId = UUID.randomUUID();
+            MockMultipartFile file = new MockMultipartFile("file", "retake.jpg", "image/jpeg", JPEG_BYTES);
+            when(uploadService.replaceImage(eq(submissionId), any()))
+                    .thenThrow(new SubmissionAlreadyGradedException(submissionId));
+
+            mockMvc.perform(multipart("/api/submissions/{id}/image", submissionId)
+                            .file(file)
+                            .with(request -> {
+                                request.setMethod("PUT");
+                                return request;
+                            })
+                            .with(csrf()))
+                    .andExpect(status().isConflict())
+                    .andExpect(jsonPath("$.error.code", is("SUBMISSION_GRADED")));
+        }
+    }
+
+    @Nested
+    @DisplayName("DELETE /api/submissions/{submissionId}")
+    class DeleteTests {
+
+        @Test
+        @DisplayName("Should return 204 when the submission is deleted")
+        void deletesSubmission() throws Exception {
+            UUID submissionId = UUID.randomUUID();
+
+            mockMvc.perform(delete("/api/submissions/{id}", submissionId).with(csrf()))
+                    .andExpect(status().isNoContent());
+
+            verify(uploadService).deleteSubmission(submissionId);
+        }
+
+        @Test
+        @DisplayName("Should return 404 when submission does not exist")
+        void submissionNotFound() throws Exception {
+            UUID submissionId = UUID.randomUUID();
+            doThrow(new ResourceNotFoundException("StudentSubmission", submissionId))
+                    .when(uploadService).deleteSubmission(submissionId);
+
+            mockMvc.perform(delete("/api/submissions/{id}", submissionId).with(csrf()))
+                    .andExpect(status().isNotFound());
+        }
+    }
 }
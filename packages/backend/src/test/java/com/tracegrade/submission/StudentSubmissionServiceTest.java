@@ -52,7 +52,7 @@ class StudentSubmissionServiceTest {
         @DisplayName("Should return status response when submission exists and has no grading result")
         void pendingSubmission() {
             StudentSubmission submission = buildSubmission(SubmissionStatus.PENDING, null);
-            when(submissionRepository.findById(SUBMISSION_ID)).thenReturn(Optional.of(submission));
+            when(submissionRepository.findWithGradingResultById(SUBMISSION_ID)).thenReturn(Optional.of(submission));
 
             SubmissionStatusResponse response = service.getSubmission(SUBMISSION_ID);
 
@@ -69,7 +69,7 @@ class StudentSubmissionServiceTest {
         void completedSubmissionWithGradingResult() {
             GradingResult gr = buildGradingResult();
             StudentSubmission submission = buildSubmission(SubmissionStatus.COMPLETED, gr);
-            when(submissionRepository.findById(SUBMISSION_ID)).thenReturn(Optional.of(submission));
+            when(submissionRepository.findWithGradingResultById(SUBMISSION_ID)).thenReturn(Optional.of(submission));
 
             SubmissionStatusResponse response = service.getSubmission(SUBMISSION_ID);
 
@@ -84,7 +84,7 @@ class StudentSubmissionServiceTest {
         @Test
         @DisplayName("Should throw ResourceNotFoundException when submission does not exist")
         void notFound() {
-            when(submissionRepository.findById(SUBMISSION_ID)).thenReturn(Optional.empty());
+            when(submissionRepository.findWithGradingResultById(SUBMISSION_ID)).thenReturn(Optional.empty());
 
             assertThatThrownBy(() -> service.getSubmission(SUBMISSION_ID))
                     .isInstanceOf(ResourceNotFoundException.class)
@@ -104,7 +104,7 @@ class StudentSubmissionServiceTest {
         @DisplayName("Should update status and return updated response")
         void updateToPROCESSING() {
             StudentSubmission submission = buildSubmission(SubmissionStatus.PENDING, null);
-            when(submissionRepository.findById(SUBMISSION_ID)).thenReturn(Optional.of(submission));
+            when(submissionRepository.findWithGradingResultById(SUBMISSION_ID)).thenReturn(Optional.of(submission));
 
             StudentSubmission updated = buildSubmission(SubmissionStatus.PROCESSING, null);
             when(submissionRepository.save(any(StudentSubmission.class))).thenReturn(updated);
@@ -119,7 +119,7 @@ class StudentSubmissionServiceTest {
         @DisplayName("Should update to COMPLETED and reflect grading result in response")
         void updateToCOMPLETED() {
             StudentSubmission submission = buildSubmission(SubmissionStatus.PROCESSING, null);
-            when(submissionRepository.findById(SUBMISSION_ID)).thenReturn(Optional.of(submission));
+            when(submissionRepository.findWithGradingResultById(SUBMISSION_ID)).thenReturn(Optional.of(submission));
 
             GradingResult gr = buildGradingResult();
             StudentSubmission completed = buildSubmission(SubmissionStatus.COMPLETED, gr);
@@ -134,7 +134,7 @@ class StudentSubmissionServiceTest {
         @Test
         @DisplayName("Should throw ResourceNotFoundException when submission does not exist")
         void notFound() {
-            when(submissionRepository.findById(SUBMISSION_ID)).thenReturn(Optional.empty());
+            when(submissionRepository.findWithGradingResultById(SUBMISSION_ID)).thenReturn(Optional.empty());
 
             assertThatThrownBy(() -> service.updateStatus(SUBMISSION_ID, SubmissionStatus.PROCESSING))
                     .isInstanceOf(ResourceNotFoundException.class)
@@ -0,0 +1,124 @@
+package com.tracegrade.submission;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import com.tracegrade.dashboard.SchoolGradingStatsService;
+import com.tracegrade.domain.model.StorageBlob;
+import com.tracegrade.domain.repository.StorageBlobRepository;
+import com.tracegrade.dto.response.FileUploadResponse;
+import com.tracegrade.gradebook.GradePostingService;
+import com.tracegrade.storage.ContentAddressedStorageService;
+import com.tracegrade.storage.StorageService;
+import com.tracegrade.storage.StorageType;
+
+/**
+ * Runs uploads, replacements and deletes against the real blob table to check
+ * that a shared blob becomes collectable exactly when its last submission lets go.
+ * Runs against the test profile's PostgreSQL-mode H2 database.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({SubmissionUploadService.class, ContentAddressedStorageService.class, JacksonAutoConfiguration.class})
+@TestPropertySource(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "storage.dedup.enabled=true"
+})
+class SubmissionBlobReleaseTest {
+
+    private static final String BASE_URL = "https://bucket/";
+
+    @Autowired
+    private SubmissionUploadService uploadService;
+
+    @Autowired
+    private ContentAddressedStorageService contentAddressedStorageService;
+
+    @Autowired
+    private StorageBlobRepository blobRepository;
+
+    @MockBean
+    private StorageService storageService;
+
+    @MockBean
+    private SchoolGradingStatsService schoolGradingStatsService;
+
+    @MockBean
+    private GradePostingService gradePostingService;
+
+    @BeforeEach
+    void setUp() {
+        when(storageService.uploadBlob(anyString(), any(), anyString()))
+                .thenAnswer(inv -> StorageType.blobKey(inv.getArgument(0)));
+        when(storageService.getPublicUrl(anyString())).thenAnswer(inv -> BASE_URL + inv.getArgument(0));
+        when(storageService.submissionImageKeys(any())).thenCallRealMethod();
+        when(storageService.resolveKey(anyString()))
+                .thenAnswer(inv -> inv.<String>getArgument(0).substring(BASE_URL.length()));
+    }
+
+    private FileUploadResponse upload(byte[] content) {
+        return uploadService.uploadSingle(UUID.randomUUID(), UUID.randomUUID(),
+                new MockMultipartFile("file", "exam.png", "image/png", content));
+    }
+
+    private boolean collectable(StorageBlob blob) {
+        return blobRepository.findUnreferencedIdsBefore(Instant.now().plusSeconds(60), PageRequest.of(0, 10))
+                .contains(blob.getId());
+    }
+
+    @Test
+    @DisplayName("Should make a shared blob collectable only after its last submission is deleted")
+    void blobCollectableAfterLastDelete() {
+        byte[] content = "same page".getBytes();
+        FileUploadResponse first = upload(content);
+        FileUploadResponse second = upload(content);
+        StorageBlob blob = blobRepository.findAll().get(0);
+        assertThat(blobRepository.findById(blob.getId()).orElseThrow().getRefCount()).isEqualTo(2);
+
+        uploadService.deleteSubmission(first.getSubmissionId());
+        assertThat(collectable(blob)).isFalse();
+
+        uploadService.deleteSubmission(second.getSubmissionId());
+        assertThat(collectable(blob)).isTrue();
+
+        assertThat(contentAddressedStorageService.collectIfUnreferenced(blob.getId(), Instant.now().plusSeconds(60)))
+                .isTrue();
+        verify(storageService).delete(blob.getStorageKey());
+        assertThat(blobRepository.findById(blob.getId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should make the replaced blob collectable once no submission points at it")
+    void replacedBlobCollectable() {
+        FileUploadResponse uploaded = upload("first scan".getBytes());
+        StorageBlob original = blobRepository.findAll().get(0);
+
+        uploadService.replaceImage(uploaded.getSubmissionId(),
+                new MockMultipartFile("file", "retake.png", "image/png", "second scan".getBytes()));
+
+        assertThat(collectable(original)).isTrue();
+        assertThat(blobRepository.findAll()).hasSize(2);
+    }
+}
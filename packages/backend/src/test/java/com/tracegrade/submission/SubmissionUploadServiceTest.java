@@ -4,35 +4,55 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.tracegrade.dashboard.SchoolGradingStatsService;
+import com.tracegrade.domain.model.GradingResult;
+import com.tracegrade.domain.model.StorageTier;
 import com.tracegrade.domain.model.StudentSubmission;
 import com.tracegrade.domain.model.SubmissionStatus;
+import com.tracegrade.domain.repository.GradingResultRepository;
 import com.tracegrade.domain.repository.StudentSubmissionRepository;
 import com.tracegrade.dto.response.BatchUploadResponse;
 import com.tracegrade.dto.response.FileUploadResponse;
 import com.tracegrade.exception.StorageException;
+import com.tracegrade.gradebook.GradePostingService;
+import com.tracegrade.storage.ContentAddressedStorageService;
 import com.tracegrade.storage.StorageService;
 import com.tracegrade.storage.StorageType;
+import com.tracegrade.storage.WriteBehindSpool;
 
 @SuppressWarnings("null") // Mockito thenReturn vs @NonNull JpaRepository.save() return type
 class SubmissionUploadServiceTest {
 
     private StorageService storageService;
     private StudentSubmissionRepository submissionRepository;
+    private GradingResultRepository gradingResultRepository;
+    private SchoolGradingStatsService schoolGradingStatsService;
+    private GradePostingService gradePostingService;
     private SubmissionUploadService service;
 
     private static final UUID ASSIGNMENT_ID = UUID.randomUUID();
@@ -44,7 +64,13 @@ class SubmissionUploadServiceTest {
     void setUp() {
         storageService = mock(StorageService.class);
         submissionRepository = mock(StudentSubmissionRepository.class);
-        service = new SubmissionUploadService(storageService, submissionRepository);
+        gradingResultRepository = mock(GradingResultRepository.class);
+        schoolGradingStatsService = mock(SchoolGradingStatsService.class);
+        gradePostingService = mock(GradePostingService.class);
+        service = new SubmissionUploadService(storageService, submissionRepository, gradingResultRepository,
+                schoolGradingStatsService, gradePostingService,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        when(storageService.submissionImageKeys(any())).thenCallRealMethod();
     }
 
     @Nested
@@ -134,6 +160,96 @@ class SubmissionUploadServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Deduplicated upload")
+    class DeduplicatedUploadTests {
+
+        @Test
+        @DisplayName("Should store through content-addressed storage and record the content hash")
+        void uploadUsesContentAddressedStorage() {
+            ContentAddressedStorageService casService = mock(ContentAddressedStorageService.class);
+            ReflectionTestUtils.setField(service, "contentAddressedStorageService", casService);
+            MockMultipartFile file = new MockMultipartFile(
+                    "file", "exam.jpg", "image/jpeg", "jpeg content".getBytes());
+            String blobKey = "blobs/sha256/ab/abcd";
+
+            when(casService.store("jpeg content".getBytes(), "image/jpeg"))
+                    .thenReturn(new ContentAddressedStorageService.StoredBlob(blobKey, "abcd", true));
+            when(storageService.getPublicUrl(blobKey)).thenReturn("https://bucket/" + blobKey);
+            when(submissionRepository.save(any())).thenReturn(buildSavedSubmission("https://bucket/" + blobKey, "jpg"));
+
+            FileUploadResponse response = service.uploadSingle(ASSIGNMENT_ID, STUDENT_ID, file);
+
+            assertThat(response.getFileUrl()).isEqualTo("https://bucket/" + blobKey);
+            verify(storageService, never()).upload(any(), any(), any(), any());
+            ArgumentCaptor<StudentSubmission> captor = ArgumentCaptor.forClass(StudentSubmission.class);
+            verify(submissionRepository).save(captor.capture());
+            assertThat(captor.getValue().getContentHash()).isEqualTo("abcd");
+        }
+    }
+
+    @Nested
+    @DisplayName("Write-behind upload")
+    class WriteBehindUploadTests {
+
+        private WriteBehindSpool spool;
+        private MockMultipartFile file;
+
+        @BeforeEach
+        void setUp() {
+            spool = mock(WriteBehindSpool.class);
+            ReflectionTestUtils.setField(service, "writeBehindSpool", spool);
+            file = new MockMultipartFile("file", "exam.jpg", "image/jpeg", "jpeg content".getBytes());
+            when(storageService.generateKey(StorageType.SUBMISSION_IMAGE, "exam.jpg")).thenReturn(STORAGE_KEY);
+            when(storageService.getPublicUrl(STORAGE_KEY)).thenReturn(FILE_URL);
+            when(spool.nodeId()).thenReturn("node-a");
+        }
+
+        @Test
+        @DisplayName("Should stage the file in the spool and save the submission as STAGED")
+        void stagesUpload() {
+            when(spool.stage(STORAGE_KEY, "jpeg content".getBytes(), "image/jpeg")).thenReturn(true);
+            when(submissionRepository.save(any())).thenReturn(buildSavedSubmission(FILE_URL, "jpg"));
+
+            FileUploadResponse response = service.uploadSingle(ASSIGNMENT_ID, STUDENT_ID, file);
+
+            assertThat(response.getFileUrl()).isEqualTo(FILE_URL);
+            verify(storageService, never()).uploadTo(any(), any(), any());
+            verify(storageService, never()).upload(any(), any(), any(), any());
+            ArgumentCaptor<StudentSubmission> captor = ArgumentCaptor.forClass(StudentSubmission.class);
+            verify(submissionRepository).save(captor.capture());
+            assertThat(captor.getValue().getStorageTier()).isEqualTo(StorageTier.STAGED);
+            assertThat(captor.getValue().getStagedBy()).isEqualTo("node-a");
+        }
+
+        @Test
+        @DisplayName("Should write through synchronously when the spool is full")
+        void writesThroughWhenSpoolFull() {
+            when(spool.stage(any(), any(), any())).thenReturn(false);
+            when(submissionRepository.save(any())).thenReturn(buildSavedSubmission(FILE_URL, "jpg"));
+
+            service.uploadSingle(ASSIGNMENT_ID, STUDENT_ID, file);
+
+            verify(storageService).uploadTo(STORAGE_KEY, "jpeg content".getBytes(), "image/jpeg");
+            ArgumentCaptor<StudentSubmission> captor = ArgumentCaptor.forClass(StudentSubmission.class);
+            verify(submissionRepository).save(captor.capture());
+            assertThat(captor.getValue().getStorageTier()).isEqualTo(StorageTier.HOT);
+            assertThat(captor.getValue().getStagedBy()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should discard the spool entry when the submission row cannot be saved")
+        void discardsEntryWhenSaveFails() {
+            when(spool.stage(any(), any(), any())).thenReturn(true);
+            when(submissionRepository.save(any())).thenThrow(new IllegalStateException("db down"));
+
+            assertThatThrownBy(() -> service.uploadSingle(ASSIGNMENT_ID, STUDENT_ID, file))
+                    .isInstanceOf(IllegalStateException.class);
+
+            verify(spool).remove(STORAGE_KEY);
+        }
+    }
+
     @Nested
     @DisplayName("Batch upload")
     class BatchUploadTests {
@@ -181,6 +297,123 @@ class SubmissionUploadServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Releasing files")
+    class ReleaseTests {
+
+        private static final String BLOB_KEY = "blobs/sha256/ab/abcd";
+        private static final String BLOB_URL = "https://bucket/" + BLOB_KEY;
+
+        private ContentAddressedStorageService casService;
+
+        @BeforeEach
+        void setUp() {
+            casService = mock(ContentAddressedStorageService.class);
+            ReflectionTestUtils.setField(service, "contentAddressedStorageService", casService);
+            when(storageService.resolveKey(BLOB_URL)).thenReturn(BLOB_KEY);
+            when(storageService.resolveKey(FILE_URL)).thenReturn(STORAGE_KEY);
+        }
+
+        private StudentSubmission existing(String url, String contentHash, StorageTier tier) {
+            StudentSubmission submission = buildSavedSubmission(url, "jpg");
+            submission.setContentHash(contentHash);
+            submission.setStorageTier(tier);
+            return submission;
+        }
+
+        @Test
+        @DisplayName("Should release the blob reference of a deleted deduplicated submission")
+        void deleteReleasesBlob() {
+            UUID id = UUID.randomUUID();
+            StudentSubmission submission = existing(BLOB_URL, "abcd", StorageTier.HOT);
+            when(submissionRepository.findById(id)).thenReturn(Optional.of(submission));
+
+            service.deleteSubmission(id);
+
+            verify(casService).release(BLOB_KEY);
+            verify(submissionRepository).delete(submission);
+            verify(storageService, never()).delete(any());
+        }
+
+        @Test
+        @DisplayName("Should delete the object of a deleted submission that owns it")
+        void deleteRemovesOwnedObject() {
+            UUID id = UUID.randomUUID();
+            when(submissionRepository.findById(id)).thenReturn(Optional.of(existing(FILE_URL, null, StorageTier.HOT)));
+
+            service.deleteSubmission(id);
+
+            verify(storageService).delete(STORAGE_KEY);
+            verify(casService, never()).release(any());
+        }
+
+        @Test
+        @DisplayName("Should leave shared cold copies of deduplicated blobs in place")
+        void deleteKeepsSharedColdCopy() {
+            UUID id = UUID.randomUUID();
+            when(submissionRepository.findById(id)).thenReturn(Optional.of(existing(BLOB_URL, "abcd", StorageTier.COLD)));
+
+            service.deleteSubmission(id);
+
+            verify(casService, never()).release(any());
+            verify(storageService, never()).delete(any());
+        }
+
+        @Test
+        @DisplayName("Should release the replaced blob and point the submission at the new one")
+        void replaceReleasesOldBlob() {
+            UUID id = UUID.randomUUID();
+            String newKey = "blobs/sha256/ef/ef01";
+            StudentSubmission submission = existing(BLOB_URL, "abcd", StorageTier.HOT);
+            when(submissionRepository.findById(id)).thenReturn(Optional.of(submission));
+            when(submissionRepository.findByIdForUpdate(id)).thenReturn(Optional.of(submission));
+            when(casService.store("new".getBytes(), "image/jpeg"))
+                    .thenReturn(new ContentAddressedStorageService.StoredBlob(newKey, "ef01", false));
+            when(storageService.getPublicUrl(newKey)).thenReturn("https://bucket/" + newKey);
+            when(submissionRepository.saveAndFlush(submission)).thenReturn(submission);
+
+            FileUploadResponse response = service.replaceImage(id,
+                    new MockMultipartFile("file", "retake.jpg", "image/jpeg", "new".getBytes()));
+
+            assertThat(response.getFileUrl()).isEqualTo("https://bucket/" + newKey);
+            verify(casService).release(BLOB_KEY);
+            assertThat(submission.getContentHash()).isEqualTo("ef01");
+            assertThat(submission.getSubmissionImageUrls()).contains(newKey);
+        }
+
+        @Test
+        @DisplayName("Should refuse to replace the image of a graded submission before storing anything")
+        void replaceRejectsGradedSubmission() {
+            UUID id = UUID.randomUUID();
+            StudentSubmission submission = existing(BLOB_URL, "abcd", StorageTier.HOT);
+            submission.setId(id);
+            when(submissionRepository.findById(id)).thenReturn(Optional.of(submission));
+            when(gradingResultRepository.existsBySubmissionId(id)).thenReturn(true);
+
+            assertThatThrownBy(() -> service.replaceImage(id,
+                    new MockMultipartFile("file", "retake.jpg", "image/jpeg", "new".getBytes())))
+                    .isInstanceOf(SubmissionAlreadyGradedException.class);
+
+            verify(casService, never()).store(any(), any());
+            verify(casService, never()).release(any());
+        }
+
+        @Test
+        @DisplayName("Should refuse to replace the image while the submission is being graded")
+        void replaceRejectsSubmissionInGrading() {
+            UUID id = UUID.randomUUID();
+            StudentSubmission submission = existing(BLOB_URL, "abcd", StorageTier.HOT);
+            submission.setStatus(SubmissionStatus.PROCESSING);
+            when(submissionRepository.findById(id)).thenReturn(Optional.of(submission));
+
+            assertThatThrownBy(() -> service.replaceImage(id,
+                    new MockMultipartFile("file", "retake.jpg", "image/jpeg", "new".getBytes())))
+                    .isInstanceOf(SubmissionAlreadyGradedException.class);
+
+            verify(casService, never()).store(any(), any());
+        }
+    }
+
     private StudentSubmission buildSavedSubmission(String fileUrl, String format) {
         return StudentSubmission.builder()
                 .assignmentId(ASSIGNMENT_ID)
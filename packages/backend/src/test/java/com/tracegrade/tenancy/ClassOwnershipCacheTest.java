@@ -0,0 +1,75 @@
+package com.tracegrade.tenancy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.tracegrade.domain.repository.ClassOwnership;
+import com.tracegrade.domain.repository.ClassRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ClassOwnershipCacheTest {
+
+    private final UUID classId = UUID.randomUUID();
+    private final ClassOwnership ownership = new ClassOwnership(classId, UUID.randomUUID(), UUID.randomUUID());
+    private final AtomicLong nanos = new AtomicLong();
+
+    private ClassRepository classRepository;
+    private ClassOwnershipCache cache;
+
+    @BeforeEach
+    void setUp() {
+        classRepository = mock(ClassRepository.class);
+        cache = new ClassOwnershipCache(classRepository, new TenancyProperties(), new SimpleMeterRegistry(), nanos::get);
+    }
+
+    @Test
+    @DisplayName("Should look a class up once and answer from memory until the TTL passes")
+    void cachesUntilTtl() {
+        when(classRepository.findOwnershipById(classId)).thenReturn(Optional.of(ownership));
+
+        assertThat(cache.find(classId)).contains(ownership);
+        assertThat(cache.find(classId)).contains(ownership);
+        verify(classRepository, times(1)).findOwnershipById(classId);
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(31));
+
+        assertThat(cache.find(classId)).contains(ownership);
+        verify(classRepository, times(2)).findOwnershipById(classId);
+    }
+
+    @Test
+    @DisplayName("Should not remember classes that do not exist")
+    void doesNotCacheMisses() {
+        when(classRepository.findOwnershipById(classId))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(ownership));
+
+        assertThat(cache.find(classId)).isEmpty();
+        assertThat(cache.find(classId)).contains(ownership);
+    }
+
+    @Test
+    @DisplayName("Should reload an evicted class")
+    void evict() {
+        when(classRepository.findOwnershipById(classId)).thenReturn(Optional.of(ownership));
+        cache.find(classId);
+
+        cache.evict(classId);
+        cache.find(classId);
+
+        verify(classRepository, times(2)).findOwnershipById(classId);
+    }
+}
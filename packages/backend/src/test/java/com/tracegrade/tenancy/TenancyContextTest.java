@@ -0,0 +1,63 @@
+package com.tracegrade.tenancy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.tracegrade.domain.repository.ClassOwnership;
+import com.tracegrade.exception.ResourceNotFoundException;
+
+@ExtendWith(MockitoExtension.class)
+class TenancyContextTest {
+
+    private final UUID schoolId = UUID.randomUUID();
+    private final UUID classId = UUID.randomUUID();
+    private final ClassOwnership ownership = new ClassOwnership(classId, schoolId, UUID.randomUUID());
+
+    @Mock
+    private ClassOwnershipCache classOwnershipCache;
+
+    @InjectMocks
+    private TenancyContext tenancyContext;
+
+    @Test
+    @DisplayName("Should resolve a class once per request")
+    void resolvesClassOnce() {
+        when(classOwnershipCache.find(classId)).thenReturn(Optional.of(ownership));
+
+        assertThat(tenancyContext.requireClass(schoolId, classId)).isEqualTo(ownership);
+        assertThat(tenancyContext.requireClass(schoolId, classId)).isEqualTo(ownership);
+
+        verify(classOwnershipCache, times(1)).find(classId);
+    }
+
+    @Test
+    @DisplayName("Should treat a class of another school as not found")
+    void rejectsOtherSchool() {
+        when(classOwnershipCache.find(classId)).thenReturn(Optional.of(ownership));
+
+        assertThatThrownBy(() -> tenancyContext.requireClass(UUID.randomUUID(), classId))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should report an unknown class as not found")
+    void rejectsUnknownClass() {
+        when(classOwnershipCache.find(classId)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> tenancyContext.requireClass(schoolId, classId))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+}
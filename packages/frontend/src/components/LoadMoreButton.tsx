@@ -0,0 +1,31 @@
+interface LoadMoreButtonProps {
+  onLoadMore: () => void
+  loading: boolean
+  failed: boolean
+  label?: string
+}
+
+/** Fetches the next page of a list; shown below the list while the server reports more rows. */
+export default function LoadMoreButton({ onLoadMore, loading, failed, label = 'Load more' }: LoadMoreButtonProps) {
+  return (
+    <div className="mt-6 flex flex-col items-center gap-2">
+      {failed && (
+        <p role="alert" className="font-body text-xs" style={{ color: 'var(--accent-crimson)' }}>
+          Couldn&apos;t load more. Try again.
+        </p>
+      )}
+      <button
+        type="button"
+        onClick={onLoadMore}
+        disabled={loading}
+        className="inline-flex items-center rounded-lg border px-4 py-2 font-display text-xs font-semibold transition-opacity hover:opacity-90 focus-visible:outline-none focus-visible:ring-2 focus-visible:ring-[var(--accent-gold)] focus-visible:ring-offset-2 focus-visible:ring-offset-[var(--bg-base)] active:scale-95 disabled:opacity-60"
+        style={{
+          borderColor: 'var(--accent-gold)',
+          color: 'var(--accent-gold)',
+        }}
+      >
+        {loading ? 'Loading…' : label}
+      </button>
+    </div>
+  )
+}
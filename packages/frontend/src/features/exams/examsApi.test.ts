@@ -63,9 +63,9 @@ describe('examsApi', () => {
       },
     })
 
-    const templates = await fetchExamTemplates()
+    const { items: templates } = await fetchExamTemplates()
 
-    expect(mockedGet).toHaveBeenCalledWith('/exam-templates')
+    expect(mockedGet).toHaveBeenCalledWith('/exam-templates', { params: { limit: 50 } })
     expect(templates).toEqual([
       {
         id: 'exam-a',
@@ -77,4 +77,28 @@ describe('examsApi', () => {
       },
     ])
   })
-})
\ No newline at end of file
+
+  it('fetches one page and returns the cursor of the next', async () => {
+    mockedGet.mockResolvedValueOnce({
+      data: { success: true, data: { items: [{ id: 'exam-new', title: 'Newest' }], nextCursor: 'next' } },
+    })
+
+    const page = await fetchExamTemplates()
+
+    expect(page.items.map((template) => template.id)).toEqual(['exam-new'])
+    expect(page.nextCursor).toBe('next')
+    expect(mockedGet).toHaveBeenCalledTimes(1)
+  })
+
+  it('fetches the page after a cursor', async () => {
+    mockedGet.mockResolvedValueOnce({
+      data: { success: true, data: { items: [{ id: 'exam-old', title: 'Oldest' }], nextCursor: null } },
+    })
+
+    const page = await fetchExamTemplates('next')
+
+    expect(page.items.map((template) => template.id)).toEqual(['exam-old'])
+    expect(page.nextCursor).toBeNull()
+    expect(mockedGet).toHaveBeenCalledWith('/exam-templates', { params: { limit: 50, cursor: 'next' } })
+  })
+})
@@ -1,5 +1,5 @@
-import api from '../../lib/api'
-import type { ApiResponse } from '../../lib/apiTypes'
+import type { CursorPage } from '../../lib/apiTypes'
+import { fetchPage } from '../../lib/pagination'
 import type { ExamTemplateListItem, RawExamTemplate } from './examsTypes'
 
 const EXAM_TEMPLATES_ENDPOINT = '/exam-templates'
@@ -120,13 +120,15 @@ export function toExamTemplateListItem(raw: unknown): ExamTemplateListItem | nul
   }
 }
 
-export async function fetchExamTemplates(): Promise<ExamTemplateListItem[]> {
-  const response = await api.get<ApiResponse<unknown> | unknown>(EXAM_TEMPLATES_ENDPOINT)
-  const rawTemplates = extractTemplateList(response.data)
+export async function fetchExamTemplates(cursor?: string | null): Promise<CursorPage<ExamTemplateListItem>> {
+  const page = await fetchPage(EXAM_TEMPLATES_ENDPOINT, extractTemplateList, cursor)
 
-  return rawTemplates
-    .map((rawTemplate) => toExamTemplateListItem(rawTemplate))
-    .filter((item): item is ExamTemplateListItem => item !== null)
+  return {
+    items: page.items
+      .map((rawTemplate) => toExamTemplateListItem(rawTemplate))
+      .filter((item): item is ExamTemplateListItem => item !== null),
+    nextCursor: page.nextCursor,
+  }
 }
 
 export function isExamTemplateListEmpty(items: ExamTemplateListItem[]): boolean {
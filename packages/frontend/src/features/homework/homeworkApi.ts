@@ -1,5 +1,7 @@
 import axios from 'axios'
 import api from '../../lib/api'
+import type { CursorPage } from '../../lib/apiTypes'
+import { fetchPage } from '../../lib/pagination'
 import type { HomeworkListItem, RawHomeworkItem } from './homeworkTypes'
 
 const DEFAULT_TITLE = 'Untitled Homework'
@@ -92,13 +94,15 @@ function resolveHomeworkEndpoint(): string {
   return `/schools/${encodedSchoolId}/homework`
 }
 
-export async function fetchHomeworkItems(): Promise<HomeworkListItem[]> {
+export async function fetchHomeworkItems(cursor?: string | null): Promise<CursorPage<HomeworkListItem>> {
   const endpoint = resolveHomeworkEndpoint()
-  const response = await api.get<unknown>(endpoint)
-  const rawItems = extractHomeworkList(response.data)
-  return rawItems
-    .map((raw) => toHomeworkListItem(raw))
-    .filter((item): item is HomeworkListItem => item !== null)
+  const page = await fetchPage(endpoint, extractHomeworkList, cursor)
+  return {
+    items: page.items
+      .map((raw) => toHomeworkListItem(raw))
+      .filter((item): item is HomeworkListItem => item !== null),
+    nextCursor: page.nextCursor,
+  }
 }
 
 export async function createHomework(payload: CreateHomeworkPayload): Promise<HomeworkListItem> {
@@ -1,4 +1,6 @@
 import api from '../../lib/api'
+import type { CursorPage } from '../../lib/apiTypes'
+import { fetchPage } from '../../lib/pagination'
 import type { ApiResponse } from '../submissions/submissionApi'
 import type { GradingResultResponse } from '../grading/gradingApi'
 
@@ -9,10 +11,13 @@ export interface GradingReviewRequest {
   questionScores?: string
 }
 
-export function fetchPendingReviews(): Promise<GradingResultResponse[]> {
-  return api
-    .get<ApiResponse<GradingResultResponse[]>>('/grading/reviews/pending')
-    .then((r) => r.data.data)
+/** One page of results awaiting review, oldest first; pass `nextCursor` for the following page. */
+export function fetchPendingReviews(cursor?: string | null): Promise<CursorPage<GradingResultResponse>> {
+  return fetchPage(
+    '/grading/reviews/pending',
+    (payload) => (payload as ApiResponse<CursorPage<GradingResultResponse>>).data.items,
+    cursor,
+  )
 }
 
 export function submitReview(
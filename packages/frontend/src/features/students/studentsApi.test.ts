@@ -31,7 +31,35 @@ describe('studentsApi', () => {
     it('should use the shared api client to fetch scoped students', async () => {
       vi.mocked(api.get).mockResolvedValueOnce({ data: [] })
       await fetchStudents()
-      expect(api.get).toHaveBeenCalledWith(`/schools/${encodeURIComponent(VALID_SCHOOL_ID)}/students`)
+      expect(api.get).toHaveBeenCalledWith(`/schools/${encodeURIComponent(VALID_SCHOOL_ID)}/students`, {
+        params: { limit: 50 },
+      })
+    })
+
+    it('should fetch a single page and return its nextCursor', async () => {
+      vi.mocked(api.get).mockResolvedValueOnce({
+        data: { success: true, data: { items: [{ id: '1', fullName: 'First Page' }], nextCursor: 'cursor-1' } },
+      })
+
+      const result = await fetchStudents()
+
+      expect(result.items.map((student) => student.id)).toEqual(['1'])
+      expect(result.nextCursor).toBe('cursor-1')
+      expect(api.get).toHaveBeenCalledTimes(1)
+    })
+
+    it('should request the page after the given cursor', async () => {
+      vi.mocked(api.get).mockResolvedValueOnce({
+        data: { success: true, data: { items: [{ id: '2', fullName: 'Last Page' }], nextCursor: null } },
+      })
+
+      const result = await fetchStudents('cursor-1')
+
+      expect(result.items.map((student) => student.id)).toEqual(['2'])
+      expect(result.nextCursor).toBeNull()
+      expect(api.get).toHaveBeenCalledWith(`/schools/${encodeURIComponent(VALID_SCHOOL_ID)}/students`, {
+        params: { limit: 50, cursor: 'cursor-1' },
+      })
     })
 
     it('should fail closed when VITE_SCHOOL_ID is missing', async () => {
@@ -59,7 +87,7 @@ describe('studentsApi', () => {
       ]
       vi.mocked(api.get).mockResolvedValueOnce({ data: mockData })
 
-      const result = await fetchStudents()
+      const { items: result } = await fetchStudents()
 
       expect(result).toHaveLength(2)
       expect(result[0]).toEqual({
@@ -93,7 +121,7 @@ describe('studentsApi', () => {
       ]
       vi.mocked(api.get).mockResolvedValueOnce({ data: mockData })
 
-      const result = await fetchStudents()
+      const { items: result } = await fetchStudents()
 
       expect(result).toHaveLength(1)
       expect(result[0].id).toBe('3')
@@ -105,7 +133,7 @@ describe('studentsApi', () => {
       ]
       vi.mocked(api.get).mockResolvedValueOnce({ data: mockData })
 
-      const result = await fetchStudents()
+      const { items: result } = await fetchStudents()
 
       expect(result).toHaveLength(1)
       expect(result[0]).toEqual({
@@ -129,7 +157,7 @@ describe('studentsApi', () => {
       }
       vi.mocked(api.get).mockResolvedValueOnce({ data: mockData })
 
-      const result = await fetchStudents()
+      const { items: result } = await fetchStudents()
 
       expect(result).toHaveLength(1)
       expect(result[0].id).toBe('5')
@@ -138,11 +166,11 @@ describe('studentsApi', () => {
     it('should handle non-array payloads gracefully', async () => {
       vi.mocked(api.get).mockResolvedValueOnce({ data: null })
       const result1 = await fetchStudents()
-      expect(result1).toEqual([])
+      expect(result1).toEqual({ items: [], nextCursor: null })
 
       vi.mocked(api.get).mockResolvedValueOnce({ data: 'string payload' })
       const result2 = await fetchStudents()
-      expect(result2).toEqual([])
+      expect(result2).toEqual({ items: [], nextCursor: null })
     })
   })
 
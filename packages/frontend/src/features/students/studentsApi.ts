@@ -1,5 +1,6 @@
 import api from '../../lib/api'
-import type { ApiResponse } from '../../lib/apiTypes'
+import type { ApiResponse, CursorPage } from '../../lib/apiTypes'
+import { fetchPage } from '../../lib/pagination'
 import type { RawStudent, StudentListItem } from './studentsTypes'
 
 const UUID_PATTERN = /^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f][0-9a-f]{3}-[89ab][0-9a-f]{3}-[0-9a-f]{12}$/i
@@ -217,14 +218,16 @@ function resolveStudentsEndpoint(): string {
   return `/schools/${encodedSchoolId}/students`
 }
 
-export async function fetchStudents(): Promise<StudentListItem[]> {
+export async function fetchStudents(cursor?: string | null): Promise<CursorPage<StudentListItem>> {
   const endpoint = resolveStudentsEndpoint()
-  const response = await api.get<ApiResponse<unknown> | unknown>(endpoint)
-  const rawStudents = extractStudentList(response.data)
+  const page = await fetchPage(endpoint, extractStudentList, cursor)
 
-  return rawStudents
-    .map((rawStudent) => toStudentListItem(rawStudent))
-    .filter((item): item is StudentListItem => item !== null)
+  return {
+    items: page.items
+      .map((rawStudent) => toStudentListItem(rawStudent))
+      .filter((item): item is StudentListItem => item !== null),
+    nextCursor: page.nextCursor,
+  }
 }
 
 export interface CreateStudentPayload {
@@ -3,3 +3,9 @@ export interface ApiResponse<T> {
   data: T
   message?: string
 }
+
+/** One page of a cursor-paginated list; `nextCursor` is null on the last page. */
+export interface CursorPage<T> {
+  items: T[]
+  nextCursor: string | null
+}
@@ -0,0 +1,39 @@
+import api from './api'
+import type { CursorPage } from './apiTypes'
+
+/** Rows requested per page; lists show one page and fetch the next on request. */
+export const PAGE_LIMIT = 50
+
+function isRecord(value: unknown): value is Record<string, unknown> {
+  return typeof value === 'object' && value !== null
+}
+
+/** The `nextCursor` of a page payload, with or without the ApiResponse wrapper. */
+export function readNextCursor(payload: unknown): string | null {
+  if (!isRecord(payload)) {
+    return null
+  }
+
+  const page = isRecord(payload.data) ? payload.data : payload
+  const cursor = page.nextCursor
+  return typeof cursor === 'string' && cursor.length > 0 ? cursor : null
+}
+
+/**
+ * Fetches one page of a cursor-paginated list endpoint: the first page, or the
+ * page after `cursor`. `extractItems` reads the items out of the page's
+ * payload; the returned `nextCursor` is null on the last page.
+ */
+export async function fetchPage<T>(
+  endpoint: string,
+  extractItems: (payload: unknown) => T[],
+  cursor?: string | null,
+): Promise<CursorPage<T>> {
+  const params: Record<string, string | number> = cursor ? { limit: PAGE_LIMIT, cursor } : { limit: PAGE_LIMIT }
+  const response = await api.get<unknown>(endpoint, { params })
+
+  return {
+    items: extractItems(response.data),
+    nextCursor: readNextCursor(response.data),
+  }
+}
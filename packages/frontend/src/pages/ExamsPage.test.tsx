@@ -50,7 +50,7 @@ describe('ExamsPage', () => {
   })
 
   it('renders empty state when no templates are returned', async () => {
-    fetchExamTemplatesMock.mockResolvedValueOnce([])
+    fetchExamTemplatesMock.mockResolvedValueOnce({ items: [], nextCursor: null })
 
     render(
       <MemoryRouter>
@@ -63,15 +63,18 @@ describe('ExamsPage', () => {
   })
 
   it('renders populated list and supports per-item manage action', async () => {
-    fetchExamTemplatesMock.mockResolvedValueOnce([
-      {
-        id: 'exam-42',
-        title: 'Algebra Final',
-        questionCount: 20,
-        totalPoints: 100,
-        statusLabel: 'Published',
-      },
-    ])
+    fetchExamTemplatesMock.mockResolvedValueOnce({
+      items: [
+        {
+          id: 'exam-42',
+          title: 'Algebra Final',
+          questionCount: 20,
+          totalPoints: 100,
+          statusLabel: 'Published',
+        },
+      ],
+      nextCursor: null,
+    })
 
     window.history.pushState({}, '', '/exams')
     render(<App />)
@@ -88,7 +91,7 @@ describe('ExamsPage', () => {
   })
 
   it('navigates to /paper-exams when Create Exam is clicked', async () => {
-    fetchExamTemplatesMock.mockResolvedValueOnce([])
+    fetchExamTemplatesMock.mockResolvedValueOnce({ items: [], nextCursor: null })
 
     window.history.pushState({}, '', '/exams')
     render(<App />)
@@ -114,7 +117,7 @@ describe('App routing non-regression', () => {
   })
 
   it('renders Exams page on /exams route', async () => {
-    fetchExamTemplatesMock.mockResolvedValueOnce([])
+    fetchExamTemplatesMock.mockResolvedValueOnce({ items: [], nextCursor: null })
 
     window.history.pushState({}, '', '/exams')
     render(<App />)
@@ -123,7 +126,7 @@ describe('App routing non-regression', () => {
   })
 
   it('still renders Paper Exams page on /paper-exams route', async () => {
-    fetchExamTemplatesMock.mockResolvedValue([])
+    fetchExamTemplatesMock.mockResolvedValue({ items: [], nextCursor: null })
 
     window.history.pushState({}, '', '/paper-exams')
     render(<App />)
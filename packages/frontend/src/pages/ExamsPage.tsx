@@ -1,5 +1,6 @@
 import { useCallback, useEffect, useRef, useState } from 'react'
 import { useNavigate } from 'react-router-dom'
+import LoadMoreButton from '../components/LoadMoreButton'
 import ExamsList from '../features/exams/ExamsList'
 import { EmptyExamsState, ErrorExamsState, LoadingExamsState } from '../features/exams/ExamsStates'
 import { fetchExamTemplates, isExamTemplateListEmpty } from '../features/exams/examsApi'
@@ -11,20 +12,26 @@ export default function ExamsPage() {
   const navigate = useNavigate()
   const [loadState, setLoadState] = useState<LoadState>('loading')
   const [items, setItems] = useState<ExamTemplateListItem[]>([])
+  const [nextCursor, setNextCursor] = useState<string | null>(null)
+  const [loadingMore, setLoadingMore] = useState(false)
+  const [loadMoreFailed, setLoadMoreFailed] = useState(false)
   const latestRequestIdRef = useRef(0)
   const isMountedRef = useRef(true)
 
   const loadTemplates = useCallback(async () => {
     const requestId = ++latestRequestIdRef.current
     setLoadState('loading')
+    setLoadingMore(false)
+    setLoadMoreFailed(false)
 
     try {
-      const templates = await fetchExamTemplates()
+      const page = await fetchExamTemplates()
       if (!isMountedRef.current || requestId !== latestRequestIdRef.current) {
         return
       }
 
-      setItems(templates)
+      setItems(page.items)
+      setNextCursor(page.nextCursor)
       setLoadState('done')
     } catch {
       if (!isMountedRef.current || requestId !== latestRequestIdRef.current) {
@@ -35,6 +42,34 @@ export default function ExamsPage() {
     }
   }, [])
 
+  const loadMore = useCallback(async () => {
+    if (!nextCursor) {
+      return
+    }
+
+    const requestId = latestRequestIdRef.current
+    setLoadingMore(true)
+    setLoadMoreFailed(false)
+
+    try {
+      const page = await fetchExamTemplates(nextCursor)
+      if (!isMountedRef.current || requestId !== latestRequestIdRef.current) {
+        return
+      }
+
+      setItems((previousItems) => [...previousItems, ...page.items])
+      setNextCursor(page.nextCursor)
+      setLoadingMore(false)
+    } catch {
+      if (!isMountedRef.current || requestId !== latestRequestIdRef.current) {
+        return
+      }
+
+      setLoadMoreFailed(true)
+      setLoadingMore(false)
+    }
+  }, [nextCursor])
+
   useEffect(() => {
     isMountedRef.current = true
     void loadTemplates()
@@ -86,6 +121,15 @@ export default function ExamsPage() {
       {loadState === 'done' && !isExamTemplateListEmpty(items) && (
         <ExamsList items={items} onOpenExam={handleOpenExam} />
       )}
+
+      {loadState === 'done' && nextCursor && (
+        <LoadMoreButton
+          onLoadMore={() => void loadMore()}
+          loading={loadingMore}
+          failed={loadMoreFailed}
+          label="Load more exams"
+        />
+      )}
     </main>
   )
 }
\ No newline at end of file
@@ -1,4 +1,5 @@
 import { useCallback, useEffect, useRef, useState } from 'react'
+import LoadMoreButton from '../components/LoadMoreButton'
 import CreateHomeworkModal from '../features/homework/CreateHomeworkModal'
 import HomeworkList from '../features/homework/HomeworkList'
 import {
@@ -18,6 +19,9 @@ type LoadState = 'loading' | 'error' | 'done'
 export default function HomeworkPage() {
   const [loadState, setLoadState] = useState<LoadState>('loading')
   const [items, setItems] = useState<HomeworkListItem[]>([])
+  const [nextCursor, setNextCursor] = useState<string | null>(null)
+  const [loadingMore, setLoadingMore] = useState(false)
+  const [loadMoreFailed, setLoadMoreFailed] = useState(false)
   const [errorMessage, setErrorMessage] = useState('There was a problem connecting to the server.')
   const [canRetry, setCanRetry] = useState(true)
   const [showCreateModal, setShowCreateModal] = useState(false)
@@ -27,14 +31,17 @@ export default function HomeworkPage() {
   const loadHomework = useCallback(async () => {
     const requestId = ++latestRequestIdRef.current
     setLoadState('loading')
+    setLoadingMore(false)
+    setLoadMoreFailed(false)
 
     try {
-      const homeworkItems = await fetchHomeworkItems()
+      const page = await fetchHomeworkItems()
       if (!isMountedRef.current || requestId !== latestRequestIdRef.current) {
         return
       }
 
-      setItems(homeworkItems)
+      setItems(page.items)
+      setNextCursor(page.nextCursor)
       setErrorMessage('There was a problem connecting to the server.')
       setCanRetry(true)
       setLoadState('done')
@@ -50,6 +57,34 @@ export default function HomeworkPage() {
     }
   }, [])
 
+  const loadMore = useCallback(async () => {
+    if (!nextCursor) {
+      return
+    }
+
+    const requestId = latestRequestIdRef.current
+    setLoadingMore(true)
+    setLoadMoreFailed(false)
+
+    try {
+      const page = await fetchHomeworkItems(nextCursor)
+      if (!isMountedRef.current || requestId !== latestRequestIdRef.current) {
+        return
+      }
+
+      setItems((previousItems) => [...previousItems, ...page.items])
+      setNextCursor(page.nextCursor)
+      setLoadingMore(false)
+    } catch {
+      if (!isMountedRef.current || requestId !== latestRequestIdRef.current) {
+        return
+      }
+
+      setLoadMoreFailed(true)
+      setLoadingMore(false)
+    }
+  }, [nextCursor])
+
   useEffect(() => {
     isMountedRef.current = true
     void loadHomework()
@@ -96,6 +131,15 @@ export default function HomeworkPage() {
 
       {loadState === 'done' && !isHomeworkListEmpty(items) && <HomeworkList items={items} />}
 
+      {loadState === 'done' && nextCursor && (
+        <LoadMoreButton
+          onLoadMore={() => void loadMore()}
+          loading={loadingMore}
+          failed={loadMoreFailed}
+          label="Load more homework"
+        />
+      )}
+
       {showCreateModal && (
         <CreateHomeworkModal
           onClose={() => setShowCreateModal(false)}
@@ -1,6 +1,7 @@
-import { cleanup, render, screen } from '@testing-library/react'
+import { cleanup, fireEvent, render, screen } from '@testing-library/react'
 import { MemoryRouter } from 'react-router-dom'
 import { afterEach, beforeEach, describe, expect, it, vi } from 'vitest'
+import type { GradingResultResponse } from '../features/grading/gradingApi'
 import { fetchPendingReviews } from '../features/review/reviewApi'
 import { getTeacherThreshold } from '../features/settings/settingsApi'
 import ManualReviewQueuePage from './ManualReviewQueuePage'
@@ -30,7 +31,7 @@ describe('ManualReviewQueuePage threshold messaging', () => {
   })
 
   it('renders dynamic threshold percent copy when teacher threshold is available', async () => {
-    fetchPendingReviewsMock.mockResolvedValueOnce([])
+    fetchPendingReviewsMock.mockResolvedValueOnce({ items: [], nextCursor: null })
     getTeacherThresholdMock.mockResolvedValueOnce({
       effectiveThreshold: 0.875,
       source: 'teacher_override',
@@ -48,7 +49,7 @@ describe('ManualReviewQueuePage threshold messaging', () => {
   })
 
   it('falls back to generic threshold copy and keeps settings link when threshold lookup fails', async () => {
-    fetchPendingReviewsMock.mockResolvedValueOnce([])
+    fetchPendingReviewsMock.mockResolvedValueOnce({ items: [], nextCursor: null })
     getTeacherThresholdMock.mockRejectedValueOnce(new Error('threshold lookup failed'))
 
     render(
@@ -61,4 +62,34 @@ describe('ManualReviewQueuePage threshold messaging', () => {
     const settingsLink = screen.getByRole('link', { name: 'Adjust this in Settings.' })
     expect(settingsLink).toHaveAttribute('href', '/settings')
   })
-})
\ No newline at end of file
+})
+
+describe('ManualReviewQueuePage paging', () => {
+  beforeEach(() => {
+    vi.clearAllMocks()
+    getTeacherThresholdMock.mockRejectedValue(new Error('threshold lookup failed'))
+  })
+
+  afterEach(() => {
+    cleanup()
+  })
+
+  it('shows one page of the queue and appends the next page on Load more', async () => {
+    fetchPendingReviewsMock
+      .mockResolvedValueOnce({ items: [{ gradeId: 'grade-1' } as GradingResultResponse], nextCursor: 'cursor-1' })
+      .mockResolvedValueOnce({ items: [{ gradeId: 'grade-2' } as GradingResultResponse], nextCursor: null })
+
+    render(
+      <MemoryRouter>
+        <ManualReviewQueuePage />
+      </MemoryRouter>,
+    )
+
+    expect(await screen.findByText('1+ pending')).toBeInTheDocument()
+    fireEvent.click(screen.getByRole('button', { name: 'Load more submissions' }))
+
+    expect(await screen.findByText('2 pending')).toBeInTheDocument()
+    expect(fetchPendingReviewsMock).toHaveBeenLastCalledWith('cursor-1')
+    expect(screen.queryByRole('button', { name: 'Load more submissions' })).not.toBeInTheDocument()
+  })
+})
@@ -1,5 +1,6 @@
 import { useEffect, useState } from 'react'
 import { Link } from 'react-router-dom'
+import LoadMoreButton from '../components/LoadMoreButton'
 import type { GradingResultResponse } from '../features/grading/gradingApi'
 import { getTeacherThreshold } from '../features/settings/settingsApi'
 import { fetchPendingReviews } from '../features/review/reviewApi'
@@ -19,13 +20,17 @@ function formatThresholdPercent(threshold: number): string {
 export default function ManualReviewQueuePage() {
   const [loadState, setLoadState] = useState<LoadState>('loading')
   const [items, setItems] = useState<GradingResultResponse[]>([])
+  const [nextCursor, setNextCursor] = useState<string | null>(null)
+  const [loadingMore, setLoadingMore] = useState(false)
+  const [loadMoreFailed, setLoadMoreFailed] = useState(false)
   const [reviewedIds, setReviewedIds] = useState<Set<string>>(new Set())
   const [thresholdLabel, setThresholdLabel] = useState<string | null>(null)
 
   useEffect(() => {
     fetchPendingReviews()
-      .then((data) => {
-        setItems(data)
+      .then((page) => {
+        setItems(page.items)
+        setNextCursor(page.nextCursor)
         setLoadState('done')
       })
       .catch(() => setLoadState('error'))
@@ -55,6 +60,22 @@ export default function ManualReviewQueuePage() {
     }
   }, [])
 
+  function loadMore() {
+    if (!nextCursor) {
+      return
+    }
+
+    setLoadingMore(true)
+    setLoadMoreFailed(false)
+    fetchPendingReviews(nextCursor)
+      .then((page) => {
+        setItems((prev) => [...prev, ...page.items])
+        setNextCursor(page.nextCursor)
+      })
+      .catch(() => setLoadMoreFailed(true))
+      .finally(() => setLoadingMore(false))
+  }
+
   function handleReviewed(updated: GradingResultResponse) {
     const id = String(updated.gradeId)
     setReviewedIds((prev) => new Set([...prev, id]))
@@ -62,6 +83,8 @@ export default function ManualReviewQueuePage() {
   }
 
   const pendingCount = items.filter((item) => !reviewedIds.has(String(item.gradeId))).length
+  // Only loaded pages are counted, so the count is a lower bound while more remain
+  const pendingLabel = nextCursor ? `${pendingCount}+` : String(pendingCount)
 
   return (
     <div style={{ padding: '40px', maxWidth: '1100px' }}>
@@ -83,7 +106,7 @@ export default function ManualReviewQueuePage() {
           <div>
             <h1 className="font-display" style={{ fontSize: '28px', fontWeight: 800, color: 'var(--text-primary)', marginBottom: '6px' }}>
               Manual Review Queue
-              {loadState === 'done' && pendingCount > 0 && (
+              {loadState === 'done' && (pendingCount > 0 || nextCursor) && (
                 <span
                   className="font-mono pulse-soft"
                   style={{
@@ -98,7 +121,7 @@ export default function ManualReviewQueuePage() {
                     verticalAlign: 'middle',
                   }}
                 >
-                  {pendingCount} pending
+                  {pendingLabel} pending
                 </span>
               )}
             </h1>
@@ -126,7 +149,7 @@ export default function ManualReviewQueuePage() {
           <span style={{ color: 'var(--accent-gold)', fontSize: '18px' }}>⚑</span>
           <div className="flex-1">
             <p className="font-display font-semibold text-sm" style={{ color: 'var(--text-primary)' }}>
-              {pendingCount} submission{pendingCount !== 1 ? 's' : ''} need your review
+              {pendingLabel} submission{pendingCount !== 1 || nextCursor ? 's' : ''} need your review
             </p>
             <p className="font-body text-xs mt-0.5" style={{ color: 'var(--text-secondary)' }}>
               AI graded these but flagged them due to low confidence. Your approval finalises the grade.
@@ -220,6 +243,15 @@ export default function ManualReviewQueuePage() {
           ))}
         </ol>
       )}
+
+      {loadState === 'done' && nextCursor && (
+        <LoadMoreButton
+          onLoadMore={loadMore}
+          loading={loadingMore}
+          failed={loadMoreFailed}
+          label="Load more submissions"
+        />
+      )}
     </div>
   )
 }
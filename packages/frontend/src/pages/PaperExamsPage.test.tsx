@@ -53,26 +53,32 @@ describe('PaperExamsPage', () => {
   })
 
   it('renders exam templates and student dropdown from APIs without demo data', async () => {
-    fetchExamTemplatesMock.mockResolvedValueOnce([
-      {
-        id: 'template-1',
-        assignmentId: 'assignment-42',
-        title: 'Algebra Midterm',
-        questionCount: 12,
-        totalPoints: 60,
-        statusLabel: 'Published',
-      },
-    ])
-    fetchStudentsMock.mockResolvedValueOnce([
-      {
-        id: 'student-1',
-        fullName: 'Alice Smith',
-      },
-      {
-        id: 'student-2',
-        fullName: 'Jordan Lee',
-      },
-    ])
+    fetchExamTemplatesMock.mockResolvedValueOnce({
+      items: [
+        {
+          id: 'template-1',
+          assignmentId: 'assignment-42',
+          title: 'Algebra Midterm',
+          questionCount: 12,
+          totalPoints: 60,
+          statusLabel: 'Published',
+        },
+      ],
+      nextCursor: null,
+    })
+    fetchStudentsMock.mockResolvedValueOnce({
+      items: [
+        {
+          id: 'student-1',
+          fullName: 'Alice Smith',
+        },
+        {
+          id: 'student-2',
+          fullName: 'Jordan Lee',
+        },
+      ],
+      nextCursor: null,
+    })
 
     render(
       <MemoryRouter>
@@ -96,22 +102,28 @@ describe('PaperExamsPage', () => {
   })
 
   it('passes template-derived assignmentId to file upload instead of nil uuid', async () => {
-    fetchExamTemplatesMock.mockResolvedValueOnce([
-      {
-        id: 'template-9',
-        assignmentId: 'assignment-real-9',
-        title: 'Physics Quiz',
-        questionCount: 5,
-        totalPoints: 25,
-        statusLabel: 'Draft',
-      },
-    ])
-    fetchStudentsMock.mockResolvedValueOnce([
-      {
-        id: 'student-9',
-        fullName: 'Mia Torres',
-      },
-    ])
+    fetchExamTemplatesMock.mockResolvedValueOnce({
+      items: [
+        {
+          id: 'template-9',
+          assignmentId: 'assignment-real-9',
+          title: 'Physics Quiz',
+          questionCount: 5,
+          totalPoints: 25,
+          statusLabel: 'Draft',
+        },
+      ],
+      nextCursor: null,
+    })
+    fetchStudentsMock.mockResolvedValueOnce({
+      items: [
+        {
+          id: 'student-9',
+          fullName: 'Mia Torres',
+        },
+      ],
+      nextCursor: null,
+    })
 
     render(
       <MemoryRouter>
@@ -130,8 +142,8 @@ describe('PaperExamsPage', () => {
   })
 
   it('renders exam and student empty-state guidance links', async () => {
-    fetchExamTemplatesMock.mockResolvedValueOnce([])
-    fetchStudentsMock.mockResolvedValueOnce([])
+    fetchExamTemplatesMock.mockResolvedValueOnce({ items: [], nextCursor: null })
+    fetchStudentsMock.mockResolvedValueOnce({ items: [], nextCursor: null })
 
     render(
       <MemoryRouter>
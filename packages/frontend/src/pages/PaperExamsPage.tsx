@@ -1,5 +1,6 @@
 import { useCallback, useEffect, useMemo, useState } from 'react'
 import { Link } from 'react-router-dom'
+import LoadMoreButton from '../components/LoadMoreButton'
 import { fetchExamTemplates } from '../features/exams/examsApi'
 import type { ExamTemplateListItem } from '../features/exams/examsTypes'
 import type { SavedScore } from '../features/grading/GradingResultCard'
@@ -168,6 +169,10 @@ function GradePanel({
   studentsError,
   studentsRetryable,
   onRetryStudents,
+  hasMoreStudents,
+  studentsLoadingMore,
+  studentsLoadMoreFailed,
+  onLoadMoreStudents,
   gradedStudents,
   onBack,
   onSaveGrades,
@@ -178,6 +183,10 @@ function GradePanel({
   studentsError: string | null
   studentsRetryable: boolean
   onRetryStudents: () => void
+  hasMoreStudents: boolean
+  studentsLoadingMore: boolean
+  studentsLoadMoreFailed: boolean
+  onLoadMoreStudents: () => void
   gradedStudents: GradedStudentRecord[]
   onBack: () => void
   onSaveGrades: (record: GradedStudentRecord) => void
@@ -349,7 +358,7 @@ function GradePanel({
           </div>
         )}
 
-        {!studentsLoading && !studentsError && ungradedStudents.length === 0 && (
+        {!studentsLoading && !studentsError && !hasMoreStudents && ungradedStudents.length === 0 && (
           <p className="font-body text-xs" style={{ color: 'var(--text-secondary)' }}>
             No students available for grading yet.{' '}
             <Link to="/students" className="underline" style={{ color: 'var(--accent-gold)' }}>
@@ -358,6 +367,15 @@ function GradePanel({
             .
           </p>
         )}
+
+        {!studentsLoading && !studentsError && hasMoreStudents && (
+          <LoadMoreButton
+            onLoadMore={onLoadMoreStudents}
+            loading={studentsLoadingMore}
+            failed={studentsLoadMoreFailed}
+            label="Load more students"
+          />
+        )}
       </div>
 
       {selectedStudent && (
@@ -459,11 +477,17 @@ export default function PaperExamsPage() {
   const [exams, setExams] = useState<ExamTemplateListItem[]>([])
   const [examsLoading, setExamsLoading] = useState(true)
   const [examsError, setExamsError] = useState<string | null>(null)
+  const [examsNextCursor, setExamsNextCursor] = useState<string | null>(null)
+  const [examsLoadingMore, setExamsLoadingMore] = useState(false)
+  const [examsLoadMoreFailed, setExamsLoadMoreFailed] = useState(false)
 
   const [students, setStudents] = useState<StudentListItem[]>([])
   const [studentsLoading, setStudentsLoading] = useState(true)
   const [studentsError, setStudentsError] = useState<string | null>(null)
   const [studentsRetryable, setStudentsRetryable] = useState(true)
+  const [studentsNextCursor, setStudentsNextCursor] = useState<string | null>(null)
+  const [studentsLoadingMore, setStudentsLoadingMore] = useState(false)
+  const [studentsLoadMoreFailed, setStudentsLoadMoreFailed] = useState(false)
 
   const gradingExam = useMemo(
     () => exams.find((exam) => exam.id === gradingExamId) ?? null,
@@ -480,36 +504,80 @@ export default function PaperExamsPage() {
   const loadExams = useCallback(async () => {
     setExamsLoading(true)
     setExamsError(null)
+    setExamsLoadMoreFailed(false)
 
     try {
-      const templates = await fetchExamTemplates()
-      setExams(templates)
+      const page = await fetchExamTemplates()
+      setExams(page.items)
+      setExamsNextCursor(page.nextCursor)
     } catch (error) {
       setExamsError(error instanceof Error ? error.message : 'Failed to load exam templates.')
       setExams([])
+      setExamsNextCursor(null)
     } finally {
       setExamsLoading(false)
     }
   }, [])
 
+  const loadMoreExams = useCallback(async () => {
+    if (!examsNextCursor) {
+      return
+    }
+
+    setExamsLoadingMore(true)
+    setExamsLoadMoreFailed(false)
+
+    try {
+      const page = await fetchExamTemplates(examsNextCursor)
+      setExams((previousExams) => [...previousExams, ...page.items])
+      setExamsNextCursor(page.nextCursor)
+    } catch {
+      setExamsLoadMoreFailed(true)
+    } finally {
+      setExamsLoadingMore(false)
+    }
+  }, [examsNextCursor])
+
   const loadStudents = useCallback(async () => {
     setStudentsLoading(true)
     setStudentsError(null)
     setStudentsRetryable(true)
+    setStudentsLoadMoreFailed(false)
 
     try {
-      const loadedStudents = await fetchStudents()
-      setStudents(loadedStudents)
+      const page = await fetchStudents()
+      setStudents(page.items)
+      setStudentsNextCursor(page.nextCursor)
     } catch (error) {
       const details = getStudentsLoadErrorDetails(error)
       setStudentsError(details.message)
       setStudentsRetryable(details.retryable)
       setStudents([])
+      setStudentsNextCursor(null)
     } finally {
       setStudentsLoading(false)
     }
   }, [])
 
+  const loadMoreStudents = useCallback(async () => {
+    if (!studentsNextCursor) {
+      return
+    }
+
+    setStudentsLoadingMore(true)
+    setStudentsLoadMoreFailed(false)
+
+    try {
+      const page = await fetchStudents(studentsNextCursor)
+      setStudents((previousStudents) => [...previousStudents, ...page.items])
+      setStudentsNextCursor(page.nextCursor)
+    } catch {
+      setStudentsLoadMoreFailed(true)
+    } finally {
+      setStudentsLoadingMore(false)
+    }
+  }, [studentsNextCursor])
+
   useEffect(() => {
     void loadExams()
     void loadStudents()
@@ -580,6 +648,10 @@ export default function PaperExamsPage() {
           studentsError={studentsError}
           studentsRetryable={studentsRetryable}
           onRetryStudents={loadStudents}
+          hasMoreStudents={studentsNextCursor !== null}
+          studentsLoadingMore={studentsLoadingMore}
+          studentsLoadMoreFailed={studentsLoadMoreFailed}
+          onLoadMoreStudents={() => void loadMoreStudents()}
           gradedStudents={gradedStudents}
           onBack={() => setGradingExamId(null)}
           onSaveGrades={handleSaveGrades}
@@ -636,6 +708,14 @@ export default function PaperExamsPage() {
               onGrade={() => setGradingExamId(exam.id)}
             />
           ))}
+          {examsNextCursor && (
+            <LoadMoreButton
+              onLoadMore={() => void loadMoreExams()}
+              loading={examsLoadingMore}
+              failed={examsLoadMoreFailed}
+              label="Load more exams"
+            />
+          )}
         </div>
       )}
     </div>
@@ -55,7 +55,7 @@ describe('StudentsPage', () => {
   })
 
   it('renders empty state when no students are returned', async () => {
-    fetchStudentsMock.mockResolvedValueOnce([])
+    fetchStudentsMock.mockResolvedValueOnce({ items: [], nextCursor: null })
 
     render(
       <MemoryRouter>
@@ -68,22 +68,25 @@ describe('StudentsPage', () => {
   })
 
   it('renders populated list and handles missing optional fields safely', async () => {
-    fetchStudentsMock.mockResolvedValueOnce([
-      {
-        id: 'student-1',
-        fullName: 'Alice Smith',
-        email: 'alice@example.com',
-        studentNumber: '12345',
-        classLabel: 'Math 101',
-        gradeLabel: 'A',
-        isActive: true,
-      },
-      {
-        id: 'student-2',
-        fullName: 'Bob Jones',
-        // Missing optional fields
-      },
-    ])
+    fetchStudentsMock.mockResolvedValueOnce({
+      items: [
+        {
+          id: 'student-1',
+          fullName: 'Alice Smith',
+          email: 'alice@example.com',
+          studentNumber: '12345',
+          classLabel: 'Math 101',
+          gradeLabel: 'A',
+          isActive: true,
+        },
+        {
+          id: 'student-2',
+          fullName: 'Bob Jones',
+          // Missing optional fields
+        },
+      ],
+      nextCursor: null,
+    })
 
     render(
       <MemoryRouter>
@@ -104,7 +107,7 @@ describe('StudentsPage', () => {
 
   it('retries fetching students when Try Again is clicked', async () => {
     fetchStudentsMock.mockRejectedValueOnce(new Error('network error'))
-    fetchStudentsMock.mockResolvedValueOnce([])
+    fetchStudentsMock.mockResolvedValueOnce({ items: [], nextCursor: null })
 
     render(
       <MemoryRouter>
@@ -121,6 +124,31 @@ describe('StudentsPage', () => {
     expect(fetchStudentsMock).toHaveBeenCalledTimes(2)
   })
 
+  it('appends the next page when Load more students is clicked', async () => {
+    fetchStudentsMock.mockResolvedValueOnce({
+      items: [{ id: 'student-1', fullName: 'Alice Smith' }],
+      nextCursor: 'cursor-1',
+    })
+    fetchStudentsMock.mockResolvedValueOnce({
+      items: [{ id: 'student-2', fullName: 'Bob Jones' }],
+      nextCursor: null,
+    })
+
+    render(
+      <MemoryRouter>
+        <StudentsPage />
+      </MemoryRouter>,
+    )
+
+    expect(await screen.findByText('Alice Smith')).toBeInTheDocument()
+    fireEvent.click(screen.getByRole('button', { name: 'Load more students' }))
+
+    expect(await screen.findByText('Bob Jones')).toBeInTheDocument()
+    expect(screen.getByText('Alice Smith')).toBeInTheDocument()
+    expect(fetchStudentsMock).toHaveBeenLastCalledWith('cursor-1')
+    expect(screen.queryByRole('button', { name: 'Load more students' })).not.toBeInTheDocument()
+  })
+
   it('renders non-retryable error state without retry action', async () => {
     fetchStudentsMock.mockRejectedValueOnce(new Error('invalid config'))
     getStudentsLoadErrorDetailsMock.mockReturnValueOnce({
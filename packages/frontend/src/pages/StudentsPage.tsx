@@ -1,4 +1,5 @@
 import { useCallback, useEffect, useRef, useState } from 'react'
+import LoadMoreButton from '../components/LoadMoreButton'
 import AddStudentModal from '../features/students/AddStudentModal'
 import StudentsList from '../features/students/StudentsList'
 import { EmptyStudentsState, ErrorStudentsState, LoadingStudentsState } from '../features/students/StudentsStates'
@@ -10,6 +11,9 @@ type LoadState = 'loading' | 'error' | 'done'
 export default function StudentsPage() {
   const [loadState, setLoadState] = useState<LoadState>('loading')
   const [items, setItems] = useState<StudentListItem[]>([])
+  const [nextCursor, setNextCursor] = useState<string | null>(null)
+  const [loadingMore, setLoadingMore] = useState(false)
+  const [loadMoreFailed, setLoadMoreFailed] = useState(false)
   const [errorMessage, setErrorMessage] = useState('There was a problem connecting to the server.')
   const [canRetry, setCanRetry] = useState(true)
   const [showAddModal, setShowAddModal] = useState(false)
@@ -19,14 +23,17 @@ export default function StudentsPage() {
   const loadStudents = useCallback(async () => {
     const requestId = ++latestRequestIdRef.current
     setLoadState('loading')
+    setLoadingMore(false)
+    setLoadMoreFailed(false)
 
     try {
-      const students = await fetchStudents()
+      const page = await fetchStudents()
       if (!isMountedRef.current || requestId !== latestRequestIdRef.current) {
         return
       }
 
-      setItems(students)
+      setItems(page.items)
+      setNextCursor(page.nextCursor)
       setErrorMessage('There was a problem connecting to the server.')
       setCanRetry(true)
       setLoadState('done')
@@ -42,6 +49,34 @@ export default function StudentsPage() {
     }
   }, [])
 
+  const loadMore = useCallback(async () => {
+    if (!nextCursor) {
+      return
+    }
+
+    const requestId = latestRequestIdRef.current
+    setLoadingMore(true)
+    setLoadMoreFailed(false)
+
+    try {
+      const page = await fetchStudents(nextCursor)
+      if (!isMountedRef.current || requestId !== latestRequestIdRef.current) {
+        return
+      }
+
+      setItems((previousItems) => [...previousItems, ...page.items])
+      setNextCursor(page.nextCursor)
+      setLoadingMore(false)
+    } catch {
+      if (!isMountedRef.current || requestId !== latestRequestIdRef.current) {
+        return
+      }
+
+      setLoadMoreFailed(true)
+      setLoadingMore(false)
+    }
+  }, [nextCursor])
+
   useEffect(() => {
     isMountedRef.current = true
     void loadStudents()
@@ -88,6 +123,15 @@ export default function StudentsPage() {
 
       {loadState === 'done' && !isStudentListEmpty(items) && <StudentsList items={items} />}
 
+      {loadState === 'done' && nextCursor && (
+        <LoadMoreButton
+          onLoadMore={() => void loadMore()}
+          loading={loadingMore}
+          failed={loadMoreFailed}
+          label="Load more students"
+        />
+      )}
+
       {showAddModal && (
         <AddStudentModal
           onClose={() => setShowAddModal(false)}